@@ -0,0 +1,27 @@
+package com.j256.simpleclassreader.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler so the bytes allocated per operation, gc.alloc.rate.norm, are reported along
+ * with the times. An optional argument is a regex of the benchmarks to run.
+ *
+ * @author graywatson
+ */
+public class AllocationMain {
+
+	public static void main(String[] args) throws RunnerException {
+		OptionsBuilder builder = new OptionsBuilder();
+		if (args.length > 0) {
+			builder.include(args[0]);
+		} else {
+			builder.include("com.j256.simpleclassreader");
+		}
+		Options options = builder.addProfiler(GCProfiler.class).build();
+		new Runner(options).run();
+	}
+}
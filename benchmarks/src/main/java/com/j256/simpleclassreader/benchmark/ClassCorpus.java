@@ -0,0 +1,117 @@
+package com.j256.simpleclassreader.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.Utils;
+
+/**
+ * Corpus of real class bytes for the benchmarks. The classes are pulled from the JDK runtime image at jrt:/ in sorted
+ * order so the same corpus is used each time. If there is no runtime image, because we are running on Java 8, then the
+ * classes from the jar that holds the library are used instead.
+ *
+ * @author graywatson
+ */
+public class ClassCorpus {
+
+	private static final String CLASS_SUFFIX = ".class";
+	private static final String MODULE_INFO_CLASS = "module-info.class";
+
+	/**
+	 * Return the bytes of up to the max number of classes.
+	 */
+	public static List<byte[]> loadClasses(int maxClasses) throws IOException {
+		List<byte[]> classes = loadJrtClasses(maxClasses);
+		if (classes == null) {
+			classes = loadJarClasses(maxClasses);
+		}
+		if (classes.isEmpty()) {
+			throw new IOException("could not find any classes for the corpus");
+		}
+		return classes;
+	}
+
+	private static List<byte[]> loadJrtClasses(int maxClasses) throws IOException {
+		FileSystem fileSystem;
+		try {
+			fileSystem = FileSystems.getFileSystem(URI.create("jrt:/"));
+		} catch (FileSystemNotFoundException | IllegalArgumentException e) {
+			return null;
+		}
+		List<byte[]> classes = new ArrayList<>();
+		addClasses(fileSystem.getPath("/modules"), classes, maxClasses);
+		return classes;
+	}
+
+	/**
+	 * Add the classes from the directory and its sub-directories in sorted order.
+	 */
+	private static void addClasses(Path dir, List<byte[]> classes, int maxClasses) throws IOException {
+		List<Path> paths = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir);) {
+			for (Path path : stream) {
+				paths.add(path);
+			}
+		}
+		Collections.sort(paths);
+		for (Path path : paths) {
+			if (classes.size() >= maxClasses) {
+				return;
+			}
+			if (Files.isDirectory(path)) {
+				addClasses(path, classes, maxClasses);
+			} else {
+				String name = path.getFileName().toString();
+				if (name.endsWith(CLASS_SUFFIX) && !name.equals(MODULE_INFO_CLASS)) {
+					classes.add(Files.readAllBytes(path));
+				}
+			}
+		}
+	}
+
+	private static List<byte[]> loadJarClasses(int maxClasses) throws IOException {
+		File jarFile;
+		try {
+			jarFile = new File(ClassReader.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		} catch (URISyntaxException e) {
+			throw new IOException("could not find the jar of the library", e);
+		}
+		List<String> names = new ArrayList<>();
+		List<byte[]> classes = new ArrayList<>();
+		try (ZipFile zipFile = new ZipFile(jarFile);) {
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				String name = entries.nextElement().getName();
+				if (name.endsWith(CLASS_SUFFIX) && !name.endsWith(MODULE_INFO_CLASS)) {
+					names.add(name);
+				}
+			}
+			Collections.sort(names);
+			for (String name : names) {
+				if (classes.size() >= maxClasses) {
+					break;
+				}
+				try (InputStream input = zipFile.getInputStream(zipFile.getEntry(name));) {
+					classes.add(Utils.readAllBytes(input));
+				}
+			}
+		}
+		return classes;
+	}
+}
@@ -0,0 +1,154 @@
+package com.j256.simpleclassreader.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.ClassReaderOptions;
+import com.j256.simpleclassreader.ConstantPool;
+import com.j256.simpleclassreader.MethodDescriptor;
+import com.j256.simpleclassreader.MethodInfo;
+import com.j256.simpleclassreader.ParseContext;
+import com.j256.simpleclassreader.attribute.AnnotationFieldValue;
+
+/**
+ * Benchmarks of the phases of reading a class on their own. The readers take a {@link ParseContext} which is created
+ * with {@link ParseContext#forBytes(ClassReaderOptions, byte[], int, int)}.
+ *
+ * @author graywatson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhaseBenchmark {
+
+	/** number of bytes before the constant-pool: magic, minor, and major versions */
+	private static final int CONSTANT_POOL_OFFSET = 8;
+
+	@Param({ "1000" })
+	private int corpusSize;
+	/** number of values in each of the nested annotation arrays */
+	@Param({ "8" })
+	private int annotationArraySize;
+	/** number of levels of nested annotation arrays */
+	@Param({ "3" })
+	private int annotationArrayDepth;
+
+	private final ClassReaderOptions options = new ClassReaderOptions();
+	private byte[][] classes;
+	private String[] descriptors;
+	private ConstantPool annotationConstantPool;
+	private byte[] annotationBytes;
+	private int nextClass;
+	private int nextDescriptor;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		List<byte[]> corpus = ClassCorpus.loadClasses(corpusSize);
+		classes = corpus.toArray(new byte[corpus.size()][]);
+		List<String> descriptorList = new ArrayList<>();
+		for (byte[] bytes : classes) {
+			ClassInfo classInfo = ClassReader.readClass(bytes);
+			for (MethodInfo method : classInfo.getMethods()) {
+				descriptorList.add(method.getMethodDescriptor().getDescriptorStr());
+			}
+		}
+		descriptors = descriptorList.toArray(new String[descriptorList.size()]);
+		buildAnnotation();
+	}
+
+	@Benchmark
+	public void constantPoolRead(Blackhole blackhole) throws IOException {
+		byte[] bytes = classes[nextClassIndex()];
+		DataInputStream dis = new DataInputStream(
+				new ByteArrayInputStream(bytes, CONSTANT_POOL_OFFSET, bytes.length - CONSTANT_POOL_OFFSET));
+		blackhole.consume(ConstantPool.read(dis));
+	}
+
+	@Benchmark
+	public void classInfoRead(Blackhole blackhole) throws IOException {
+		byte[] bytes = classes[nextClassIndex()];
+		blackhole.consume(ClassInfo.read(ParseContext.forBytes(options, bytes, 0, bytes.length)));
+	}
+
+	@Benchmark
+	public void annotationFieldValueRead(Blackhole blackhole) throws IOException {
+		ParseContext context = ParseContext.forBytes(options, annotationBytes, 0, annotationBytes.length);
+		blackhole.consume(
+				AnnotationFieldValue.read(context.getDataInputStream(), annotationConstantPool, context, true));
+	}
+
+	@Benchmark
+	public void methodDescriptorFromString(Blackhole blackhole) {
+		int index = nextDescriptor;
+		nextDescriptor = (index + 1) % descriptors.length;
+		blackhole.consume(MethodDescriptor.fromString(descriptors[index]));
+	}
+
+	private int nextClassIndex() {
+		int index = nextClass;
+		nextClass = (index + 1) % classes.length;
+		return index;
+	}
+
+	/**
+	 * Build a constant-pool with a name and an integer and an element-value-pair of arrays of arrays of the integer.
+	 */
+	private void buildAnnotation() throws IOException {
+		ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+		DataOutputStream poolOutput = new DataOutputStream(poolBytes);
+		poolOutput.writeShort(3);
+		// UTF8 tag
+		poolOutput.writeByte(1);
+		poolOutput.writeUTF("value");
+		// integer tag
+		poolOutput.writeByte(3);
+		poolOutput.writeInt(42);
+		annotationConstantPool =
+				ConstantPool.read(new DataInputStream(new ByteArrayInputStream(poolBytes.toByteArray())));
+
+		ByteArrayOutputStream valueBytes = new ByteArrayOutputStream();
+		DataOutputStream valueOutput = new DataOutputStream(valueBytes);
+		// name index
+		valueOutput.writeShort(1);
+		writeArray(valueOutput, annotationArrayDepth);
+		annotationBytes = valueBytes.toByteArray();
+	}
+
+	private void writeArray(DataOutputStream output, int depth) throws IOException {
+		output.writeByte('[');
+		output.writeShort(annotationArraySize);
+		for (int i = 0; i < annotationArraySize; i++) {
+			if (depth > 1) {
+				writeArray(output, depth - 1);
+			} else {
+				output.writeByte('I');
+				output.writeShort(2);
+			}
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.j256.simpleclassreader.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.ClassReaderOptions;
+
+/**
+ * Throughput of reading a class through each of the {@link ClassReader} entry points. Each operation reads the next
+ * class of the corpus so the numbers are per class.
+ *
+ * @author graywatson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadClassBenchmark {
+
+	@Param({ "1000" })
+	private int corpusSize;
+	@Param({ "false", "true" })
+	private boolean lazyAttributes;
+
+	private byte[][] classes;
+	private File[] files;
+	private ClassReaderOptions options;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		List<byte[]> corpus = ClassCorpus.loadClasses(corpusSize);
+		classes = corpus.toArray(new byte[corpus.size()][]);
+		files = new File[classes.length];
+		for (int i = 0; i < classes.length; i++) {
+			files[i] = File.createTempFile(getClass().getSimpleName(), ".class");
+			try (FileOutputStream output = new FileOutputStream(files[i]);) {
+				output.write(classes[i]);
+			}
+		}
+		options = new ClassReaderOptions();
+		options.setLazyAttributes(lazyAttributes);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		for (File file : files) {
+			file.delete();
+		}
+	}
+
+	@Benchmark
+	public void readBytes(Blackhole blackhole) throws IOException {
+		blackhole.consume(ClassReader.readClass(classes[nextIndex()], options));
+	}
+
+	@Benchmark
+	public void readInputStream(Blackhole blackhole) throws IOException {
+		blackhole.consume(ClassReader.readClass(new ByteArrayInputStream(classes[nextIndex()]), options));
+	}
+
+	@Benchmark
+	public void readFile(Blackhole blackhole) throws IOException {
+		blackhole.consume(ClassReader.readClass(files[nextIndex()], options));
+	}
+
+	private int nextIndex() {
+		int index = next;
+		next = (index + 1) % classes.length;
+		return index;
+	}
+}
@@ -0,0 +1,54 @@
+package com.j256.simpleclassreader.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.j256.simpleclassreader.ClassReader;
+
+/**
+ * Reads all of the classes of corpora of increasing size. The time divided by the corpus size should stay about the
+ * same as the corpus grows or something is growing super-linearly.
+ *
+ * @author graywatson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScalingBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	private int corpusSize;
+
+	private byte[][] classes;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		List<byte[]> corpus = ClassCorpus.loadClasses(corpusSize);
+		classes = corpus.toArray(new byte[corpus.size()][]);
+	}
+
+	@Benchmark
+	public void readCorpus(Blackhole blackhole) throws IOException {
+		for (byte[] bytes : classes) {
+			blackhole.consume(ClassReader.readClass(bytes));
+		}
+	}
+}
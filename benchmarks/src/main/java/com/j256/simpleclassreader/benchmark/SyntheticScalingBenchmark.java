@@ -0,0 +1,71 @@
+package com.j256.simpleclassreader.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.SyntheticClassGenerator;
+
+/**
+ * Reads generated classes that grow along one dimension at a time. The size of the dimension is its base size times
+ * the scale so the time per operation should grow linearly with the scale. Run with -prof gc to see the allocation.
+ *
+ * @author graywatson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyntheticScalingBenchmark {
+
+	@Param({ "constantPool", "methods", "codeLength", "localVariables", "annotationArrays" })
+	private String dimension;
+	/** powers of 4 so the nested annotation arrays can grow by a level */
+	@Param({ "1", "4", "16" })
+	private int scale;
+
+	private byte[] classBytes;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		SyntheticClassGenerator generator = new SyntheticClassGenerator();
+		generator.setSeed(1);
+		if (dimension.equals("constantPool")) {
+			generator.setConstantPoolSize(4000 * scale);
+		} else if (dimension.equals("methods")) {
+			generator.setMethodCount(250 * scale);
+		} else if (dimension.equals("codeLength")) {
+			generator.setCodeLength(4000 * scale);
+		} else if (dimension.equals("localVariables")) {
+			generator.setLocalVariableCount(1000 * scale);
+		} else if (dimension.equals("annotationArrays")) {
+			// 4 ^ depth values so each step of the scale is another level
+			generator.setAnnotationArrayWidth(4);
+			generator.setAnnotationArrayDepth(3 + Integer.numberOfTrailingZeros(scale) / 2);
+		} else {
+			throw new IllegalArgumentException("unknown dimension: " + dimension);
+		}
+		classBytes = generator.generate();
+	}
+
+	@Benchmark
+	public ClassInfo readClass() throws IOException {
+		return ClassReader.readClass(classBytes);
+	}
+}
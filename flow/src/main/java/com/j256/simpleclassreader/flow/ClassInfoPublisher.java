@@ -0,0 +1,249 @@
+package com.j256.simpleclassreader.flow;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReaderOptions;
+import com.j256.simpleclassreader.provider.ClassFileScanner;
+
+/**
+ * Publishes the classes from a jar file or a class directory to a {@link Flow.Subscriber} which may be slower than the
+ * parsing. The classes are read by a {@link ClassFileScanner} in the executor and only when the subscriber has asked
+ * for them. Up to the prefetch number of classes are parsed ahead of the demand so the subscriber does not have to
+ * wait for each one, but no more, so the memory used is the same no matter how many classes there are.
+ *
+ * <p>
+ * Each subscriber gets its own scan of the classes. This is in the separate simpleclassreader-flow artifact because
+ * it needs Java 11.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class ClassInfoPublisher implements Flow.Publisher<ClassInfo> {
+
+	/** default number of classes that are parsed ahead of the demand */
+	public static final int DEFAULT_PREFETCH = 16;
+
+	private final File file;
+	private final boolean jar;
+	private final Executor executor;
+	private final ClassReaderOptions options;
+	private final int prefetch;
+
+	private ClassInfoPublisher(File file, boolean jar, Executor executor, ClassReaderOptions options, int prefetch) {
+		if (prefetch < 0) {
+			throw new IllegalArgumentException("prefetch should not be negative: " + prefetch);
+		}
+		this.file = file;
+		this.jar = jar;
+		this.executor = executor;
+		this.options = options;
+		this.prefetch = prefetch;
+	}
+
+	/**
+	 * Return a publisher of the classes in the jar file which are parsed in the executor.
+	 */
+	public static ClassInfoPublisher forJar(File jarFile, Executor executor) {
+		return forJar(jarFile, executor, new ClassReaderOptions(), DEFAULT_PREFETCH);
+	}
+
+	/**
+	 * Return a publisher of the classes in the jar file using the options. Up to prefetch classes are parsed ahead of
+	 * the demand of the subscriber. A prefetch of 0 only parses the classes that have been requested.
+	 */
+	public static ClassInfoPublisher forJar(File jarFile, Executor executor, ClassReaderOptions options,
+			int prefetch) {
+		return new ClassInfoPublisher(jarFile, true, executor, options, prefetch);
+	}
+
+	/**
+	 * Return a publisher of the classes in the directory and its sub-directories which are parsed in the executor.
+	 */
+	public static ClassInfoPublisher forDirectory(File dir, Executor executor) {
+		return forDirectory(dir, executor, new ClassReaderOptions(), DEFAULT_PREFETCH);
+	}
+
+	/**
+	 * Return a publisher of the classes in the directory using the options. See
+	 * {@link #forJar(File, Executor, ClassReaderOptions, int)} for the prefetch.
+	 */
+	public static ClassInfoPublisher forDirectory(File dir, Executor executor, ClassReaderOptions options,
+			int prefetch) {
+		return new ClassInfoPublisher(dir, false, executor, options, prefetch);
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super ClassInfo> subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException("subscriber");
+		}
+		ScanSubscription subscription = new ScanSubscription(subscriber);
+		subscriber.onSubscribe(subscription);
+	}
+
+	@Override
+	public String toString() {
+		return (jar ? "jar " : "directory ") + file + " publisher";
+	}
+
+	private ClassFileScanner openScanner() throws IOException {
+		if (jar) {
+			return ClassFileScanner.forJar(file, options);
+		} else {
+			return ClassFileScanner.forDirectory(file, options);
+		}
+	}
+
+	/**
+	 * Subscription which does the scanning. The work is done by one run in the executor at a time which delivers the
+	 * parsed classes while there is demand and then fills the prefetch buffer.
+	 */
+	private class ScanSubscription implements Flow.Subscription, Runnable {
+
+		private final Flow.Subscriber<? super ClassInfo> subscriber;
+		private final AtomicLong requested = new AtomicLong();
+		/** number of times the run was asked for, the run only stops when it gets back to 0 */
+		private final AtomicInteger pending = new AtomicInteger();
+		/** only touched by the run */
+		private final Queue<ClassInfo> buffer = new ArrayDeque<>();
+		private volatile boolean cancelled;
+		private volatile Throwable badRequest;
+		private ClassFileScanner scanner;
+		private boolean scanned;
+		private boolean finished;
+
+		public ScanSubscription(Flow.Subscriber<? super ClassInfo> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long num) {
+			if (num <= 0) {
+				badRequest = new IllegalArgumentException("request should be positive: " + num);
+			} else {
+				long current;
+				long next;
+				do {
+					current = requested.get();
+					next = current + num;
+					// cap at max-value which means unbounded
+					if (next < 0) {
+						next = Long.MAX_VALUE;
+					}
+				} while (!requested.compareAndSet(current, next));
+			}
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			schedule();
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+			do {
+				drain();
+				missed = pending.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void schedule() {
+			if (pending.getAndIncrement() != 0) {
+				// the run in progress will see the change
+				return;
+			}
+			try {
+				executor.execute(this);
+			} catch (RejectedExecutionException ree) {
+				pending.set(0);
+				finish(ree);
+			}
+		}
+
+		private void drain() {
+			if (finished) {
+				return;
+			}
+			if (badRequest != null) {
+				finish(badRequest);
+				return;
+			}
+			try {
+				while (true) {
+					if (cancelled) {
+						finish(null);
+						return;
+					}
+					long demand = requested.get();
+					if (demand > 0 && !buffer.isEmpty()) {
+						if (demand != Long.MAX_VALUE) {
+							requested.decrementAndGet();
+						}
+						subscriber.onNext(buffer.poll());
+						continue;
+					}
+					if (scanned && buffer.isEmpty()) {
+						finish(null);
+						return;
+					}
+					// read another class if there is demand or the prefetch buffer is not yet full
+					if (scanned || (demand == 0 && buffer.size() >= prefetch)) {
+						return;
+					}
+					if (scanner == null) {
+						scanner = openScanner();
+					}
+					ClassInfo classInfo = scanner.next();
+					if (classInfo == null) {
+						scanned = true;
+					} else {
+						buffer.add(classInfo);
+					}
+				}
+			} catch (IOException | RuntimeException e) {
+				finish(e);
+			}
+		}
+
+		/**
+		 * Close the scanner and send the complete or error to the subscriber unless it cancelled.
+		 */
+		private void finish(Throwable throwable) {
+			if (finished) {
+				return;
+			}
+			finished = true;
+			buffer.clear();
+			if (scanner != null) {
+				try {
+					scanner.close();
+				} catch (IOException ioe) {
+					if (throwable == null) {
+						throwable = ioe;
+					}
+				}
+				scanner = null;
+			}
+			if (cancelled) {
+				return;
+			}
+			if (throwable == null) {
+				subscriber.onComplete();
+			} else {
+				subscriber.onError(throwable);
+			}
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package com.j256.simpleclassreader.flow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReaderOptions;
+import com.j256.simpleclassreader.provider.ClassFileScanner;
+
+public class ClassInfoPublisherTest {
+
+	private ExecutorService executor;
+	/** jar or classes directory of the library which is a handy set of classes */
+	private File libraryFile;
+
+	@Before
+	public void before() throws Exception {
+		executor = Executors.newSingleThreadExecutor();
+		libraryFile = new File(ClassInfo.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+	}
+
+	@After
+	public void after() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testAllClasses() throws Exception {
+		int numClasses = 0;
+		try (ClassFileScanner scanner = (libraryFile.isDirectory()
+				? ClassFileScanner.forDirectory(libraryFile, new ClassReaderOptions())
+				: ClassFileScanner.forJar(libraryFile, new ClassReaderOptions()));) {
+			while (scanner.next() != null) {
+				numClasses++;
+			}
+		}
+		TestSubscriber subscriber = new TestSubscriber();
+		publisher(ClassInfoPublisher.DEFAULT_PREFETCH).subscribe(subscriber);
+		subscriber.subscription.request(Long.MAX_VALUE);
+		assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+		assertNull(subscriber.error);
+		assertEquals(numClasses, subscriber.classes.size());
+	}
+
+	@Test
+	public void testBackpressure() throws Exception {
+		TestSubscriber subscriber = new TestSubscriber();
+		publisher(0).subscribe(subscriber);
+		subscriber.subscription.request(2);
+		waitForIdle();
+		assertEquals(2, subscriber.classes.size());
+		subscriber.subscription.request(3);
+		waitForIdle();
+		assertEquals(5, subscriber.classes.size());
+		subscriber.subscription.cancel();
+		waitForIdle();
+		assertEquals(5, subscriber.classes.size());
+		assertEquals(1, subscriber.done.getCount());
+	}
+
+	@Test
+	public void testNothingBeforeRequest() throws Exception {
+		TestSubscriber subscriber = new TestSubscriber();
+		publisher(ClassInfoPublisher.DEFAULT_PREFETCH).subscribe(subscriber);
+		waitForIdle();
+		assertTrue(subscriber.classes.isEmpty());
+		subscriber.subscription.cancel();
+	}
+
+	@Test
+	public void testBadRequest() throws Exception {
+		TestSubscriber subscriber = new TestSubscriber();
+		publisher(ClassInfoPublisher.DEFAULT_PREFETCH).subscribe(subscriber);
+		subscriber.subscription.request(0);
+		assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+		assertTrue(subscriber.error instanceof IllegalArgumentException);
+	}
+
+	@Test
+	public void testMissingJar() throws Exception {
+		TestSubscriber subscriber = new TestSubscriber();
+		ClassInfoPublisher.forJar(new File("target/does-not-exist.jar"), executor).subscribe(subscriber);
+		subscriber.subscription.request(1);
+		assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+		assertTrue(subscriber.error instanceof IOException);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativePrefetch() {
+		publisher(-1);
+	}
+
+	private ClassInfoPublisher publisher(int prefetch) {
+		if (libraryFile.isDirectory()) {
+			return ClassInfoPublisher.forDirectory(libraryFile, executor, new ClassReaderOptions(), prefetch);
+		} else {
+			return ClassInfoPublisher.forJar(libraryFile, executor, new ClassReaderOptions(), prefetch);
+		}
+	}
+
+	/**
+	 * Wait for the work that has been given to the single thread executor to finish.
+	 */
+	private void waitForIdle() throws Exception {
+		executor.submit(new Runnable() {
+			@Override
+			public void run() {
+				// nothing
+			}
+		}).get(10, TimeUnit.SECONDS);
+	}
+
+	private static class TestSubscriber implements Flow.Subscriber<ClassInfo> {
+
+		final List<ClassInfo> classes = new CopyOnWriteArrayList<>();
+		final CountDownLatch done = new CountDownLatch(1);
+		volatile Flow.Subscription subscription;
+		volatile Throwable error;
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(ClassInfo classInfo) {
+			classes.add(classInfo);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+			done.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			done.countDown();
+		}
+	}
+}
@@ -0,0 +1,219 @@
+package com.j256.simpleclassreader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads class files with an {@link AsynchronousFileChannel} and parses them with an executor. This is used by the
+ * async methods in {@link ClassReader}. The reads complete on the channel's threads and then the parse is handed to
+ * the executor so the threads of the caller never wait on the disk.
+ * 
+ * @author graywatson
+ */
+class AsyncClassReader {
+
+	/** number of files that a batch reads from the disk at the same time while others are being parsed */
+	static final int MAX_BATCH_READS = 16;
+
+	/**
+	 * Start the reading of the class file and return a future which completes with the class or null if it is not a
+	 * valid class.
+	 */
+	static CompletableFuture<ClassInfo> readClass(Path path, Executor executor, ClassReaderOptions options) {
+		CompletableFuture<ClassInfo> future = new CompletableFuture<>();
+		AsynchronousFileChannel channel;
+		try {
+			channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+		} catch (IOException | RuntimeException e) {
+			future.completeExceptionally(e);
+			return future;
+		}
+		try {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("class file is too large to read: " + path);
+			}
+			ByteBuffer buffer = ByteBuffer.allocate((int) size);
+			channel.read(buffer, 0, buffer, new FileRead(path, channel, executor, options, future));
+		} catch (IOException | RuntimeException e) {
+			closeQuietly(channel);
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/**
+	 * Start reading the class files, a number at a time, and return futures which complete in order as the classes are
+	 * read. The first future in the list is completed by the first class to finish, which is not necessarily the first
+	 * path, so each result holds its path. The futures always complete normally with the error in the result.
+	 */
+	static List<CompletableFuture<ClassReadResult>> readClasses(List<Path> paths, Executor executor,
+			ClassReaderOptions options) {
+		List<CompletableFuture<ClassReadResult>> results = new ArrayList<>(paths.size());
+		for (int i = 0; i < paths.size(); i++) {
+			results.add(new CompletableFuture<ClassReadResult>());
+		}
+		BatchRead batch = new BatchRead(paths, executor, options, results);
+		for (int i = 0; i < MAX_BATCH_READS; i++) {
+			batch.startNext();
+		}
+		return Collections.unmodifiableList(results);
+	}
+
+	private static void closeQuietly(AsynchronousFileChannel channel) {
+		try {
+			channel.close();
+		} catch (IOException ioe) {
+			// ignored
+		}
+	}
+
+	/**
+	 * Handles the completion of the reads of a file, starting another read if the buffer is not yet full.
+	 */
+	private static class FileRead implements CompletionHandler<Integer, ByteBuffer> {
+
+		private final Path path;
+		private final AsynchronousFileChannel channel;
+		private final Executor executor;
+		private final ClassReaderOptions options;
+		private final CompletableFuture<ClassInfo> future;
+
+		public FileRead(Path path, AsynchronousFileChannel channel, Executor executor, ClassReaderOptions options,
+				CompletableFuture<ClassInfo> future) {
+			this.path = path;
+			this.channel = channel;
+			this.executor = executor;
+			this.options = options;
+			this.future = future;
+		}
+
+		@Override
+		public void completed(Integer numRead, ByteBuffer buffer) {
+			// if the file got shorter then we parse what we have and it will probably be truncated
+			if (numRead >= 0 && buffer.hasRemaining()) {
+				try {
+					channel.read(buffer, buffer.position(), buffer, this);
+				} catch (RuntimeException re) {
+					failed(re, buffer);
+				}
+				return;
+			}
+			closeQuietly(channel);
+			try {
+				executor.execute(new Parse(path, buffer.array(), buffer.position(), options, future));
+			} catch (RejectedExecutionException ree) {
+				future.completeExceptionally(ree);
+			}
+		}
+
+		@Override
+		public void failed(Throwable throwable, ByteBuffer buffer) {
+			closeQuietly(channel);
+			future.completeExceptionally(throwable);
+		}
+	}
+
+	/**
+	 * Parses the bytes of a class file in the executor.
+	 */
+	private static class Parse implements Runnable {
+
+		private final Path path;
+		private final byte[] bytes;
+		private final int length;
+		private final ClassReaderOptions options;
+		private final CompletableFuture<ClassInfo> future;
+
+		public Parse(Path path, byte[] bytes, int length, ClassReaderOptions options,
+				CompletableFuture<ClassInfo> future) {
+			this.path = path;
+			this.bytes = bytes;
+			this.length = length;
+			this.options = options;
+			this.future = future;
+		}
+
+		@Override
+		public void run() {
+			try {
+				future.complete(ClassReader.readClass(bytes, 0, length, options));
+			} catch (IOException ioe) {
+				future.completeExceptionally(new IOException("problems reading class: " + path, ioe));
+			} catch (RuntimeException re) {
+				future.completeExceptionally(re);
+			}
+		}
+	}
+
+	/**
+	 * Keeps a number of the reads of a batch going and hands out the results in the order that they finish.
+	 */
+	private static class BatchRead {
+
+		private final List<Path> paths;
+		private final Executor executor;
+		private final ClassReaderOptions options;
+		private final List<CompletableFuture<ClassReadResult>> results;
+		private final AtomicInteger nextPath = new AtomicInteger();
+		private final AtomicInteger nextResult = new AtomicInteger();
+		/** number of reads asked to be started, only the thread that takes it from 0 starts them */
+		private final AtomicInteger startCount = new AtomicInteger();
+
+		public BatchRead(List<Path> paths, Executor executor, ClassReaderOptions options,
+				List<CompletableFuture<ClassReadResult>> results) {
+			this.paths = paths;
+			this.executor = executor;
+			this.options = options;
+			this.results = results;
+		}
+
+		/**
+		 * Start reading the next path if there are any left. A read which fails right away, such as a missing file,
+		 * finishes and calls back into here before it returns so this loops instead of recursing.
+		 */
+		public void startNext() {
+			if (startCount.getAndIncrement() != 0) {
+				// the thread that is already starting reads will start this one
+				return;
+			}
+			do {
+				int pathIndex = nextPath.getAndIncrement();
+				if (pathIndex < paths.size()) {
+					Path path = paths.get(pathIndex);
+					readClass(path, executor, options).whenComplete(new ReadDone(path));
+				}
+			} while (startCount.decrementAndGet() != 0);
+		}
+
+		/**
+		 * Hands the result of the read of a path to the next future and starts another read.
+		 */
+		private class ReadDone implements BiConsumer<ClassInfo, Throwable> {
+
+			private final Path path;
+
+			public ReadDone(Path path) {
+				this.path = path;
+			}
+
+			@Override
+			public void accept(ClassInfo classInfo, Throwable throwable) {
+				results.get(nextResult.getAndIncrement()).complete(new ClassReadResult(path, classInfo, throwable));
+				startNext();
+			}
+		}
+	}
+}
@@ -2,7 +2,8 @@ package com.j256.simpleclassreader;
 
 import java.io.DataInputStream;
 import java.io.IOException;
-import java.util.List;
+import java.util.EnumMap;
+import java.util.Map;
 
 import com.j256.simpleclassreader.attribute.AttributeType;
 
@@ -14,39 +15,85 @@ import com.j256.simpleclassreader.attribute.AttributeType;
 public class AttributeInfo {
 
 	public static final AttributeInfo[] EMPTY_ARRAY = new AttributeInfo[0];
+	/** u2 name index and u4 length before the value */
+	private static final int HEADER_LENGTH = 6;
+	/** estimate of the bytes used by each attribute, not counting its value, for the allocation limit */
+	private static final int ATTRIBUTE_ESTIMATE_BYTES = 48;
 
 	private final String name;
 	private final AttributeType type;
-	private final Object value;
+	/** the following are set if we are decoding the value on demand */
+	private final ConstantPool constantPool;
+	private final ParseContext context;
+	private final int offset;
+	private final int length;
+	/** value is published by the volatile write to decoded */
+	private Object value;
+	private volatile boolean decoded;
 
 	public AttributeInfo(String name, AttributeType type, Object value) {
 		this.name = name;
 		this.type = type;
+		this.constantPool = null;
+		this.context = null;
+		this.offset = 0;
+		this.length = 0;
 		this.value = value;
+		this.decoded = true;
+	}
+
+	private AttributeInfo(String name, AttributeType type, ConstantPool constantPool, ParseContext context, int offset,
+			int length) {
+		this.name = name;
+		this.type = type;
+		this.constantPool = constantPool;
+		this.context = context;
+		this.offset = offset;
+		this.length = length;
+		this.decoded = false;
 	}
 
 	/**
 	 * Read in an attribute.
 	 */
-	public static AttributeInfo read(DataInputStream dis, ConstantPool constantPool, List<ClassReaderError> parseErrors)
+	public static AttributeInfo read(DataInputStream dis, ConstantPool constantPool, ParseContext context)
 			throws IOException {
 
 		// u2 attribute_name_index;
 		// u4 attribute_length;
 		// u1 info[attribute_length]; // read by the per-attribute class
 
+		ParseMetrics metrics = context.getParseMetrics();
+		long startNanos = 0;
+		if (metrics != null) {
+			startNanos = System.nanoTime();
+		}
+		context.checkDeadline();
+		context.reserveBytes(ATTRIBUTE_ESTIMATE_BYTES);
 		int index = dis.readUnsignedShort();
 		String name = constantPool.findName(index);
 		if (name == null) {
-			parseErrors.add(new ClassReaderError(ClassReaderErrorType.ATTRIBUTE_NAME_INDEX_INVALID, index));
+			context.addError(ClassReaderErrorType.ATTRIBUTE_NAME_INDEX_INVALID, index);
 			// try and continue
 		}
 		int length = dis.readInt();
 		AttributeType type = AttributeType.fromString(name);
 		if (type == AttributeType.UNKNOWN) {
-			parseErrors.add(new ClassReaderError(ClassReaderErrorType.ATTRIBUTE_NAME_UNKNOWN, name));
+			context.addError(ClassReaderErrorType.ATTRIBUTE_NAME_UNKNOWN, name);
+		}
+		if (context.isLazyAttributes()) {
+			// record where the value is and skip over it, it will be decoded in getValue()
+			int offset = context.getPosition();
+			context.skipBytes(length);
+			if (metrics != null) {
+				metrics.addAttribute(type, System.nanoTime() - startNanos, HEADER_LENGTH + length);
+			}
+			return new AttributeInfo(name, type, constantPool, context, offset, length);
+		}
+		Object value = type.read(dis, name, length, constantPool, context);
+		if (metrics != null) {
+			metrics.addAttribute(type, System.nanoTime() - startNanos, HEADER_LENGTH + length);
 		}
-		Object value = type.read(dis, name, length, constantPool, parseErrors);
 		return new AttributeInfo(name, type, value);
 	}
 
@@ -65,14 +112,84 @@ public class AttributeInfo {
 	}
 
 	/**
-	 * Return the value of the annotation whose type depends on the annotation type.
+	 * Return the value of the annotation whose type depends on the annotation type. If the class was read with
+	 * {@link ClassReaderOptions#setLazyAttributes(boolean)} then the value is decoded on the first call and any errors
+	 * are added to the parse errors of the class.
 	 */
 	public Object getValue() {
+		if (!decoded) {
+			synchronized (context.getLock()) {
+				if (!decoded) {
+					value = decodeValue();
+					decoded = true;
+				}
+			}
+		}
 		return value;
 	}
 
+	/**
+	 * Find the first attribute of a certain type in the array or null if none.
+	 */
+	public static AttributeInfo find(AttributeInfo[] attributes, AttributeType type) {
+		for (AttributeInfo attribute : attributes) {
+			if (attribute.type == type) {
+				return attribute;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Find the first attribute of a certain type in the array and return its value or null if none.
+	 */
+	public static Object findValue(AttributeInfo[] attributes, AttributeType type) {
+		for (AttributeInfo attribute : attributes) {
+			if (attribute.type == type) {
+				return attribute.getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return a map of the first attribute of each type in the array.
+	 */
+	static Map<AttributeType, AttributeInfo> indexByType(AttributeInfo[] attributes) {
+		Map<AttributeType, AttributeInfo> index = new EnumMap<>(AttributeType.class);
+		for (AttributeInfo attribute : attributes) {
+			if (attribute.type != null && !index.containsKey(attribute.type)) {
+				index.put(attribute.type, attribute);
+			}
+		}
+		return index;
+	}
+
 	@Override
 	public String toString() {
 		return "attribute " + name;
 	}
+
+	private Object decodeValue() {
+		ParseMetrics metrics = context.getParseMetrics();
+		long startNanos = 0;
+		if (metrics != null) {
+			startNanos = System.nanoTime();
+		}
+		ParseContext valueContext = context.forRange(offset, length);
+		try {
+			return type.read(valueContext.getDataInputStream(), name, length, constantPool, valueContext);
+		} catch (ParseLimitException ple) {
+			context.addError(ple.getErrorType(), ple.getMessage());
+			return null;
+		} catch (IOException ioe) {
+			// the value must have tried to read past its length
+			context.addError(ClassReaderErrorType.ATTRIBUTE_VALUE_TRUNCATED, name);
+			return null;
+		} finally {
+			if (metrics != null) {
+				metrics.addAttributeDecode(type, System.nanoTime() - startNanos);
+			}
+		}
+	}
 }
@@ -0,0 +1,378 @@
+package com.j256.simpleclassreader;
+
+import java.io.EOFException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.j256.simpleclassreader.ConstantPool.ConstantPoolType;
+
+/**
+ * The names of the classes that a class references which is extracted straight from the class bytes without building
+ * a {@link ClassInfo}. The constant-pool is walked once to record where its entries are and then the class names are
+ * collected from the class entries, which includes the owners of the field and method references, the name-and-type
+ * and method-type descriptors, the field and method descriptors, the Signature attributes, and the types and values of
+ * the class, field, and method annotations.
+ *
+ * NOTE: the code of the methods is not walked so the types of local variables only appear if they are in the
+ * constant-pool for another reason. Parameter and type annotations are not looked at.
+ *
+ * @author graywatson
+ */
+public class ClassDependencies {
+
+	private static final int CLASS_MAGIC = 0xCAFEBABE;
+	private static final String SIGNATURE_ATTRIBUTE = "Signature";
+	private static final String VISIBLE_ANNOTATIONS_ATTRIBUTE = "RuntimeVisibleAnnotations";
+	private static final String INVISIBLE_ANNOTATIONS_ATTRIBUTE = "RuntimeInvisibleAnnotations";
+
+	private final String className;
+	private final String[] classNames;
+
+	private ClassDependencies(String className, String[] classNames) {
+		this.className = className;
+		this.classNames = classNames;
+	}
+
+	/**
+	 * Extract the dependencies from the class bytes or return null if the bytes are not a valid class.
+	 *
+	 * @throws EOFException
+	 *             If the class bytes are truncated.
+	 */
+	public static ClassDependencies extract(byte[] classBytes) throws EOFException {
+		return extract(classBytes, 0, classBytes.length);
+	}
+
+	/**
+	 * Extract the dependencies from the length class bytes starting at offset or return null if the bytes are not a
+	 * valid class.
+	 *
+	 * @throws EOFException
+	 *             If the class bytes are truncated.
+	 */
+	public static ClassDependencies extract(byte[] classBytes, int offset, int length) throws EOFException {
+		try {
+			return new Extractor(classBytes, offset, length).extract();
+		} catch (IndexOutOfBoundsException e) {
+			throw new EOFException("class bytes are truncated: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Return the name of the class that the dependencies are from.
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * Return the sorted names of the classes that are referenced, such as "java.lang.String", not including the class
+	 * itself.
+	 */
+	public String[] getClassNames() {
+		return classNames;
+	}
+
+	/**
+	 * Return true if the class references the class with the name.
+	 */
+	public boolean contains(String name) {
+		return (Arrays.binarySearch(classNames, name) >= 0);
+	}
+
+	@Override
+	public String toString() {
+		return "dependencies of " + className;
+	}
+
+	/**
+	 * Walks the class bytes and collects the names.
+	 */
+	private static class Extractor {
+
+		private final byte[] bytes;
+		private final int end;
+		private final Set<String> names = new HashSet<>();
+		private int[] offsets;
+		private int pos;
+
+		public Extractor(byte[] bytes, int offset, int length) {
+			this.bytes = bytes;
+			this.pos = offset;
+			this.end = offset + length;
+		}
+
+		public ClassDependencies extract() throws EOFException {
+			if (readInt() != CLASS_MAGIC) {
+				return null;
+			}
+			// minor and major versions
+			skip(4);
+			if (!readConstantPool()) {
+				return null;
+			}
+
+			// access-flags
+			skip(2);
+			String thisClassName = findClassName(readUnsignedShort());
+			// super-class and interfaces are class entries in the constant-pool
+			skip(2);
+			skip(readUnsignedShort() * 2);
+			// fields and methods
+			for (int i = 0; i < 2; i++) {
+				int count = readUnsignedShort();
+				for (int j = 0; j < count; j++) {
+					// access-flags, name
+					skip(4);
+					addDescriptor(readUnsignedShort());
+					readAttributes();
+				}
+			}
+			readAttributes();
+
+			if (thisClassName != null) {
+				names.remove(thisClassName);
+			}
+			String[] classNames = names.toArray(new String[names.size()]);
+			Arrays.sort(classNames);
+			return new ClassDependencies(thisClassName, classNames);
+		}
+
+		/**
+		 * Record the offsets of the entries and collect the names from the class, name-and-type, and method-type
+		 * entries which can come before the UTF8 entries they point to.
+		 */
+		private boolean readConstantPool() throws EOFException {
+			int numEntries = readUnsignedShort();
+			offsets = new int[numEntries];
+			for (int i = 1; i < numEntries; i++) {
+				offsets[i] = pos;
+				ConstantPoolType type = ConstantPoolType.fromCode(readUnsignedByte());
+				if (type == null) {
+					return false;
+				}
+				switch (type) {
+					case UTF8:
+						skip(readUnsignedShort());
+						break;
+					case INTEGER:
+					case FLOAT:
+					case FIELD_REF:
+					case METHOD_REF:
+					case INTERFACE_REF:
+					case NAME_AND_TYPE:
+					case INVOKE_DYNAMIC:
+						skip(4);
+						break;
+					case LONG:
+					case DOUBLE:
+						skip(8);
+						// 8-byte constants take two entries
+						i++;
+						break;
+					case CLASS:
+					case STRING:
+					case METHOD_TYPE:
+					case MODULE:
+					case PACKAGE:
+						skip(2);
+						break;
+					case METHOD_HANDLE:
+						skip(3);
+						break;
+					default:
+						return false;
+				}
+			}
+			for (int i = 1; i < numEntries; i++) {
+				int offset = offsets[i];
+				if (offset == 0) {
+					continue;
+				}
+				ConstantPoolType type = ConstantPoolType.fromCode(bytes[offset] & 0xFF);
+				if (type == ConstantPoolType.CLASS) {
+					addClassEntry(Utils.readUnsignedShort(bytes, offset + 1));
+				} else if (type == ConstantPoolType.NAME_AND_TYPE) {
+					addDescriptor(Utils.readUnsignedShort(bytes, offset + 3));
+				} else if (type == ConstantPoolType.METHOD_TYPE) {
+					addDescriptor(Utils.readUnsignedShort(bytes, offset + 1));
+				}
+			}
+			return true;
+		}
+
+		private void readAttributes() throws EOFException {
+			int count = readUnsignedShort();
+			for (int i = 0; i < count; i++) {
+				String name = findUtf8(readUnsignedShort());
+				int length = readInt();
+				int attributeEnd = pos + length;
+				if (length < 0 || attributeEnd > end) {
+					throw new EOFException("attribute length " + length + " extends past the end of the class bytes");
+				}
+				if (SIGNATURE_ATTRIBUTE.equals(name)) {
+					addDescriptor(readUnsignedShort());
+				} else if (VISIBLE_ANNOTATIONS_ATTRIBUTE.equals(name) || INVISIBLE_ANNOTATIONS_ATTRIBUTE.equals(name)) {
+					int annotationCount = readUnsignedShort();
+					for (int j = 0; j < annotationCount; j++) {
+						readAnnotation();
+					}
+				}
+				pos = attributeEnd;
+			}
+		}
+
+		private void readAnnotation() throws EOFException {
+			addDescriptor(readUnsignedShort());
+			int pairCount = readUnsignedShort();
+			for (int i = 0; i < pairCount; i++) {
+				// element name
+				skip(2);
+				readElementValue();
+			}
+		}
+
+		private void readElementValue() throws EOFException {
+			char tag = (char) readUnsignedByte();
+			switch (tag) {
+				case 'e':
+					// enum type-name and const-name
+					addDescriptor(readUnsignedShort());
+					skip(2);
+					break;
+				case 'c':
+					// class-info is a return descriptor
+					addDescriptor(readUnsignedShort());
+					break;
+				case '@':
+					readAnnotation();
+					break;
+				case '[':
+					int count = readUnsignedShort();
+					for (int i = 0; i < count; i++) {
+						readElementValue();
+					}
+					break;
+				default:
+					// constants are an index
+					skip(2);
+					break;
+			}
+		}
+
+		private void addClassEntry(int utf8Index) {
+			String name = findUtf8(utf8Index);
+			if (name == null || name.isEmpty()) {
+				return;
+			}
+			if (name.charAt(0) == '[') {
+				// array classes are descriptors
+				addTypes(name);
+			} else {
+				names.add(Utils.classPathToPackage(name));
+			}
+		}
+
+		private void addDescriptor(int utf8Index) {
+			String descriptor = findUtf8(utf8Index);
+			if (descriptor != null) {
+				addTypes(descriptor);
+			}
+		}
+
+		/**
+		 * Add the class types from a descriptor or generic signature such as "Ljava/util/List<Ljava/lang/String;>;".
+		 */
+		private void addTypes(String sig) {
+			int length = sig.length();
+			int i = 0;
+			while (i < length) {
+				char ch = sig.charAt(i);
+				if (ch == 'L' || ch == 'T') {
+					int nameEnd = i + 1;
+					while (nameEnd < length && !isSignatureDelimiter(sig.charAt(nameEnd))) {
+						nameEnd++;
+					}
+					if (nameEnd < length && sig.charAt(nameEnd) == ':') {
+						// formal type parameter name such as the T in <T:Ljava/lang/Object;>
+						i = nameEnd + 1;
+						continue;
+					}
+					if (ch == 'L' && nameEnd > i + 1) {
+						names.add(Utils.classPathToPackage(sig.substring(i + 1, nameEnd)));
+					}
+					// type variables are skipped
+					i = nameEnd;
+				} else if (ch == '.') {
+					// skip the simple name of an inner class of a generic outer class
+					i++;
+					while (i < length && !isSignatureDelimiter(sig.charAt(i))) {
+						i++;
+					}
+				} else {
+					i++;
+				}
+			}
+		}
+
+		private static boolean isSignatureDelimiter(char ch) {
+			return (ch == ';' || ch == '<' || ch == '>' || ch == '.' || ch == ':');
+		}
+
+		private String findClassName(int index) {
+			if (!isType(index, ConstantPoolType.CLASS)) {
+				return null;
+			}
+			String name = findUtf8(Utils.readUnsignedShort(bytes, offsets[index] + 1));
+			if (name == null) {
+				return null;
+			} else {
+				return Utils.classPathToPackage(name);
+			}
+		}
+
+		private String findUtf8(int index) {
+			if (!isType(index, ConstantPoolType.UTF8)) {
+				return null;
+			}
+			int offset = offsets[index];
+			return Utils.readModifiedUtf8(bytes, offset + 3, Utils.readUnsignedShort(bytes, offset + 1));
+		}
+
+		private boolean isType(int index, ConstantPoolType type) {
+			return (index > 0 && index < offsets.length && offsets[index] != 0
+					&& ConstantPoolType.fromCode(bytes[offsets[index]] & 0xFF) == type);
+		}
+
+		private int readUnsignedByte() throws EOFException {
+			checkAvailable(1);
+			return bytes[pos++] & 0xFF;
+		}
+
+		private int readUnsignedShort() throws EOFException {
+			checkAvailable(2);
+			int value = Utils.readUnsignedShort(bytes, pos);
+			pos += 2;
+			return value;
+		}
+
+		private int readInt() throws EOFException {
+			checkAvailable(4);
+			int value = Utils.readInt(bytes, pos);
+			pos += 4;
+			return value;
+		}
+
+		private void skip(int num) throws EOFException {
+			checkAvailable(num);
+			pos += num;
+		}
+
+		private void checkAvailable(int num) throws EOFException {
+			if (num < 0 || pos + num > end) {
+				throw new EOFException("reading " + num + " bytes past the end of the class bytes");
+			}
+		}
+	}
+}
@@ -0,0 +1,367 @@
+package com.j256.simpleclassreader;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Index of a class which records the byte offsets of each of the fields, methods, and attributes without decoding them.
+ * The entries can then be decoded on demand by number or looked up by name which is a lot less work than
+ * {@link ClassReader#readClass(byte[])} if you only need a couple of methods out of a large class. The decoded entries
+ * are cached.
+ *
+ * NOTE: the class-bytes array must not be changed after the index is read.
+ *
+ * @author graywatson
+ */
+public class ClassIndex {
+
+	private static final int CLASS_MAGIC = 0xCAFEBABE;
+
+	private final byte[] bytes;
+	private final int endOffset;
+	private final ParseContext context;
+	private final ConstantPool constantPool;
+	private final int minorVersion;
+	private final int majorVersion;
+	private final int accessFlags;
+	private final String className;
+	private final String superClassName;
+	private final String[] interfaces;
+	private final int[] fieldOffsets;
+	private final int[] methodOffsets;
+	private final int[] attributeOffsets;
+	private final FieldInfo[] fields;
+	private final MethodInfo[] methods;
+	private final AttributeInfo[] attributes;
+	/** entries that could not be decoded so we don't decode them again and add duplicate errors */
+	private final BitSet failedFields = new BitSet();
+	private final BitSet failedMethods = new BitSet();
+	private final BitSet failedAttributes = new BitSet();
+
+	private ClassIndex(byte[] bytes, int endOffset, ParseContext context, ConstantPool constantPool, int minorVersion,
+			int majorVersion, int accessFlags, String className, String superClassName, String[] interfaces,
+			int[] fieldOffsets, int[] methodOffsets, int[] attributeOffsets) {
+		this.bytes = bytes;
+		this.endOffset = endOffset;
+		this.context = context;
+		this.constantPool = constantPool;
+		this.minorVersion = minorVersion;
+		this.majorVersion = majorVersion;
+		this.accessFlags = accessFlags;
+		this.className = className;
+		this.superClassName = superClassName;
+		this.interfaces = interfaces;
+		this.fieldOffsets = fieldOffsets;
+		this.methodOffsets = methodOffsets;
+		this.attributeOffsets = attributeOffsets;
+		this.fields = new FieldInfo[fieldOffsets.length];
+		this.methods = new MethodInfo[methodOffsets.length];
+		this.attributes = new AttributeInfo[attributeOffsets.length];
+	}
+
+	/**
+	 * Index the class in the bytes and return the index or null on error.
+	 */
+	public static ClassIndex read(byte[] classBytes) throws IOException {
+		return read(classBytes, 0, classBytes.length, new ClassReaderOptions());
+	}
+
+	/**
+	 * Index the class in the length bytes starting at offset using the options and return the index or null on error.
+	 * The parse limits and metrics from the options apply to the indexing.
+	 */
+	public static ClassIndex read(byte[] classBytes, int offset, int length, ClassReaderOptions options)
+			throws IOException {
+
+		ParseContext context = new ParseContext(options, classBytes, offset, length);
+		context.startClass();
+		context.startDeadline();
+		try {
+			return readIndex(classBytes, offset + length, context);
+		} catch (ParseLimitException ple) {
+			context.addError(ple.getErrorType(), ple.getMessage());
+			return null;
+		} finally {
+			context.stopDeadline();
+		}
+	}
+
+	private static ClassIndex readIndex(byte[] classBytes, int endOffset, ParseContext context) throws IOException {
+		DataInputStream dis = context.getDataInputStream();
+		int magic = dis.readInt();
+		if (magic != CLASS_MAGIC) {
+			context.addError(ClassReaderErrorType.MAGIC_INVALID, magic);
+			return null;
+		}
+		int minorVersion = dis.readUnsignedShort();
+		int majorVersion = dis.readUnsignedShort();
+		context.endPhase(ParsePhase.HEADER);
+		ConstantPool constantPool = ConstantPool.read(dis, context);
+		if (constantPool == null) {
+			context.addError(ClassReaderErrorType.CONSTANT_POOL_INFO_INVALID, null);
+			return null;
+		}
+		context.endPhase(ParsePhase.CONSTANT_POOL);
+		int accessFlags = dis.readUnsignedShort();
+		String className = ClassInfo.readClassName(dis, constantPool, context);
+		context.setClassName(className);
+		String superClassName = ClassInfo.readClassName(dis, constantPool, context);
+		String[] interfaces = ClassInfo.readInterfaces(dis, constantPool, context);
+		context.endPhase(ParsePhase.HEADER);
+
+		int[] fieldOffsets = indexMembers(dis, context);
+		context.endPhase(ParsePhase.FIELDS);
+		int[] methodOffsets = indexMembers(dis, context);
+		context.endPhase(ParsePhase.METHODS);
+		int[] attributeOffsets = indexAttributes(dis, context);
+		context.endPhase(ParsePhase.ATTRIBUTES);
+		context.endClass(className);
+
+		return new ClassIndex(classBytes, endOffset, context, constantPool, minorVersion, majorVersion, accessFlags,
+				className, superClassName, interfaces, fieldOffsets, methodOffsets, attributeOffsets);
+	}
+
+	public int getMajorVersion() {
+		return majorVersion;
+	}
+
+	public int getMinorVersion() {
+		return minorVersion;
+	}
+
+	/**
+	 * Get the acccess-flags value for the class.
+	 */
+	public int getAccessFlagsValue() {
+		return accessFlags;
+	}
+
+	/**
+	 * Name of the class.
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * Name of the super class which may be java.lang.Object.
+	 */
+	public String getSuperClassName() {
+		return superClassName;
+	}
+
+	/**
+	 * Return the interfaces that the class extends or a blank array if none.
+	 */
+	public String[] getInterfaces() {
+		return interfaces;
+	}
+
+	/**
+	 * Return the constant-pool of the class.
+	 */
+	public ConstantPool getConstantPool() {
+		return constantPool;
+	}
+
+	/**
+	 * Return the number of fields in the class.
+	 */
+	public int getFieldCount() {
+		return fieldOffsets.length;
+	}
+
+	/**
+	 * Return the number of methods, including the constructors, in the class.
+	 */
+	public int getMethodCount() {
+		return methodOffsets.length;
+	}
+
+	/**
+	 * Return the number of class attributes.
+	 */
+	public int getAttributeCount() {
+		return attributeOffsets.length;
+	}
+
+	/**
+	 * Return the name of field number fieldNum without decoding the field.
+	 */
+	public String getFieldName(int fieldNum) {
+		return constantPool.findName(Utils.readUnsignedShort(bytes, fieldOffsets[fieldNum] + 2));
+	}
+
+	/**
+	 * Return the name of method number methodNum without decoding the method.
+	 */
+	public String getMethodName(int methodNum) {
+		return constantPool.findName(Utils.readUnsignedShort(bytes, methodOffsets[methodNum] + 2));
+	}
+
+	/**
+	 * Return the descriptor string of method number methodNum without decoding the method.
+	 */
+	public String getMethodDescriptorStr(int methodNum) {
+		return constantPool.findName(Utils.readUnsignedShort(bytes, methodOffsets[methodNum] + 4));
+	}
+
+	/**
+	 * Decode and return field number fieldNum or null if it could not be read.
+	 */
+	public FieldInfo readField(int fieldNum) throws IOException {
+		synchronized (context.getLock()) {
+			if (fields[fieldNum] == null && !failedFields.get(fieldNum)) {
+				ParseContext fieldContext = rangeContext(fieldOffsets[fieldNum]);
+				fields[fieldNum] = FieldInfo.read(fieldContext.getDataInputStream(), constantPool, fieldContext);
+				if (fields[fieldNum] == null) {
+					failedFields.set(fieldNum);
+				}
+			}
+			return fields[fieldNum];
+		}
+	}
+
+	/**
+	 * Decode and return method number methodNum or null if it could not be read.
+	 */
+	public MethodInfo readMethod(int methodNum) throws IOException {
+		synchronized (context.getLock()) {
+			if (methods[methodNum] == null && !failedMethods.get(methodNum)) {
+				ParseContext methodContext = rangeContext(methodOffsets[methodNum]);
+				methods[methodNum] = MethodInfo.read(methodContext.getDataInputStream(), constantPool, methodContext);
+				if (methods[methodNum] == null) {
+					failedMethods.set(methodNum);
+				}
+			}
+			return methods[methodNum];
+		}
+	}
+
+	/**
+	 * Decode and return class attribute number attributeNum or null if it could not be read.
+	 */
+	public AttributeInfo readAttribute(int attributeNum) throws IOException {
+		synchronized (context.getLock()) {
+			if (attributes[attributeNum] == null && !failedAttributes.get(attributeNum)) {
+				ParseContext attributeContext = rangeContext(attributeOffsets[attributeNum]);
+				attributes[attributeNum] =
+						AttributeInfo.read(attributeContext.getDataInputStream(), constantPool, attributeContext);
+				if (attributes[attributeNum] == null) {
+					failedAttributes.set(attributeNum);
+				}
+			}
+			return attributes[attributeNum];
+		}
+	}
+
+	/**
+	 * Find and decode the field with the name or return null if none.
+	 */
+	public FieldInfo findField(String name) throws IOException {
+		for (int i = 0; i < fieldOffsets.length; i++) {
+			if (name.equals(getFieldName(i))) {
+				return readField(i);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Find and decode the method with the name and descriptor string, such as "(Ljava/lang/String;)V", or return null
+	 * if none. Only the matching method is decoded.
+	 */
+	public MethodInfo findMethod(String name, String descriptorStr) throws IOException {
+		for (int i = 0; i < methodOffsets.length; i++) {
+			if (name.equals(getMethodName(i)) && descriptorStr.equals(getMethodDescriptorStr(i))) {
+				return readMethod(i);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Find and decode all of the methods with the name.
+	 */
+	public List<MethodInfo> findMethods(String name) throws IOException {
+		List<MethodInfo> results = new ArrayList<>();
+		for (int i = 0; i < methodOffsets.length; i++) {
+			if (name.equals(getMethodName(i))) {
+				MethodInfo method = readMethod(i);
+				if (method != null) {
+					results.add(method);
+				}
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Return a copy of the errors from the indexing and from the entries decoded so far.
+	 */
+	public List<ClassReaderError> getParseErrors() {
+		return context.copyParseErrors();
+	}
+
+	@Override
+	public String toString() {
+		return "index of " + className;
+	}
+
+	private ParseContext rangeContext(int offset) {
+		return context.forRange(offset, endOffset - offset);
+	}
+
+	/**
+	 * Record the offsets of the field or method entries and skip over them.
+	 */
+	private static int[] indexMembers(DataInputStream dis, ParseContext context) throws IOException {
+
+		// u2 access_flags;
+		// u2 name_index;
+		// u2 descriptor_index;
+		// u2 attributes_count;
+		// attribute_info attributes[attributes_count];
+
+		int num = dis.readUnsignedShort();
+		int[] offsets = new int[num];
+		for (int i = 0; i < num; i++) {
+			context.checkDeadline();
+			offsets[i] = context.getPosition();
+			context.skipBytes(6);
+			int attributeCount = dis.readUnsignedShort();
+			for (int j = 0; j < attributeCount; j++) {
+				skipAttribute(dis, context);
+			}
+		}
+		return offsets;
+	}
+
+	/**
+	 * Record the offsets of the class attributes and skip over them.
+	 */
+	private static int[] indexAttributes(DataInputStream dis, ParseContext context) throws IOException {
+		int num = dis.readUnsignedShort();
+		int[] offsets = new int[num];
+		for (int i = 0; i < num; i++) {
+			offsets[i] = context.getPosition();
+			skipAttribute(dis, context);
+		}
+		return offsets;
+	}
+
+	private static void skipAttribute(DataInputStream dis, ParseContext context) throws IOException {
+		// u2 attribute_name_index;
+		// u4 attribute_length;
+		context.skipBytes(2);
+		int length = dis.readInt();
+		if (length < 0) {
+			throw new EOFException("invalid attribute length: " + length);
+		}
+		context.skipBytes(length);
+	}
+}
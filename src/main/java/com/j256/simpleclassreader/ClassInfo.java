@@ -3,9 +3,13 @@ package com.j256.simpleclassreader;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.j256.simpleclassreader.attribute.AnnotationInfo;
+import com.j256.simpleclassreader.attribute.AttributeType;
 import com.j256.simpleclassreader.attribute.InnerClassesAttribute;
 import com.j256.simpleclassreader.attribute.InnerClassesAttribute.InnerClassInfo;
 import com.j256.simpleclassreader.attribute.RuntimeVisibleAnnotationsAttribute;
@@ -20,6 +24,10 @@ public class ClassInfo {
 
 	private static final int CLASS_MAGIC = 0xCAFEBABE;
 	private static final String UNKNOWN_VERSION = "unknown";
+	/** estimate of the bytes used by each field or method for the allocation limit */
+	private static final int MEMBER_ESTIMATE_BYTES = 64;
+	/** estimate of the bytes of the class object along with its arrays and the names of the class and interfaces */
+	private static final int CLASS_ESTIMATE_BYTES = 256;
 
 	private final int minorVersion;
 	private final int majorVersion;
@@ -32,15 +40,20 @@ public class ClassInfo {
 	private final MethodInfo[] constructors;
 	private final MethodInfo[] methods;
 	private final AttributeInfo[] attributes;
-	private final AnnotationInfo[] runtimeAnnotations;
-	private final InnerClassInfo[] innerClasses;
 	private final boolean deprecated;
 	private final List<ClassReaderError> parseErrors;
+	/** set if attributes are decoded on demand which can add errors after the class was read */
+	private final ParseContext lazyContext;
+	private final ConstantPool constantPool;
+	private final long estimatedSizeBytes;
+	/** lookup maps which are built the first time they are needed */
+	private volatile MemberIndex memberIndex;
+	private volatile Map<AttributeType, AttributeInfo> attributeIndex;
 
 	private ClassInfo(int minorVersion, int majorVersion, JdkVersion jdkVersion, int accessFlags, String className,
 			String superClassName, String[] interfaces, FieldInfo[] fields, MethodInfo[] constructors,
-			MethodInfo[] methods, AttributeInfo[] attributes, AnnotationInfo[] runtimeAnnotations,
-			InnerClassInfo[] innerClasses, boolean deprecated, List<ClassReaderError> parseErrors) {
+			MethodInfo[] methods, AttributeInfo[] attributes, boolean deprecated, ParseContext context,
+			ConstantPool constantPool) {
 		this.minorVersion = minorVersion;
 		this.majorVersion = majorVersion;
 		this.jdkVersion = jdkVersion;
@@ -52,46 +65,80 @@ public class ClassInfo {
 		this.constructors = constructors;
 		this.methods = methods;
 		this.attributes = attributes;
-		this.runtimeAnnotations = runtimeAnnotations;
-		this.innerClasses = innerClasses;
 		this.deprecated = deprecated;
-		this.parseErrors = parseErrors;
+		if (context.isLazyAttributes()) {
+			this.parseErrors = null;
+			this.lazyContext = context;
+			// the attributes hold on to the class bytes to be decoded later
+			this.estimatedSizeBytes = CLASS_ESTIMATE_BYTES + context.getAllocatedBytes() + context.getBytes().length;
+		} else {
+			this.parseErrors = context.getParseErrors();
+			this.lazyContext = null;
+			this.estimatedSizeBytes = CLASS_ESTIMATE_BYTES + context.getAllocatedBytes();
+		}
+		this.constantPool = constantPool;
 	}
 
 	/**
 	 * Read in a class bytes and return the class info or null on error.
 	 */
 	public static ClassInfo read(DataInputStream dis) throws IOException {
+		return read(new ParseContext(new ClassReaderOptions(), dis));
+	}
+
+	/**
+	 * Read in a class from the input of the context and return the class info or null on error.
+	 */
+	public static ClassInfo read(ParseContext context) throws IOException {
+		context.startClass();
+		context.startDeadline();
+		try {
+			return readClass(context);
+		} catch (ParseLimitException ple) {
+			context.addError(ple.getErrorType(), ple.getMessage());
+			return null;
+		} finally {
+			context.stopDeadline();
+		}
+	}
 
-		List<ClassReaderError> parseErrors = new ArrayList<>();
+	private static ClassInfo readClass(ParseContext context) throws IOException {
+
+		DataInputStream dis = context.getDataInputStream();
 		int magic = dis.readInt();
 		if (magic != CLASS_MAGIC) {
-			parseErrors.add(new ClassReaderError(ClassReaderErrorType.MAGIC_INVALID, magic));
+			context.addError(ClassReaderErrorType.MAGIC_INVALID, magic);
 			return null;
 		}
 		int minorVersion = dis.readUnsignedShort();
 		int majorVersion = dis.readUnsignedShort();
 		JdkVersion jdkVersion = JdkVersion.fromMajor(majorVersion);
 		if (jdkVersion == null) {
-			parseErrors.add(new ClassReaderError(ClassReaderErrorType.UNKNOWN_MAJOR_VERSION, majorVersion));
+			context.addError(ClassReaderErrorType.UNKNOWN_MAJOR_VERSION, majorVersion);
 			// try to continue
 		}
+		context.endPhase(ParsePhase.HEADER);
 
-		ConstantPool constantPool = ConstantPool.read(dis);
+		ConstantPool constantPool = ConstantPool.read(dis, context);
 		if (constantPool == null) {
-			parseErrors.add(new ClassReaderError(ClassReaderErrorType.CONSTANT_POOL_INFO_INVALID, null));
+			context.addError(ClassReaderErrorType.CONSTANT_POOL_INFO_INVALID, null);
 			return null;
 		}
+		context.endPhase(ParsePhase.CONSTANT_POOL);
 
 		int accessFlags = dis.readUnsignedShort();
 		// this class-name
-		String className = readClassName(dis, constantPool, parseErrors);
+		String className = readClassName(dis, constantPool, context);
+		context.setClassName(className);
 		// super class-name
-		String superClassName = readClassName(dis, constantPool, parseErrors);
-
-		String[] interfaces = readInterfaces(dis, constantPool, parseErrors);
-		FieldInfo[] fields = readFields(dis, constantPool, parseErrors);
-		MethodInfo[] allMethods = readMethods(dis, constantPool, parseErrors);
+		String superClassName = readClassName(dis, constantPool, context);
+
+		String[] interfaces = readInterfaces(dis, constantPool, context);
+		context.endPhase(ParsePhase.HEADER);
+		FieldInfo[] fields = readFields(dis, constantPool, context);
+		context.endPhase(ParsePhase.FIELDS);
+		MethodInfo[] allMethods = readMethods(dis, constantPool, context);
+		context.endPhase(ParsePhase.METHODS);
 		List<MethodInfo> constructorList = new ArrayList<>();
 		List<MethodInfo> methodList = new ArrayList<>();
 		for (MethodInfo method : allMethods) {
@@ -103,30 +150,18 @@ public class ClassInfo {
 		}
 		MethodInfo[] constructors = constructorList.toArray(new MethodInfo[constructorList.size()]);
 		MethodInfo[] methods = methodList.toArray(new MethodInfo[methodList.size()]);
-		AttributeInfo[] attributes = readAttributes(dis, constantPool, parseErrors);
-		AnnotationInfo[] runtimeAnnotations = null;
-		InnerClassInfo[] innerClasses = null;
+		AttributeInfo[] attributes = readAttributes(dis, constantPool, context);
 		boolean deprecated = false;
 		for (AttributeInfo attributeInfo : attributes) {
-			switch (attributeInfo.getType()) {
-				case DEPRECATED:
-					deprecated = true;
-					break;
-				case INNER_CLASSES:
-					innerClasses = ((InnerClassesAttribute) attributeInfo.getValue()).getInnerClasses();
-					break;
-				case RUNTIME_VISIBLE_ANNOTATIONS:
-					runtimeAnnotations =
-							((RuntimeVisibleAnnotationsAttribute) attributeInfo.getValue()).getAnnotations();
-					break;
-				default:
-					// no additional processing
-					break;
+			if (attributeInfo.getType() == AttributeType.DEPRECATED) {
+				deprecated = true;
 			}
 		}
+		context.endPhase(ParsePhase.ATTRIBUTES);
+		context.endClass(className);
 
 		return new ClassInfo(minorVersion, majorVersion, jdkVersion, accessFlags, className, superClassName, interfaces,
-				fields, constructors, methods, attributes, runtimeAnnotations, innerClasses, deprecated, parseErrors);
+				fields, constructors, methods, attributes, deprecated, context, constantPool);
 	}
 
 	public int getMajorVersion() {
@@ -261,14 +296,26 @@ public class ClassInfo {
 	}
 
 	public AnnotationInfo[] getRuntimeAnnotations() {
-		return runtimeAnnotations;
+		RuntimeVisibleAnnotationsAttribute annotationsAttribute =
+				(RuntimeVisibleAnnotationsAttribute) findAttributeValue(AttributeType.RUNTIME_VISIBLE_ANNOTATIONS);
+		if (annotationsAttribute == null) {
+			return null;
+		} else {
+			return annotationsAttribute.getAnnotations();
+		}
 	}
 
 	/**
 	 * Return the inner classes and referenced classes from the class.
 	 */
 	public InnerClassInfo[] getInnerClasses() {
-		return innerClasses;
+		InnerClassesAttribute innerClassesAttribute =
+				(InnerClassesAttribute) findAttributeValue(AttributeType.INNER_CLASSES);
+		if (innerClassesAttribute == null) {
+			return null;
+		} else {
+			return innerClassesAttribute.getInnerClasses();
+		}
 	}
 
 	/**
@@ -279,33 +326,96 @@ public class ClassInfo {
 	}
 
 	/**
-	 * Return errors from the parse..
+	 * Return errors from the parse. If the attributes are decoded on demand then this is a copy of the errors so far
+	 * since more may be added by later decodes.
 	 */
 	public List<ClassReaderError> getParseErrors() {
-		return parseErrors;
+		if (lazyContext == null) {
+			return parseErrors;
+		} else {
+			return lazyContext.copyParseErrors();
+		}
+	}
+
+	/**
+	 * Return the estimate of the number of bytes of memory that this class holds. This is estimated from the number of
+	 * members and attributes and the constant-pool entries and strings when the class was read. If the attributes are
+	 * decoded on demand then this includes the class bytes but not the values decoded later.
+	 */
+	public long getEstimatedSizeBytes() {
+		return estimatedSizeBytes;
+	}
+
+	/**
+	 * Return the constant-pool of the class which resolves the constant-pool indexes from the bytecode, see
+	 * {@link ConstantPool#findMemberRef(int)}.
+	 */
+	public ConstantPool getConstantPool() {
+		return constantPool;
+	}
+
+	/**
+	 * Find the method or constructor with the name and descriptor string, such as "(Ljava/lang/String;)V", or null if
+	 * none. This uses a map of the methods that is built on the first lookup.
+	 */
+	public MethodInfo findMethod(String name, String descriptorStr) {
+		return getMemberIndex().methodMap.get(methodKey(name, descriptorStr));
+	}
+
+	/**
+	 * Find the methods or constructors with the name or an empty list if none.
+	 */
+	public List<MethodInfo> findMethods(String name) {
+		List<MethodInfo> results = getMemberIndex().methodsByName.get(name);
+		if (results == null) {
+			return Collections.emptyList();
+		} else {
+			return results;
+		}
+	}
+
+	/**
+	 * Find the field with the name or null if none.
+	 */
+	public FieldInfo findField(String name) {
+		return getMemberIndex().fieldMap.get(name);
+	}
+
+	/**
+	 * Return the first class attribute of the type or null if none. This uses a map of the attributes by type that is
+	 * built on the first call.
+	 */
+	public AttributeInfo getAttribute(AttributeType type) {
+		Map<AttributeType, AttributeInfo> index = attributeIndex;
+		if (index == null) {
+			// NOTE: two threads may both build the index but they are the same
+			index = AttributeInfo.indexByType(attributes);
+			attributeIndex = index;
+		}
+		return index.get(type);
 	}
 
-	private static String readClassName(DataInputStream dis, ConstantPool constantPool,
-			List<ClassReaderError> parseErrors) throws IOException {
+	static String readClassName(DataInputStream dis, ConstantPool constantPool, ParseContext context)
+			throws IOException {
 		int index = dis.readUnsignedShort();
 		String name = constantPool.findClassName(index);
 		if (name == null) {
-			parseErrors.add(new ClassReaderError(ClassReaderErrorType.CLASS_NAME_INDEX_INVALID, index));
+			context.addError(ClassReaderErrorType.CLASS_NAME_INDEX_INVALID, index);
 			return null;
 		}
 		name = Utils.classPathToPackage(name);
 		return name;
 	}
 
-	private static String[] readInterfaces(DataInputStream dis, ConstantPool constantPool,
-			List<ClassReaderError> parseErrors) throws IOException {
+	static String[] readInterfaces(DataInputStream dis, ConstantPool constantPool, ParseContext context)
+			throws IOException {
 		int num = dis.readUnsignedShort();
 		List<String> names = new ArrayList<>();
 		for (int i = 0; i < num; i++) {
 			int index = dis.readUnsignedShort();
 			String name = constantPool.findClassName(index);
 			if (name == null) {
-				parseErrors.add(new ClassReaderError(ClassReaderErrorType.INTERFACE_NAME_INDEX_INVALID, index));
+				context.addError(ClassReaderErrorType.INTERFACE_NAME_INDEX_INVALID, index);
 				// try to continue
 			} else {
 				name = Utils.classPathToPackage(name);
@@ -315,12 +425,15 @@ public class ClassInfo {
 		return names.toArray(new String[names.size()]);
 	}
 
-	private static FieldInfo[] readFields(DataInputStream dis, ConstantPool constantPool, List<ClassReaderError> errors)
+	private static FieldInfo[] readFields(DataInputStream dis, ConstantPool constantPool, ParseContext context)
 			throws IOException {
 		int num = dis.readUnsignedShort();
+		context.addMembers(num);
+		context.reserveBytes((long) num * MEMBER_ESTIMATE_BYTES);
 		List<FieldInfo> fields = new ArrayList<>();
 		for (int i = 0; i < num; i++) {
-			FieldInfo field = FieldInfo.read(dis, constantPool, errors);
+			context.checkDeadline();
+			FieldInfo field = FieldInfo.read(dis, constantPool, context);
 			if (field == null) {
 				// try to continue
 			} else {
@@ -330,12 +443,15 @@ public class ClassInfo {
 		return fields.toArray(new FieldInfo[fields.size()]);
 	}
 
-	private static MethodInfo[] readMethods(DataInputStream dis, ConstantPool constantPool,
-			List<ClassReaderError> errors) throws IOException {
+	private static MethodInfo[] readMethods(DataInputStream dis, ConstantPool constantPool, ParseContext context)
+			throws IOException {
 		int num = dis.readUnsignedShort();
+		context.addMembers(num);
+		context.reserveBytes((long) num * MEMBER_ESTIMATE_BYTES);
 		List<MethodInfo> methods = new ArrayList<>();
 		for (int i = 0; i < num; i++) {
-			MethodInfo method = MethodInfo.read(dis, constantPool, errors);
+			context.checkDeadline();
+			MethodInfo method = MethodInfo.read(dis, constantPool, context);
 			if (method == null) {
 				// try to continue
 			} else {
@@ -345,12 +461,12 @@ public class ClassInfo {
 		return methods.toArray(new MethodInfo[methods.size()]);
 	}
 
-	private static AttributeInfo[] readAttributes(DataInputStream dis, ConstantPool constantPool,
-			List<ClassReaderError> errors) throws IOException {
+	private static AttributeInfo[] readAttributes(DataInputStream dis, ConstantPool constantPool, ParseContext context)
+			throws IOException {
 		int num = dis.readUnsignedShort();
 		List<AttributeInfo> attributeInfos = null;
 		for (int i = 0; i < num; i++) {
-			AttributeInfo attributeInfo = AttributeInfo.read(dis, constantPool, errors);
+			AttributeInfo attributeInfo = AttributeInfo.read(dis, constantPool, context);
 			if (attributeInfo == null) {
 				// try to read other known attributes
 				continue;
@@ -366,4 +482,69 @@ public class ClassInfo {
 		}
 		return attributes;
 	}
+
+	private Object findAttributeValue(AttributeType type) {
+		AttributeInfo attribute = getAttribute(type);
+		if (attribute == null) {
+			return null;
+		} else {
+			return attribute.getValue();
+		}
+	}
+
+	private MemberIndex getMemberIndex() {
+		MemberIndex index = memberIndex;
+		if (index == null) {
+			// NOTE: two threads may both build the index but they are the same
+			index = new MemberIndex(fields, constructors, methods);
+			memberIndex = index;
+		}
+		return index;
+	}
+
+	private static String methodKey(String name, String descriptorStr) {
+		// the name cannot have a '(' in it so this is unique
+		return name + descriptorStr;
+	}
+
+	/**
+	 * Maps of the fields and methods for the find methods.
+	 */
+	private static class MemberIndex {
+
+		final Map<String, MethodInfo> methodMap = new HashMap<>();
+		final Map<String, List<MethodInfo>> methodsByName = new HashMap<>();
+		final Map<String, FieldInfo> fieldMap = new HashMap<>();
+
+		public MemberIndex(FieldInfo[] fields, MethodInfo[] constructors, MethodInfo[] methods) {
+			for (FieldInfo field : fields) {
+				if (!fieldMap.containsKey(field.getName())) {
+					fieldMap.put(field.getName(), field);
+				}
+			}
+			addMethods(constructors);
+			addMethods(methods);
+			for (Map.Entry<String, List<MethodInfo>> entry : methodsByName.entrySet()) {
+				entry.setValue(Collections.unmodifiableList(entry.getValue()));
+			}
+		}
+
+		private void addMethods(MethodInfo[] methods) {
+			for (MethodInfo method : methods) {
+				MethodDescriptor descriptor = method.getMethodDescriptor();
+				if (descriptor != null) {
+					String key = methodKey(method.getName(), descriptor.getDescriptorStr());
+					if (!methodMap.containsKey(key)) {
+						methodMap.put(key, method);
+					}
+				}
+				List<MethodInfo> list = methodsByName.get(method.getName());
+				if (list == null) {
+					list = new ArrayList<>();
+					methodsByName.put(method.getName(), list);
+				}
+				list.add(method);
+			}
+		}
+	}
 }
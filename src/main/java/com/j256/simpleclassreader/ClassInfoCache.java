@@ -0,0 +1,275 @@
+package com.j256.simpleclassreader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import com.j256.simpleclassreader.jfr.ParseEvents;
+
+/**
+ * Cache of the {@link ClassInfo} read from class files which is bounded by the estimated size of the entries and
+ * evicts the least recently used. If a number of threads ask for the same file at the same time, only one of them
+ * reads the class and the others wait for its result. The entries are validated against the last-modified time and
+ * the length of the file so a changed file is read again.
+ *
+ * NOTE: the size of an entry is the {@link ClassInfo#getEstimatedSizeBytes()} of the class which is a number of times
+ * larger than the class file. The returned {@link ClassInfo} is shared and should not be changed.
+ *
+ * @author graywatson
+ */
+public class ClassInfoCache {
+
+	private static final String EVENT_CACHE_NAME = "ClassInfoCache";
+
+	private final long maxSizeBytes;
+	private final ClassReaderOptions options;
+	/** entries in least recently used order */
+	private final LinkedHashMap<File, CacheEntry> entries = new LinkedHashMap<>(16, 0.75F, true);
+	/** loads that are in progress so other threads can wait for them */
+	private final Map<File, FutureTask<CacheEntry>> loading = new HashMap<>();
+	private long sizeBytes;
+	private long hitCount;
+	private long missCount;
+	private long loadCount;
+	private long loadNanos;
+	private long evictionCount;
+
+	/**
+	 * Create a cache which holds up to the max-size bytes of classes.
+	 */
+	public ClassInfoCache(long maxSizeBytes) {
+		this(maxSizeBytes, new ClassReaderOptions());
+	}
+
+	/**
+	 * Create a cache which holds up to the max-size bytes of classes and reads them using the options.
+	 */
+	public ClassInfoCache(long maxSizeBytes, ClassReaderOptions options) {
+		this.maxSizeBytes = maxSizeBytes;
+		this.options = options;
+	}
+
+	/**
+	 * Return the {@link ClassInfo} for the class file from the cache or read it in. Returns null if the file is not a
+	 * valid class.
+	 */
+	public ClassInfo get(File file) throws IOException {
+		long lastModified = file.lastModified();
+		long length = file.length();
+		FutureTask<CacheEntry> task;
+		boolean loader = false;
+		synchronized (this) {
+			CacheEntry entry = entries.get(file);
+			if (entry != null && entry.lastModified == lastModified && entry.length == length) {
+				hitCount++;
+				ParseEvents.cacheAccess(EVENT_CACHE_NAME, true);
+				return entry.classInfo;
+			}
+			missCount++;
+			ParseEvents.cacheAccess(EVENT_CACHE_NAME, false);
+			task = loading.get(file);
+			if (task == null) {
+				task = new FutureTask<>(new ClassLoad(file, lastModified, length));
+				loading.put(file, task);
+				loader = true;
+			}
+		}
+
+		if (loader) {
+			long startNanos = System.nanoTime();
+			try {
+				task.run();
+			} finally {
+				synchronized (this) {
+					// add the entry before removing the load so other threads will see one or the other
+					CacheEntry entry = loadedEntry(task);
+					if (entry != null && entry.classInfo != null) {
+						put(file, entry);
+					}
+					loading.remove(file);
+					loadCount++;
+					loadNanos += System.nanoTime() - startNanos;
+				}
+			}
+		}
+
+		CacheEntry entry;
+		try {
+			entry = task.get();
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new IOException("interrupted waiting for class to be read: " + file, ie);
+		} catch (ExecutionException ee) {
+			Throwable cause = ee.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else {
+				throw new IOException("problems reading class: " + file, cause);
+			}
+		}
+		return entry.classInfo;
+	}
+
+	/**
+	 * Remove the class file from the cache.
+	 */
+	public synchronized void invalidate(File file) {
+		CacheEntry entry = entries.remove(file);
+		if (entry != null) {
+			sizeBytes -= entry.sizeBytes;
+		}
+	}
+
+	/**
+	 * Remove all of the entries from the cache.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		sizeBytes = 0;
+	}
+
+	/**
+	 * Return the number of classes in the cache.
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Return the estimated number of bytes of memory held by the classes in the cache.
+	 */
+	public synchronized long getSizeBytes() {
+		return sizeBytes;
+	}
+
+	/**
+	 * Return the number of times the class was found in the cache.
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Return the number of times the class was not found in the cache or was out of date.
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Return the fraction of the requests that were found in the cache or 0 if none.
+	 */
+	public synchronized double getHitRate() {
+		long requestCount = hitCount + missCount;
+		if (requestCount == 0) {
+			return 0;
+		} else {
+			return (double) hitCount / requestCount;
+		}
+	}
+
+	/**
+	 * Return the number of times a class was read. This is less than the misses when concurrent requests for the same
+	 * class shared one read.
+	 */
+	public synchronized long getLoadCount() {
+		return loadCount;
+	}
+
+	/**
+	 * Return the average number of nanoseconds that it took to read a class or 0 if none.
+	 */
+	public synchronized long getAverageLoadNanos() {
+		if (loadCount == 0) {
+			return 0;
+		} else {
+			return loadNanos / loadCount;
+		}
+	}
+
+	/**
+	 * Return the number of entries that were removed to keep the cache under its max size.
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * Return the entry from the finished load or null if it threw.
+	 */
+	private static CacheEntry loadedEntry(FutureTask<CacheEntry> task) {
+		try {
+			return task.get();
+		} catch (InterruptedException | ExecutionException e) {
+			return null;
+		}
+	}
+
+	private synchronized void put(File file, CacheEntry entry) {
+		CacheEntry old = entries.put(file, entry);
+		if (old != null) {
+			sizeBytes -= old.sizeBytes;
+		}
+		sizeBytes += entry.sizeBytes;
+		Iterator<CacheEntry> iterator = entries.values().iterator();
+		// NOTE: we don't evict the entry we just added even if it is larger than the max-size
+		while (sizeBytes > maxSizeBytes && entries.size() > 1) {
+			CacheEntry eldest = iterator.next();
+			iterator.remove();
+			sizeBytes -= eldest.sizeBytes;
+			evictionCount++;
+		}
+	}
+
+	/**
+	 * Reads in a class file.
+	 */
+	private class ClassLoad implements Callable<CacheEntry> {
+
+		private final File file;
+		private final long lastModified;
+		private final long length;
+
+		public ClassLoad(File file, long lastModified, long length) {
+			this.file = file;
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+
+		@Override
+		public CacheEntry call() throws IOException {
+			byte[] bytes = Files.readAllBytes(file.toPath());
+			ClassInfo classInfo = ClassReader.readClass(bytes, options);
+			return new CacheEntry(classInfo, lastModified, length);
+		}
+	}
+
+	/**
+	 * Class that was read along with the details of the file used to validate it.
+	 */
+	private static class CacheEntry {
+
+		final ClassInfo classInfo;
+		final long lastModified;
+		final long length;
+		final long sizeBytes;
+
+		public CacheEntry(ClassInfo classInfo, long lastModified, long length) {
+			this.classInfo = classInfo;
+			this.lastModified = lastModified;
+			this.length = length;
+			if (classInfo == null) {
+				this.sizeBytes = 0;
+			} else {
+				this.sizeBytes = classInfo.getEstimatedSizeBytes();
+			}
+		}
+	}
+}
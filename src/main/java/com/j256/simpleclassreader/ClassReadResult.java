@@ -0,0 +1,51 @@
+package com.j256.simpleclassreader;
+
+import java.nio.file.Path;
+
+/**
+ * Result of reading a class file in a batch with {@link ClassReader#readClassesAsync(java.util.List,
+ * java.util.concurrent.Executor)} which holds the path that was read so the results can be matched up with the paths
+ * when they finish out of order.
+ *
+ * @author graywatson
+ */
+public class ClassReadResult {
+
+	private final Path path;
+	private final ClassInfo classInfo;
+	private final Throwable error;
+
+	ClassReadResult(Path path, ClassInfo classInfo, Throwable error) {
+		this.path = path;
+		this.classInfo = classInfo;
+		this.error = error;
+	}
+
+	/**
+	 * Return the path of the class file that was read.
+	 */
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * Return the class that was read or null if the file is not a valid class or could not be read, see
+	 * {@link #getError()}.
+	 */
+	public ClassInfo getClassInfo() {
+		return classInfo;
+	}
+
+	/**
+	 * Return the exception if the file could not be read or was truncated, such as a
+	 * {@link java.nio.file.NoSuchFileException}, or null if none.
+	 */
+	public Throwable getError() {
+		return error;
+	}
+
+	@Override
+	public String toString() {
+		return "result of " + path;
+	}
+}
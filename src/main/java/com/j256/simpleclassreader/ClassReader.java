@@ -1,12 +1,17 @@
 package com.j256.simpleclassreader;
 
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.j256.simpleclassreader.jfr.ParseEvents;
 
 /**
  * Utility class that reads in class bytes and returns a {@link ClassInfo}.
@@ -25,7 +30,24 @@ public class ClassReader {
 	 *             General input problem..
 	 */
 	public static ClassInfo readClass(byte[] classBytes) throws EOFException, IOException {
-		return readClass(new ByteArrayInputStream(classBytes));
+		return readClass(classBytes, 0, classBytes.length, new ClassReaderOptions());
+	}
+
+	/**
+	 * Read in a {@link ClassInfo} from a byte array using the options.
+	 * 
+	 * @param classBytes
+	 *            Array of bytes that contains the class.
+	 * @param options
+	 *            Options that control how the class is read.
+	 * @throws EOFException
+	 *             If the end of the buffer was reached prematurely. This probably indicates truncated or corrupted
+	 *             class information.
+	 * @throws IOException
+	 *             General input problem..
+	 */
+	public static ClassInfo readClass(byte[] classBytes, ClassReaderOptions options) throws EOFException, IOException {
+		return readClass(classBytes, 0, classBytes.length, options);
 	}
 
 	/**
@@ -44,7 +66,30 @@ public class ClassReader {
 	 *             General input problem..
 	 */
 	public static ClassInfo readClass(byte[] classBytes, int offset, int length) throws EOFException, IOException {
-		return readClass(new ByteArrayInputStream(classBytes, offset, length));
+		return readClass(classBytes, offset, length, new ClassReaderOptions());
+	}
+
+	/**
+	 * Read in a {@link ClassInfo} from a byte array starting at offset of length bytes using the options. If the
+	 * attributes are being read lazily then the class-bytes array must not be changed afterwards.
+	 * 
+	 * @param classBytes
+	 *            Array of bytes that contains the class.
+	 * @param offset
+	 *            Start of the bytes of the class in the buffer.
+	 * @param length
+	 *            Length of the class bytes to read from the buffer.
+	 * @param options
+	 *            Options that control how the class is read.
+	 * @throws EOFException
+	 *             If the end of the buffer was reached prematurely. This probably indicates truncated or corrupted
+	 *             class information.
+	 * @throws IOException
+	 *             General input problem..
+	 */
+	public static ClassInfo readClass(byte[] classBytes, int offset, int length, ClassReaderOptions options)
+			throws EOFException, IOException {
+		return read(new ParseContext(options, classBytes, offset, length), ParseEvents.beginClassParse());
 	}
 
 	/**
@@ -59,9 +104,31 @@ public class ClassReader {
 	 *             General input problem..
 	 */
 	public static ClassInfo readClass(InputStream inputStream) throws EOFException, IOException {
-		DataInputStream dis = new DataInputStream(inputStream);
-		return ClassInfo.read(dis);
-		// NOTE: dis is not closed on purpose because that would close the underlying input-stream
+		return readClass(inputStream, new ClassReaderOptions());
+	}
+
+	/**
+	 * Read in a {@link ClassInfo} using the input-stream which will _not_ be closed and the options.
+	 * 
+	 * @param inputStream
+	 *            Input stream to read the class bytes from. The stream should be closed by the caller.
+	 * @param options
+	 *            Options that control how the class is read.
+	 * @throws EOFException
+	 *             If the end of the input was reached prematurely. This probably indicates truncated or corrupted class
+	 *             information.
+	 * @throws IOException
+	 *             General input problem..
+	 */
+	public static ClassInfo readClass(InputStream inputStream, ClassReaderOptions options)
+			throws EOFException, IOException {
+		if (options.isLazyAttributes()) {
+			// the lazy attributes need to hold onto the class bytes so we have to read them all in
+			return readClass(Utils.readAllBytes(inputStream), options);
+		}
+		// NOTE: the stream is not closed on purpose because that would close the underlying input-stream
+		Object event = ParseEvents.beginClassParse();
+		return read(new ParseContext(options, inputStream, event != null), event);
 	}
 
 	/**
@@ -76,8 +143,94 @@ public class ClassReader {
 	 *             General input problem..
 	 */
 	public static ClassInfo readClass(File file) throws EOFException, IOException {
-		try (DataInputStream dis = new DataInputStream(new FileInputStream(file));) {
-			return ClassInfo.read(dis);
+		return readClass(file, new ClassReaderOptions());
+	}
+
+	/**
+	 * Read in a {@link ClassInfo} from a class file using the options.
+	 * 
+	 * @param file
+	 *            Class file from disk.
+	 * @param options
+	 *            Options that control how the class is read.
+	 * @throws EOFException
+	 *             If the end of the input was reached prematurely. This probably indicates truncated or corrupted class
+	 *             information.
+	 * @throws IOException
+	 *             General input problem..
+	 */
+	public static ClassInfo readClass(File file, ClassReaderOptions options) throws EOFException, IOException {
+		if (options.isLazyAttributes()) {
+			return readClass(Files.readAllBytes(file.toPath()), options);
+		}
+		try (InputStream fis = new FileInputStream(file);) {
+			return readClass(fis, options);
+		}
+	}
+
+	/**
+	 * Read in a {@link ClassInfo} from a class file without blocking. The file is read with an
+	 * {@link java.nio.channels.AsynchronousFileChannel} and then parsed by the executor.
+	 * 
+	 * @param path
+	 *            Class file from disk.
+	 * @param executor
+	 *            Executor that the class bytes are parsed in.
+	 * @return A future which completes with the class or null if it is not a valid class, or exceptionally if the file
+	 *         could not be read or was truncated.
+	 */
+	public static CompletableFuture<ClassInfo> readClassAsync(Path path, Executor executor) {
+		return readClassAsync(path, executor, new ClassReaderOptions());
+	}
+
+	/**
+	 * Read in a {@link ClassInfo} from a class file without blocking using the options. See
+	 * {@link #readClassAsync(Path, Executor)}.
+	 */
+	public static CompletableFuture<ClassInfo> readClassAsync(Path path, Executor executor,
+			ClassReaderOptions options) {
+		return AsyncClassReader.readClass(path, executor, options);
+	}
+
+	/**
+	 * Read in the {@link ClassInfo}s from a number of class files without blocking. A number of files are read from
+	 * the disk at the same time while the executor parses the ones that have been read.
+	 * 
+	 * @param paths
+	 *            Class files from disk.
+	 * @param executor
+	 *            Executor that the class bytes are parsed in.
+	 * @return One future for each path. They complete in list order as the classes finish so the first future is the
+	 *         first class to be read, which is not necessarily the class of the first path. Each result holds the path
+	 *         along with the class or the error. The futures always complete normally.
+	 */
+	public static List<CompletableFuture<ClassReadResult>> readClassesAsync(List<Path> paths, Executor executor) {
+		return readClassesAsync(paths, executor, new ClassReaderOptions());
+	}
+
+	/**
+	 * Read in the {@link ClassInfo}s from a number of class files without blocking using the options. See
+	 * {@link #readClassesAsync(List, Executor)}.
+	 */
+	public static List<CompletableFuture<ClassReadResult>> readClassesAsync(List<Path> paths, Executor executor,
+			ClassReaderOptions options) {
+		return AsyncClassReader.readClasses(paths, executor, options);
+	}
+
+	/**
+	 * Read the class and record the flight recorder event if it is not null.
+	 */
+	private static ClassInfo read(ParseContext context, Object event) throws IOException {
+		if (event == null) {
+			return ClassInfo.read(context);
+		}
+		ClassInfo classInfo = null;
+		try {
+			classInfo = ClassInfo.read(context);
+			return classInfo;
+		} finally {
+			String className = (classInfo == null ? null : classInfo.getClassName());
+			ParseEvents.endClassParse(event, className, context.getBytesRead(), context.getParseErrors().size());
 		}
 	}
 }
@@ -7,15 +7,25 @@ package com.j256.simpleclassreader;
  */
 public class ClassReaderError {
 
+	private final String className;
 	private final ClassReaderErrorType type;
 	private final String details;
 
 	public ClassReaderError(ClassReaderErrorType type, String details) {
+		this.className = null;
 		this.type = type;
 		this.details = details;
 	}
 
 	public ClassReaderError(ClassReaderErrorType type, Object details) {
+		this(null, type, details);
+	}
+
+	/**
+	 * Error in the class with the name which is used when the errors of a number of classes are collected together.
+	 */
+	public ClassReaderError(String className, ClassReaderErrorType type, Object details) {
+		this.className = className;
 		this.type = type;
 		if (details == null) {
 			this.details = null;
@@ -24,6 +34,13 @@ public class ClassReaderError {
 		}
 	}
 
+	/**
+	 * Return the name of the class with the error or null if not known or the error is from the class's own list.
+	 */
+	public String getClassName() {
+		return className;
+	}
+
 	public ClassReaderErrorType getType() {
 		return type;
 	}
@@ -35,6 +52,9 @@ public class ClassReaderError {
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
+		if (className != null) {
+			sb.append(className).append(' ');
+		}
 		sb.append(type);
 		if (details != null) {
 			sb.append(": ").append(details);
@@ -18,6 +18,7 @@ public enum ClassReaderErrorType {
 	METHOD_DESCRIPTOR_INDEX_INVALID("method descriptor index does not point to valid location"),
 	ATTRIBUTE_NAME_INDEX_INVALID("attribute name index does not point to valid location"),
 	ATTRIBUTE_NAME_UNKNOWN("attribute name is not known to the lubrary"),
+	ATTRIBUTE_VALUE_TRUNCATED("attribute value extends past the attribute length"),
 	EXCEPTION_NAME_INDEX_INVALID("exception name index does not point to valid location"),
 	ANNOTATION_FIELD_NAME_INDEX_INVALID("annotation name index does not point to valid location"),
 	ANNOTATION_TYPE_INDEX_INVALID("annotation data descriptor index does not point to a valid location"),
@@ -26,6 +27,10 @@ public enum ClassReaderErrorType {
 	ANNOTATION_ENUM_CONST_INDEX_INVALID("annotation enum value const index does not point to valid location"),
 	ANNOTATION_VALUE_TAG_INVALID("annotation value has unknown tag"),
 	CODE_CATCH_TYPE_INDEX_INVALID("code catch-type index does not point to valid location"),
+	ALLOCATION_LIMIT_EXCEEDED("reading the class would allocate more than the allocation limit"),
+	MEMBER_LIMIT_EXCEEDED("class has more fields and methods than the member limit"),
+	ANNOTATION_DEPTH_LIMIT_EXCEEDED("annotation values are nested deeper than the depth limit"),
+	PARSE_TIME_LIMIT_EXCEEDED("reading the class took longer than the time limit"),
 	// end
 	;
 
@@ -0,0 +1,79 @@
+package com.j256.simpleclassreader;
+
+/**
+ * Options that control how the {@link ClassReader} reads in a class. The defaults match the behavior of the
+ * {@link ClassReader} methods that do not take options.
+ *
+ * @author graywatson
+ */
+public class ClassReaderOptions {
+
+	private boolean lazyAttributes;
+	private ParseMetrics parseMetrics;
+	private ParseErrorSink errorSink;
+	private ParseLimits parseLimits;
+
+	/**
+	 * Return true if attribute values are decoded on demand.
+	 */
+	public boolean isLazyAttributes() {
+		return lazyAttributes;
+	}
+
+	/**
+	 * Set to true to have the attribute values decoded the first time that {@link AttributeInfo#getValue()} is called
+	 * instead of when the class is read. The attribute keeps a reference to the class bytes so the value can be decoded
+	 * later. This is helpful when you are reading a large number of classes but are only going to look at a few of the
+	 * methods or annotations. Default is false.
+	 */
+	public void setLazyAttributes(boolean lazyAttributes) {
+		this.lazyAttributes = lazyAttributes;
+	}
+
+	/**
+	 * Return the metrics that are recorded while reading or null if none.
+	 */
+	public ParseMetrics getParseMetrics() {
+		return parseMetrics;
+	}
+
+	/**
+	 * Set the metrics to record the time and bytes of each phase of reading the classes into. The same metrics can be
+	 * shared by options used in a number of threads. Default is null which does not time anything.
+	 */
+	public void setParseMetrics(ParseMetrics parseMetrics) {
+		this.parseMetrics = parseMetrics;
+	}
+
+	/**
+	 * Return the sink that the parse errors are sent to or null if they are added to the class.
+	 */
+	public ParseErrorSink getErrorSink() {
+		return errorSink;
+	}
+
+	/**
+	 * Set the sink to send the parse errors to instead of adding them to the {@link ClassInfo#getParseErrors()} of each
+	 * class. This is helpful when reading a large number of classes where harmless errors such as unknown attributes
+	 * would otherwise create a lot of error objects. See {@link CountingErrorSink}, {@link SamplingErrorSink}, and
+	 * {@link FailFastErrorSink}. Default is null.
+	 */
+	public void setErrorSink(ParseErrorSink errorSink) {
+		this.errorSink = errorSink;
+	}
+
+	/**
+	 * Return the limits on the resources used to read a class or null if none.
+	 */
+	public ParseLimits getParseLimits() {
+		return parseLimits;
+	}
+
+	/**
+	 * Set the limits on the allocations, members, annotation depth, and time used to read a class so a hostile class
+	 * file cannot use up the heap or stall the thread. Default is null which has no limits.
+	 */
+	public void setParseLimits(ParseLimits parseLimits) {
+		this.parseLimits = parseLimits;
+	}
+}
@@ -0,0 +1,701 @@
+package com.j256.simpleclassreader;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.j256.simpleclassreader.attribute.AnnotationInfo;
+import com.j256.simpleclassreader.attribute.AttributeType;
+import com.j256.simpleclassreader.attribute.CodeAttribute;
+import com.j256.simpleclassreader.attribute.ExceptionsAttribute;
+import com.j256.simpleclassreader.attribute.InnerClassesAttribute;
+import com.j256.simpleclassreader.attribute.InnerClassesAttribute.InnerClassInfo;
+import com.j256.simpleclassreader.attribute.RuntimeVisibleAnnotationsAttribute;
+
+/**
+ * Read-only view of a class which wraps the class bytes and a small table of offsets. It has the same getters as
+ * {@link ClassInfo} but, instead of building a tree of objects when the class is read, each getter decodes its value
+ * straight from the bytes every time it is called. The class bytes are the only large allocation which makes this a lot
+ * smaller than a {@link ClassInfo} if you are holding onto the metadata of a large number of classes. The
+ * {@link FieldView} and {@link MethodView} objects are light-weight and created on each call.
+ *
+ * Values that cannot be decoded are returned as null. Use {@link ClassReader} if you need the parse errors.
+ *
+ * NOTE: the class-bytes array must not be changed after the view is read.
+ *
+ * @author graywatson
+ */
+public class ClassView {
+
+	private static final int CLASS_MAGIC = 0xCAFEBABE;
+	private static final String UNKNOWN_VERSION = "unknown";
+	private static final String CONSTRUCTOR_METHOD_NAME = "<init>";
+	private static final ClassReaderOptions DEFAULT_OPTIONS = new ClassReaderOptions();
+
+	private final byte[] bytes;
+	private final int startOffset;
+	private final int endOffset;
+	private final ConstantPool constantPool;
+	/** offset of the access-flags after the constant-pool */
+	private final int accessFlagsOffset;
+	private final int[] fieldOffsets;
+	private final int[] methodOffsets;
+	private final int attributesOffset;
+
+	private ClassView(byte[] bytes, int startOffset, int endOffset, ConstantPool constantPool, int accessFlagsOffset,
+			int[] fieldOffsets, int[] methodOffsets, int attributesOffset) {
+		this.bytes = bytes;
+		this.startOffset = startOffset;
+		this.endOffset = endOffset;
+		this.constantPool = constantPool;
+		this.accessFlagsOffset = accessFlagsOffset;
+		this.fieldOffsets = fieldOffsets;
+		this.methodOffsets = methodOffsets;
+		this.attributesOffset = attributesOffset;
+	}
+
+	/**
+	 * Create a view of the class in the bytes or null if it is not a valid class.
+	 */
+	public static ClassView read(byte[] classBytes) throws IOException {
+		return read(classBytes, 0, classBytes.length);
+	}
+
+	/**
+	 * Create a view of the class in the length bytes starting at offset or null if it is not a valid class.
+	 */
+	public static ClassView read(byte[] classBytes, int offset, int length) throws IOException {
+
+		ParseContext context = new ParseContext(DEFAULT_OPTIONS, classBytes, offset, length);
+		DataInputStream dis = context.getDataInputStream();
+		if (dis.readInt() != CLASS_MAGIC) {
+			return null;
+		}
+		// skip the minor and major versions
+		context.skipBytes(4);
+		ConstantPool constantPool = ConstantPool.readOffsets(context);
+		if (constantPool == null) {
+			return null;
+		}
+		int accessFlagsOffset = context.getPosition();
+		// skip access-flags, this-class, super-class
+		context.skipBytes(6);
+		int interfaceCount = dis.readUnsignedShort();
+		context.skipBytes(interfaceCount * 2);
+		int[] fieldOffsets = skipMembers(dis, context);
+		int[] methodOffsets = skipMembers(dis, context);
+		int attributesOffset = context.getPosition();
+		int attributeCount = dis.readUnsignedShort();
+		for (int i = 0; i < attributeCount; i++) {
+			skipAttribute(dis, context);
+		}
+		return new ClassView(classBytes, offset, offset + length, constantPool, accessFlagsOffset, fieldOffsets,
+				methodOffsets, attributesOffset);
+	}
+
+	public int getMajorVersion() {
+		return Utils.readUnsignedShort(bytes, startOffset + 6);
+	}
+
+	public int getMinorVersion() {
+		return Utils.readUnsignedShort(bytes, startOffset + 4);
+	}
+
+	/**
+	 * Return the string version of the JDK based on the major and minor numbers.
+	 */
+	public String getJdkVersionString() {
+		JdkVersion jdkVersion = JdkVersion.fromMajor(getMajorVersion());
+		if (jdkVersion == null) {
+			return UNKNOWN_VERSION;
+		} else {
+			return jdkVersion.makeJdkString(getMinorVersion());
+		}
+	}
+
+	/**
+	 * Get the acccess-flags value for the class.
+	 */
+	public int getAccessFlagsValue() {
+		return Utils.readUnsignedShort(bytes, accessFlagsOffset);
+	}
+
+	/**
+	 * Get the access-flags as an array of enums.
+	 */
+	public AccessFlag[] getAccessFlags() {
+		return AccessFlag.extractFlags(getAccessFlagsValue(), true, false, false);
+	}
+
+	/**
+	 * Declared final; no subclasses allowed.
+	 */
+	public boolean isFinal() {
+		return AccessFlag.FINAL.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Is an interface, not a class.
+	 */
+	public boolean isInterface() {
+		return AccessFlag.INTERFACE.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Declared abstract; must not be instantiated.
+	 */
+	public boolean isAbstract() {
+		return AccessFlag.ABSTRACT.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Declared synthetic; not present in the source code.
+	 */
+	public boolean isSynthetic() {
+		return AccessFlag.SYNTHETIC.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Declared as an annotation type.
+	 */
+	public boolean isAnnotation() {
+		return AccessFlag.ANNOTATION.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Declared as an enum type.
+	 */
+	public boolean isEnum() {
+		return AccessFlag.ENUM.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Is a module, not a class or interface.
+	 */
+	public boolean isModule() {
+		return AccessFlag.MODULE.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Return the constant-pool of the class which decodes its entries from the class bytes.
+	 */
+	public ConstantPool getConstantPool() {
+		return constantPool;
+	}
+
+	/**
+	 * Name of the class.
+	 */
+	public String getClassName() {
+		int index = Utils.readUnsignedShort(bytes, accessFlagsOffset + 2);
+		return Utils.classPathToPackage(constantPool.findClassName(index));
+	}
+
+	/**
+	 * Name of the super class which may be java.lang.Object.
+	 */
+	public String getSuperClassName() {
+		int index = Utils.readUnsignedShort(bytes, accessFlagsOffset + 4);
+		return Utils.classPathToPackage(constantPool.findClassName(index));
+	}
+
+	/**
+	 * Return the interfaces that the class extends or a blank array if none.
+	 */
+	public String[] getInterfaces() {
+		int offset = accessFlagsOffset + 6;
+		int num = Utils.readUnsignedShort(bytes, offset);
+		List<String> names = new ArrayList<>(num);
+		for (int i = 0; i < num; i++) {
+			offset += 2;
+			String name = constantPool.findClassName(Utils.readUnsignedShort(bytes, offset));
+			if (name != null) {
+				names.add(Utils.classPathToPackage(name));
+			}
+		}
+		return names.toArray(new String[names.size()]);
+	}
+
+	/**
+	 * Return the number of fields in the class.
+	 */
+	public int getFieldCount() {
+		return fieldOffsets.length;
+	}
+
+	/**
+	 * Return a view of field number fieldNum.
+	 */
+	public FieldView getField(int fieldNum) {
+		return new FieldView(this, fieldOffsets[fieldNum]);
+	}
+
+	/**
+	 * Return views of the fields from the class.
+	 */
+	public FieldView[] getFields() {
+		FieldView[] fields = new FieldView[fieldOffsets.length];
+		for (int i = 0; i < fields.length; i++) {
+			fields[i] = new FieldView(this, fieldOffsets[i]);
+		}
+		return fields;
+	}
+
+	/**
+	 * Return the number of methods, including the constructors, in the class.
+	 */
+	public int getMethodCount() {
+		return methodOffsets.length;
+	}
+
+	/**
+	 * Return a view of method number methodNum which includes the constructors.
+	 */
+	public MethodView getMethod(int methodNum) {
+		return new MethodView(this, methodOffsets[methodNum]);
+	}
+
+	/**
+	 * Return views of the constructor methods from the class.
+	 */
+	public MethodView[] getConstructors() {
+		return findMethods(true);
+	}
+
+	/**
+	 * Return views of the methods from the class.
+	 */
+	public MethodView[] getMethods() {
+		return findMethods(false);
+	}
+
+	/**
+	 * Return the attributes decoded from the bytes.
+	 */
+	public AttributeInfo[] getAttributes() {
+		return decodeAttributes(attributesOffset);
+	}
+
+	public AnnotationInfo[] getRuntimeAnnotations() {
+		RuntimeVisibleAnnotationsAttribute annotationsAttribute = (RuntimeVisibleAnnotationsAttribute) decodeAttribute(
+				attributesOffset, AttributeType.RUNTIME_VISIBLE_ANNOTATIONS);
+		if (annotationsAttribute == null) {
+			return null;
+		} else {
+			return annotationsAttribute.getAnnotations();
+		}
+	}
+
+	/**
+	 * Return the inner classes and referenced classes from the class.
+	 */
+	public InnerClassInfo[] getInnerClasses() {
+		InnerClassesAttribute innerClassesAttribute =
+				(InnerClassesAttribute) decodeAttribute(attributesOffset, AttributeType.INNER_CLASSES);
+		if (innerClassesAttribute == null) {
+			return null;
+		} else {
+			return innerClassesAttribute.getInnerClasses();
+		}
+	}
+
+	/**
+	 * Is the class marked with the Deprecated attribute.
+	 */
+	public boolean isDeprecated() {
+		return (findAttribute(attributesOffset, AttributeType.DEPRECATED) >= 0);
+	}
+
+	/**
+	 * Return the number of bytes that the view is wrapping.
+	 */
+	public int getClassLength() {
+		return endOffset - startOffset;
+	}
+
+	@Override
+	public String toString() {
+		return "view of " + getClassName();
+	}
+
+	private MethodView[] findMethods(boolean constructors) {
+		List<MethodView> views = new ArrayList<>();
+		for (int offset : methodOffsets) {
+			MethodView view = new MethodView(this, offset);
+			if (view.isConstructor() == constructors) {
+				views.add(view);
+			}
+		}
+		return views.toArray(new MethodView[views.size()]);
+	}
+
+	/**
+	 * Return the offset of the attribute header of type in the attributes starting at attributesOffset or -1 if none.
+	 */
+	private int findAttribute(int attributesOffset, AttributeType type) {
+		int offset = attributesOffset;
+		int num = Utils.readUnsignedShort(bytes, offset);
+		offset += 2;
+		for (int i = 0; i < num; i++) {
+			String name = constantPool.findName(Utils.readUnsignedShort(bytes, offset));
+			if (AttributeType.fromString(name) == type) {
+				return offset;
+			}
+			offset += 6 + Utils.readInt(bytes, offset + 2);
+		}
+		return -1;
+	}
+
+	/**
+	 * Decode and return the value of the attribute of type or null if none or it could not be decoded.
+	 */
+	private Object decodeAttribute(int attributesOffset, AttributeType type) {
+		int offset = findAttribute(attributesOffset, type);
+		if (offset < 0) {
+			return null;
+		}
+		String name = constantPool.findName(Utils.readUnsignedShort(bytes, offset));
+		int length = Utils.readInt(bytes, offset + 2);
+		ParseContext context = new ParseContext(DEFAULT_OPTIONS, bytes, offset + 6, length);
+		try {
+			return type.read(context.getDataInputStream(), name, length, constantPool, context);
+		} catch (IOException ioe) {
+			return null;
+		}
+	}
+
+	private AttributeInfo[] decodeAttributes(int attributesOffset) {
+		ParseContext context = new ParseContext(DEFAULT_OPTIONS, bytes, attributesOffset, endOffset - attributesOffset);
+		DataInputStream dis = context.getDataInputStream();
+		try {
+			int num = dis.readUnsignedShort();
+			AttributeInfo[] attributes = new AttributeInfo[num];
+			for (int i = 0; i < num; i++) {
+				attributes[i] = AttributeInfo.read(dis, constantPool, context);
+			}
+			return attributes;
+		} catch (IOException ioe) {
+			return null;
+		}
+	}
+
+	private static int[] skipMembers(DataInputStream dis, ParseContext context) throws IOException {
+		int num = dis.readUnsignedShort();
+		int[] offsets = new int[num];
+		for (int i = 0; i < num; i++) {
+			offsets[i] = context.getPosition();
+			// skip access-flags, name, and descriptor
+			context.skipBytes(6);
+			int attributeCount = dis.readUnsignedShort();
+			for (int j = 0; j < attributeCount; j++) {
+				skipAttribute(dis, context);
+			}
+		}
+		return offsets;
+	}
+
+	private static void skipAttribute(DataInputStream dis, ParseContext context) throws IOException {
+		context.skipBytes(2);
+		context.skipBytes(dis.readInt());
+	}
+
+	/**
+	 * Base class for the field and method views which both have access-flags, name, descriptor, and attributes.
+	 */
+	public static abstract class MemberView {
+
+		protected final ClassView classView;
+		protected final int offset;
+
+		protected MemberView(ClassView classView, int offset) {
+			this.classView = classView;
+			this.offset = offset;
+		}
+
+		/**
+		 * Returns the raw access-flags value.
+		 */
+		public int getAccessFlagsValue() {
+			return Utils.readUnsignedShort(classView.bytes, offset);
+		}
+
+		/**
+		 * Return the name of the member.
+		 */
+		public String getName() {
+			return classView.constantPool.findName(Utils.readUnsignedShort(classView.bytes, offset + 2));
+		}
+
+		/**
+		 * Return the raw descriptor string of the member.
+		 */
+		public String getDescriptorStr() {
+			return classView.constantPool.findName(Utils.readUnsignedShort(classView.bytes, offset + 4));
+		}
+
+		/**
+		 * Returns the attributes decoded from the bytes.
+		 */
+		public AttributeInfo[] getAttributes() {
+			return classView.decodeAttributes(offset + 6);
+		}
+
+		/**
+		 * Return any runtime annotations on the member.
+		 */
+		public AnnotationInfo[] getRuntimeAnnotations() {
+			RuntimeVisibleAnnotationsAttribute annotationsAttribute = (RuntimeVisibleAnnotationsAttribute) classView
+					.decodeAttribute(offset + 6, AttributeType.RUNTIME_VISIBLE_ANNOTATIONS);
+			if (annotationsAttribute == null) {
+				return null;
+			} else {
+				return annotationsAttribute.getAnnotations();
+			}
+		}
+
+		/**
+		 * Is the member marked with the Deprecated attribute.
+		 */
+		public boolean isDeprecated() {
+			return (classView.findAttribute(offset + 6, AttributeType.DEPRECATED) >= 0);
+		}
+
+		/**
+		 * Returns true if declared public; may be accessed from outside its package
+		 */
+		public boolean isPublic() {
+			return AccessFlag.PUBLIC.isEnabled(getAccessFlagsValue());
+		}
+
+		/**
+		 * Returns true if declared private; accessible only within defining class and other classes belonging to same
+		 * nest
+		 */
+		public boolean isPrivate() {
+			return AccessFlag.PRIVATE.isEnabled(getAccessFlagsValue());
+		}
+
+		/**
+		 * Returns true if declared protected; may be accessed within subclasses.
+		 */
+		public boolean isProtected() {
+			return AccessFlag.PROTECTED.isEnabled(getAccessFlagsValue());
+		}
+
+		/**
+		 * Returns true if declared static.
+		 */
+		public boolean isStatic() {
+			return AccessFlag.STATIC.isEnabled(getAccessFlagsValue());
+		}
+
+		/**
+		 * Returns true if declared final.
+		 */
+		public boolean isFinal() {
+			return AccessFlag.FINAL.isEnabled(getAccessFlagsValue());
+		}
+
+		/**
+		 * Returns true if declared synthetic; not present in the source code.
+		 */
+		public boolean isSynthetic() {
+			return AccessFlag.SYNTHETIC.isEnabled(getAccessFlagsValue());
+		}
+	}
+
+	/**
+	 * View of a field with the same getters as {@link FieldInfo}.
+	 */
+	public static class FieldView extends MemberView {
+
+		private FieldView(ClassView classView, int offset) {
+			super(classView, offset);
+		}
+
+		/**
+		 * Get the access-flags as an array of enums.
+		 */
+		public AccessFlag[] getAccessFlags() {
+			return AccessFlag.extractFlags(getAccessFlagsValue(), false, true, false);
+		}
+
+		/**
+		 * Returns true if declared volatile; cannot be cached.
+		 */
+		public boolean isVolatile() {
+			return AccessFlag.VOLATILE.isEnabled(getAccessFlagsValue());
+		}
+
+		/**
+		 * Returns true if declared transient; not written or read by a persistent object manager.
+		 */
+		public boolean isTransient() {
+			return AccessFlag.TRANSIENT.isEnabled(getAccessFlagsValue());
+		}
+
+		/**
+		 * Returns true if declared as an element of an enum.
+		 */
+		public boolean isEnum() {
+			return AccessFlag.ENUM.isEnabled(getAccessFlagsValue());
+		}
+
+		/**
+		 * Returns the data-type of the field or null if it couldn't be parsed.
+		 */
+		public DataDescriptor getDataDescriptor() {
+			String descriptorStr = getDescriptorStr();
+			if (descriptorStr == null) {
+				return null;
+			} else {
+				return DataDescriptor.fromString(descriptorStr);
+			}
+		}
+
+		/**
+		 * Returns the value of the constant-value attribute, as {@link FieldInfo#getConstantValue()}, or null if none.
+		 */
+		public Object getConstantValue() {
+			return classView.decodeAttribute(offset + 6, AttributeType.CONSTANT_VALUE);
+		}
+
+		@Override
+		public String toString() {
+			return "field " + getName();
+		}
+	}
+
+	/**
+	 * View of a method with the same getters as {@link MethodInfo}.
+	 */
+	public static class MethodView extends MemberView {
+
+		private MethodView(ClassView classView, int offset) {
+			super(classView, offset);
+		}
+
+		/**
+		 * Get the access-flags as an array of enums.
+		 */
+		public AccessFlag[] getAccessFlags() {
+			return AccessFlag.extractFlags(getAccessFlagsValue(), false, false, true);
+		}
+
+		/**
+		 * Returns true if declared synchronized; invocation is wrapped by a monitor use.
+		 */
+		public boolean isSynchronized() {
+			return AccessFlag.SYNCHRONIZED.isEnabled(getAccessFlagsValue());
+		}
+
+		/**
+		 * Returns true if this is a bridge method, generated by the compiler.
+		 */
+		public boolean isBridge() {
+			return AccessFlag.BRIDGE.isEnabled(getAccessFlagsValue());
+		}
+
+		/**
+		 * Returns true if declared with variable number of arguments.
+		 */
+		public boolean isVarargs() {
+			return AccessFlag.VARARGS.isEnabled(getAccessFlagsValue());
+		}
+
+		/**
+		 * Returns true if declared native; implemented in a language other than the Java programming language.
+		 */
+		public boolean isNative() {
+			return AccessFlag.NATIVE.isEnabled(getAccessFlagsValue());
+		}
+
+		/**
+		 * Returns true if declared abstract; no implementation is provided.
+		 */
+		public boolean isAbstract() {
+			return AccessFlag.ABSTRACT.isEnabled(getAccessFlagsValue());
+		}
+
+		/**
+		 * Returns true if declared strictfp; floating-point mode is FP-strict.
+		 */
+		public boolean isStrict() {
+			return AccessFlag.STRICT.isEnabled(getAccessFlagsValue());
+		}
+
+		/**
+		 * Returns true if this method has the constructor name of "<init>"
+		 */
+		public boolean isConstructor() {
+			return CONSTRUCTOR_METHOD_NAME.equals(getName());
+		}
+
+		/**
+		 * Returns the details about the parameters and return type or null if it couldn't be parsed.
+		 */
+		public MethodDescriptor getMethodDescriptor() {
+			String descriptorStr = getDescriptorStr();
+			if (descriptorStr == null) {
+				return null;
+			} else {
+				return MethodDescriptor.fromString(descriptorStr);
+			}
+		}
+
+		/**
+		 * Returns the parameter descriptors from the method descriptor.
+		 */
+		public DataDescriptor[] getParameterDataDescriptors() {
+			MethodDescriptor methodDescriptor = getMethodDescriptor();
+			if (methodDescriptor == null) {
+				return null;
+			} else {
+				return methodDescriptor.getParameterDescriptors();
+			}
+		}
+
+		/**
+		 * Returns the return descriptor from the method descriptor.
+		 */
+		public DataDescriptor getReturnDescriptor() {
+			MethodDescriptor methodDescriptor = getMethodDescriptor();
+			if (methodDescriptor == null) {
+				return null;
+			} else {
+				return methodDescriptor.getReturnDescriptor();
+			}
+		}
+
+		/**
+		 * Exceptions extracted from the attributes.
+		 */
+		public String[] getExceptions() {
+			ExceptionsAttribute exceptionsAttribute =
+					(ExceptionsAttribute) classView.decodeAttribute(offset + 6, AttributeType.EXCEPTIONS);
+			if (exceptionsAttribute == null) {
+				return null;
+			} else {
+				return exceptionsAttribute.getExceptions();
+			}
+		}
+
+		/**
+		 * Return the code bytes that were extracted from the attributes or null if none.
+		 */
+		public byte[] getCode() {
+			CodeAttribute codeAttribute = (CodeAttribute) classView.decodeAttribute(offset + 6, AttributeType.CODE);
+			if (codeAttribute == null) {
+				return null;
+			} else {
+				return codeAttribute.getCode();
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "method " + getName();
+		}
+	}
+}
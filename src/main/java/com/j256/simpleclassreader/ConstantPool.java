@@ -2,7 +2,8 @@ package com.j256.simpleclassreader;
 
 import java.io.DataInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Internal class "constant pool" which stores the strings and other data items used by the various other parts of the
@@ -10,24 +11,59 @@ import java.nio.charset.StandardCharsets;
  */
 public class ConstantPool {
 
+	/** estimates of the bytes used by each entry and each string for the allocation limit */
+	private static final int ENTRY_ESTIMATE_BYTES = 24;
+	private static final int STRING_ESTIMATE_BYTES = 40;
+
 	private final ConstantPoolType[] types;
 	private final int[] indexes;
 	private final String[] names;
 	private final Object[] values;
+	/** set if the entries are decoded from the class bytes on each call, see {@link #readOffsets(ParseContext)} */
+	private final byte[] bytes;
+	private final int[] offsets;
+	/** member references which are resolved the first time they are looked up */
+	private MemberRef[] memberRefs;
 
 	private ConstantPool(ConstantPoolType[] types, int[] indexes, String[] names, Object[] values) {
 		this.types = types;
 		this.indexes = indexes;
 		this.names = names;
 		this.values = values;
+		this.bytes = null;
+		this.offsets = null;
+	}
+
+	private ConstantPool(byte[] bytes, int[] offsets) {
+		this.types = null;
+		this.indexes = null;
+		this.names = null;
+		this.values = null;
+		this.bytes = bytes;
+		this.offsets = offsets;
 	}
 
 	/**
 	 * Read in the constant-pool information.
 	 */
 	public static ConstantPool read(DataInputStream dis) throws IOException {
+		return read(dis, null);
+	}
+
+	/**
+	 * Read in the constant-pool information. If the context is not null then the entries are counted in its metrics
+	 * and checked against its limits.
+	 */
+	static ConstantPool read(DataInputStream dis, ParseContext context) throws IOException {
 
+		ParseMetrics metrics = null;
+		if (context != null) {
+			metrics = context.getParseMetrics();
+		}
 		int numCpEntries = dis.readUnsignedShort();
+		if (context != null) {
+			context.reserveBytes((long) numCpEntries * ENTRY_ESTIMATE_BYTES);
+		}
 		ConstantPoolType[] types = new ConstantPoolType[numCpEntries];
 		int[] indexes = new int[numCpEntries];
 		String[] names = new String[numCpEntries];
@@ -41,10 +77,19 @@ public class ConstantPool {
 				return null;
 			}
 			types[poolCount] = constantPool;
+			if (metrics != null) {
+				metrics.addConstantPoolEntry(constantPool);
+			}
+			if (context != null) {
+				context.checkDeadline();
+			}
 
 			switch (constantPool) {
 				case UTF8:
 					names[poolCount] = readUtf8(dis);
+					if (context != null) {
+						context.reserveBytes(STRING_ESTIMATE_BYTES + 2L * names[poolCount].length());
+					}
 					break;
 				case INTEGER:
 					values[poolCount] = readInteger(dis);
@@ -98,10 +143,100 @@ public class ConstantPool {
 		return new ConstantPool(types, indexes, names, values);
 	}
 
+	/**
+	 * Read in the constant-pool by recording the offset of each of the entries in the class bytes of the context and
+	 * skipping over them. The entries are then decoded from the bytes each time they are looked up which takes a lot
+	 * less memory than {@link #read(DataInputStream)} at the cost of more work per lookup.
+	 */
+	public static ConstantPool readOffsets(ParseContext context) throws IOException {
+
+		DataInputStream dis = context.getDataInputStream();
+		int numCpEntries = dis.readUnsignedShort();
+		int[] offsets = new int[numCpEntries];
+
+		// NOTE: this starts at 1 because all of the indexes are 1 based
+		for (int poolCount = 1; poolCount < numCpEntries; poolCount++) {
+			offsets[poolCount] = context.getPosition();
+			int tag = dis.readUnsignedByte();
+			ConstantPoolType constantPool = ConstantPoolType.fromCode(tag);
+			if (constantPool == null) {
+				return null;
+			}
+			switch (constantPool) {
+				case UTF8:
+					context.skipBytes(dis.readUnsignedShort());
+					break;
+				case INTEGER:
+				case FLOAT:
+				case FIELD_REF:
+				case METHOD_REF:
+				case INTERFACE_REF:
+				case NAME_AND_TYPE:
+				case INVOKE_DYNAMIC:
+					context.skipBytes(4);
+					break;
+				case LONG:
+				case DOUBLE:
+					context.skipBytes(8);
+					// see the LONG comment in read()
+					poolCount++;
+					break;
+				case CLASS:
+				case STRING:
+				case METHOD_TYPE:
+				case MODULE:
+				case PACKAGE:
+					context.skipBytes(2);
+					break;
+				case METHOD_HANDLE:
+					context.skipBytes(3);
+					break;
+				default:
+					return null;
+			}
+		}
+
+		return new ConstantPool(context.getBytes(), offsets);
+	}
+
+	/**
+	 * Return the number of entries in the constant-pool including the unused 0 entry.
+	 */
+	public int getNumEntries() {
+		if (offsets == null) {
+			return types.length;
+		} else {
+			return offsets.length;
+		}
+	}
+
+	/**
+	 * Find the type of the entry at index or null if none.
+	 */
+	public ConstantPoolType findType(int index) {
+		if (offsets != null) {
+			if (index <= 0 || index >= offsets.length || offsets[index] == 0) {
+				return null;
+			}
+			return ConstantPoolType.fromCode(bytes[offsets[index]] & 0xFF);
+		}
+		if (index < 0 || index >= types.length) {
+			return null;
+		}
+		return types[index];
+	}
+
 	/**
 	 * Find a UTF8 name in the cp-info entries
 	 */
 	public String findName(int index) {
+		if (offsets != null) {
+			if (findType(index) != ConstantPoolType.UTF8) {
+				return null;
+			}
+			int offset = offsets[index];
+			return Utils.readModifiedUtf8(bytes, offset + 3, Utils.readUnsignedShort(bytes, offset + 1));
+		}
 		if (index >= names.length) {
 			return null;
 		}
@@ -119,6 +254,12 @@ public class ConstantPool {
 	 * Find a class in the cp-info entries which is an index to another name.
 	 */
 	public String findClassName(int index) {
+		if (offsets != null) {
+			if (findType(index) != ConstantPoolType.CLASS) {
+				return null;
+			}
+			return findName(Utils.readUnsignedShort(bytes, offsets[index] + 1));
+		}
 		if (index >= indexes.length) {
 			return null;
 		}
@@ -137,6 +278,9 @@ public class ConstantPool {
 	 * Find an object value (like int, short, etc.) in the cp-info entries.
 	 */
 	public Object findValue(int index) {
+		if (offsets != null) {
+			return decodeValue(index);
+		}
 		if (index >= values.length) {
 			return null;
 		} else {
@@ -144,6 +288,107 @@ public class ConstantPool {
 		}
 	}
 
+	/**
+	 * Find the field, method, interface-method, or invoke-dynamic reference at the index, such as the index from the
+	 * operand of an invoke or get/put instruction, and return it with its owner, name, and descriptor resolved or null
+	 * if the entry is not a member reference. The resolved reference is remembered so each index is only resolved once.
+	 */
+	public MemberRef findMemberRef(int index) {
+		MemberRef[] refs = memberRefs;
+		if (refs == null) {
+			// NOTE: two threads may both create the array and resolve the same references but they are the same
+			refs = new MemberRef[getNumEntries()];
+			memberRefs = refs;
+		}
+		if (index <= 0 || index >= refs.length) {
+			return null;
+		}
+		MemberRef ref = refs[index];
+		if (ref == null) {
+			ref = resolveMemberRef(index);
+			refs[index] = ref;
+		}
+		return ref;
+	}
+
+	/**
+	 * Return all of the field, method, interface-method, and invoke-dynamic references in the constant-pool in index
+	 * order.
+	 */
+	public List<MemberRef> getMemberRefs() {
+		List<MemberRef> results = new ArrayList<>();
+		int num = getNumEntries();
+		for (int i = 1; i < num; i++) {
+			MemberRef ref = findMemberRef(i);
+			if (ref != null) {
+				results.add(ref);
+			}
+		}
+		return results;
+	}
+
+	private MemberRef resolveMemberRef(int index) {
+		ConstantPoolType type = findType(index);
+		if (type != ConstantPoolType.FIELD_REF && type != ConstantPoolType.METHOD_REF
+				&& type != ConstantPoolType.INTERFACE_REF && type != ConstantPoolType.INVOKE_DYNAMIC) {
+			return null;
+		}
+		TwoIntegerEntry ref = (TwoIntegerEntry) findValue(index);
+		String ownerClassName = null;
+		// the first index of an invoke-dynamic is into the bootstrap-methods and not a class
+		if (type != ConstantPoolType.INVOKE_DYNAMIC) {
+			ownerClassName = findClassName(ref.getFirst());
+			if (ownerClassName == null) {
+				return null;
+			}
+		}
+		if (findType(ref.getSecond()) != ConstantPoolType.NAME_AND_TYPE) {
+			return null;
+		}
+		TwoIntegerEntry nameAndType = (TwoIntegerEntry) findValue(ref.getSecond());
+		String name = findName(nameAndType.getFirst());
+		String descriptorStr = findName(nameAndType.getSecond());
+		if (name == null || descriptorStr == null) {
+			return null;
+		}
+		return new MemberRef(index, type, Utils.classPathToPackage(ownerClassName), name, descriptorStr);
+	}
+
+	private Object decodeValue(int index) {
+		ConstantPoolType type = findType(index);
+		if (type == null) {
+			return null;
+		}
+		// skip over the tag
+		int offset = offsets[index] + 1;
+		switch (type) {
+			case INTEGER:
+				return Utils.readInt(bytes, offset);
+			case FLOAT:
+				return Float.intBitsToFloat(Utils.readInt(bytes, offset));
+			case LONG:
+				return readLong(bytes, offset);
+			case DOUBLE:
+				return Double.longBitsToDouble(readLong(bytes, offset));
+			case FIELD_REF:
+			case METHOD_REF:
+			case INTERFACE_REF:
+			case NAME_AND_TYPE:
+			case INVOKE_DYNAMIC:
+				return new TwoIntegerEntry(Utils.readUnsignedShort(bytes, offset),
+						Utils.readUnsignedShort(bytes, offset + 2));
+			case METHOD_HANDLE:
+				return new TwoIntegerEntry(bytes[offset] & 0xFF, Utils.readUnsignedShort(bytes, offset + 1));
+			default:
+				// names, classes, and other index entries don't have values
+				return null;
+		}
+	}
+
+	private static long readLong(byte[] bytes, int offset) {
+		return ((long) Utils.readInt(bytes, offset) << 32) | (Utils.readInt(bytes, offset + 4) & 0xFFFFFFFFL);
+	}
+
 	private static String readUtf8(DataInputStream dis) throws IOException {
 		int nameLength = dis.readUnsignedShort();
 		if (nameLength < 0 && nameLength > 256) {
@@ -151,7 +396,7 @@ public class ConstantPool {
 			return null;
 		} else {
 			byte[] nameBytes = Utils.readBytes(dis, nameLength);
-			return new String(nameBytes, StandardCharsets.UTF_8);
+			return Utils.readModifiedUtf8(nameBytes, 0, nameBytes.length);
 		}
 	}
 
@@ -0,0 +1,52 @@
+package com.j256.simpleclassreader;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Error sink which only counts the errors of each type so no error objects are created. The counts can be added to
+ * from a number of threads.
+ * 
+ * @author graywatson
+ */
+public class CountingErrorSink implements ParseErrorSink {
+
+	private final LongAdder[] counts = new LongAdder[ClassReaderErrorType.values().length];
+
+	public CountingErrorSink() {
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = new LongAdder();
+		}
+	}
+
+	@Override
+	public void addError(String className, ClassReaderErrorType type, Object details) {
+		counts[type.ordinal()].increment();
+	}
+
+	/**
+	 * Return the number of errors of the type.
+	 */
+	public long getCount(ClassReaderErrorType type) {
+		return counts[type.ordinal()].sum();
+	}
+
+	/**
+	 * Return the number of errors of all types.
+	 */
+	public long getTotalCount() {
+		long total = 0;
+		for (LongAdder count : counts) {
+			total += count.sum();
+		}
+		return total;
+	}
+
+	/**
+	 * Set the counts back to 0.
+	 */
+	public void reset() {
+		for (LongAdder count : counts) {
+			count.reset();
+		}
+	}
+}
@@ -130,6 +130,21 @@ public class DataDescriptor {
 		return referenceClassName;
 	}
 
+	/**
+	 * Return the descriptor string representation of the data type such as "[Ljava/lang/String;".
+	 */
+	public String getDescriptorStr() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < arrayDepth; i++) {
+			sb.append('[');
+		}
+		sb.append(componentType.typeChar);
+		if (componentType == ComponentType.REFERENCE) {
+			sb.append(referenceClassName.replace('.', '/')).append(';');
+		}
+		return sb.toString();
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -0,0 +1,15 @@
+package com.j256.simpleclassreader;
+
+/**
+ * Error sink which throws a {@link ParseErrorException} on the first parse error so that a scan stops as soon as a
+ * class cannot be read cleanly.
+ * 
+ * @author graywatson
+ */
+public class FailFastErrorSink implements ParseErrorSink {
+
+	@Override
+	public void addError(String className, ClassReaderErrorType type, Object details) {
+		throw new ParseErrorException(new ClassReaderError(className, type, details));
+	}
+}
@@ -20,25 +20,21 @@ public class FieldInfo {
 	private final int accessFlags;
 	private final DataDescriptor dataDescriptor;
 	private final AttributeInfo[] attributeInfos;
-	private final Object constantValue;
-	private final AnnotationInfo[] runtimeAnnotations;
 	private final boolean deprecated;
 
 	public FieldInfo(String name, int accessFlags, DataDescriptor dataDescriptor, AttributeInfo[] attributeInfos,
-			Object constantValue, AnnotationInfo[] runtimeAnnotations, boolean deprecated) {
+			boolean deprecated) {
 		this.name = name;
 		this.accessFlags = accessFlags;
 		this.dataDescriptor = dataDescriptor;
 		this.attributeInfos = attributeInfos;
-		this.constantValue = constantValue;
-		this.runtimeAnnotations = runtimeAnnotations;
 		this.deprecated = deprecated;
 	}
 
 	/**
 	 * Read in an attribute.
 	 */
-	public static FieldInfo read(DataInputStream dis, ConstantPool constantPool, List<ClassReaderError> errors)
+	public static FieldInfo read(DataInputStream dis, ConstantPool constantPool, ParseContext context)
 			throws IOException {
 
 		// u2 access_flags;
@@ -51,48 +47,35 @@ public class FieldInfo {
 		int index = dis.readUnsignedShort();
 		String name = constantPool.findName(index);
 		if (name == null) {
-			errors.add(new ClassReaderError(ClassReaderErrorType.FIELD_NAME_INDEX_INVALID, index));
+			context.addError(ClassReaderErrorType.FIELD_NAME_INDEX_INVALID, index);
 			return null;
 		}
 		index = dis.readUnsignedShort();
 		String typeStr = constantPool.findName(index);
 		if (typeStr == null) {
-			errors.add(new ClassReaderError(ClassReaderErrorType.FIELD_DATA_DESCRIPTOR_INDEX_INVALID, index));
+			context.addError(ClassReaderErrorType.FIELD_DATA_DESCRIPTOR_INDEX_INVALID, index);
 			return null;
 		}
 		DataDescriptor dataDescriptor = null;
 		if (typeStr != null) {
 			dataDescriptor = DataDescriptor.fromString(typeStr);
 			if (dataDescriptor == null) {
-				errors.add(new ClassReaderError(ClassReaderErrorType.FIELD_DATA_DESCRIPTOR_INVALID, typeStr));
+				context.addError(ClassReaderErrorType.FIELD_DATA_DESCRIPTOR_INVALID, typeStr);
 				return null;
 			}
 		}
 		int attributeCount = dis.readUnsignedShort();
-		Object constantValue = null;
-		AnnotationInfo[] runtimeAnnotations = null;
 		List<AttributeInfo> attributeInfos = null;
 		boolean deprecated = false;
 		for (int i = 0; i < attributeCount; i++) {
-			AttributeInfo attributeInfo = AttributeInfo.read(dis, constantPool, errors);
+			AttributeInfo attributeInfo = AttributeInfo.read(dis, constantPool, context);
 			if (attributeInfo == null) {
 				// try to read other known attributes
 				continue;
 			}
-			switch (attributeInfo.getType()) {
-				case CONSTANT_VALUE:
-					constantValue = attributeInfo.getValue();
-					break;
-				case RUNTIME_VISIBLE_ANNOTATIONS:
-					runtimeAnnotations =
-							((RuntimeVisibleAnnotationsAttribute) attributeInfo.getValue()).getAnnotations();
-					break;
-				case DEPRECATED:
-					deprecated = true;
-					break;
-				default:
-					// no additional processing
-					break;
+			// NOTE: the other attribute values are extracted on demand so they can be decoded lazily
+			if (attributeInfo.getType() == AttributeType.DEPRECATED) {
+				deprecated = true;
 			}
 			if (attributeInfos == null) {
 				attributeInfos = new ArrayList<>();
@@ -104,8 +87,7 @@ public class FieldInfo {
 		if (attributeInfos != null) {
 			attributes = attributeInfos.toArray(new AttributeInfo[attributeInfos.size()]);
 		}
-		return new FieldInfo(name, accessFlags, dataDescriptor, attributes, constantValue, runtimeAnnotations,
-				deprecated);
+		return new FieldInfo(name, accessFlags, dataDescriptor, attributes, deprecated);
 	}
 
 	/**
@@ -211,7 +193,7 @@ public class FieldInfo {
 	 * {@link AttributeType#CONSTANT_VALUE} or null if none.
 	 */
 	public Object getConstantValue() {
-		return constantValue;
+		return AttributeInfo.findValue(attributeInfos, AttributeType.CONSTANT_VALUE);
 	}
 
 	/**
@@ -219,7 +201,13 @@ public class FieldInfo {
 	 * {@link AttributeType#RUNTIME_VISIBLE_ANNOTATIONS} or null if none.
 	 */
 	public AnnotationInfo[] getRuntimeAnnotations() {
-		return runtimeAnnotations;
+		RuntimeVisibleAnnotationsAttribute annotationsAttribute = (RuntimeVisibleAnnotationsAttribute) AttributeInfo
+				.findValue(attributeInfos, AttributeType.RUNTIME_VISIBLE_ANNOTATIONS);
+		if (annotationsAttribute == null) {
+			return null;
+		} else {
+			return annotationsAttribute.getAnnotations();
+		}
 	}
 
 	/**
@@ -230,6 +218,13 @@ public class FieldInfo {
 		return deprecated;
 	}
 
+	/**
+	 * Return the first attribute of the type or null if none.
+	 */
+	public AttributeInfo getAttribute(AttributeType type) {
+		return AttributeInfo.find(attributeInfos, type);
+	}
+
 	@Override
 	public String toString() {
 		return "field " + name;
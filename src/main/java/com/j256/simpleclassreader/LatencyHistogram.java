@@ -0,0 +1,104 @@
+package com.j256.simpleclassreader;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies in nanoseconds that can be recorded into from a number of threads. Each power of 2 is split
+ * into 8 linear buckets so a percentile is within 12.5% of the real value while only taking a few hundred counters to
+ * cover all long values.
+ * 
+ * @author graywatson
+ */
+class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	/** values below SUB_BUCKET_COUNT get their own bucket and then each power of 2 up to 2^62 has the sub-buckets */
+	private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+	private final LongAdder[] counts = new LongAdder[BUCKET_COUNT];
+
+	public LatencyHistogram() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Record a value. Negative values are recorded as 0.
+	 */
+	public void record(long value) {
+		counts[bucketIndex(Math.max(value, 0))].increment();
+	}
+
+	/**
+	 * Return the number of values recorded.
+	 */
+	public long getCount() {
+		long count = 0;
+		for (LongAdder adder : counts) {
+			count += adder.sum();
+		}
+		return count;
+	}
+
+	/**
+	 * Return the value that the percent, from 0 to 100, of the recorded values are at or below or 0 if none. The value
+	 * returned is the top of the bucket that the percentile is in.
+	 */
+	public long getPercentile(double percent) {
+		if (percent < 0 || percent > 100) {
+			throw new IllegalArgumentException("invalid percent: " + percent);
+		}
+		long[] snapshot = new long[BUCKET_COUNT];
+		long count = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			snapshot[i] = counts[i].sum();
+			count += snapshot[i];
+		}
+		if (count == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(count * percent / 100));
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			total += snapshot[i];
+			if (total >= target) {
+				return bucketTop(i);
+			}
+		}
+		// the counts changed while we were adding them
+		return bucketTop(BUCKET_COUNT - 1);
+	}
+
+	/**
+	 * Clear all of the counts.
+	 */
+	public void reset() {
+		for (LongAdder adder : counts) {
+			adder.reset();
+		}
+	}
+
+	private static int bucketIndex(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+		// the top bits of the value are SUB_BUCKET_COUNT up to 2 * SUB_BUCKET_COUNT
+		return (shift + 1) * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+	}
+
+	private static long bucketTop(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long topBits = SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT + 1;
+		if (shift + SUB_BUCKET_BITS + 1 >= Long.SIZE - 1) {
+			// the top bucket would overflow
+			return Long.MAX_VALUE;
+		}
+		return (topBits << shift) - 1;
+	}
+}
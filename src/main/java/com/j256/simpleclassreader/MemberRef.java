@@ -0,0 +1,116 @@
+package com.j256.simpleclassreader;
+
+import com.j256.simpleclassreader.ConstantPool.ConstantPoolType;
+
+/**
+ * Field, method, interface-method, or invoke-dynamic reference from the constant-pool with the owner class, name, and
+ * descriptor resolved. These are what the operands of the invoke and get/put instructions point to. See
+ * {@link ConstantPool#findMemberRef(int)}.
+ *
+ * @author graywatson
+ */
+public class MemberRef {
+
+	private final int index;
+	private final ConstantPoolType type;
+	private final String ownerClassName;
+	private final String name;
+	private final String descriptorStr;
+
+	public MemberRef(int index, ConstantPoolType type, String ownerClassName, String name, String descriptorStr) {
+		this.index = index;
+		this.type = type;
+		this.ownerClassName = ownerClassName;
+		this.name = name;
+		this.descriptorStr = descriptorStr;
+	}
+
+	/**
+	 * Return the index of the reference in the constant-pool.
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Return the type of the reference: FIELD_REF, METHOD_REF, INTERFACE_REF, or INVOKE_DYNAMIC.
+	 */
+	public ConstantPoolType getType() {
+		return type;
+	}
+
+	/**
+	 * Return true if this is a reference to a field.
+	 */
+	public boolean isField() {
+		return (type == ConstantPoolType.FIELD_REF);
+	}
+
+	/**
+	 * Return true if this is a reference to a method of a class or of an interface.
+	 */
+	public boolean isMethod() {
+		return (type == ConstantPoolType.METHOD_REF || type == ConstantPoolType.INTERFACE_REF);
+	}
+
+	/**
+	 * Return true if this is the call-site of an invokedynamic instruction which has a name and method descriptor but
+	 * no owner class.
+	 */
+	public boolean isInvokeDynamic() {
+		return (type == ConstantPoolType.INVOKE_DYNAMIC);
+	}
+
+	/**
+	 * Return the name of the class that owns the member, such as "java.lang.String", or null if an invoke-dynamic.
+	 */
+	public String getOwnerClassName() {
+		return ownerClassName;
+	}
+
+	/**
+	 * Return the name of the member.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Return the raw descriptor string of the member such as "I" or "(Ljava/lang/String;)V".
+	 */
+	public String getDescriptorStr() {
+		return descriptorStr;
+	}
+
+	/**
+	 * Return the data-type of a field reference or null if a method or it couldn't be parsed.
+	 */
+	public DataDescriptor getDataDescriptor() {
+		if (isField()) {
+			return DataDescriptor.fromString(descriptorStr);
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Return the parameters and return type of a method or invoke-dynamic reference or null if a field or it couldn't
+	 * be parsed.
+	 */
+	public MethodDescriptor getMethodDescriptor() {
+		if (isMethod() || isInvokeDynamic()) {
+			return MethodDescriptor.fromString(descriptorStr);
+		} else {
+			return null;
+		}
+	}
+
+	@Override
+	public String toString() {
+		if (ownerClassName == null) {
+			return name + descriptorStr;
+		} else {
+			return ownerClassName + "." + name + descriptorStr;
+		}
+	}
+}
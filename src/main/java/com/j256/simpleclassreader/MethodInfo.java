@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.j256.simpleclassreader.attribute.AnnotationInfo;
+import com.j256.simpleclassreader.attribute.AttributeType;
 import com.j256.simpleclassreader.attribute.CodeAttribute;
 import com.j256.simpleclassreader.attribute.ExceptionsAttribute;
 import com.j256.simpleclassreader.attribute.RuntimeVisibleAnnotationsAttribute;
@@ -24,22 +25,16 @@ public class MethodInfo {
 	private final int accessFlags;
 	private final MethodDescriptor methodDescriptor;
 	private final AttributeInfo[] attributes;
-	private final String[] exceptions;
-	private final AnnotationInfo[] runtimeAnnotations;
 	private final boolean deprecated;
-	private final byte[] code;
 	private final boolean constructor;
 
 	public MethodInfo(String name, int accessFlags, MethodDescriptor methodDescriptor, AttributeInfo[] attributes,
-			String[] exceptions, AnnotationInfo[] runtimeAnnotations, boolean deprecated, byte[] code) {
+			boolean deprecated) {
 		this.name = name;
 		this.accessFlags = accessFlags;
 		this.methodDescriptor = methodDescriptor;
 		this.attributes = attributes;
-		this.exceptions = exceptions;
-		this.runtimeAnnotations = runtimeAnnotations;
 		this.deprecated = deprecated;
-		this.code = code;
 		// we see if the method name is the constructor constant
 		this.constructor = CONSTRUCTOR_METHOD_NAME.equals(name);
 	}
@@ -47,7 +42,7 @@ public class MethodInfo {
 	/**
 	 * Read in a field information entry.
 	 */
-	public static MethodInfo read(DataInputStream dis, ConstantPool constantPool, List<ClassReaderError> errors)
+	public static MethodInfo read(DataInputStream dis, ConstantPool constantPool, ParseContext context)
 			throws IOException {
 
 		// u2 access_flags;
@@ -60,13 +55,13 @@ public class MethodInfo {
 		int index = dis.readUnsignedShort();
 		String name = constantPool.findName(index);
 		if (name == null) {
-			errors.add(new ClassReaderError(ClassReaderErrorType.METHOD_NAME_INDEX_INVALID, index));
+			context.addError(ClassReaderErrorType.METHOD_NAME_INDEX_INVALID, index);
 			return null;
 		}
 		index = dis.readUnsignedShort();
 		String descriptorStr = constantPool.findName(index);
 		if (descriptorStr == null) {
-			errors.add(new ClassReaderError(ClassReaderErrorType.METHOD_DESCRIPTOR_INDEX_INVALID, index));
+			context.addError(ClassReaderErrorType.METHOD_DESCRIPTOR_INDEX_INVALID, index);
 			return null;
 		}
 		MethodDescriptor methodDescriptor = null;
@@ -75,31 +70,15 @@ public class MethodInfo {
 		}
 		int attributeCount = dis.readUnsignedShort();
 		List<AttributeInfo> attributeInfos = null;
-		String[] exceptions = null;
-		AnnotationInfo[] runtimeAnnotations = null;
 		boolean deprecated = false;
-		byte[] code = null;
 		for (int i = 0; i < attributeCount; i++) {
-			AttributeInfo attributeInfo = AttributeInfo.read(dis, constantPool, errors);
+			AttributeInfo attributeInfo = AttributeInfo.read(dis, constantPool, context);
 			if (attributeInfo == null) {
 				continue;
 			}
-			switch (attributeInfo.getType()) {
-				case CODE:
-					code = ((CodeAttribute) attributeInfo.getValue()).getCode();
-					break;
-				case EXCEPTIONS:
-					exceptions = ((ExceptionsAttribute) attributeInfo.getValue()).getExceptions();
-					break;
-				case RUNTIME_VISIBLE_ANNOTATIONS:
-					runtimeAnnotations =
-							((RuntimeVisibleAnnotationsAttribute) attributeInfo.getValue()).getAnnotations();
-					break;
-				case DEPRECATED:
-					deprecated = true;
-				default:
-					// no additional processing
-					break;
+			// NOTE: the other attribute values are extracted on demand so they can be decoded lazily
+			if (attributeInfo.getType() == AttributeType.DEPRECATED) {
+				deprecated = true;
 			}
 			if (attributeInfos == null) {
 				attributeInfos = new ArrayList<>();
@@ -111,8 +90,7 @@ public class MethodInfo {
 		if (attributeInfos != null) {
 			attributes = attributeInfos.toArray(new AttributeInfo[attributeInfos.size()]);
 		}
-		return new MethodInfo(name, accessFlags, methodDescriptor, attributes, exceptions, runtimeAnnotations,
-				deprecated, code);
+		return new MethodInfo(name, accessFlags, methodDescriptor, attributes, deprecated);
 	}
 
 	/**
@@ -267,14 +245,26 @@ public class MethodInfo {
 	 * Exceptions extracted from the attributes.
 	 */
 	public String[] getExceptions() {
-		return exceptions;
+		ExceptionsAttribute exceptionsAttribute =
+				(ExceptionsAttribute) AttributeInfo.findValue(attributes, AttributeType.EXCEPTIONS);
+		if (exceptionsAttribute == null) {
+			return null;
+		} else {
+			return exceptionsAttribute.getExceptions();
+		}
 	}
 
 	/**
 	 * Return any runtime annotations on this method.
 	 */
 	public AnnotationInfo[] getRuntimeAnnotations() {
-		return runtimeAnnotations;
+		RuntimeVisibleAnnotationsAttribute annotationsAttribute = (RuntimeVisibleAnnotationsAttribute) AttributeInfo
+				.findValue(attributes, AttributeType.RUNTIME_VISIBLE_ANNOTATIONS);
+		if (annotationsAttribute == null) {
+			return null;
+		} else {
+			return annotationsAttribute.getAnnotations();
+		}
 	}
 
 	/**
@@ -288,7 +278,19 @@ public class MethodInfo {
 	 * Return the code bytes that were extracted from the attributes or null if none.
 	 */
 	public byte[] getCode() {
-		return code;
+		CodeAttribute codeAttribute = (CodeAttribute) AttributeInfo.findValue(attributes, AttributeType.CODE);
+		if (codeAttribute == null) {
+			return null;
+		} else {
+			return codeAttribute.getCode();
+		}
+	}
+
+	/**
+	 * Return the first attribute of the type or null if none.
+	 */
+	public AttributeInfo getAttribute(AttributeType type) {
+		return AttributeInfo.find(attributes, type);
 	}
 
 	@Override
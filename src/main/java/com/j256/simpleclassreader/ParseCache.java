@@ -0,0 +1,242 @@
+package com.j256.simpleclassreader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.j256.simpleclassreader.jfr.ParseEvents;
+
+/**
+ * Cache of the classes that have been read which is keyed by the hash of the class bytes. When the same class bytes
+ * are seen again, from a shaded copy or a duplicated library or an unchanged class in another release, the
+ * {@link ClassInfo} that was already read is returned instead of parsing the bytes again. All callers get the same
+ * instance so the cache also de-duplicates the {@link ClassInfo} objects. The cache holds up to a maximum number of
+ * classes and evicts the least recently used.
+ *
+ * NOTE: the entries are found by the 64-bit xxHash of the bytes and their length and then the bytes are compared so a
+ * hash collision does not return the wrong class. This means that the cache holds a copy of the bytes of each class.
+ * The returned {@link ClassInfo} is shared and should not be changed. Classes that could not be read are not cached.
+ *
+ * @author graywatson
+ */
+public class ParseCache {
+
+	/** default maximum number of classes in the cache */
+	public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+	private static final String EVENT_CACHE_NAME = "ParseCache";
+
+	private final int maxEntries;
+	private final ClassReaderOptions options;
+	/** entries in least recently used order */
+	private final LinkedHashMap<Key, CacheEntry> entries = new LinkedHashMap<>(16, 0.75F, true);
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	public ParseCache() {
+		this(DEFAULT_MAX_ENTRIES, new ClassReaderOptions());
+	}
+
+	/**
+	 * Create a cache which reads the classes with the options.
+	 */
+	public ParseCache(ClassReaderOptions options) {
+		this(DEFAULT_MAX_ENTRIES, options);
+	}
+
+	/**
+	 * Create a cache which holds up to the max-entries classes and reads them with the options.
+	 */
+	public ParseCache(int maxEntries, ClassReaderOptions options) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("max-entries should be positive: " + maxEntries);
+		}
+		this.maxEntries = maxEntries;
+		this.options = options;
+	}
+
+	/**
+	 * Return the {@link ClassInfo} of the bytes from the cache or read it with {@link ClassReader} and cache it.
+	 */
+	public ClassInfo readClass(byte[] classBytes) throws IOException {
+		return readClass(classBytes, 0, classBytes.length);
+	}
+
+	/**
+	 * Return the {@link ClassInfo} of the length bytes starting at offset from the cache or read it with
+	 * {@link ClassReader} and cache it.
+	 */
+	public ClassInfo readClass(byte[] classBytes, int offset, int length) throws IOException {
+		Key key = new Key(Utils.hash64(classBytes, offset, length), length);
+		CacheEntry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+		}
+		if (entry != null && entry.matches(classBytes, offset, length)) {
+			hitCount.incrementAndGet();
+			ParseEvents.cacheAccess(EVENT_CACHE_NAME, true);
+			return entry.classInfo;
+		}
+		missCount.incrementAndGet();
+		ParseEvents.cacheAccess(EVENT_CACHE_NAME, false);
+		// our own copy of the bytes to compare against and which lazy attributes can hold on to
+		byte[] bytes = Arrays.copyOfRange(classBytes, offset, offset + length);
+		ClassInfo classInfo = ClassReader.readClass(bytes, options);
+		if (classInfo == null) {
+			return null;
+		}
+		if (entry != null) {
+			// NOTE: a hash collision with a different class, we leave the existing entry alone
+			return classInfo;
+		}
+		synchronized (entries) {
+			// if another thread read the same bytes at the same time then we return theirs
+			CacheEntry existing = entries.get(key);
+			if (existing != null) {
+				if (existing.matches(bytes, 0, length)) {
+					return existing.classInfo;
+				} else {
+					return classInfo;
+				}
+			}
+			entries.put(key, new CacheEntry(bytes, classInfo));
+			Iterator<CacheEntry> iterator = entries.values().iterator();
+			while (entries.size() > maxEntries) {
+				iterator.next();
+				iterator.remove();
+				evictionCount.incrementAndGet();
+			}
+		}
+		return classInfo;
+	}
+
+	/**
+	 * Read all of the bytes from the input-stream and return the {@link ClassInfo} from the cache or read it. The
+	 * stream is not closed.
+	 */
+	public ClassInfo readClass(InputStream inputStream) throws IOException {
+		return readClass(Utils.readAllBytes(inputStream));
+	}
+
+	/**
+	 * Read the bytes from the file and return the {@link ClassInfo} from the cache or read it.
+	 */
+	public ClassInfo readClass(File file) throws IOException {
+		return readClass(Files.readAllBytes(file.toPath()));
+	}
+
+	/**
+	 * Return the number of different classes in the cache.
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Return the number of times the class was found in the cache.
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Return the number of times the class was not found in the cache and had to be read.
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Return the fraction of the requests that were found in the cache or 0 if none.
+	 */
+	public double getHitRate() {
+		long hits = hitCount.get();
+		long requestCount = hits + missCount.get();
+		if (requestCount == 0) {
+			return 0;
+		} else {
+			return (double) hits / requestCount;
+		}
+	}
+
+	/**
+	 * Return the number of classes that were removed to keep the cache under its max entries.
+	 */
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	/**
+	 * Remove all of the classes from the cache.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Cache key of the hash and length of the class bytes.
+	 */
+	private static class Key {
+
+		private final long hash;
+		private final int length;
+
+		public Key(long hash, int length) {
+			this.hash = hash;
+			this.length = length;
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (hash ^ (hash >>> 32)) * 31 + length;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return (hash == other.hash && length == other.length);
+		}
+	}
+
+	/**
+	 * Class that was read along with the bytes it was read from.
+	 */
+	private static class CacheEntry {
+
+		final byte[] bytes;
+		final ClassInfo classInfo;
+
+		public CacheEntry(byte[] bytes, ClassInfo classInfo) {
+			this.bytes = bytes;
+			this.classInfo = classInfo;
+		}
+
+		/**
+		 * Return true if the length bytes starting at offset are the same as ours.
+		 */
+		public boolean matches(byte[] otherBytes, int offset, int length) {
+			if (length != bytes.length) {
+				return false;
+			}
+			for (int i = 0; i < length; i++) {
+				if (bytes[i] != otherBytes[offset + i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
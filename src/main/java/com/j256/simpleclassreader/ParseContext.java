@@ -0,0 +1,460 @@
+package com.j256.simpleclassreader;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * State that is passed down through the reading of a class: the options, the parse errors, and the input. If the class
+ * is being read from a byte array then the context also knows the position in the bytes which allows attributes to be
+ * decoded on demand.
+ *
+ * @author graywatson
+ */
+public class ParseContext {
+
+	private final ClassReaderOptions options;
+	/** context of the class which holds the errors, this unless we are reading a range of the parent's bytes */
+	private final ParseContext root;
+	private final ParseErrorSink errorSink;
+	private final ParseLimits limits;
+	/** the following limit counters are only used in the root */
+	private long allocatedBytes;
+	private int memberCount;
+	private int annotationDepth;
+	private boolean deadlineActive;
+	private long deadlineNanos;
+	/** created when the first error is added so most classes don't need one */
+	private List<ClassReaderError> parseErrors;
+	private String className;
+	/** lock shared by all of the contexts of a class so on-demand decoding is done one at a time */
+	private final Object lock;
+	private final PositionInputStream bytesStream;
+	/** set if we are recording metrics and reading from a stream so we know how many bytes were read */
+	private final CountingInputStream countingStream;
+	private final DataInputStream dis;
+	/** position of the start of the class in the bytes */
+	private final int startPosition;
+	private final ParseMetrics metrics;
+	private long classStartNanos;
+	private long classStartBytes;
+	private long phaseStartNanos;
+	private long phaseStartBytes;
+
+	/**
+	 * Context which reads from an input-stream. Attributes are always decoded when read.
+	 */
+	ParseContext(ClassReaderOptions options, InputStream inputStream) {
+		this(options, inputStream, false);
+	}
+
+	/**
+	 * Context which reads from an input-stream and counts the bytes that are read if count-bytes is true or metrics are
+	 * being recorded.
+	 */
+	ParseContext(ClassReaderOptions options, InputStream inputStream, boolean countBytes) {
+		this.options = options;
+		this.root = this;
+		this.errorSink = options.getErrorSink();
+		this.limits = options.getParseLimits();
+		this.lock = new Object();
+		this.bytesStream = null;
+		this.startPosition = 0;
+		this.metrics = options.getParseMetrics();
+		if (metrics == null && !countBytes) {
+			this.countingStream = null;
+			this.dis = new DataInputStream(inputStream);
+		} else {
+			this.countingStream = new CountingInputStream(inputStream);
+			this.dis = new DataInputStream(countingStream);
+		}
+	}
+
+	/**
+	 * Context which reads from the length bytes of the buffer starting at offset.
+	 */
+	ParseContext(ClassReaderOptions options, byte[] bytes, int offset, int length) {
+		this.options = options;
+		this.root = this;
+		this.errorSink = options.getErrorSink();
+		this.limits = options.getParseLimits();
+		this.lock = new Object();
+		this.bytesStream = new PositionInputStream(bytes, offset, length);
+		this.countingStream = null;
+		this.dis = new DataInputStream(bytesStream);
+		this.startPosition = offset;
+		this.metrics = options.getParseMetrics();
+	}
+
+	/**
+	 * Context that shares the options and errors with the parent but reads from a range of its bytes.
+	 */
+	private ParseContext(ParseContext parent, int offset, int length) {
+		this.options = parent.options;
+		this.root = parent.root;
+		this.errorSink = parent.errorSink;
+		this.limits = parent.limits;
+		this.lock = parent.lock;
+		this.bytesStream = new PositionInputStream(parent.bytesStream.getBuffer(), offset, length);
+		this.countingStream = null;
+		this.dis = new DataInputStream(bytesStream);
+		this.startPosition = offset;
+		this.metrics = parent.metrics;
+	}
+
+	/**
+	 * Return a context which reads from the length bytes of the buffer starting at offset. This is used to call the
+	 * public read methods such as {@link ClassInfo#read(ParseContext)} and the attribute readers directly.
+	 */
+	public static ParseContext forBytes(ClassReaderOptions options, byte[] bytes, int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > bytes.length) {
+			throw new IllegalArgumentException(
+					"offset " + offset + " and length " + length + " are not inside of " + bytes.length + " bytes");
+		}
+		return new ParseContext(options, bytes, offset, length);
+	}
+
+	/**
+	 * Return a context which reads from the input-stream. Attributes are always decoded when read.
+	 */
+	public static ParseContext forStream(ClassReaderOptions options, InputStream inputStream) {
+		return new ParseContext(options, inputStream);
+	}
+
+	/**
+	 * Add an error to the parse errors for the class or send it to the error sink from the options if there is one.
+	 */
+	public void addError(ClassReaderErrorType type, Object details) {
+		if (metrics != null) {
+			metrics.addError(type);
+		}
+		if (errorSink != null) {
+			errorSink.addError(root.className, type, details);
+			return;
+		}
+		if (root.parseErrors == null) {
+			root.parseErrors = new ArrayList<>();
+		}
+		root.parseErrors.add(new ClassReaderError(type, details));
+	}
+
+	/**
+	 * Return the errors from the parse so far. This is always empty if there is an error sink.
+	 */
+	public List<ClassReaderError> getParseErrors() {
+		if (root.parseErrors == null) {
+			return Collections.emptyList();
+		} else {
+			return root.parseErrors;
+		}
+	}
+
+	/**
+	 * Return a copy of the errors from the parse so far. This is used when the values are decoded on demand because the
+	 * errors can be added by another thread under the lock.
+	 */
+	List<ClassReaderError> copyParseErrors() {
+		synchronized (lock) {
+			if (root.parseErrors == null) {
+				return Collections.emptyList();
+			} else {
+				return new ArrayList<>(root.parseErrors);
+			}
+		}
+	}
+
+	/**
+	 * Return true if the attribute values should be decoded on demand. This requires that we are reading from a byte
+	 * array.
+	 */
+	public boolean isLazyAttributes() {
+		return (bytesStream != null && options.isLazyAttributes());
+	}
+
+	/**
+	 * Return the stream that reads from the input.
+	 */
+	public DataInputStream getDataInputStream() {
+		return dis;
+	}
+
+	/**
+	 * Return the position of the next byte to be read in the underlying byte array or -1 if reading from a stream.
+	 */
+	public int getPosition() {
+		if (bytesStream == null) {
+			return -1;
+		} else {
+			return bytesStream.getPosition();
+		}
+	}
+
+	/**
+	 * Return the byte array that we are reading from or null if reading from a stream.
+	 */
+	public byte[] getBytes() {
+		if (bytesStream == null) {
+			return null;
+		} else {
+			return bytesStream.getBuffer();
+		}
+	}
+
+	/**
+	 * Skip over length bytes of the input. Unlike {@link DataInputStream#skipBytes(int)}, this throws if there are not
+	 * enough bytes.
+	 */
+	public void skipBytes(int length) throws EOFException {
+		if (length < 0 || bytesStream.available() < length) {
+			throw new EOFException("skipping " + length + " bytes past the end of the class bytes");
+		}
+		bytesStream.skip(length);
+	}
+
+	/**
+	 * Return a context that reads length bytes of our byte array starting at offset.
+	 */
+	ParseContext forRange(int offset, int length) {
+		return new ParseContext(this, offset, length);
+	}
+
+	/**
+	 * Add to the estimate of the bytes allocated for the class.
+	 * 
+	 * @throws ParseLimitException
+	 *             If the allocation limit is reached.
+	 */
+	public void reserveBytes(long numBytes) throws ParseLimitException {
+		root.allocatedBytes += numBytes;
+		if (limits != null && (numBytes < 0 || root.allocatedBytes > limits.getMaxAllocationBytes())) {
+			throw new ParseLimitException(ClassReaderErrorType.ALLOCATION_LIMIT_EXCEEDED,
+					"reserving " + numBytes + " bytes goes past the limit of " + limits.getMaxAllocationBytes());
+		}
+	}
+
+	/**
+	 * Return the estimate of the bytes allocated for the class so far.
+	 */
+	long getAllocatedBytes() {
+		return root.allocatedBytes;
+	}
+
+	/**
+	 * Check if the time to read the class has run out.
+	 * 
+	 * @throws ParseLimitException
+	 *             If the time limit has been reached.
+	 */
+	public void checkDeadline() throws ParseLimitException {
+		if (root.deadlineActive && System.nanoTime() - root.deadlineNanos > 0) {
+			throw new ParseLimitException(ClassReaderErrorType.PARSE_TIME_LIMIT_EXCEEDED,
+					"reading took longer than " + limits.getMaxParseNanos() + " nanos");
+		}
+	}
+
+	/**
+	 * Called before reading an annotation value that is inside of another. Must be followed by a call to
+	 * {@link #exitAnnotationValue()}.
+	 * 
+	 * @throws ParseLimitException
+	 *             If the annotation depth limit is reached.
+	 */
+	public void enterAnnotationValue() throws ParseLimitException {
+		if (limits == null) {
+			return;
+		}
+		root.annotationDepth++;
+		if (root.annotationDepth > limits.getMaxAnnotationDepth()) {
+			throw new ParseLimitException(ClassReaderErrorType.ANNOTATION_DEPTH_LIMIT_EXCEEDED,
+					"annotation values are nested more than " + limits.getMaxAnnotationDepth() + " deep");
+		}
+	}
+
+	/**
+	 * Called after reading an annotation value that is inside of another.
+	 */
+	public void exitAnnotationValue() {
+		if (limits != null) {
+			root.annotationDepth--;
+		}
+	}
+
+	/**
+	 * Add to the number of fields and methods in the class.
+	 * 
+	 * @throws ParseLimitException
+	 *             If the member limit is reached.
+	 */
+	void addMembers(int num) throws ParseLimitException {
+		if (limits == null) {
+			return;
+		}
+		root.memberCount += num;
+		if (root.memberCount > limits.getMaxMembers()) {
+			throw new ParseLimitException(ClassReaderErrorType.MEMBER_LIMIT_EXCEEDED,
+					"class has more than " + limits.getMaxMembers() + " fields and methods");
+		}
+	}
+
+	/**
+	 * Start the clock on the time limit if there is one.
+	 */
+	void startDeadline() {
+		if (limits != null && limits.hasDeadline()) {
+			root.deadlineNanos = System.nanoTime() + limits.getMaxParseNanos();
+			root.deadlineActive = true;
+		}
+	}
+
+	/**
+	 * Stop the clock on the time limit since the class has been read.
+	 */
+	void stopDeadline() {
+		root.deadlineActive = false;
+	}
+
+	/**
+	 * Set the name of the class being read which is passed to the error sink.
+	 */
+	void setClassName(String className) {
+		root.className = className;
+	}
+
+	/**
+	 * Return the number of bytes that have been read or 0 if reading from a stream that is not counted.
+	 */
+	long getBytesRead() {
+		return bytesMark() - startPosition;
+	}
+
+	/**
+	 * Return the metrics to record into or null if none.
+	 */
+	ParseMetrics getParseMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Start timing the reading of a class if we are recording metrics.
+	 */
+	void startClass() {
+		if (metrics != null) {
+			classStartNanos = System.nanoTime();
+			classStartBytes = bytesMark();
+			phaseStartNanos = classStartNanos;
+			phaseStartBytes = classStartBytes;
+		}
+	}
+
+	/**
+	 * Record the time and bytes since the end of the last phase into the phase if we are recording metrics.
+	 */
+	void endPhase(ParsePhase phase) {
+		if (metrics != null) {
+			long nanos = System.nanoTime();
+			long bytes = bytesMark();
+			metrics.addPhase(phase, nanos - phaseStartNanos, bytes - phaseStartBytes);
+			phaseStartNanos = nanos;
+			phaseStartBytes = bytes;
+		}
+	}
+
+	/**
+	 * Record the time and bytes of the class if we are recording metrics.
+	 */
+	void endClass(String className) {
+		if (metrics != null) {
+			metrics.addClass(className, System.nanoTime() - classStartNanos, bytesMark() - classStartBytes);
+		}
+	}
+
+	/**
+	 * Lock which needs to be held while decoding attributes after the class was read.
+	 */
+	Object getLock() {
+		return lock;
+	}
+
+	/**
+	 * Return the number of bytes read so far from the start of the input.
+	 */
+	private long bytesMark() {
+		if (bytesStream != null) {
+			return bytesStream.getPosition();
+		} else if (countingStream != null) {
+			return countingStream.getCount();
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Byte array input-stream that exposes its position in the buffer.
+	 */
+	private static class PositionInputStream extends ByteArrayInputStream {
+
+		public PositionInputStream(byte[] buf, int offset, int length) {
+			super(buf, offset, length);
+		}
+
+		public int getPosition() {
+			return pos;
+		}
+
+		public byte[] getBuffer() {
+			return buf;
+		}
+	}
+
+	/**
+	 * Input-stream that counts the bytes that were read through it.
+	 */
+	private static class CountingInputStream extends FilterInputStream {
+
+		private long count;
+
+		public CountingInputStream(InputStream inputStream) {
+			super(inputStream);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int value = super.read();
+			if (value >= 0) {
+				count++;
+			}
+			return value;
+		}
+
+		@Override
+		public int read(byte[] buf, int offset, int length) throws IOException {
+			int num = super.read(buf, offset, length);
+			if (num > 0) {
+				count += num;
+			}
+			return num;
+		}
+
+		@Override
+		public long skip(long num) throws IOException {
+			long skipped = super.skip(num);
+			count += skipped;
+			return skipped;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		public long getCount() {
+			return count;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.j256.simpleclassreader;
+
+/**
+ * Thrown by a {@link ParseErrorSink} such as {@link FailFastErrorSink} to stop the reading of a class. This is not an
+ * IOException because errors can also be found when attribute values are decoded on demand.
+ * 
+ * @author graywatson
+ */
+public class ParseErrorException extends RuntimeException {
+
+	private static final long serialVersionUID = -2745107731580413257L;
+
+	private final ClassReaderError error;
+
+	public ParseErrorException(ClassReaderError error) {
+		super(error.toString());
+		this.error = error;
+	}
+
+	/**
+	 * Return the error that stopped the reading.
+	 */
+	public ClassReaderError getError() {
+		return error;
+	}
+}
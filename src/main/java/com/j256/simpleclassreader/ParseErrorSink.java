@@ -0,0 +1,19 @@
+package com.j256.simpleclassreader;
+
+/**
+ * Where the parse errors go if set with {@link ClassReaderOptions#setErrorSink(ParseErrorSink)} instead of being added
+ * to the {@link ClassInfo#getParseErrors()} of each class. The same sink may be called from a number of threads at the
+ * same time if the options are shared.
+ * 
+ * @author graywatson
+ */
+public interface ParseErrorSink {
+
+	/**
+	 * Called for each of the parse errors. The class-name is null if the error happened before the name was read.
+	 * 
+	 * @throws ParseErrorException
+	 *             If the sink wants the reading of the class to stop.
+	 */
+	public void addError(String className, ClassReaderErrorType type, Object details);
+}
@@ -0,0 +1,28 @@
+package com.j256.simpleclassreader;
+
+import java.io.IOException;
+
+/**
+ * Thrown when reading a class goes past one of the {@link ParseLimits}. This is caught by {@link ClassInfo#read}
+ * which adds the error to the class and returns null.
+ * 
+ * @author graywatson
+ */
+public class ParseLimitException extends IOException {
+
+	private static final long serialVersionUID = 4810927743160273659L;
+
+	private final ClassReaderErrorType errorType;
+
+	public ParseLimitException(ClassReaderErrorType errorType, String message) {
+		super(message);
+		this.errorType = errorType;
+	}
+
+	/**
+	 * Return the type of the error for the limit that was reached.
+	 */
+	public ClassReaderErrorType getErrorType() {
+		return errorType;
+	}
+}
@@ -0,0 +1,89 @@
+package com.j256.simpleclassreader;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits on the resources that reading a class can use which is helpful when reading class files that are not trusted.
+ * Set them on the options with {@link ClassReaderOptions#setParseLimits(ParseLimits)}. If a limit is reached then the
+ * reading stops, an error of the matching {@link ClassReaderErrorType} is added, and null is returned instead of the
+ * class. By default there are no limits.
+ * 
+ * NOTE: the allocation is an estimate of the bytes used by the class information such as the code, the unknown
+ * attribute values, and the constant-pool entries. It does not include the class bytes that are passed in.
+ * 
+ * @author graywatson
+ */
+public class ParseLimits {
+
+	private long maxAllocationBytes = Long.MAX_VALUE;
+	private int maxMembers = Integer.MAX_VALUE;
+	private int maxAnnotationDepth = Integer.MAX_VALUE;
+	private long maxParseNanos = Long.MAX_VALUE;
+
+	/**
+	 * Return the maximum number of bytes that reading a class can allocate.
+	 */
+	public long getMaxAllocationBytes() {
+		return maxAllocationBytes;
+	}
+
+	/**
+	 * Set the maximum number of bytes that reading a class can allocate. If attributes are decoded on demand then their
+	 * allocations are added to the same total.
+	 */
+	public void setMaxAllocationBytes(long maxAllocationBytes) {
+		this.maxAllocationBytes = maxAllocationBytes;
+	}
+
+	/**
+	 * Return the maximum number of fields and methods in a class.
+	 */
+	public int getMaxMembers() {
+		return maxMembers;
+	}
+
+	/**
+	 * Set the maximum number of fields and methods, added together, in a class.
+	 */
+	public void setMaxMembers(int maxMembers) {
+		this.maxMembers = maxMembers;
+	}
+
+	/**
+	 * Return the maximum number of array and annotation values that an annotation value can be nested inside of.
+	 */
+	public int getMaxAnnotationDepth() {
+		return maxAnnotationDepth;
+	}
+
+	/**
+	 * Set the maximum number of array and annotation values that an annotation value can be nested inside of. For
+	 * example, the ints in an int[] value are inside of 1 array.
+	 */
+	public void setMaxAnnotationDepth(int maxAnnotationDepth) {
+		this.maxAnnotationDepth = maxAnnotationDepth;
+	}
+
+	/**
+	 * Return the maximum number of nanoseconds that reading a class can take.
+	 */
+	public long getMaxParseNanos() {
+		return maxParseNanos;
+	}
+
+	/**
+	 * Set the maximum time that reading a class can take. This is checked as each entry, member, and attribute is read
+	 * so a read that is blocked on an input-stream is not stopped. Attributes that are decoded on demand have no
+	 * deadline.
+	 */
+	public void setMaxParseTime(long time, TimeUnit unit) {
+		this.maxParseNanos = unit.toNanos(time);
+	}
+
+	/**
+	 * Return true if there is a deadline for reading a class.
+	 */
+	boolean hasDeadline() {
+		return (maxParseNanos != Long.MAX_VALUE);
+	}
+}
@@ -0,0 +1,298 @@
+package com.j256.simpleclassreader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.j256.simpleclassreader.ConstantPool.ConstantPoolType;
+import com.j256.simpleclassreader.attribute.AttributeType;
+
+/**
+ * Counters of where the time and the bytes go when reading classes. Set it on the options with
+ * {@link ClassReaderOptions#setParseMetrics(ParseMetrics)} and the reader will record the nanoseconds and bytes of each
+ * {@link ParsePhase} and {@link AttributeType}, the number of constant-pool entries of each {@link ConstantPoolType},
+ * the parse errors of each {@link ClassReaderErrorType}, a histogram of the time to read each class, and the slowest
+ * classes. The counters are {@link LongAdder}s so the same metrics can be shared by a number of threads
+ * reading at the same time. If no metrics are set then nothing is timed.
+ * 
+ * NOTE: the time of an attribute includes the time of the attributes inside of it such as the line-number table of a
+ * Code attribute. If the attributes are lazy then the time to decode the value is added when it is decoded.
+ * 
+ * @author graywatson
+ */
+public class ParseMetrics {
+
+	public static final int DEFAULT_NUM_SLOWEST = 10;
+
+	private final LongAdder classCount = new LongAdder();
+	private final LongAdder classNanos = new LongAdder();
+	private final LongAdder classBytes = new LongAdder();
+	private final LongAdder[] phaseNanos = newAdders(ParsePhase.values().length);
+	private final LongAdder[] phaseBytes = newAdders(ParsePhase.values().length);
+	private final LongAdder[] attributeCounts = newAdders(AttributeType.values().length);
+	private final LongAdder[] attributeNanos = newAdders(AttributeType.values().length);
+	private final LongAdder[] attributeBytes = newAdders(AttributeType.values().length);
+	private final LongAdder[] constantPoolCounts = newAdders(ConstantPoolType.values().length);
+	private final LongAdder[] errorCounts = newAdders(ClassReaderErrorType.values().length);
+	private final LatencyHistogram classNanosHistogram = new LatencyHistogram();
+	private final int numSlowest;
+	/** smallest first so the fastest of the slow classes is the one that is replaced */
+	private final PriorityQueue<ClassTiming> slowest;
+	/** nanos a class has to beat to get into the slowest list which saves taking the lock for most classes */
+	private volatile long slowestMinNanos = -1;
+
+	public ParseMetrics() {
+		this(DEFAULT_NUM_SLOWEST);
+	}
+
+	/**
+	 * Metrics which keep the number of slowest classes.
+	 */
+	public ParseMetrics(int numSlowest) {
+		if (numSlowest < 0) {
+			throw new IllegalArgumentException("invalid number of slowest classes: " + numSlowest);
+		}
+		this.numSlowest = numSlowest;
+		this.slowest = new PriorityQueue<>(numSlowest + 1);
+	}
+
+	/**
+	 * Return the number of classes that were read.
+	 */
+	public long getClassCount() {
+		return classCount.sum();
+	}
+
+	/**
+	 * Return the nanoseconds spent reading the classes.
+	 */
+	public long getClassNanos() {
+		return classNanos.sum();
+	}
+
+	/**
+	 * Return the number of class bytes that were read.
+	 */
+	public long getClassBytes() {
+		return classBytes.sum();
+	}
+
+	/**
+	 * Return the nanoseconds spent in the phase.
+	 */
+	public long getPhaseNanos(ParsePhase phase) {
+		return phaseNanos[phase.ordinal()].sum();
+	}
+
+	/**
+	 * Return the number of class bytes that were read in the phase.
+	 */
+	public long getPhaseBytes(ParsePhase phase) {
+		return phaseBytes[phase.ordinal()].sum();
+	}
+
+	/**
+	 * Return the number of attributes of the type that were read.
+	 */
+	public long getAttributeCount(AttributeType type) {
+		return attributeCounts[type.ordinal()].sum();
+	}
+
+	/**
+	 * Return the nanoseconds spent reading and decoding attributes of the type.
+	 */
+	public long getAttributeNanos(AttributeType type) {
+		return attributeNanos[type.ordinal()].sum();
+	}
+
+	/**
+	 * Return the number of class bytes in the attributes of the type including the 6 byte name and length header.
+	 */
+	public long getAttributeBytes(AttributeType type) {
+		return attributeBytes[type.ordinal()].sum();
+	}
+
+	/**
+	 * Return the number of constant-pool entries of the type that were read.
+	 */
+	public long getConstantPoolCount(ConstantPoolType type) {
+		return constantPoolCounts[type.ordinal()].sum();
+	}
+
+	/**
+	 * Return the number of parse errors of the type.
+	 */
+	public long getErrorCount(ClassReaderErrorType type) {
+		return errorCounts[type.ordinal()].sum();
+	}
+
+	/**
+	 * Return the number of parse errors of all types.
+	 */
+	public long getErrorCount() {
+		long count = 0;
+		for (LongAdder adder : errorCounts) {
+			count += adder.sum();
+		}
+		return count;
+	}
+
+	/**
+	 * Return the average nanoseconds to read a class or 0 if none.
+	 */
+	public long getAverageClassNanos() {
+		long count = classCount.sum();
+		if (count == 0) {
+			return 0;
+		} else {
+			return classNanos.sum() / count;
+		}
+	}
+
+	/**
+	 * Return the nanoseconds that the percent, from 0 to 100, of the classes were read within such as 99 for the p99
+	 * latency. This comes from a histogram so is accurate to within 12.5%. Returns 0 if no classes were read.
+	 */
+	public long getClassNanosPercentile(double percent) {
+		return classNanosHistogram.getPercentile(percent);
+	}
+
+	/**
+	 * Return the slowest classes that were read, slowest first.
+	 */
+	public List<ClassTiming> getSlowestClasses() {
+		List<ClassTiming> results;
+		synchronized (slowest) {
+			results = new ArrayList<>(slowest);
+		}
+		Collections.sort(results, Collections.reverseOrder());
+		return results;
+	}
+
+	/**
+	 * Set all of the counters back to 0 and clear the slowest classes.
+	 */
+	public void reset() {
+		classCount.reset();
+		classNanos.reset();
+		classBytes.reset();
+		resetAll(phaseNanos);
+		resetAll(phaseBytes);
+		resetAll(attributeCounts);
+		resetAll(attributeNanos);
+		resetAll(attributeBytes);
+		resetAll(constantPoolCounts);
+		resetAll(errorCounts);
+		classNanosHistogram.reset();
+		synchronized (slowest) {
+			slowest.clear();
+			slowestMinNanos = -1;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClassCount() + " classes, " + getClassBytes() + " bytes read in " + getClassNanos() + " nanos";
+	}
+
+	void addClass(String className, long nanos, long bytes) {
+		classCount.increment();
+		classNanos.add(nanos);
+		classBytes.add(bytes);
+		classNanosHistogram.record(nanos);
+		if (numSlowest == 0 || nanos <= slowestMinNanos) {
+			return;
+		}
+		synchronized (slowest) {
+			if (slowest.size() < numSlowest) {
+				slowest.add(new ClassTiming(className, nanos, bytes));
+			} else if (nanos > slowest.peek().nanos) {
+				slowest.poll();
+				slowest.add(new ClassTiming(className, nanos, bytes));
+			}
+			if (slowest.size() == numSlowest) {
+				slowestMinNanos = slowest.peek().nanos;
+			}
+		}
+	}
+
+	void addPhase(ParsePhase phase, long nanos, long bytes) {
+		phaseNanos[phase.ordinal()].add(nanos);
+		phaseBytes[phase.ordinal()].add(bytes);
+	}
+
+	void addAttribute(AttributeType type, long nanos, long bytes) {
+		attributeCounts[type.ordinal()].increment();
+		attributeNanos[type.ordinal()].add(nanos);
+		attributeBytes[type.ordinal()].add(bytes);
+	}
+
+	void addAttributeDecode(AttributeType type, long nanos) {
+		attributeNanos[type.ordinal()].add(nanos);
+	}
+
+	void addError(ClassReaderErrorType type) {
+		errorCounts[type.ordinal()].increment();
+	}
+
+	void addConstantPoolEntry(ConstantPoolType type) {
+		constantPoolCounts[type.ordinal()].increment();
+	}
+
+	private static LongAdder[] newAdders(int num) {
+		LongAdder[] adders = new LongAdder[num];
+		for (int i = 0; i < num; i++) {
+			adders[i] = new LongAdder();
+		}
+		return adders;
+	}
+
+	private static void resetAll(LongAdder[] adders) {
+		for (LongAdder adder : adders) {
+			adder.reset();
+		}
+	}
+
+	/**
+	 * How long a class took to read.
+	 */
+	public static class ClassTiming implements Comparable<ClassTiming> {
+
+		private final String className;
+		private final long nanos;
+		private final long bytes;
+
+		public ClassTiming(String className, long nanos, long bytes) {
+			this.className = className;
+			this.nanos = nanos;
+			this.bytes = bytes;
+		}
+
+		/**
+		 * Return the name of the class or null if it could not be read.
+		 */
+		public String getClassName() {
+			return className;
+		}
+
+		public long getNanos() {
+			return nanos;
+		}
+
+		public long getBytes() {
+			return bytes;
+		}
+
+		@Override
+		public int compareTo(ClassTiming other) {
+			return Long.compare(nanos, other.nanos);
+		}
+
+		@Override
+		public String toString() {
+			return className + " took " + nanos + " nanos to read " + bytes + " bytes";
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.j256.simpleclassreader;
+
+/**
+ * Phases of reading a class that are timed by {@link ParseMetrics}.
+ * 
+ * @author graywatson
+ */
+public enum ParsePhase {
+	/** magic number, versions, access flags, class names, and interfaces */
+	HEADER,
+	/** the constant-pool entries */
+	CONSTANT_POOL,
+	/** the fields and their attributes */
+	FIELDS,
+	/** the methods and their attributes which include the code */
+	METHODS,
+	/** the attributes of the class */
+	ATTRIBUTES,
+	// end
+	;
+}
@@ -0,0 +1,74 @@
+package com.j256.simpleclassreader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Error sink which counts the errors of each type and also keeps the first few errors of each type, with the name of
+ * their class, so there are examples to look at without keeping all of them.
+ * 
+ * @author graywatson
+ */
+public class SamplingErrorSink extends CountingErrorSink {
+
+	public static final int DEFAULT_SAMPLES_PER_TYPE = 10;
+
+	private final int samplesPerType;
+	/** number of samples that have been claimed for each type which may go past the samples-per-type */
+	private final AtomicInteger[] sampleCounts = new AtomicInteger[ClassReaderErrorType.values().length];
+	private final List<List<ClassReaderError>> samples = new ArrayList<>(ClassReaderErrorType.values().length);
+
+	public SamplingErrorSink() {
+		this(DEFAULT_SAMPLES_PER_TYPE);
+	}
+
+	/**
+	 * Sink which keeps up to the number of samples of each type.
+	 */
+	public SamplingErrorSink(int samplesPerType) {
+		if (samplesPerType < 0) {
+			throw new IllegalArgumentException("invalid samples per type: " + samplesPerType);
+		}
+		this.samplesPerType = samplesPerType;
+		for (int i = 0; i < sampleCounts.length; i++) {
+			sampleCounts[i] = new AtomicInteger();
+			samples.add(new ArrayList<ClassReaderError>());
+		}
+	}
+
+	@Override
+	public void addError(String className, ClassReaderErrorType type, Object details) {
+		super.addError(className, type, details);
+		AtomicInteger sampleCount = sampleCounts[type.ordinal()];
+		// the get saves the increment once we have all of the samples
+		if (sampleCount.get() < samplesPerType && sampleCount.getAndIncrement() < samplesPerType) {
+			List<ClassReaderError> typeSamples = samples.get(type.ordinal());
+			synchronized (typeSamples) {
+				typeSamples.add(new ClassReaderError(className, type, details));
+			}
+		}
+	}
+
+	/**
+	 * Return the first errors of the type.
+	 */
+	public List<ClassReaderError> getSamples(ClassReaderErrorType type) {
+		List<ClassReaderError> typeSamples = samples.get(type.ordinal());
+		synchronized (typeSamples) {
+			return new ArrayList<>(typeSamples);
+		}
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		for (int i = 0; i < sampleCounts.length; i++) {
+			List<ClassReaderError> typeSamples = samples.get(i);
+			synchronized (typeSamples) {
+				typeSamples.clear();
+				sampleCounts[i].set(0);
+			}
+		}
+	}
+}
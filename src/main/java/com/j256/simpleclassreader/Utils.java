@@ -3,6 +3,7 @@ package com.j256.simpleclassreader;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Some central utility methods.
@@ -13,6 +14,12 @@ public class Utils {
 
 	private static final int BUFFER_SIZE = 16384;
 
+	private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+	private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+	private static final long PRIME64_3 = 0x165667B19E3779F9L;
+	private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+	private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
 	/**
 	 * Return a byte[] with the length bytes from the input-stream.
 	 */
@@ -43,6 +50,121 @@ public class Utils {
 		return baos.toByteArray();
 	}
 
+	/**
+	 * Read all of the bytes from the input-stream until EOF. The stream is not closed.
+	 */
+	public static byte[] readAllBytes(InputStream inputStream) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		byte[] buffer = new byte[BUFFER_SIZE];
+		while (true) {
+			int num = inputStream.read(buffer);
+			if (num < 0) {
+				break;
+			}
+			baos.write(buffer, 0, num);
+		}
+		return baos.toByteArray();
+	}
+
+	/**
+	 * Read a big-endian unsigned short from the bytes at offset.
+	 */
+	public static int readUnsignedShort(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+	}
+
+	/**
+	 * Read a big-endian int from the bytes at offset.
+	 */
+	public static int readInt(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16) | ((bytes[offset + 2] & 0xFF) << 8)
+				| (bytes[offset + 3] & 0xFF);
+	}
+
+	/**
+	 * Decode the length bytes starting at offset as the modified UTF-8 of the class file format which encodes the nul
+	 * character as 2 bytes and the supplementary characters as surrogate pairs of 3 bytes each. Malformed bytes are
+	 * decoded as the replacement character like {@link String#String(byte[], java.nio.charset.Charset)}.
+	 */
+	public static String readModifiedUtf8(byte[] bytes, int offset, int length) {
+		char[] chars = new char[length];
+		int charCount = 0;
+		int end = offset + length;
+		int pos = offset;
+		while (pos < end) {
+			int b = bytes[pos] & 0xFF;
+			if (b < 0x80) {
+				chars[charCount++] = (char) b;
+				pos++;
+			} else if ((b & 0xE0) == 0xC0 && pos + 1 < end && isContinuation(bytes[pos + 1])) {
+				chars[charCount++] = (char) (((b & 0x1F) << 6) | (bytes[pos + 1] & 0x3F));
+				pos += 2;
+			} else if ((b & 0xF0) == 0xE0 && pos + 2 < end && isContinuation(bytes[pos + 1])
+					&& isContinuation(bytes[pos + 2])) {
+				chars[charCount++] =
+						(char) (((b & 0x0F) << 12) | ((bytes[pos + 1] & 0x3F) << 6) | (bytes[pos + 2] & 0x3F));
+				pos += 3;
+			} else {
+				chars[charCount++] = '\uFFFD';
+				pos++;
+			}
+		}
+		return new String(chars, 0, charCount);
+	}
+
+	/**
+	 * Return the 64-bit xxHash (XXH64) with seed 0 of length bytes starting at offset.
+	 */
+	public static long hash64(byte[] bytes, int offset, int length) {
+		int end = offset + length;
+		long hash;
+		if (length >= 32) {
+			long v1 = PRIME64_1 + PRIME64_2;
+			long v2 = PRIME64_2;
+			long v3 = 0;
+			long v4 = -PRIME64_1;
+			int limit = end - 32;
+			do {
+				v1 = hashRound(v1, readLongLittleEndian(bytes, offset));
+				v2 = hashRound(v2, readLongLittleEndian(bytes, offset + 8));
+				v3 = hashRound(v3, readLongLittleEndian(bytes, offset + 16));
+				v4 = hashRound(v4, readLongLittleEndian(bytes, offset + 24));
+				offset += 32;
+			} while (offset <= limit);
+			hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+			hash = hashMergeRound(hash, v1);
+			hash = hashMergeRound(hash, v2);
+			hash = hashMergeRound(hash, v3);
+			hash = hashMergeRound(hash, v4);
+		} else {
+			hash = PRIME64_5;
+		}
+		hash += length;
+
+		while (offset + 8 <= end) {
+			hash ^= hashRound(0, readLongLittleEndian(bytes, offset));
+			hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+			offset += 8;
+		}
+		if (offset + 4 <= end) {
+			hash ^= (readIntLittleEndian(bytes, offset) & 0xFFFFFFFFL) * PRIME64_1;
+			hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+			offset += 4;
+		}
+		while (offset < end) {
+			hash ^= (bytes[offset] & 0xFF) * PRIME64_5;
+			hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+			offset++;
+		}
+
+		hash ^= hash >>> 33;
+		hash *= PRIME64_2;
+		hash ^= hash >>> 29;
+		hash *= PRIME64_3;
+		hash ^= hash >>> 32;
+		return hash;
+	}
+
 	/**
 	 * Convert from a class path with '/' to a package with '.'.
 	 */
@@ -53,4 +175,29 @@ public class Utils {
 			return path.replace('/', '.');
 		}
 	}
+
+	private static boolean isContinuation(byte b) {
+		return ((b & 0xC0) == 0x80);
+	}
+
+	private static long hashRound(long acc, long input) {
+		acc += input * PRIME64_2;
+		acc = Long.rotateLeft(acc, 31);
+		return acc * PRIME64_1;
+	}
+
+	private static long hashMergeRound(long acc, long value) {
+		acc ^= hashRound(0, value);
+		return acc * PRIME64_1 + PRIME64_4;
+	}
+
+	private static int readIntLittleEndian(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xFF) | ((bytes[offset + 1] & 0xFF) << 8) | ((bytes[offset + 2] & 0xFF) << 16)
+				| ((bytes[offset + 3] & 0xFF) << 24);
+	}
+
+	private static long readLongLittleEndian(byte[] bytes, int offset) {
+		return (readIntLittleEndian(bytes, offset) & 0xFFFFFFFFL)
+				| ((long) readIntLittleEndian(bytes, offset + 4) << 32);
+	}
 }
@@ -5,10 +5,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.j256.simpleclassreader.ClassReaderError;
 import com.j256.simpleclassreader.ClassReaderErrorType;
 import com.j256.simpleclassreader.ConstantPool;
 import com.j256.simpleclassreader.DataDescriptor;
+import com.j256.simpleclassreader.ParseContext;
 
 /**
  * The name and values of the annotation, listed in the specs as element_value_pairs.
@@ -41,18 +41,19 @@ public class AnnotationFieldValue {
 	 * Read in an element-value-pair into a AnnotationValue class.
 	 */
 	public static AnnotationFieldValue read(DataInputStream dis, ConstantPool constantPool,
-			List<ClassReaderError> parseErrors, boolean readName) throws IOException {
+			ParseContext context, boolean readName) throws IOException {
 
 		// { u2 element_name_index;
 		// element_value value;
 		// } element_value_pairs[num_element_value_pairs];
 
+		context.checkDeadline();
 		String fieldName = null;
 		if (readName) {
 			int index = dis.readUnsignedShort();
 			fieldName = constantPool.findName(index);
 			if (fieldName == null) {
-				parseErrors.add(new ClassReaderError(ClassReaderErrorType.ANNOTATION_FIELD_NAME_INDEX_INVALID, index));
+				context.addError(ClassReaderErrorType.ANNOTATION_FIELD_NAME_INDEX_INVALID, index);
 			}
 		}
 
@@ -61,7 +62,7 @@ public class AnnotationFieldValue {
 		int typeChar = dis.read();
 		AnnotationValueType type = AnnotationValueType.fromChar(typeChar);
 		if (type == null) {
-			parseErrors.add(new ClassReaderError(ClassReaderErrorType.ANNOTATION_VALUE_TAG_INVALID, typeChar));
+			context.addError(ClassReaderErrorType.ANNOTATION_VALUE_TAG_INVALID, typeChar);
 			return null;
 		}
 
@@ -130,8 +131,7 @@ public class AnnotationFieldValue {
 				int typeIndex = dis.readUnsignedShort();
 				String enumType = constantPool.findName(typeIndex);
 				if (enumType == null) {
-					parseErrors.add(
-							new ClassReaderError(ClassReaderErrorType.ANNOTATION_ENUM_NAME_INDEX_INVALID, typeIndex));
+					context.addError(ClassReaderErrorType.ANNOTATION_ENUM_NAME_INDEX_INVALID, typeIndex);
 					return null;
 				}
 				DataDescriptor descriptor = DataDescriptor.fromString(enumType);
@@ -141,8 +141,7 @@ public class AnnotationFieldValue {
 				nameIndex = dis.readUnsignedShort();
 				String enumConstant = constantPool.findName(nameIndex);
 				if (enumConstant == null) {
-					parseErrors.add(
-							new ClassReaderError(ClassReaderErrorType.ANNOTATION_ENUM_CONST_INDEX_INVALID, nameIndex));
+					context.addError(ClassReaderErrorType.ANNOTATION_ENUM_CONST_INDEX_INVALID, nameIndex);
 					return null;
 				}
 				enumValue = new EnumAnnotationValue(enumType, enumConstant);
@@ -159,7 +158,12 @@ public class AnnotationFieldValue {
 				break;
 			case SUB_ANNOTATION:
 				// annotation annotation_value;
-				subAnnotationValue = AnnotationInfo.read(dis, constantPool, parseErrors);
+				context.enterAnnotationValue();
+				try {
+					subAnnotationValue = AnnotationInfo.read(dis, constantPool, context);
+				} finally {
+					context.exitAnnotationValue();
+				}
 				if (subAnnotationValue == null) {
 					// error already added
 					return null;
@@ -170,20 +174,25 @@ public class AnnotationFieldValue {
 				// element_value values[num_values];
 				int numValues = dis.readUnsignedShort();
 				List<AnnotationFieldValue> arrayValueList = new ArrayList<>();
-				for (int i = 0; i < numValues; i++) {
-					AnnotationFieldValue element = AnnotationFieldValue.read(dis, constantPool, parseErrors, false);
-					if (element == null) {
-						// error already added
-						return null;
-					} else {
-						arrayValueList.add(element);
+				context.enterAnnotationValue();
+				try {
+					for (int i = 0; i < numValues; i++) {
+						AnnotationFieldValue element = AnnotationFieldValue.read(dis, constantPool, context, false);
+						if (element == null) {
+							// error already added
+							return null;
+						} else {
+							arrayValueList.add(element);
+						}
 					}
+				} finally {
+					context.exitAnnotationValue();
 				}
 				arrayValues =
 						arrayValueList.toArray(arrayValueList.toArray(new AnnotationFieldValue[arrayValueList.size()]));
 				break;
 			default:
-				parseErrors.add(new ClassReaderError(ClassReaderErrorType.ANNOTATION_VALUE_TAG_INVALID, type));
+				context.addError(ClassReaderErrorType.ANNOTATION_VALUE_TAG_INVALID, type);
 				return null;
 		}
 
@@ -6,10 +6,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-import com.j256.simpleclassreader.ClassReaderError;
 import com.j256.simpleclassreader.ClassReaderErrorType;
 import com.j256.simpleclassreader.ConstantPool;
 import com.j256.simpleclassreader.DataDescriptor;
+import com.j256.simpleclassreader.ParseContext;
 
 /**
  * Information about an annotation on a class, method, field, or method parameter.
@@ -29,8 +29,8 @@ public class AnnotationInfo {
 	/**
 	 * Read in an annotation info.
 	 */
-	public static AnnotationInfo read(DataInputStream dis, ConstantPool constantPool,
-			List<ClassReaderError> parseErrors) throws IOException {
+	public static AnnotationInfo read(DataInputStream dis, ConstantPool constantPool, ParseContext context)
+			throws IOException {
 
 		// u2 type_index;
 		// u2 num_element_value_pairs;
@@ -41,12 +41,12 @@ public class AnnotationInfo {
 		int typeIndex = dis.readUnsignedShort();
 		String typeStr = constantPool.findName(typeIndex);
 		if (typeStr == null) {
-			parseErrors.add(new ClassReaderError(ClassReaderErrorType.ANNOTATION_TYPE_INDEX_INVALID, typeIndex));
+			context.addError(ClassReaderErrorType.ANNOTATION_TYPE_INDEX_INVALID, typeIndex);
 			return null;
 		}
 		DataDescriptor type = DataDescriptor.fromString(typeStr);
 		if (type == null) {
-			parseErrors.add(new ClassReaderError(ClassReaderErrorType.ANNOTATION_TYPE_INDEX_INVALID, typeStr));
+			context.addError(ClassReaderErrorType.ANNOTATION_TYPE_INDEX_INVALID, typeStr);
 			return null;
 		}
 		if (type.getReferenceClassName() != null) {
@@ -56,7 +56,7 @@ public class AnnotationInfo {
 
 		List<AnnotationFieldValue> values = new ArrayList<>();
 		for (int i = 0; i < numValuePairs; i++) {
-			AnnotationFieldValue value = AnnotationFieldValue.read(dis, constantPool, parseErrors, true);
+			AnnotationFieldValue value = AnnotationFieldValue.read(dis, constantPool, context, true);
 			if (value == null) {
 				// error already added
 				return null;
@@ -3,11 +3,10 @@ package com.j256.simpleclassreader.attribute;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
-import com.j256.simpleclassreader.ClassReaderError;
 import com.j256.simpleclassreader.ConstantPool;
+import com.j256.simpleclassreader.ParseContext;
 
 /**
  * Type of the annotation which maps from the name to its type for reading.
@@ -18,20 +17,20 @@ public enum AttributeType {
 	/** constant-value attribute read in by {@link ConstantValueAttribute} */
 	CONSTANT_VALUE("ConstantValue") {
 		@Override
-		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool,
-				List<ClassReaderError> parseErrors) throws IOException {
+		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool, ParseContext context)
+				throws IOException {
 			@SuppressWarnings("unchecked")
-			T result = (T) ConstantValueAttribute.read(dis, constantPool, parseErrors);
+			T result = (T) ConstantValueAttribute.read(dis, constantPool, context);
 			return result;
 		}
 	},
 	/** code attribute read in by {@link CodeAttribute} */
 	CODE("Code") {
 		@Override
-		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool,
-				List<ClassReaderError> parseErrors) throws IOException {
+		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool, ParseContext context)
+				throws IOException {
 			@SuppressWarnings("unchecked")
-			T result = (T) CodeAttribute.read(dis, constantPool, parseErrors);
+			T result = (T) CodeAttribute.read(dis, constantPool, context);
 			return result;
 		}
 	},
@@ -39,7 +38,7 @@ public enum AttributeType {
 	DEPRECATED("Deprecated") {
 		@Override
 		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool,
-				List<ClassReaderError> parseErrors) {
+				ParseContext context) {
 			// there is no additional information in this attribute so no need to have a type
 			return null;
 		}
@@ -47,70 +46,70 @@ public enum AttributeType {
 	/** exceptions attribute read in by {@link ExceptionsAttribute} */
 	EXCEPTIONS("Exceptions") {
 		@Override
-		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool,
-				List<ClassReaderError> parseErrors) throws IOException {
+		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool, ParseContext context)
+				throws IOException {
 			@SuppressWarnings("unchecked")
-			T result = (T) ExceptionsAttribute.read(dis, constantPool, parseErrors);
+			T result = (T) ExceptionsAttribute.read(dis, constantPool, context);
 			return result;
 		}
 	},
 	/** inner-classes attribute read in by {@link InnerClassesAttribute} */
 	INNER_CLASSES("InnerClasses") {
 		@Override
-		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool,
-				List<ClassReaderError> parseErrors) throws IOException {
+		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool, ParseContext context)
+				throws IOException {
 			@SuppressWarnings("unchecked")
-			T result = (T) InnerClassesAttribute.read(dis, constantPool, parseErrors);
+			T result = (T) InnerClassesAttribute.read(dis, constantPool, context);
 			return result;
 		}
 	},
 	/** line-number-table attribute read in by {@link LineNumberTableAttribute} */
 	LINE_NUMBER_TABLE("LineNumberTable") {
 		@Override
-		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool,
-				List<ClassReaderError> parseErrors) throws IOException {
+		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool, ParseContext context)
+				throws IOException {
 			@SuppressWarnings("unchecked")
-			T result = (T) LineNumberTableAttribute.read(dis, constantPool, parseErrors);
+			T result = (T) LineNumberTableAttribute.read(dis, constantPool, context);
 			return result;
 		}
 	},
 	/** local-variable-table attribute read in by {@link LocalVariableTableAttribute} */
 	LOCAL_VARIABLE_TABLE("LocalVariableTable") {
 		@Override
-		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool,
-				List<ClassReaderError> parseErrors) throws IOException {
+		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool, ParseContext context)
+				throws IOException {
 			@SuppressWarnings("unchecked")
-			T result = (T) LocalVariableTableAttribute.read(dis, constantPool, parseErrors);
+			T result = (T) LocalVariableTableAttribute.read(dis, constantPool, context);
 			return result;
 		}
 	},
 	/** runtime-visible-annotations attribute read in by {@link RuntimeVisibleAnnotationsAttribute} */
 	RUNTIME_VISIBLE_ANNOTATIONS("RuntimeVisibleAnnotations") {
 		@Override
-		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool,
-				List<ClassReaderError> parseErrors) throws IOException {
+		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool, ParseContext context)
+				throws IOException {
 			@SuppressWarnings("unchecked")
-			T result = (T) RuntimeVisibleAnnotationsAttribute.read(dis, constantPool, parseErrors);
+			T result = (T) RuntimeVisibleAnnotationsAttribute.read(dis, constantPool, context);
 			return result;
 		}
 	},
 	/** source-file attribute read in by {@link SourceFileAttribute} */
 	SOURCE_FILE("SourceFile") {
 		@Override
-		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool,
-				List<ClassReaderError> parseErrors) throws IOException {
+		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool, ParseContext context)
+				throws IOException {
 			@SuppressWarnings("unchecked")
-			T result = (T) SourceFileAttribute.read(dis, constantPool, parseErrors);
+			T result = (T) SourceFileAttribute.read(dis, constantPool, context);
 			return result;
 		}
 	},
 	/** unknown attribute read in as a bag of bytes by {@link UnknownAttribute} */
 	UNKNOWN("Unknown") {
 		@Override
-		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool,
-				List<ClassReaderError> parseErrors) throws IOException {
+		public <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool, ParseContext context)
+				throws IOException {
 			@SuppressWarnings("unchecked")
-			T result = (T) UnknownAttribute.read(dis, name, length, parseErrors);
+			T result = (T) UnknownAttribute.read(dis, name, length, context);
 			return result;
 		}
 	},
@@ -142,5 +141,5 @@ public enum AttributeType {
 	 * Read in an attribute and return a type that extends BaseAttribute.
 	 */
 	public abstract <T> T read(DataInputStream dis, String name, int length, ConstantPool constantPool,
-			List<ClassReaderError> parseErrors) throws IOException;
+			ParseContext context) throws IOException;
 }
@@ -6,9 +6,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.j256.simpleclassreader.AttributeInfo;
-import com.j256.simpleclassreader.ClassReaderError;
 import com.j256.simpleclassreader.ClassReaderErrorType;
 import com.j256.simpleclassreader.ConstantPool;
+import com.j256.simpleclassreader.ParseContext;
 import com.j256.simpleclassreader.Utils;
 import com.j256.simpleclassreader.attribute.LineNumberTableAttribute.LineNumberLocation;
 import com.j256.simpleclassreader.attribute.LocalVariableTableAttribute.LocalVariable;
@@ -20,26 +20,25 @@ import com.j256.simpleclassreader.attribute.LocalVariableTableAttribute.LocalVar
  */
 public class CodeAttribute {
 
+	/** estimate of the bytes used by each exception handler for the allocation limit */
+	private static final int HANDLER_ESTIMATE_BYTES = 32;
+
 	private final int maxStack;
 	private final int maxLocals;
 	private final byte[] code;
 	private final ExceptionHandler[] exceptions;
-	private final LineNumberLocation[] lineNumberLocations;
-	private final LocalVariable[] localVariables;
 	private final AttributeInfo[] attributes;
 
 	private CodeAttribute(int maxStack, int maxLocals, byte[] code, ExceptionHandler[] exceptions,
-			LineNumberLocation[] lineNumberLocations, LocalVariable[] localVariables, AttributeInfo[] attributes) {
+			AttributeInfo[] attributes) {
 		this.maxStack = maxStack;
 		this.maxLocals = maxLocals;
 		this.code = code;
 		this.exceptions = exceptions;
-		this.lineNumberLocations = lineNumberLocations;
-		this.localVariables = localVariables;
 		this.attributes = attributes;
 	}
 
-	public static CodeAttribute read(DataInputStream dis, ConstantPool constantPool, List<ClassReaderError> parseErrors)
+	public static CodeAttribute read(DataInputStream dis, ConstantPool constantPool, ParseContext context)
 			throws IOException {
 
 		// u2 attribute_name_index; (already read)
@@ -61,34 +60,22 @@ public class CodeAttribute {
 		int maxStack = dis.readUnsignedShort();
 		int maxLocals = dis.readUnsignedShort();
 		int codeLength = dis.readInt();
+		context.reserveBytes(codeLength);
 		byte[] code = Utils.readBytes(dis, codeLength);
 		int exceptionTableLength = dis.readUnsignedShort();
+		context.reserveBytes((long) exceptionTableLength * HANDLER_ESTIMATE_BYTES);
 		ExceptionHandler[] exceptions = new ExceptionHandler[exceptionTableLength];
 		for (int i = 0; i < exceptions.length; i++) {
-			exceptions[i] = ExceptionHandler.read(dis, constantPool, parseErrors);
+			exceptions[i] = ExceptionHandler.read(dis, constantPool, context);
 		}
 		int attributeCount = dis.readUnsignedShort();
 		List<AttributeInfo> attributeInfos = new ArrayList<>();
-		LineNumberLocation[] lineNumberLocations = null;
-		LocalVariable[] localVariables = null;
 		for (int i = 0; i < attributeCount; i++) {
-			AttributeInfo attributeInfo = AttributeInfo.read(dis, constantPool, parseErrors);
+			AttributeInfo attributeInfo = AttributeInfo.read(dis, constantPool, context);
 			if (attributeInfo == null) {
 				// try to read other known attributes
 				continue;
 			}
-			switch (attributeInfo.getType()) {
-				case LINE_NUMBER_TABLE:
-					lineNumberLocations =
-							((LineNumberTableAttribute) attributeInfo.getValue()).getLineNumberLocations();
-					break;
-				case LOCAL_VARIABLE_TABLE:
-					localVariables = ((LocalVariableTableAttribute) attributeInfo.getValue()).getLocalVariables();
-					break;
-				default:
-					// no additional processing
-					break;
-			}
 			if (attributeInfos == null) {
 				attributeInfos = new ArrayList<>();
 			}
@@ -99,8 +86,7 @@ public class CodeAttribute {
 		if (attributeInfos != null) {
 			attributes = attributeInfos.toArray(new AttributeInfo[attributeInfos.size()]);
 		}
-		return new CodeAttribute(maxStack, maxLocals, code, exceptions, lineNumberLocations, localVariables,
-				attributes);
+		return new CodeAttribute(maxStack, maxLocals, code, exceptions, attributes);
 	}
 
 	public int getMaxStack() {
@@ -123,11 +109,23 @@ public class CodeAttribute {
 	}
 
 	public LineNumberLocation[] getLineNumberLocations() {
-		return lineNumberLocations;
+		LineNumberTableAttribute lineNumberTable =
+				(LineNumberTableAttribute) AttributeInfo.findValue(attributes, AttributeType.LINE_NUMBER_TABLE);
+		if (lineNumberTable == null) {
+			return null;
+		} else {
+			return lineNumberTable.getLineNumberLocations();
+		}
 	}
 
 	public LocalVariable[] getLocalVariables() {
-		return localVariables;
+		LocalVariableTableAttribute localVariableTable =
+				(LocalVariableTableAttribute) AttributeInfo.findValue(attributes, AttributeType.LOCAL_VARIABLE_TABLE);
+		if (localVariableTable == null) {
+			return null;
+		} else {
+			return localVariableTable.getLocalVariables();
+		}
 	}
 
 	public AttributeInfo[] getAttributes() {
@@ -150,8 +148,8 @@ public class CodeAttribute {
 			this.catchType = catchType;
 		}
 
-		public static ExceptionHandler read(DataInputStream dis, ConstantPool constantPool,
-				List<ClassReaderError> parseErrors) throws IOException {
+		public static ExceptionHandler read(DataInputStream dis, ConstantPool constantPool, ParseContext context)
+				throws IOException {
 
 			// u2 start_pc;
 			// u2 end_pc;
@@ -164,7 +162,7 @@ public class CodeAttribute {
 			int index = dis.readUnsignedShort();
 			String catchType = constantPool.findClassName(index);
 			if (catchType == null) {
-				parseErrors.add(new ClassReaderError(ClassReaderErrorType.CODE_CATCH_TYPE_INDEX_INVALID, index));
+				context.addError(ClassReaderErrorType.CODE_CATCH_TYPE_INDEX_INVALID, index);
 			} else {
 				catchType = Utils.classPathToPackage(catchType);
 			}
@@ -2,10 +2,9 @@ package com.j256.simpleclassreader.attribute;
 
 import java.io.DataInputStream;
 import java.io.IOException;
-import java.util.List;
 
-import com.j256.simpleclassreader.ClassReaderError;
 import com.j256.simpleclassreader.ConstantPool;
+import com.j256.simpleclassreader.ParseContext;
 
 /**
  * ConstantValue attribute.
@@ -20,8 +19,8 @@ public class ConstantValueAttribute {
 		this.value = value;
 	}
 
-	public static ConstantValueAttribute read(DataInputStream dis, ConstantPool constantPool,
-			List<ClassReaderError> parseErrors) throws IOException {
+	public static ConstantValueAttribute read(DataInputStream dis, ConstantPool constantPool, ParseContext context)
+			throws IOException {
 
 		// u2 attribute_name_index; (already read)
 		// u4 attribute_length; (already read)
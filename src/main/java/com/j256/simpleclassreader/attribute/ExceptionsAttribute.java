@@ -6,9 +6,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-import com.j256.simpleclassreader.ClassReaderError;
 import com.j256.simpleclassreader.ClassReaderErrorType;
 import com.j256.simpleclassreader.ConstantPool;
+import com.j256.simpleclassreader.ParseContext;
 import com.j256.simpleclassreader.Utils;
 
 /**
@@ -24,8 +24,8 @@ public class ExceptionsAttribute {
 		this.exceptions = exceptions;
 	}
 
-	public static ExceptionsAttribute read(DataInputStream dis, ConstantPool constantPool,
-			List<ClassReaderError> parseErrors) throws IOException {
+	public static ExceptionsAttribute read(DataInputStream dis, ConstantPool constantPool, ParseContext context)
+			throws IOException {
 
 		// u2 attribute_name_index; (already read)
 		// u4 attribute_length; (already read)
@@ -38,7 +38,7 @@ public class ExceptionsAttribute {
 			int index = dis.readUnsignedShort();
 			String name = constantPool.findClassName(index);
 			if (name == null) {
-				parseErrors.add(new ClassReaderError(ClassReaderErrorType.EXCEPTION_NAME_INDEX_INVALID, index));
+				context.addError(ClassReaderErrorType.EXCEPTION_NAME_INDEX_INVALID, index);
 			} else {
 				// another class that has / instead of . in the path
 				name = Utils.classPathToPackage(name);
@@ -3,11 +3,10 @@ package com.j256.simpleclassreader.attribute;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.List;
 
 import com.j256.simpleclassreader.AccessFlag;
-import com.j256.simpleclassreader.ClassReaderError;
 import com.j256.simpleclassreader.ConstantPool;
+import com.j256.simpleclassreader.ParseContext;
 import com.j256.simpleclassreader.Utils;
 
 /**
@@ -24,8 +23,8 @@ public class InnerClassesAttribute {
 		this.innerClasses = innerClasses;
 	}
 
-	public static InnerClassesAttribute read(DataInputStream dis, ConstantPool constantPool,
-			List<ClassReaderError> parseErrors) throws IOException {
+	public static InnerClassesAttribute read(DataInputStream dis, ConstantPool constantPool, ParseContext context)
+			throws IOException {
 
 		// u2 attribute_name_index; (already read)
 		// u4 attribute_length; (already read)
@@ -35,7 +34,7 @@ public class InnerClassesAttribute {
 		int numberClasses = dis.readUnsignedShort();
 		InnerClassInfo[] innerClasses = new InnerClassInfo[numberClasses];
 		for (int i = 0; i < numberClasses; i++) {
-			innerClasses[i] = InnerClassInfo.read(dis, constantPool, parseErrors);
+			innerClasses[i] = InnerClassInfo.read(dis, constantPool, context);
 		}
 
 		return new InnerClassesAttribute(innerClasses);
@@ -67,8 +66,8 @@ public class InnerClassesAttribute {
 			this.accessFlags = accessFlags;
 		}
 
-		public static InnerClassInfo read(DataInputStream dis, ConstantPool constantPool,
-				List<ClassReaderError> parseErrors) throws IOException {
+		public static InnerClassInfo read(DataInputStream dis, ConstantPool constantPool, ParseContext context)
+				throws IOException {
 
 			// u2 inner_class_info_index;
 			// u2 outer_class_info_index;
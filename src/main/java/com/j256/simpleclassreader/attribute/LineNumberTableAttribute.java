@@ -3,10 +3,9 @@ package com.j256.simpleclassreader.attribute;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.List;
 
-import com.j256.simpleclassreader.ClassReaderError;
 import com.j256.simpleclassreader.ConstantPool;
+import com.j256.simpleclassreader.ParseContext;
 
 /**
  * Table of line numbers associated with the [@link {@link CodeAttribute}}.
@@ -21,8 +20,8 @@ public class LineNumberTableAttribute {
 		this.lineNumberLocations = lineNumberInfos;
 	}
 
-	public static LineNumberTableAttribute read(DataInputStream dis, ConstantPool constantPool,
-			List<ClassReaderError> parseErrors) throws IOException {
+	public static LineNumberTableAttribute read(DataInputStream dis, ConstantPool constantPool, ParseContext context)
+			throws IOException {
 
 		// u2 attribute_name_index; (already read)
 		// u4 attribute_length; (already read)
@@ -32,7 +31,7 @@ public class LineNumberTableAttribute {
 		int number = dis.readUnsignedShort();
 		LineNumberLocation[] lineNumberLocations = new LineNumberLocation[number];
 		for (int i = 0; i < number; i++) {
-			lineNumberLocations[i] = LineNumberLocation.read(dis, constantPool, parseErrors);
+			lineNumberLocations[i] = LineNumberLocation.read(dis, constantPool, context);
 		}
 
 		return new LineNumberTableAttribute(lineNumberLocations);
@@ -60,8 +59,8 @@ public class LineNumberTableAttribute {
 			this.lineNumber = lineNumber;
 		}
 
-		public static LineNumberLocation read(DataInputStream dis, ConstantPool constantPool,
-				List<ClassReaderError> parseErrors) throws IOException {
+		public static LineNumberLocation read(DataInputStream dis, ConstantPool constantPool, ParseContext context)
+				throws IOException {
 
 			// u2 start_pc;
 			// u2 line_number;
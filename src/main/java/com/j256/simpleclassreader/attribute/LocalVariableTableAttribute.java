@@ -3,11 +3,10 @@ package com.j256.simpleclassreader.attribute;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.List;
 
-import com.j256.simpleclassreader.ClassReaderError;
 import com.j256.simpleclassreader.ConstantPool;
 import com.j256.simpleclassreader.DataDescriptor;
+import com.j256.simpleclassreader.ParseContext;
 
 /**
  * Table of local variables associated with the [@link {@link CodeAttribute}}.
@@ -22,8 +21,8 @@ public class LocalVariableTableAttribute {
 		this.localVariables = localVariables;
 	}
 
-	public static LocalVariableTableAttribute read(DataInputStream dis, ConstantPool constantPool,
-			List<ClassReaderError> parseErrors) throws IOException {
+	public static LocalVariableTableAttribute read(DataInputStream dis, ConstantPool constantPool, ParseContext context)
+			throws IOException {
 
 		// u2 attribute_name_index; (already read)
 		// u4 attribute_length; (already read)
@@ -33,7 +32,7 @@ public class LocalVariableTableAttribute {
 		int number = dis.readUnsignedShort();
 		LocalVariable[] localVariables = new LocalVariable[number];
 		for (int i = 0; i < number; i++) {
-			localVariables[i] = LocalVariable.read(dis, constantPool, parseErrors);
+			localVariables[i] = LocalVariable.read(dis, constantPool, context);
 		}
 
 		return new LocalVariableTableAttribute(localVariables);
@@ -67,8 +66,8 @@ public class LocalVariableTableAttribute {
 			this.index = index;
 		}
 
-		public static LocalVariable read(DataInputStream dis, ConstantPool constantPool,
-				List<ClassReaderError> parseErrors) throws IOException {
+		public static LocalVariable read(DataInputStream dis, ConstantPool constantPool, ParseContext context)
+				throws IOException {
 
 			// u2 start_pc;
 			// u2 length;
@@ -5,8 +5,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.j256.simpleclassreader.ClassReaderError;
 import com.j256.simpleclassreader.ConstantPool;
+import com.j256.simpleclassreader.ParseContext;
 
 /**
  * Runtime visible annotations associated with class, field, and methods.
@@ -22,7 +22,7 @@ public class RuntimeVisibleAnnotationsAttribute {
 	}
 
 	public static RuntimeVisibleAnnotationsAttribute read(DataInputStream dis, ConstantPool constantPool,
-			List<ClassReaderError> parseErrors) throws IOException {
+			ParseContext context) throws IOException {
 
 		// u2 attribute_name_index; (already read)
 		// u4 attribute_length; (already read)
@@ -51,7 +51,7 @@ public class RuntimeVisibleAnnotationsAttribute {
 		int annotationCount = dis.readUnsignedShort();
 		List<AnnotationInfo> annotationInfos = new ArrayList<>();
 		for (int i = 0; i < annotationCount; i++) {
-			AnnotationInfo annotationInfo = AnnotationInfo.read(dis, constantPool, parseErrors);
+			AnnotationInfo annotationInfo = AnnotationInfo.read(dis, constantPool, context);
 			if (annotationInfo == null) {
 				// error added already
 				return null;
@@ -2,9 +2,8 @@ package com.j256.simpleclassreader.attribute;
 
 import java.io.DataInputStream;
 import java.io.IOException;
-import java.util.List;
 
-import com.j256.simpleclassreader.ClassReaderError;
+import com.j256.simpleclassreader.ParseContext;
 import com.j256.simpleclassreader.Utils;
 
 /**
@@ -22,13 +21,14 @@ public class UnknownAttribute {
 		this.value = value;
 	}
 
-	public static UnknownAttribute read(DataInputStream dis, String name, int length,
-			List<ClassReaderError> parseErrors) throws IOException {
+	public static UnknownAttribute read(DataInputStream dis, String name, int length, ParseContext context)
+			throws IOException {
 
 		// u2 attribute_name_index; (already read)
 		// u4 attribute_length; (already read)
 		// u1 code[attribute_length];
 
+		context.reserveBytes(length);
 		byte[] value = Utils.readBytes(dis, length);
 		return new UnknownAttribute(name, value);
 	}
@@ -0,0 +1,405 @@
+package com.j256.simpleclassreader.bytecode;
+
+import com.j256.simpleclassreader.Utils;
+import com.j256.simpleclassreader.attribute.CodeAttribute;
+
+/**
+ * Cursor which walks the bytecode instructions of a method in place without allocating anything per instruction. Call
+ * {@link #next()} to move to the next instruction and then use the getters to get its opcode and operands. The
+ * tableswitch and lookupswitch tables are read from the code when the case methods are called.
+ *
+ * <pre>
+ * InstructionCursor cursor = new InstructionCursor(codeAttribute.getCode());
+ * while (cursor.next()) {
+ * 	if (cursor.getOpcode() == Opcodes.INVOKEVIRTUAL) {
+ * 		int index = cursor.getConstantPoolIndex();
+ * 		...
+ * 	}
+ * }
+ * </pre>
+ *
+ * NOTE: the cursor is not thread-safe but a number of cursors can walk the same code.
+ *
+ * @author graywatson
+ */
+public class InstructionCursor {
+
+	/** kinds of operands which determine the length of the instruction and how the operands are decoded */
+	private static final byte KIND_NONE = 0;
+	private static final byte KIND_IMPLIED_LOCAL = 1;
+	private static final byte KIND_LOCAL = 2;
+	private static final byte KIND_BYTE_VALUE = 3;
+	private static final byte KIND_SHORT_VALUE = 4;
+	private static final byte KIND_CONSTANT_BYTE = 5;
+	private static final byte KIND_CONSTANT = 6;
+	private static final byte KIND_IINC = 7;
+	private static final byte KIND_BRANCH = 8;
+	private static final byte KIND_BRANCH_WIDE = 9;
+	private static final byte KIND_INVOKE = 10;
+	private static final byte KIND_NEWARRAY = 11;
+	private static final byte KIND_MULTIANEWARRAY = 12;
+	private static final byte KIND_TABLESWITCH = 13;
+	private static final byte KIND_LOOKUPSWITCH = 14;
+	private static final byte KIND_WIDE = 15;
+	private static final byte KIND_INVALID = 16;
+
+	/** length of the instructions by kind, 0 for the ones that are variable */
+	private static final int[] KIND_LENGTHS = { 1, 1, 2, 2, 3, 2, 3, 3, 3, 5, 5, 2, 4, 0, 0, 0, 0 };
+
+	private static final byte[] OPCODE_KINDS = new byte[256];
+
+	static {
+		for (int opcode = 0; opcode < OPCODE_KINDS.length; opcode++) {
+			OPCODE_KINDS[opcode] = (Opcodes.isValid(opcode) ? KIND_NONE : KIND_INVALID);
+		}
+		OPCODE_KINDS[Opcodes.BIPUSH] = KIND_BYTE_VALUE;
+		OPCODE_KINDS[Opcodes.SIPUSH] = KIND_SHORT_VALUE;
+		OPCODE_KINDS[Opcodes.LDC] = KIND_CONSTANT_BYTE;
+		OPCODE_KINDS[Opcodes.LDC_W] = KIND_CONSTANT;
+		OPCODE_KINDS[Opcodes.LDC2_W] = KIND_CONSTANT;
+		fillKind(Opcodes.ILOAD, Opcodes.ALOAD, KIND_LOCAL);
+		fillKind(Opcodes.ILOAD_0, Opcodes.ALOAD_3, KIND_IMPLIED_LOCAL);
+		fillKind(Opcodes.ISTORE, Opcodes.ASTORE, KIND_LOCAL);
+		fillKind(Opcodes.ISTORE_0, Opcodes.ASTORE_3, KIND_IMPLIED_LOCAL);
+		OPCODE_KINDS[Opcodes.IINC] = KIND_IINC;
+		fillKind(Opcodes.IFEQ, Opcodes.JSR, KIND_BRANCH);
+		OPCODE_KINDS[Opcodes.RET] = KIND_LOCAL;
+		OPCODE_KINDS[Opcodes.TABLESWITCH] = KIND_TABLESWITCH;
+		OPCODE_KINDS[Opcodes.LOOKUPSWITCH] = KIND_LOOKUPSWITCH;
+		fillKind(Opcodes.GETSTATIC, Opcodes.INVOKESTATIC, KIND_CONSTANT);
+		OPCODE_KINDS[Opcodes.INVOKEINTERFACE] = KIND_INVOKE;
+		OPCODE_KINDS[Opcodes.INVOKEDYNAMIC] = KIND_INVOKE;
+		OPCODE_KINDS[Opcodes.NEW] = KIND_CONSTANT;
+		OPCODE_KINDS[Opcodes.NEWARRAY] = KIND_NEWARRAY;
+		OPCODE_KINDS[Opcodes.ANEWARRAY] = KIND_CONSTANT;
+		OPCODE_KINDS[Opcodes.CHECKCAST] = KIND_CONSTANT;
+		OPCODE_KINDS[Opcodes.INSTANCEOF] = KIND_CONSTANT;
+		OPCODE_KINDS[Opcodes.WIDE] = KIND_WIDE;
+		OPCODE_KINDS[Opcodes.MULTIANEWARRAY] = KIND_MULTIANEWARRAY;
+		OPCODE_KINDS[Opcodes.IFNULL] = KIND_BRANCH;
+		OPCODE_KINDS[Opcodes.IFNONNULL] = KIND_BRANCH;
+		OPCODE_KINDS[Opcodes.GOTO_W] = KIND_BRANCH_WIDE;
+		OPCODE_KINDS[Opcodes.JSR_W] = KIND_BRANCH_WIDE;
+	}
+
+	private final byte[] code;
+	private final int start;
+	private final int end;
+	/** offset in the code array of the current instruction or -1 if before the first */
+	private int offset = -1;
+	private int length;
+	private int opcode;
+	private byte kind;
+	private boolean wide;
+	/** offset of the switch default after the padding */
+	private int switchOffset;
+	private boolean invalid;
+
+	public InstructionCursor(byte[] code) {
+		this(code, 0, code.length);
+	}
+
+	/**
+	 * Walk the length bytes of code starting at offset such as the code of a class that was not copied out.
+	 */
+	public InstructionCursor(byte[] code, int offset, int length) {
+		this.code = code;
+		this.start = offset;
+		this.end = offset + length;
+	}
+
+	/**
+	 * Walk the code from the attribute.
+	 */
+	public InstructionCursor(CodeAttribute codeAttribute) {
+		this(codeAttribute.getCode());
+	}
+
+	/**
+	 * Move to the next instruction. Returns false if there are no more instructions or if the instruction is invalid
+	 * or extends past the end of the code, see {@link #isInvalid()}.
+	 */
+	public boolean next() {
+		int nextOffset = (offset < 0 ? start : offset + length);
+		if (invalid || nextOffset >= end) {
+			return false;
+		}
+		offset = nextOffset;
+		opcode = code[offset] & 0xFF;
+		kind = OPCODE_KINDS[opcode];
+		wide = false;
+		if (kind == KIND_WIDE) {
+			if (offset + 1 >= end) {
+				return markInvalid();
+			}
+			wide = true;
+			opcode = code[offset + 1] & 0xFF;
+			kind = OPCODE_KINDS[opcode];
+			if (kind == KIND_IINC) {
+				length = 6;
+			} else if (kind == KIND_LOCAL) {
+				length = 4;
+			} else {
+				return markInvalid();
+			}
+		} else if (kind == KIND_TABLESWITCH || kind == KIND_LOOKUPSWITCH) {
+			// the default is aligned on a 4 byte boundary from the start of the code
+			switchOffset = offset + 1 + ((3 - (offset - start)) & 3);
+			// tableswitch has the default, low, and high and lookupswitch has the default and npairs
+			int headerSize = (kind == KIND_TABLESWITCH ? 12 : 8);
+			if ((long) switchOffset + headerSize > end) {
+				return markInvalid();
+			}
+			long caseCount;
+			if (kind == KIND_TABLESWITCH) {
+				caseCount = (long) Utils.readInt(code, switchOffset + 8) - Utils.readInt(code, switchOffset + 4) + 1;
+				length = (int) Math.min(Integer.MAX_VALUE, switchOffset - offset + 12 + caseCount * 4);
+			} else {
+				caseCount = Utils.readInt(code, switchOffset + 4);
+				length = (int) Math.min(Integer.MAX_VALUE, switchOffset - offset + 8 + caseCount * 8);
+			}
+			if (caseCount < 0) {
+				return markInvalid();
+			}
+		} else if (kind == KIND_INVALID) {
+			return markInvalid();
+		} else {
+			length = KIND_LENGTHS[kind];
+		}
+		if ((long) offset + length > end) {
+			return markInvalid();
+		}
+		return true;
+	}
+
+	/**
+	 * Return true if the walk stopped at an invalid opcode or at an instruction that extends past the end of the code.
+	 * {@link #getPc()} returns the pc of the bad instruction.
+	 */
+	public boolean isInvalid() {
+		return invalid;
+	}
+
+	/**
+	 * Move back to before the first instruction.
+	 */
+	public void reset() {
+		offset = -1;
+		invalid = false;
+	}
+
+	/**
+	 * Return the pc of the current instruction which is its offset from the start of the code.
+	 */
+	public int getPc() {
+		return offset - start;
+	}
+
+	/**
+	 * Return the opcode of the current instruction. If the instruction is prefixed by wide then this is the opcode
+	 * that was widened, see {@link #isWide()}.
+	 */
+	public int getOpcode() {
+		return opcode;
+	}
+
+	/**
+	 * Return the mnemonic name of the opcode of the current instruction.
+	 */
+	public String getOpcodeName() {
+		return Opcodes.getName(opcode);
+	}
+
+	/**
+	 * Return true if the current instruction was prefixed by the wide opcode.
+	 */
+	public boolean isWide() {
+		return wide;
+	}
+
+	/**
+	 * Return the length in bytes of the current instruction including its operands.
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * Return the local variable index of the load, store, iinc, and ret instructions, including the ones with the
+	 * index in the opcode such as aload_0, or -1 if the instruction does not have one.
+	 */
+	public int getLocalIndex() {
+		if (kind == KIND_IMPLIED_LOCAL) {
+			if (opcode < Opcodes.ISTORE_0) {
+				return (opcode - Opcodes.ILOAD_0) & 3;
+			} else {
+				return (opcode - Opcodes.ISTORE_0) & 3;
+			}
+		} else if (kind != KIND_LOCAL && kind != KIND_IINC) {
+			return -1;
+		} else if (wide) {
+			return Utils.readUnsignedShort(code, offset + 2);
+		} else {
+			return code[offset + 1] & 0xFF;
+		}
+	}
+
+	/**
+	 * Return the signed increment of the iinc instruction or 0 if not iinc.
+	 */
+	public int getIncrement() {
+		if (kind != KIND_IINC) {
+			return 0;
+		} else if (wide) {
+			return (short) Utils.readUnsignedShort(code, offset + 4);
+		} else {
+			return code[offset + 2];
+		}
+	}
+
+	/**
+	 * Return the value pushed by bipush or sipush, the array type code of newarray, or the dimensions of
+	 * multianewarray. Returns 0 for other instructions.
+	 */
+	public int getValue() {
+		switch (kind) {
+			case KIND_BYTE_VALUE:
+				return code[offset + 1];
+			case KIND_SHORT_VALUE:
+				return (short) Utils.readUnsignedShort(code, offset + 1);
+			case KIND_NEWARRAY:
+				return code[offset + 1] & 0xFF;
+			case KIND_MULTIANEWARRAY:
+				return code[offset + 3] & 0xFF;
+			default:
+				return 0;
+		}
+	}
+
+	/**
+	 * Return the constant-pool index of the ldc, field, invoke, new, anewarray, checkcast, instanceof, and
+	 * multianewarray instructions or -1 if the instruction does not have one.
+	 */
+	public int getConstantPoolIndex() {
+		switch (kind) {
+			case KIND_CONSTANT_BYTE:
+				return code[offset + 1] & 0xFF;
+			case KIND_CONSTANT:
+			case KIND_INVOKE:
+			case KIND_MULTIANEWARRAY:
+				return Utils.readUnsignedShort(code, offset + 1);
+			default:
+				return -1;
+		}
+	}
+
+	/**
+	 * Return true if the current instruction is a conditional or unconditional branch with a single target.
+	 */
+	public boolean isBranch() {
+		return (kind == KIND_BRANCH || kind == KIND_BRANCH_WIDE);
+	}
+
+	/**
+	 * Return the signed branch offset of the if, goto, and jsr instructions, relative to the pc of the instruction, or
+	 * 0 if not a branch.
+	 */
+	public int getBranchOffset() {
+		if (kind == KIND_BRANCH) {
+			return (short) Utils.readUnsignedShort(code, offset + 1);
+		} else if (kind == KIND_BRANCH_WIDE) {
+			return Utils.readInt(code, offset + 1);
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Return the pc that the branch goes to.
+	 */
+	public int getBranchTarget() {
+		return getPc() + getBranchOffset();
+	}
+
+	/**
+	 * Return true if the current instruction is a tableswitch or lookupswitch.
+	 */
+	public boolean isSwitch() {
+		return (kind == KIND_TABLESWITCH || kind == KIND_LOOKUPSWITCH);
+	}
+
+	/**
+	 * Return the default offset of the switch relative to the pc of the instruction or 0 if not a switch.
+	 */
+	public int getSwitchDefaultOffset() {
+		if (isSwitch()) {
+			return Utils.readInt(code, switchOffset);
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Return the number of cases of the switch not counting the default or 0 if not a switch.
+	 */
+	public int getSwitchCaseCount() {
+		if (kind == KIND_TABLESWITCH) {
+			return Utils.readInt(code, switchOffset + 8) - Utils.readInt(code, switchOffset + 4) + 1;
+		} else if (kind == KIND_LOOKUPSWITCH) {
+			return Utils.readInt(code, switchOffset + 4);
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Return the match value of the case number caseNum of the switch.
+	 */
+	public int getSwitchCaseMatch(int caseNum) {
+		checkCaseNum(caseNum);
+		if (kind == KIND_TABLESWITCH) {
+			// low + case-number
+			return Utils.readInt(code, switchOffset + 4) + caseNum;
+		} else {
+			return Utils.readInt(code, switchOffset + 8 + caseNum * 8);
+		}
+	}
+
+	/**
+	 * Return the offset of case number caseNum of the switch relative to the pc of the instruction.
+	 */
+	public int getSwitchCaseOffset(int caseNum) {
+		checkCaseNum(caseNum);
+		if (kind == KIND_TABLESWITCH) {
+			return Utils.readInt(code, switchOffset + 12 + caseNum * 4);
+		} else {
+			return Utils.readInt(code, switchOffset + 12 + caseNum * 8);
+		}
+	}
+
+	@Override
+	public String toString() {
+		if (offset < 0) {
+			return "before first instruction";
+		} else {
+			return getPc() + ": " + getOpcodeName();
+		}
+	}
+
+	private boolean markInvalid() {
+		invalid = true;
+		return false;
+	}
+
+	private void checkCaseNum(int caseNum) {
+		if (caseNum < 0 || caseNum >= getSwitchCaseCount()) {
+			throw new IllegalArgumentException("invalid switch case number: " + caseNum);
+		}
+	}
+
+	private static void fillKind(int first, int last, byte kind) {
+		for (int opcode = first; opcode <= last; opcode++) {
+			OPCODE_KINDS[opcode] = kind;
+		}
+	}
+}
@@ -0,0 +1,445 @@
+package com.j256.simpleclassreader.bytecode;
+
+/**
+ * Constants for the JVM opcodes along with their mnemonic names.
+ * 
+ * Based on: https://docs.oracle.com/javase/specs/jvms/se21/html/jvms-6.html
+ *
+ * @author graywatson
+ */
+public class Opcodes {
+
+	public static final int NOP = 0x00;
+	public static final int ACONST_NULL = 0x01;
+	public static final int ICONST_M1 = 0x02;
+	public static final int ICONST_0 = 0x03;
+	public static final int ICONST_1 = 0x04;
+	public static final int ICONST_2 = 0x05;
+	public static final int ICONST_3 = 0x06;
+	public static final int ICONST_4 = 0x07;
+	public static final int ICONST_5 = 0x08;
+	public static final int LCONST_0 = 0x09;
+	public static final int LCONST_1 = 0x0A;
+	public static final int FCONST_0 = 0x0B;
+	public static final int FCONST_1 = 0x0C;
+	public static final int FCONST_2 = 0x0D;
+	public static final int DCONST_0 = 0x0E;
+	public static final int DCONST_1 = 0x0F;
+	public static final int BIPUSH = 0x10;
+	public static final int SIPUSH = 0x11;
+	public static final int LDC = 0x12;
+	public static final int LDC_W = 0x13;
+	public static final int LDC2_W = 0x14;
+	public static final int ILOAD = 0x15;
+	public static final int LLOAD = 0x16;
+	public static final int FLOAD = 0x17;
+	public static final int DLOAD = 0x18;
+	public static final int ALOAD = 0x19;
+	public static final int ILOAD_0 = 0x1A;
+	public static final int ILOAD_1 = 0x1B;
+	public static final int ILOAD_2 = 0x1C;
+	public static final int ILOAD_3 = 0x1D;
+	public static final int LLOAD_0 = 0x1E;
+	public static final int LLOAD_1 = 0x1F;
+	public static final int LLOAD_2 = 0x20;
+	public static final int LLOAD_3 = 0x21;
+	public static final int FLOAD_0 = 0x22;
+	public static final int FLOAD_1 = 0x23;
+	public static final int FLOAD_2 = 0x24;
+	public static final int FLOAD_3 = 0x25;
+	public static final int DLOAD_0 = 0x26;
+	public static final int DLOAD_1 = 0x27;
+	public static final int DLOAD_2 = 0x28;
+	public static final int DLOAD_3 = 0x29;
+	public static final int ALOAD_0 = 0x2A;
+	public static final int ALOAD_1 = 0x2B;
+	public static final int ALOAD_2 = 0x2C;
+	public static final int ALOAD_3 = 0x2D;
+	public static final int IALOAD = 0x2E;
+	public static final int LALOAD = 0x2F;
+	public static final int FALOAD = 0x30;
+	public static final int DALOAD = 0x31;
+	public static final int AALOAD = 0x32;
+	public static final int BALOAD = 0x33;
+	public static final int CALOAD = 0x34;
+	public static final int SALOAD = 0x35;
+	public static final int ISTORE = 0x36;
+	public static final int LSTORE = 0x37;
+	public static final int FSTORE = 0x38;
+	public static final int DSTORE = 0x39;
+	public static final int ASTORE = 0x3A;
+	public static final int ISTORE_0 = 0x3B;
+	public static final int ISTORE_1 = 0x3C;
+	public static final int ISTORE_2 = 0x3D;
+	public static final int ISTORE_3 = 0x3E;
+	public static final int LSTORE_0 = 0x3F;
+	public static final int LSTORE_1 = 0x40;
+	public static final int LSTORE_2 = 0x41;
+	public static final int LSTORE_3 = 0x42;
+	public static final int FSTORE_0 = 0x43;
+	public static final int FSTORE_1 = 0x44;
+	public static final int FSTORE_2 = 0x45;
+	public static final int FSTORE_3 = 0x46;
+	public static final int DSTORE_0 = 0x47;
+	public static final int DSTORE_1 = 0x48;
+	public static final int DSTORE_2 = 0x49;
+	public static final int DSTORE_3 = 0x4A;
+	public static final int ASTORE_0 = 0x4B;
+	public static final int ASTORE_1 = 0x4C;
+	public static final int ASTORE_2 = 0x4D;
+	public static final int ASTORE_3 = 0x4E;
+	public static final int IASTORE = 0x4F;
+	public static final int LASTORE = 0x50;
+	public static final int FASTORE = 0x51;
+	public static final int DASTORE = 0x52;
+	public static final int AASTORE = 0x53;
+	public static final int BASTORE = 0x54;
+	public static final int CASTORE = 0x55;
+	public static final int SASTORE = 0x56;
+	public static final int POP = 0x57;
+	public static final int POP2 = 0x58;
+	public static final int DUP = 0x59;
+	public static final int DUP_X1 = 0x5A;
+	public static final int DUP_X2 = 0x5B;
+	public static final int DUP2 = 0x5C;
+	public static final int DUP2_X1 = 0x5D;
+	public static final int DUP2_X2 = 0x5E;
+	public static final int SWAP = 0x5F;
+	public static final int IADD = 0x60;
+	public static final int LADD = 0x61;
+	public static final int FADD = 0x62;
+	public static final int DADD = 0x63;
+	public static final int ISUB = 0x64;
+	public static final int LSUB = 0x65;
+	public static final int FSUB = 0x66;
+	public static final int DSUB = 0x67;
+	public static final int IMUL = 0x68;
+	public static final int LMUL = 0x69;
+	public static final int FMUL = 0x6A;
+	public static final int DMUL = 0x6B;
+	public static final int IDIV = 0x6C;
+	public static final int LDIV = 0x6D;
+	public static final int FDIV = 0x6E;
+	public static final int DDIV = 0x6F;
+	public static final int IREM = 0x70;
+	public static final int LREM = 0x71;
+	public static final int FREM = 0x72;
+	public static final int DREM = 0x73;
+	public static final int INEG = 0x74;
+	public static final int LNEG = 0x75;
+	public static final int FNEG = 0x76;
+	public static final int DNEG = 0x77;
+	public static final int ISHL = 0x78;
+	public static final int LSHL = 0x79;
+	public static final int ISHR = 0x7A;
+	public static final int LSHR = 0x7B;
+	public static final int IUSHR = 0x7C;
+	public static final int LUSHR = 0x7D;
+	public static final int IAND = 0x7E;
+	public static final int LAND = 0x7F;
+	public static final int IOR = 0x80;
+	public static final int LOR = 0x81;
+	public static final int IXOR = 0x82;
+	public static final int LXOR = 0x83;
+	public static final int IINC = 0x84;
+	public static final int I2L = 0x85;
+	public static final int I2F = 0x86;
+	public static final int I2D = 0x87;
+	public static final int L2I = 0x88;
+	public static final int L2F = 0x89;
+	public static final int L2D = 0x8A;
+	public static final int F2I = 0x8B;
+	public static final int F2L = 0x8C;
+	public static final int F2D = 0x8D;
+	public static final int D2I = 0x8E;
+	public static final int D2L = 0x8F;
+	public static final int D2F = 0x90;
+	public static final int I2B = 0x91;
+	public static final int I2C = 0x92;
+	public static final int I2S = 0x93;
+	public static final int LCMP = 0x94;
+	public static final int FCMPL = 0x95;
+	public static final int FCMPG = 0x96;
+	public static final int DCMPL = 0x97;
+	public static final int DCMPG = 0x98;
+	public static final int IFEQ = 0x99;
+	public static final int IFNE = 0x9A;
+	public static final int IFLT = 0x9B;
+	public static final int IFGE = 0x9C;
+	public static final int IFGT = 0x9D;
+	public static final int IFLE = 0x9E;
+	public static final int IF_ICMPEQ = 0x9F;
+	public static final int IF_ICMPNE = 0xA0;
+	public static final int IF_ICMPLT = 0xA1;
+	public static final int IF_ICMPGE = 0xA2;
+	public static final int IF_ICMPGT = 0xA3;
+	public static final int IF_ICMPLE = 0xA4;
+	public static final int IF_ACMPEQ = 0xA5;
+	public static final int IF_ACMPNE = 0xA6;
+	public static final int GOTO = 0xA7;
+	public static final int JSR = 0xA8;
+	public static final int RET = 0xA9;
+	public static final int TABLESWITCH = 0xAA;
+	public static final int LOOKUPSWITCH = 0xAB;
+	public static final int IRETURN = 0xAC;
+	public static final int LRETURN = 0xAD;
+	public static final int FRETURN = 0xAE;
+	public static final int DRETURN = 0xAF;
+	public static final int ARETURN = 0xB0;
+	public static final int RETURN = 0xB1;
+	public static final int GETSTATIC = 0xB2;
+	public static final int PUTSTATIC = 0xB3;
+	public static final int GETFIELD = 0xB4;
+	public static final int PUTFIELD = 0xB5;
+	public static final int INVOKEVIRTUAL = 0xB6;
+	public static final int INVOKESPECIAL = 0xB7;
+	public static final int INVOKESTATIC = 0xB8;
+	public static final int INVOKEINTERFACE = 0xB9;
+	public static final int INVOKEDYNAMIC = 0xBA;
+	public static final int NEW = 0xBB;
+	public static final int NEWARRAY = 0xBC;
+	public static final int ANEWARRAY = 0xBD;
+	public static final int ARRAYLENGTH = 0xBE;
+	public static final int ATHROW = 0xBF;
+	public static final int CHECKCAST = 0xC0;
+	public static final int INSTANCEOF = 0xC1;
+	public static final int MONITORENTER = 0xC2;
+	public static final int MONITOREXIT = 0xC3;
+	public static final int WIDE = 0xC4;
+	public static final int MULTIANEWARRAY = 0xC5;
+	public static final int IFNULL = 0xC6;
+	public static final int IFNONNULL = 0xC7;
+	public static final int GOTO_W = 0xC8;
+	public static final int JSR_W = 0xC9;
+	public static final int BREAKPOINT = 0xCA;
+	public static final int IMPDEP1 = 0xFE;
+	public static final int IMPDEP2 = 0xFF;
+
+	private static final String[] NAMES = new String[256];
+
+	static {
+		NAMES[NOP] = "nop";
+		NAMES[ACONST_NULL] = "aconst_null";
+		NAMES[ICONST_M1] = "iconst_m1";
+		NAMES[ICONST_0] = "iconst_0";
+		NAMES[ICONST_1] = "iconst_1";
+		NAMES[ICONST_2] = "iconst_2";
+		NAMES[ICONST_3] = "iconst_3";
+		NAMES[ICONST_4] = "iconst_4";
+		NAMES[ICONST_5] = "iconst_5";
+		NAMES[LCONST_0] = "lconst_0";
+		NAMES[LCONST_1] = "lconst_1";
+		NAMES[FCONST_0] = "fconst_0";
+		NAMES[FCONST_1] = "fconst_1";
+		NAMES[FCONST_2] = "fconst_2";
+		NAMES[DCONST_0] = "dconst_0";
+		NAMES[DCONST_1] = "dconst_1";
+		NAMES[BIPUSH] = "bipush";
+		NAMES[SIPUSH] = "sipush";
+		NAMES[LDC] = "ldc";
+		NAMES[LDC_W] = "ldc_w";
+		NAMES[LDC2_W] = "ldc2_w";
+		NAMES[ILOAD] = "iload";
+		NAMES[LLOAD] = "lload";
+		NAMES[FLOAD] = "fload";
+		NAMES[DLOAD] = "dload";
+		NAMES[ALOAD] = "aload";
+		NAMES[ILOAD_0] = "iload_0";
+		NAMES[ILOAD_1] = "iload_1";
+		NAMES[ILOAD_2] = "iload_2";
+		NAMES[ILOAD_3] = "iload_3";
+		NAMES[LLOAD_0] = "lload_0";
+		NAMES[LLOAD_1] = "lload_1";
+		NAMES[LLOAD_2] = "lload_2";
+		NAMES[LLOAD_3] = "lload_3";
+		NAMES[FLOAD_0] = "fload_0";
+		NAMES[FLOAD_1] = "fload_1";
+		NAMES[FLOAD_2] = "fload_2";
+		NAMES[FLOAD_3] = "fload_3";
+		NAMES[DLOAD_0] = "dload_0";
+		NAMES[DLOAD_1] = "dload_1";
+		NAMES[DLOAD_2] = "dload_2";
+		NAMES[DLOAD_3] = "dload_3";
+		NAMES[ALOAD_0] = "aload_0";
+		NAMES[ALOAD_1] = "aload_1";
+		NAMES[ALOAD_2] = "aload_2";
+		NAMES[ALOAD_3] = "aload_3";
+		NAMES[IALOAD] = "iaload";
+		NAMES[LALOAD] = "laload";
+		NAMES[FALOAD] = "faload";
+		NAMES[DALOAD] = "daload";
+		NAMES[AALOAD] = "aaload";
+		NAMES[BALOAD] = "baload";
+		NAMES[CALOAD] = "caload";
+		NAMES[SALOAD] = "saload";
+		NAMES[ISTORE] = "istore";
+		NAMES[LSTORE] = "lstore";
+		NAMES[FSTORE] = "fstore";
+		NAMES[DSTORE] = "dstore";
+		NAMES[ASTORE] = "astore";
+		NAMES[ISTORE_0] = "istore_0";
+		NAMES[ISTORE_1] = "istore_1";
+		NAMES[ISTORE_2] = "istore_2";
+		NAMES[ISTORE_3] = "istore_3";
+		NAMES[LSTORE_0] = "lstore_0";
+		NAMES[LSTORE_1] = "lstore_1";
+		NAMES[LSTORE_2] = "lstore_2";
+		NAMES[LSTORE_3] = "lstore_3";
+		NAMES[FSTORE_0] = "fstore_0";
+		NAMES[FSTORE_1] = "fstore_1";
+		NAMES[FSTORE_2] = "fstore_2";
+		NAMES[FSTORE_3] = "fstore_3";
+		NAMES[DSTORE_0] = "dstore_0";
+		NAMES[DSTORE_1] = "dstore_1";
+		NAMES[DSTORE_2] = "dstore_2";
+		NAMES[DSTORE_3] = "dstore_3";
+		NAMES[ASTORE_0] = "astore_0";
+		NAMES[ASTORE_1] = "astore_1";
+		NAMES[ASTORE_2] = "astore_2";
+		NAMES[ASTORE_3] = "astore_3";
+		NAMES[IASTORE] = "iastore";
+		NAMES[LASTORE] = "lastore";
+		NAMES[FASTORE] = "fastore";
+		NAMES[DASTORE] = "dastore";
+		NAMES[AASTORE] = "aastore";
+		NAMES[BASTORE] = "bastore";
+		NAMES[CASTORE] = "castore";
+		NAMES[SASTORE] = "sastore";
+		NAMES[POP] = "pop";
+		NAMES[POP2] = "pop2";
+		NAMES[DUP] = "dup";
+		NAMES[DUP_X1] = "dup_x1";
+		NAMES[DUP_X2] = "dup_x2";
+		NAMES[DUP2] = "dup2";
+		NAMES[DUP2_X1] = "dup2_x1";
+		NAMES[DUP2_X2] = "dup2_x2";
+		NAMES[SWAP] = "swap";
+		NAMES[IADD] = "iadd";
+		NAMES[LADD] = "ladd";
+		NAMES[FADD] = "fadd";
+		NAMES[DADD] = "dadd";
+		NAMES[ISUB] = "isub";
+		NAMES[LSUB] = "lsub";
+		NAMES[FSUB] = "fsub";
+		NAMES[DSUB] = "dsub";
+		NAMES[IMUL] = "imul";
+		NAMES[LMUL] = "lmul";
+		NAMES[FMUL] = "fmul";
+		NAMES[DMUL] = "dmul";
+		NAMES[IDIV] = "idiv";
+		NAMES[LDIV] = "ldiv";
+		NAMES[FDIV] = "fdiv";
+		NAMES[DDIV] = "ddiv";
+		NAMES[IREM] = "irem";
+		NAMES[LREM] = "lrem";
+		NAMES[FREM] = "frem";
+		NAMES[DREM] = "drem";
+		NAMES[INEG] = "ineg";
+		NAMES[LNEG] = "lneg";
+		NAMES[FNEG] = "fneg";
+		NAMES[DNEG] = "dneg";
+		NAMES[ISHL] = "ishl";
+		NAMES[LSHL] = "lshl";
+		NAMES[ISHR] = "ishr";
+		NAMES[LSHR] = "lshr";
+		NAMES[IUSHR] = "iushr";
+		NAMES[LUSHR] = "lushr";
+		NAMES[IAND] = "iand";
+		NAMES[LAND] = "land";
+		NAMES[IOR] = "ior";
+		NAMES[LOR] = "lor";
+		NAMES[IXOR] = "ixor";
+		NAMES[LXOR] = "lxor";
+		NAMES[IINC] = "iinc";
+		NAMES[I2L] = "i2l";
+		NAMES[I2F] = "i2f";
+		NAMES[I2D] = "i2d";
+		NAMES[L2I] = "l2i";
+		NAMES[L2F] = "l2f";
+		NAMES[L2D] = "l2d";
+		NAMES[F2I] = "f2i";
+		NAMES[F2L] = "f2l";
+		NAMES[F2D] = "f2d";
+		NAMES[D2I] = "d2i";
+		NAMES[D2L] = "d2l";
+		NAMES[D2F] = "d2f";
+		NAMES[I2B] = "i2b";
+		NAMES[I2C] = "i2c";
+		NAMES[I2S] = "i2s";
+		NAMES[LCMP] = "lcmp";
+		NAMES[FCMPL] = "fcmpl";
+		NAMES[FCMPG] = "fcmpg";
+		NAMES[DCMPL] = "dcmpl";
+		NAMES[DCMPG] = "dcmpg";
+		NAMES[IFEQ] = "ifeq";
+		NAMES[IFNE] = "ifne";
+		NAMES[IFLT] = "iflt";
+		NAMES[IFGE] = "ifge";
+		NAMES[IFGT] = "ifgt";
+		NAMES[IFLE] = "ifle";
+		NAMES[IF_ICMPEQ] = "if_icmpeq";
+		NAMES[IF_ICMPNE] = "if_icmpne";
+		NAMES[IF_ICMPLT] = "if_icmplt";
+		NAMES[IF_ICMPGE] = "if_icmpge";
+		NAMES[IF_ICMPGT] = "if_icmpgt";
+		NAMES[IF_ICMPLE] = "if_icmple";
+		NAMES[IF_ACMPEQ] = "if_acmpeq";
+		NAMES[IF_ACMPNE] = "if_acmpne";
+		NAMES[GOTO] = "goto";
+		NAMES[JSR] = "jsr";
+		NAMES[RET] = "ret";
+		NAMES[TABLESWITCH] = "tableswitch";
+		NAMES[LOOKUPSWITCH] = "lookupswitch";
+		NAMES[IRETURN] = "ireturn";
+		NAMES[LRETURN] = "lreturn";
+		NAMES[FRETURN] = "freturn";
+		NAMES[DRETURN] = "dreturn";
+		NAMES[ARETURN] = "areturn";
+		NAMES[RETURN] = "return";
+		NAMES[GETSTATIC] = "getstatic";
+		NAMES[PUTSTATIC] = "putstatic";
+		NAMES[GETFIELD] = "getfield";
+		NAMES[PUTFIELD] = "putfield";
+		NAMES[INVOKEVIRTUAL] = "invokevirtual";
+		NAMES[INVOKESPECIAL] = "invokespecial";
+		NAMES[INVOKESTATIC] = "invokestatic";
+		NAMES[INVOKEINTERFACE] = "invokeinterface";
+		NAMES[INVOKEDYNAMIC] = "invokedynamic";
+		NAMES[NEW] = "new";
+		NAMES[NEWARRAY] = "newarray";
+		NAMES[ANEWARRAY] = "anewarray";
+		NAMES[ARRAYLENGTH] = "arraylength";
+		NAMES[ATHROW] = "athrow";
+		NAMES[CHECKCAST] = "checkcast";
+		NAMES[INSTANCEOF] = "instanceof";
+		NAMES[MONITORENTER] = "monitorenter";
+		NAMES[MONITOREXIT] = "monitorexit";
+		NAMES[WIDE] = "wide";
+		NAMES[MULTIANEWARRAY] = "multianewarray";
+		NAMES[IFNULL] = "ifnull";
+		NAMES[IFNONNULL] = "ifnonnull";
+		NAMES[GOTO_W] = "goto_w";
+		NAMES[JSR_W] = "jsr_w";
+		NAMES[BREAKPOINT] = "breakpoint";
+		NAMES[IMPDEP1] = "impdep1";
+		NAMES[IMPDEP2] = "impdep2";
+	}
+
+	/**
+	 * Return the mnemonic name of the opcode, such as "invokevirtual", or null if it is not a valid opcode.
+	 */
+	public static String getName(int opcode) {
+		if (opcode < 0 || opcode >= NAMES.length) {
+			return null;
+		} else {
+			return NAMES[opcode];
+		}
+	}
+
+	/**
+	 * Return true if the opcode is defined by the JVM specification.
+	 */
+	public static boolean isValid(int opcode) {
+		return (getName(opcode) != null);
+	}
+}
@@ -0,0 +1,239 @@
+package com.j256.simpleclassreader.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Immutable graph of the calls between methods which is built by the {@link CallGraphBuilder}. The methods are
+ * identified by int ids which are assigned in the sorted order of their keys, see
+ * {@link #methodKey(String, String, String)}. The edges are held in a primitive edge list sorted by caller with the
+ * invoke opcode of each call and a reverse index so both the callees and the callers of a method can be found without
+ * searching.
+ *
+ * @author graywatson
+ */
+public class CallGraph {
+
+	private final String[] methodKeys;
+	private final int[] callers;
+	private final int[] callees;
+	private final byte[] opcodes;
+	private final BitSet hierarchyEdges;
+	/** edges from method N are callerStarts[N] up to callerStarts[N + 1] */
+	private final int[] callerStarts;
+	/** edges to method N are calleeEdges[calleeStarts[N]] up to calleeEdges[calleeStarts[N + 1]] */
+	private final int[] calleeStarts;
+	private final int[] calleeEdges;
+
+	/**
+	 * Create the graph from the sorted method keys and the edges sorted by caller and then callee.
+	 */
+	CallGraph(String[] methodKeys, int[] callers, int[] callees, byte[] opcodes, BitSet hierarchyEdges) {
+		this.methodKeys = methodKeys;
+		this.callers = callers;
+		this.callees = callees;
+		this.opcodes = opcodes;
+		this.hierarchyEdges = hierarchyEdges;
+		this.callerStarts = buildStarts(callers, methodKeys.length);
+		this.calleeStarts = buildStarts(callees, methodKeys.length);
+		// place each edge in the slot of its callee
+		this.calleeEdges = new int[callees.length];
+		int[] next = Arrays.copyOf(calleeStarts, methodKeys.length);
+		for (int edge = 0; edge < callees.length; edge++) {
+			calleeEdges[next[callees[edge]]++] = edge;
+		}
+	}
+
+	/**
+	 * Return the key of a method which is the owner class, name, and descriptor such as
+	 * "java.lang.String.length()I". The call-sites of invokedynamic instructions have no owner so their key is just the
+	 * name and descriptor.
+	 */
+	public static String methodKey(String ownerClassName, String name, String descriptorStr) {
+		if (ownerClassName == null) {
+			return name + descriptorStr;
+		} else {
+			return ownerClassName + "." + name + descriptorStr;
+		}
+	}
+
+	/**
+	 * Return the number of methods in the graph which includes the methods that were called but not added.
+	 */
+	public int getMethodCount() {
+		return methodKeys.length;
+	}
+
+	/**
+	 * Return the key of the method with the id.
+	 */
+	public String getMethodKey(int methodId) {
+		checkMethodId(methodId);
+		return methodKeys[methodId];
+	}
+
+	/**
+	 * Return the id of the method with the key or -1 if not in the graph.
+	 */
+	public int findMethodId(String methodKey) {
+		int methodId = Arrays.binarySearch(methodKeys, methodKey);
+		if (methodId >= 0) {
+			return methodId;
+		} else {
+			return -1;
+		}
+	}
+
+	/**
+	 * Return the id of the method with the owner class, name, and descriptor or -1 if not in the graph.
+	 */
+	public int findMethodId(String ownerClassName, String name, String descriptorStr) {
+		return findMethodId(methodKey(ownerClassName, name, descriptorStr));
+	}
+
+	/**
+	 * Return the number of edges in the graph.
+	 */
+	public int getEdgeCount() {
+		return callers.length;
+	}
+
+	/**
+	 * Return the id of the calling method of the edge.
+	 */
+	public int getCaller(int edge) {
+		checkEdge(edge);
+		return callers[edge];
+	}
+
+	/**
+	 * Return the id of the called method of the edge.
+	 */
+	public int getCallee(int edge) {
+		checkEdge(edge);
+		return callees[edge];
+	}
+
+	/**
+	 * Return the invoke opcode of the call such as {@link com.j256.simpleclassreader.bytecode.Opcodes#INVOKEVIRTUAL}.
+	 */
+	public int getOpcode(int edge) {
+		checkEdge(edge);
+		return opcodes[edge] & 0xFF;
+	}
+
+	/**
+	 * Return true if the edge was added by class hierarchy analysis to an overriding method in a subclass instead of
+	 * coming straight from an invoke instruction.
+	 */
+	public boolean isHierarchyEdge(int edge) {
+		checkEdge(edge);
+		return hierarchyEdges.get(edge);
+	}
+
+	/**
+	 * Return the first edge from the method. The edges from the method are up to {@link #getCallerEdgeEnd(int)}.
+	 */
+	public int getCallerEdgeStart(int methodId) {
+		checkMethodId(methodId);
+		return callerStarts[methodId];
+	}
+
+	/**
+	 * Return the edge after the last edge from the method.
+	 */
+	public int getCallerEdgeEnd(int methodId) {
+		checkMethodId(methodId);
+		return callerStarts[methodId + 1];
+	}
+
+	/**
+	 * Return the ids of the methods that the method calls in id order.
+	 */
+	public int[] getCallees(int methodId) {
+		checkMethodId(methodId);
+		int[] results = new int[callerStarts[methodId + 1] - callerStarts[methodId]];
+		int count = 0;
+		for (int edge = callerStarts[methodId]; edge < callerStarts[methodId + 1]; edge++) {
+			// the edges are sorted by callee so duplicates with different opcodes are next to each other
+			if (count == 0 || results[count - 1] != callees[edge]) {
+				results[count++] = callees[edge];
+			}
+		}
+		return Arrays.copyOf(results, count);
+	}
+
+	/**
+	 * Return the ids of the methods that call the method in id order.
+	 */
+	public int[] getCallers(int methodId) {
+		checkMethodId(methodId);
+		int[] results = new int[calleeStarts[methodId + 1] - calleeStarts[methodId]];
+		int count = 0;
+		for (int i = calleeStarts[methodId]; i < calleeStarts[methodId + 1]; i++) {
+			// the edges are in caller order
+			int caller = callers[calleeEdges[i]];
+			if (count == 0 || results[count - 1] != caller) {
+				results[count++] = caller;
+			}
+		}
+		return Arrays.copyOf(results, count);
+	}
+
+	/**
+	 * Return the ids of the methods that call the method directly or through other methods in id order. These are the
+	 * methods that might be affected by a change to the method.
+	 */
+	public int[] getTransitiveCallers(int methodId) {
+		checkMethodId(methodId);
+		BitSet reached = new BitSet(methodKeys.length);
+		int[] queue = new int[methodKeys.length + 1];
+		int queueStart = 0;
+		int queueEnd = 0;
+		queue[queueEnd++] = methodId;
+		while (queueStart < queueEnd) {
+			int callee = queue[queueStart++];
+			for (int i = calleeStarts[callee]; i < calleeStarts[callee + 1]; i++) {
+				int caller = callers[calleeEdges[i]];
+				if (!reached.get(caller)) {
+					reached.set(caller);
+					queue[queueEnd++] = caller;
+				}
+			}
+		}
+		int[] results = new int[reached.cardinality()];
+		int count = 0;
+		for (int id = reached.nextSetBit(0); id >= 0; id = reached.nextSetBit(id + 1)) {
+			results[count++] = id;
+		}
+		return results;
+	}
+
+	@Override
+	public String toString() {
+		return "call graph with " + methodKeys.length + " methods and " + callers.length + " edges";
+	}
+
+	private static int[] buildStarts(int[] ids, int numIds) {
+		int[] starts = new int[numIds + 1];
+		for (int id : ids) {
+			starts[id + 1]++;
+		}
+		for (int i = 0; i < numIds; i++) {
+			starts[i + 1] += starts[i];
+		}
+		return starts;
+	}
+
+	private void checkMethodId(int methodId) {
+		if (methodId < 0 || methodId >= methodKeys.length) {
+			throw new IllegalArgumentException("invalid method id: " + methodId);
+		}
+	}
+
+	private void checkEdge(int edge) {
+		if (edge < 0 || edge >= callers.length) {
+			throw new IllegalArgumentException("invalid edge: " + edge);
+		}
+	}
+}
@@ -0,0 +1,354 @@
+package com.j256.simpleclassreader.graph;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ConstantPool;
+import com.j256.simpleclassreader.MemberRef;
+import com.j256.simpleclassreader.MethodDescriptor;
+import com.j256.simpleclassreader.MethodInfo;
+import com.j256.simpleclassreader.bytecode.InstructionCursor;
+import com.j256.simpleclassreader.bytecode.Opcodes;
+
+/**
+ * Collects the calls made by the methods of classes and builds a {@link CallGraph} from them. The bytecode of each
+ * method is walked with an {@link InstructionCursor} and the targets of the invoke instructions are resolved through
+ * {@link ConstantPool#findMemberRef(int)}. Classes can be added from a number of threads at the same time: the method
+ * keys are given ids through a concurrent map, which only locks briefly when a new key is added, and the calls of each
+ * class are added to a concurrent queue which is only merged when the graph is built.
+ *
+ * NOTE: the target of an invokedynamic is its call-site name and descriptor since the bootstrap method arguments are
+ * not followed. {@link #build(boolean)} should be called after all of the classes have been added.
+ *
+ * @author graywatson
+ */
+public class CallGraphBuilder {
+
+	/** number of bits of the packed edge which hold the kind of call */
+	private static final int KIND_BITS = 4;
+	private static final int HIERARCHY_KIND_FLAG = 0x8;
+	private static final int MAX_METHOD_ID = (1 << (32 - KIND_BITS)) - 1;
+
+	private final NameIds methodIds = new NameIds();
+	private final Queue<ClassCalls> classCalls = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger classCount = new AtomicInteger();
+
+	/**
+	 * Add the calls made by the methods and constructors of the class.
+	 */
+	public void addClass(ClassInfo classInfo) {
+		String className = classInfo.getClassName();
+		ConstantPool constantPool = classInfo.getConstantPool();
+		Set<String> overridableSignatures = new HashSet<>();
+		int[] calls = new int[16];
+		int numCalls = 0;
+		for (MethodInfo[] methods : new MethodInfo[][] { classInfo.getConstructors(), classInfo.getMethods() }) {
+			for (MethodInfo method : methods) {
+				MethodDescriptor methodDescriptor = method.getMethodDescriptor();
+				if (methodDescriptor == null) {
+					// NOTE: an invalid descriptor cannot be the target of a call so we skip the method
+					continue;
+				}
+				String descriptorStr = methodDescriptor.getDescriptorStr();
+				if (!method.isConstructor() && !method.isStatic() && !method.isPrivate() && !method.isAbstract()) {
+					overridableSignatures.add(method.getName() + descriptorStr);
+				}
+				byte[] code = method.getCode();
+				if (code == null || constantPool == null) {
+					continue;
+				}
+				int callerId = -1;
+				InstructionCursor cursor = new InstructionCursor(code);
+				while (cursor.next()) {
+					int opcode = cursor.getOpcode();
+					if (opcode < Opcodes.INVOKEVIRTUAL || opcode > Opcodes.INVOKEDYNAMIC) {
+						continue;
+					}
+					MemberRef ref = constantPool.findMemberRef(cursor.getConstantPoolIndex());
+					if (ref == null) {
+						continue;
+					}
+					if (callerId < 0) {
+						callerId = methodIds.intern(CallGraph.methodKey(className, method.getName(), descriptorStr));
+					}
+					if (numCalls + 3 > calls.length) {
+						calls = Arrays.copyOf(calls, calls.length * 2);
+					}
+					String calleeKey =
+							CallGraph.methodKey(ref.getOwnerClassName(), ref.getName(), ref.getDescriptorStr());
+					calls[numCalls++] = callerId;
+					calls[numCalls++] = methodIds.intern(calleeKey);
+					calls[numCalls++] = opcode;
+				}
+			}
+		}
+		classCalls.add(new ClassCalls(className, classInfo.getSuperClassName(), classInfo.getInterfaces(),
+				overridableSignatures, Arrays.copyOf(calls, numCalls)));
+		classCount.incrementAndGet();
+	}
+
+	/**
+	 * Add the calls made by the classes using a pool of the number of threads.
+	 */
+	public void addClasses(List<ClassInfo> classInfos, int numThreads) throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		try {
+			List<Future<Void>> futures = new ArrayList<>(classInfos.size());
+			for (ClassInfo classInfo : classInfos) {
+				futures.add(executor.submit(new ClassAdd(classInfo)));
+			}
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw new IOException("interrupted waiting for classes to be added", ie);
+				} catch (ExecutionException ee) {
+					throw new IOException("problems adding class", ee.getCause());
+				}
+			}
+		} finally {
+			// wait for the classes in progress so no calls are added after we return
+			GraphUtils.shutdownAndWait(executor);
+		}
+	}
+
+	/**
+	 * Return the number of classes that have been added.
+	 */
+	public int getClassCount() {
+		return classCount.get();
+	}
+
+	/**
+	 * Build the call graph. If class-hierarchy-analysis is true then each invokevirtual and invokeinterface call also
+	 * gets an edge to the overriding methods in the subclasses and implementations of the owner that have been added.
+	 */
+	public CallGraph build(boolean classHierarchyAnalysis) {
+		List<ClassCalls> callsList = new ArrayList<>(classCalls);
+
+		// find the overriding methods first since they may add method ids
+		Map<Integer, int[]> overrideMap = new HashMap<>();
+		if (classHierarchyAnalysis) {
+			Map<String, List<ClassCalls>> subclassMap = new HashMap<>();
+			for (ClassCalls calls : callsList) {
+				addSubclass(subclassMap, calls.superClassName, calls);
+				if (calls.interfaces != null) {
+					for (String interfaceName : calls.interfaces) {
+						addSubclass(subclassMap, interfaceName, calls);
+					}
+				}
+			}
+			String[] keys = methodIds.toArray();
+			for (ClassCalls calls : callsList) {
+				int[] edges = calls.calls;
+				for (int i = 0; i < edges.length; i += 3) {
+					int opcode = edges[i + 2];
+					if ((opcode == Opcodes.INVOKEVIRTUAL || opcode == Opcodes.INVOKEINTERFACE)
+							&& !overrideMap.containsKey(edges[i + 1])) {
+						overrideMap.put(edges[i + 1], findOverrides(keys[edges[i + 1]], subclassMap));
+					}
+				}
+			}
+		}
+
+		// assign the method ids in key order
+		String[] names = methodIds.toArray();
+		String[] methodKeys = new TreeSet<>(nonNull(names)).toArray(new String[0]);
+		int[] idMap = new int[names.length];
+		for (int i = 0; i < names.length; i++) {
+			if (names[i] != null) {
+				idMap[i] = Arrays.binarySearch(methodKeys, names[i]);
+			}
+		}
+
+		// pack each edge into a long so they can be sorted and de-duplicated
+		long[] packed = new long[64];
+		int numPacked = 0;
+		for (ClassCalls calls : callsList) {
+			int[] edges = calls.calls;
+			for (int i = 0; i < edges.length; i += 3) {
+				int callerId = idMap[edges[i]];
+				int opcode = edges[i + 2];
+				int kind = opcode - Opcodes.INVOKEVIRTUAL;
+				packed = addEdge(packed, numPacked++, callerId, idMap[edges[i + 1]], kind);
+				if (opcode != Opcodes.INVOKEVIRTUAL && opcode != Opcodes.INVOKEINTERFACE) {
+					continue;
+				}
+				int[] overrides = overrideMap.get(edges[i + 1]);
+				if (overrides != null) {
+					for (int override : overrides) {
+						packed = addEdge(packed, numPacked++, callerId, idMap[override], kind | HIERARCHY_KIND_FLAG);
+					}
+				}
+			}
+		}
+		Arrays.sort(packed, 0, numPacked);
+
+		int[] callers = new int[numPacked];
+		int[] callees = new int[numPacked];
+		byte[] opcodes = new byte[numPacked];
+		BitSet hierarchyEdges = new BitSet();
+		int numEdges = 0;
+		for (int i = 0; i < numPacked; i++) {
+			if (i > 0 && packed[i] == packed[i - 1]) {
+				continue;
+			}
+			int low = (int) packed[i];
+			int kind = low & ((1 << KIND_BITS) - 1);
+			callers[numEdges] = (int) (packed[i] >>> 32);
+			callees[numEdges] = low >>> KIND_BITS;
+			opcodes[numEdges] = (byte) (Opcodes.INVOKEVIRTUAL + (kind & ~HIERARCHY_KIND_FLAG));
+			if ((kind & HIERARCHY_KIND_FLAG) != 0) {
+				hierarchyEdges.set(numEdges);
+			}
+			numEdges++;
+		}
+		return new CallGraph(methodKeys, Arrays.copyOf(callers, numEdges), Arrays.copyOf(callees, numEdges),
+				Arrays.copyOf(opcodes, numEdges), hierarchyEdges);
+	}
+
+	/**
+	 * Find the methods in the subclasses of the owner of the method key that override it and return their ids.
+	 */
+	private int[] findOverrides(String methodKey, Map<String, List<ClassCalls>> subclassMap) {
+		int nameStart = findNameStart(methodKey);
+		if (nameStart < 0) {
+			return new int[0];
+		}
+		String ownerClassName = methodKey.substring(0, nameStart - 1);
+		String signature = methodKey.substring(nameStart);
+		List<Integer> overrides = new ArrayList<>();
+		List<ClassCalls> queue = new ArrayList<>();
+		Set<String> seen = new HashSet<>();
+		addAll(queue, subclassMap.get(ownerClassName));
+		for (int i = 0; i < queue.size(); i++) {
+			ClassCalls subclass = queue.get(i);
+			if (!seen.add(subclass.className)) {
+				continue;
+			}
+			if (subclass.overridableSignatures.contains(signature)) {
+				overrides.add(methodIds.intern(subclass.className + "." + signature));
+			}
+			addAll(queue, subclassMap.get(subclass.className));
+		}
+		int[] results = new int[overrides.size()];
+		for (int i = 0; i < results.length; i++) {
+			results[i] = overrides.get(i);
+		}
+		return results;
+	}
+
+	/**
+	 * Return the index of the method name in the key which is after the last '.' before the descriptor or -1 if none.
+	 */
+	private static int findNameStart(String methodKey) {
+		int paren = methodKey.indexOf('(');
+		if (paren < 0) {
+			return -1;
+		}
+		int dot = methodKey.lastIndexOf('.', paren);
+		if (dot < 0) {
+			return -1;
+		} else {
+			return dot + 1;
+		}
+	}
+
+	private static long[] addEdge(long[] packed, int index, int callerId, int calleeId, int kind) {
+		if (callerId > MAX_METHOD_ID || calleeId > MAX_METHOD_ID) {
+			throw new IllegalStateException("too many methods in the call graph: " + Math.max(callerId, calleeId));
+		}
+		if (index == packed.length) {
+			packed = Arrays.copyOf(packed, packed.length * 2);
+		}
+		packed[index] = ((long) callerId << 32) | ((long) calleeId << KIND_BITS) | kind;
+		return packed;
+	}
+
+	private static void addSubclass(Map<String, List<ClassCalls>> subclassMap, String superName, ClassCalls calls) {
+		if (superName == null) {
+			return;
+		}
+		List<ClassCalls> subclasses = subclassMap.get(superName);
+		if (subclasses == null) {
+			subclasses = new ArrayList<>();
+			subclassMap.put(superName, subclasses);
+		}
+		subclasses.add(calls);
+	}
+
+	private static void addAll(List<ClassCalls> queue, List<ClassCalls> subclasses) {
+		if (subclasses != null) {
+			queue.addAll(subclasses);
+		}
+	}
+
+	private static List<String> nonNull(String[] names) {
+		List<String> list = new ArrayList<>(names.length);
+		for (String name : names) {
+			if (name != null) {
+				list.add(name);
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Adds a class in another thread.
+	 */
+	private class ClassAdd implements Callable<Void> {
+
+		private final ClassInfo classInfo;
+
+		public ClassAdd(ClassInfo classInfo) {
+			this.classInfo = classInfo;
+		}
+
+		@Override
+		public Void call() {
+			addClass(classInfo);
+			return null;
+		}
+	}
+
+	/**
+	 * Calls made by a class along with what is needed for the class hierarchy analysis.
+	 */
+	private static class ClassCalls {
+
+		final String className;
+		final String superClassName;
+		final String[] interfaces;
+		/** name and descriptor of the methods which can override a super-class method */
+		final Set<String> overridableSignatures;
+		/** triples of caller-id, callee-id, and opcode */
+		final int[] calls;
+
+		public ClassCalls(String className, String superClassName, String[] interfaces,
+				Set<String> overridableSignatures, int[] calls) {
+			this.className = className;
+			this.superClassName = superClassName;
+			this.interfaces = interfaces;
+			this.overridableSignatures = overridableSignatures;
+			this.calls = calls;
+		}
+	}
+}
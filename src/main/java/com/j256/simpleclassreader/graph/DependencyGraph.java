@@ -0,0 +1,255 @@
+package com.j256.simpleclassreader.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Immutable directed graph of the dependencies between classes, packages, or jars which is built by the
+ * {@link DependencyGraphBuilder}. The nodes are identified by int ids which are assigned in the sorted order of their
+ * names and the edges are held in adjacency arrays so large graphs take little memory and can be walked without
+ * allocating.
+ *
+ * @author graywatson
+ */
+public class DependencyGraph {
+
+	private final GraphLevel level;
+	private final String[] nodeNames;
+	/** edges of node N are edgeTargets[edgeStarts[N]] up to edgeTargets[edgeStarts[N + 1]] */
+	private final int[] edgeStarts;
+	private final int[] edgeTargets;
+
+	/**
+	 * Create the graph from the sorted node names and the adjacency arrays.
+	 */
+	DependencyGraph(GraphLevel level, String[] nodeNames, int[] edgeStarts, int[] edgeTargets) {
+		this.level = level;
+		this.nodeNames = nodeNames;
+		this.edgeStarts = edgeStarts;
+		this.edgeTargets = edgeTargets;
+	}
+
+	/**
+	 * Return the level of the nodes in the graph.
+	 */
+	public GraphLevel getLevel() {
+		return level;
+	}
+
+	/**
+	 * Return the number of nodes in the graph.
+	 */
+	public int getNodeCount() {
+		return nodeNames.length;
+	}
+
+	/**
+	 * Return the number of edges in the graph.
+	 */
+	public int getEdgeCount() {
+		return edgeTargets.length;
+	}
+
+	/**
+	 * Return the name of the node with the id.
+	 */
+	public String getNodeName(int nodeId) {
+		checkNodeId(nodeId);
+		return nodeNames[nodeId];
+	}
+
+	/**
+	 * Return the id of the node with the name or -1 if not in the graph.
+	 */
+	public int findNodeId(String name) {
+		int nodeId = Arrays.binarySearch(nodeNames, name);
+		if (nodeId >= 0) {
+			return nodeId;
+		} else {
+			return -1;
+		}
+	}
+
+	/**
+	 * Return the number of nodes that the node depends on.
+	 */
+	public int getDependencyCount(int nodeId) {
+		checkNodeId(nodeId);
+		return edgeStarts[nodeId + 1] - edgeStarts[nodeId];
+	}
+
+	/**
+	 * Return the id of the index dependency of the node. The dependencies are in id order.
+	 */
+	public int getDependency(int nodeId, int index) {
+		if (index < 0 || index >= getDependencyCount(nodeId)) {
+			throw new IllegalArgumentException("invalid dependency index " + index + " for node " + nodeId);
+		}
+		return edgeTargets[edgeStarts[nodeId] + index];
+	}
+
+	/**
+	 * Return the ids of the nodes that the node depends on in id order.
+	 */
+	public int[] getDependencies(int nodeId) {
+		checkNodeId(nodeId);
+		return Arrays.copyOfRange(edgeTargets, edgeStarts[nodeId], edgeStarts[nodeId + 1]);
+	}
+
+	/**
+	 * Return true if the node has an edge to the other node.
+	 */
+	public boolean hasEdge(int fromNodeId, int toNodeId) {
+		checkNodeId(fromNodeId);
+		checkNodeId(toNodeId);
+		return (Arrays.binarySearch(edgeTargets, edgeStarts[fromNodeId], edgeStarts[fromNodeId + 1], toNodeId) >= 0);
+	}
+
+	/**
+	 * Return true if the to node can be reached by following the edges from the from node.
+	 */
+	public boolean isReachable(int fromNodeId, int toNodeId) {
+		checkNodeId(fromNodeId);
+		checkNodeId(toNodeId);
+		return walkReachable(fromNodeId, toNodeId).get(toNodeId);
+	}
+
+	/**
+	 * Return the ids of the nodes that can be reached by following the edges from the node in id order. The node itself
+	 * is only included if it is part of a cycle.
+	 */
+	public int[] getReachable(int nodeId) {
+		checkNodeId(nodeId);
+		BitSet reached = walkReachable(nodeId, -1);
+		int[] nodeIds = new int[reached.cardinality()];
+		int count = 0;
+		for (int id = reached.nextSetBit(0); id >= 0; id = reached.nextSetBit(id + 1)) {
+			nodeIds[count++] = id;
+		}
+		return nodeIds;
+	}
+
+	/**
+	 * Return the cycles in the graph which are the strongly connected components with more than one node or a node
+	 * with an edge to itself. Each cycle is the sorted ids of its nodes. This uses Tarjan's algorithm without recursion
+	 * so deep graphs do not overflow the stack.
+	 */
+	public List<int[]> findCycles() {
+		int numNodes = nodeNames.length;
+		int[] indexes = new int[numNodes];
+		Arrays.fill(indexes, -1);
+		int[] lowLinks = new int[numNodes];
+		boolean[] onStack = new boolean[numNodes];
+		int[] componentStack = new int[numNodes];
+		int componentSize = 0;
+		// our own call stack of the nodes and the next edge of each to look at
+		int[] callNodes = new int[numNodes];
+		int[] callEdges = new int[numNodes];
+		int callSize = 0;
+		int nextIndex = 0;
+		List<int[]> cycles = new ArrayList<>();
+
+		for (int root = 0; root < numNodes; root++) {
+			if (indexes[root] >= 0) {
+				continue;
+			}
+			indexes[root] = nextIndex;
+			lowLinks[root] = nextIndex;
+			nextIndex++;
+			componentStack[componentSize++] = root;
+			onStack[root] = true;
+			callNodes[callSize] = root;
+			callEdges[callSize] = edgeStarts[root];
+			callSize++;
+
+			while (callSize > 0) {
+				int node = callNodes[callSize - 1];
+				int edge = callEdges[callSize - 1];
+				if (edge < edgeStarts[node + 1]) {
+					callEdges[callSize - 1]++;
+					int target = edgeTargets[edge];
+					if (indexes[target] < 0) {
+						indexes[target] = nextIndex;
+						lowLinks[target] = nextIndex;
+						nextIndex++;
+						componentStack[componentSize++] = target;
+						onStack[target] = true;
+						callNodes[callSize] = target;
+						callEdges[callSize] = edgeStarts[target];
+						callSize++;
+					} else if (onStack[target] && indexes[target] < lowLinks[node]) {
+						lowLinks[node] = indexes[target];
+					}
+					continue;
+				}
+
+				// all of the edges of the node have been looked at
+				callSize--;
+				if (callSize > 0) {
+					int parent = callNodes[callSize - 1];
+					if (lowLinks[node] < lowLinks[parent]) {
+						lowLinks[parent] = lowLinks[node];
+					}
+				}
+				if (lowLinks[node] != indexes[node]) {
+					continue;
+				}
+				// the node is the root of a component which is on the top of the stack
+				int start = componentSize;
+				do {
+					start--;
+					onStack[componentStack[start]] = false;
+				} while (componentStack[start] != node);
+				int[] component = Arrays.copyOfRange(componentStack, start, componentSize);
+				componentSize = start;
+				if (component.length > 1 || hasEdge(node, node)) {
+					Arrays.sort(component);
+					cycles.add(component);
+				}
+			}
+		}
+		return cycles;
+	}
+
+	@Override
+	public String toString() {
+		return level + " graph with " + nodeNames.length + " nodes and " + edgeTargets.length + " edges";
+	}
+
+	/**
+	 * Walk the edges from the node and return the nodes that were reached. Stops early if the stop node is reached.
+	 */
+	private BitSet walkReachable(int fromNodeId, int stopNodeId) {
+		BitSet reached = new BitSet(nodeNames.length);
+		int[] queue = new int[nodeNames.length];
+		int queueStart = 0;
+		int queueEnd = 0;
+		queue[queueEnd++] = fromNodeId;
+		while (queueStart < queueEnd) {
+			int node = queue[queueStart++];
+			for (int edge = edgeStarts[node]; edge < edgeStarts[node + 1]; edge++) {
+				int target = edgeTargets[edge];
+				if (reached.get(target)) {
+					continue;
+				}
+				reached.set(target);
+				if (target == stopNodeId) {
+					return reached;
+				}
+				// the from node may be reached again through a cycle but is already in the queue
+				if (target != fromNodeId) {
+					queue[queueEnd++] = target;
+				}
+			}
+		}
+		return reached;
+	}
+
+	private void checkNodeId(int nodeId) {
+		if (nodeId < 0 || nodeId >= nodeNames.length) {
+			throw new IllegalArgumentException("invalid node id: " + nodeId);
+		}
+	}
+}
@@ -0,0 +1,308 @@
+package com.j256.simpleclassreader.graph;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.j256.simpleclassreader.ClassDependencies;
+import com.j256.simpleclassreader.Utils;
+import com.j256.simpleclassreader.jfr.ParseEvents;
+
+/**
+ * Collects the class-to-class dependencies of classes and builds {@link DependencyGraph}s of the classes, packages,
+ * or jars from them. Classes can be added from a number of threads at the same time: the names are given ids through
+ * concurrent maps, which only lock briefly when a new name is added, and the edges of each class are added to a
+ * concurrent queue which is only merged into the adjacency arrays when a graph is built. The dependencies are
+ * extracted with {@link ClassDependencies} so the classes are not fully read.
+ *
+ * NOTE: {@link #build(GraphLevel)} should be called after all of the classes have been added. If a class is added from
+ * more than one container then one of them is used.
+ *
+ * @author graywatson
+ */
+public class DependencyGraphBuilder {
+
+	private static final String CLASS_SUFFIX = ".class";
+	private static final String META_INF_PREFIX = "META-INF/";
+	private static final String MODULE_INFO_SUFFIX = "module-info.class";
+
+	private final NameIds classIds = new NameIds();
+	private final NameIds containerIds = new NameIds();
+	private final Queue<ClassEdges> classEdges = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger classCount = new AtomicInteger();
+	private final AtomicInteger pendingJarCount = new AtomicInteger();
+
+	/**
+	 * Add the dependencies of the class from the container, such as the name of its jar, which may be null. Returns
+	 * false if the bytes are not a valid class.
+	 *
+	 * @throws EOFException
+	 *             If the class bytes are truncated.
+	 */
+	public boolean addClass(String container, byte[] classBytes) throws EOFException {
+		ClassDependencies deps = ClassDependencies.extract(classBytes);
+		if (deps == null || deps.getClassName() == null) {
+			return false;
+		}
+		String[] names = deps.getClassNames();
+		int[] targetIds = new int[names.length];
+		for (int i = 0; i < names.length; i++) {
+			targetIds[i] = classIds.intern(names[i]);
+		}
+		int containerId = -1;
+		if (container != null) {
+			containerId = containerIds.intern(container);
+		}
+		classEdges.add(new ClassEdges(classIds.intern(deps.getClassName()), containerId, targetIds));
+		classCount.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Add the classes from the jar using the jar's name as the container. Entries under META-INF and module-info
+	 * classes are skipped as are entries that are not valid or are truncated classes.
+	 */
+	public void addJar(File jarFile) throws IOException {
+		String container = jarFile.getName();
+		Object event = ParseEvents.beginJarScan(jarFile.getPath());
+		int entryCount = 0;
+		long byteCount = 0;
+		try (ZipFile zipFile = new ZipFile(jarFile);) {
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				String name = entry.getName();
+				if (entry.isDirectory() || !name.endsWith(CLASS_SUFFIX) || name.startsWith(META_INF_PREFIX)
+						|| name.endsWith(MODULE_INFO_SUFFIX)) {
+					continue;
+				}
+				byte[] bytes;
+				try (InputStream input = zipFile.getInputStream(entry);) {
+					bytes = Utils.readAllBytes(input);
+				}
+				byteCount += bytes.length;
+				try {
+					if (addClass(container, bytes)) {
+						entryCount++;
+					}
+				} catch (EOFException eofe) {
+					// NOTE: a truncated class is skipped like an invalid one instead of failing the rest of the jar
+				}
+			}
+		} finally {
+			ParseEvents.endJarScan(event, entryCount, byteCount);
+		}
+	}
+
+	/**
+	 * Add the classes from the jars using a pool of the number of threads.
+	 */
+	public void addJars(List<File> jarFiles, int numThreads) throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		try {
+			List<Future<Void>> futures = new ArrayList<>(jarFiles.size());
+			for (File jarFile : jarFiles) {
+				pendingJarCount.incrementAndGet();
+				futures.add(executor.submit(new JarAdd(jarFile)));
+			}
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw new IOException("interrupted waiting for jars to be added", ie);
+				} catch (ExecutionException ee) {
+					Throwable cause = ee.getCause();
+					if (cause instanceof IOException) {
+						throw (IOException) cause;
+					} else {
+						throw new IOException("problems adding jar", cause);
+					}
+				}
+			}
+		} finally {
+			// the jars that were never started are no longer pending
+			pendingJarCount.addAndGet(-executor.shutdownNow().size());
+			// wait for the jars in progress so no classes are added after we return
+			GraphUtils.shutdownAndWait(executor);
+		}
+	}
+
+	/**
+	 * Return the number of classes that have been added.
+	 */
+	public int getClassCount() {
+		return classCount.get();
+	}
+
+	/**
+	 * Return the number of jars passed to {@link #addJars(List, int)} that are waiting to be added or are being added.
+	 */
+	public int getPendingJarCount() {
+		return pendingJarCount.get();
+	}
+
+	/**
+	 * Build the graph of the dependencies at the level. Dependencies between classes in the same package or container
+	 * are not edges in the package and container graphs.
+	 */
+	public DependencyGraph build(GraphLevel level) {
+		List<ClassEdges> edgesList = new ArrayList<>(classEdges);
+		String[] classNames = classIds.toArray();
+		String[] containerNames = containerIds.toArray();
+		int[] classContainers = new int[classNames.length];
+		Arrays.fill(classContainers, -1);
+		for (ClassEdges edges : edgesList) {
+			if (classContainers[edges.classId] < 0) {
+				classContainers[edges.classId] = edges.containerId;
+			}
+		}
+
+		// find the node name of each class
+		String[] classNodeNames = new String[classNames.length];
+		for (int classId = 0; classId < classNames.length; classId++) {
+			String className = classNames[classId];
+			if (className == null) {
+				continue;
+			}
+			switch (level) {
+				case CLASS:
+					classNodeNames[classId] = className;
+					break;
+				case PACKAGE:
+					int index = className.lastIndexOf('.');
+					if (index < 0) {
+						classNodeNames[classId] = "";
+					} else {
+						classNodeNames[classId] = className.substring(0, index);
+					}
+					break;
+				case CONTAINER:
+					if (classContainers[classId] >= 0) {
+						classNodeNames[classId] = containerNames[classContainers[classId]];
+					}
+					break;
+				default:
+					throw new IllegalArgumentException("unknown graph level: " + level);
+			}
+		}
+
+		// assign the node ids in name order
+		String[] nodeNames = new TreeSet<>(nonNull(classNodeNames)).toArray(new String[0]);
+		Map<String, Integer> nodeIds = new HashMap<>(nodeNames.length * 2);
+		for (int nodeId = 0; nodeId < nodeNames.length; nodeId++) {
+			nodeIds.put(nodeNames[nodeId], nodeId);
+		}
+		int[] classNodes = new int[classNames.length];
+		for (int classId = 0; classId < classNames.length; classId++) {
+			if (classNodeNames[classId] == null) {
+				classNodes[classId] = -1;
+			} else {
+				classNodes[classId] = nodeIds.get(classNodeNames[classId]);
+			}
+		}
+
+		// pack each edge into a long so they can be sorted and de-duplicated
+		long[] packed = new long[64];
+		int numPacked = 0;
+		for (ClassEdges edges : edgesList) {
+			int fromNode = classNodes[edges.classId];
+			if (fromNode < 0) {
+				continue;
+			}
+			for (int targetId : edges.targetIds) {
+				int toNode = classNodes[targetId];
+				if (toNode < 0 || toNode == fromNode) {
+					continue;
+				}
+				if (numPacked == packed.length) {
+					packed = Arrays.copyOf(packed, packed.length * 2);
+				}
+				packed[numPacked++] = ((long) fromNode << 32) | toNode;
+			}
+		}
+		Arrays.sort(packed, 0, numPacked);
+
+		int[] edgeStarts = new int[nodeNames.length + 1];
+		int[] edgeTargets = new int[numPacked];
+		int numEdges = 0;
+		for (int i = 0; i < numPacked; i++) {
+			if (i > 0 && packed[i] == packed[i - 1]) {
+				continue;
+			}
+			edgeStarts[(int) (packed[i] >>> 32) + 1]++;
+			edgeTargets[numEdges++] = (int) packed[i];
+		}
+		// turn the counts into starting offsets
+		for (int nodeId = 0; nodeId < nodeNames.length; nodeId++) {
+			edgeStarts[nodeId + 1] += edgeStarts[nodeId];
+		}
+		return new DependencyGraph(level, nodeNames, edgeStarts, Arrays.copyOf(edgeTargets, numEdges));
+	}
+
+	private static List<String> nonNull(String[] names) {
+		List<String> list = new ArrayList<>(names.length);
+		for (String name : names) {
+			if (name != null) {
+				list.add(name);
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Adds the classes from a jar in another thread.
+	 */
+	private class JarAdd implements Callable<Void> {
+
+		private final File jarFile;
+
+		public JarAdd(File jarFile) {
+			this.jarFile = jarFile;
+		}
+
+		@Override
+		public Void call() throws IOException {
+			try {
+				addJar(jarFile);
+				return null;
+			} finally {
+				pendingJarCount.decrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Ids of the classes that a class depends on.
+	 */
+	private static class ClassEdges {
+
+		final int classId;
+		final int containerId;
+		final int[] targetIds;
+
+		public ClassEdges(int classId, int containerId, int[] targetIds) {
+			this.classId = classId;
+			this.containerId = containerId;
+			this.targetIds = targetIds;
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.j256.simpleclassreader.graph;
+
+/**
+ * Level that the class dependencies are grouped into when building a {@link DependencyGraph}.
+ *
+ * @author graywatson
+ */
+public enum GraphLevel {
+	/** each class is a node */
+	CLASS,
+	/** each package is a node, the default package has the name "" */
+	PACKAGE,
+	/** each jar or other container that the classes were added from is a node, other classes are ignored */
+	CONTAINER,
+	// end
+	;
+}
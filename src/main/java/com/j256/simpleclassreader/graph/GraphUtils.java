@@ -0,0 +1,33 @@
+package com.j256.simpleclassreader.graph;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Methods shared by the graph builders.
+ *
+ * @author graywatson
+ */
+class GraphUtils {
+
+	/**
+	 * Stop the executor and wait for the tasks in progress to finish so they do not change the builder after the add
+	 * method returns. If we are interrupted while waiting then we keep waiting and set the interrupt flag at the end.
+	 */
+	static void shutdownAndWait(ExecutorService executor) {
+		executor.shutdownNow();
+		boolean interrupted = false;
+		while (true) {
+			try {
+				if (executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+					break;
+				}
+			} catch (InterruptedException ie) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.j256.simpleclassreader.graph;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns int ids to names from a number of threads at the same time without locking.
+ *
+ * NOTE: if two threads add the same name at the same time then one of the ids is not used so there may be gaps.
+ *
+ * @author graywatson
+ */
+class NameIds {
+
+	private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+	private final AtomicInteger nextId = new AtomicInteger();
+
+	/**
+	 * Return the id of the name, assigning it a new one if it has not been seen before.
+	 */
+	public int intern(String name) {
+		Integer id = ids.get(name);
+		if (id != null) {
+			return id;
+		}
+		Integer newId = nextId.getAndIncrement();
+		id = ids.putIfAbsent(name, newId);
+		if (id == null) {
+			return newId;
+		} else {
+			return id;
+		}
+	}
+
+	/**
+	 * Return the names indexed by their ids with null in the gaps.
+	 */
+	public String[] toArray() {
+		String[] names = new String[nextId.get()];
+		for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+			if (entry.getValue() < names.length) {
+				names[entry.getValue()] = entry.getKey();
+			}
+		}
+		return names;
+	}
+}
@@ -0,0 +1,35 @@
+package com.j256.simpleclassreader.jfr;
+
+/**
+ * Where the {@link ParseEvents} are sent. The Java Flight Recorder implementation is in the Java 11 part of the
+ * multi-release jar.
+ * 
+ * @author graywatson
+ */
+interface ParseEventSink {
+
+	/**
+	 * Start a class parse and return the event or null if it is not enabled.
+	 */
+	Object beginClassParse();
+
+	/**
+	 * Finish and record the class parse event.
+	 */
+	void endClassParse(Object event, String className, long byteSize, int errorCount);
+
+	/**
+	 * Start a jar scan and return the event or null if it is not enabled.
+	 */
+	Object beginJarScan(String jarPath);
+
+	/**
+	 * Finish and record the jar scan event.
+	 */
+	void endJarScan(Object event, int entryCount, long byteCount);
+
+	/**
+	 * Record a lookup in a cache.
+	 */
+	void cacheAccess(String cacheName, boolean hit);
+}
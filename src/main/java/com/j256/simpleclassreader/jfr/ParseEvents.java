@@ -0,0 +1,92 @@
+package com.j256.simpleclassreader.jfr;
+
+/**
+ * Emits Java Flight Recorder events for the parsing of classes, the scanning of jars, and the hits and misses of the
+ * caches so that the costs show up by name in a recording instead of as anonymous frames. The events are defined in
+ * the Java 11 part of the multi-release jar. On older JVMs, or if the JFR module is not available, the methods do
+ * nothing. The begin methods return null if the event is not enabled in the recording so the caller can skip the work
+ * of filling in the event.
+ * 
+ * <p>
+ * The events are named com.j256.simpleclassreader.ClassParse, com.j256.simpleclassreader.JarScan, and
+ * com.j256.simpleclassreader.CacheAccess.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class ParseEvents {
+
+	private static final String JFR_SINK_CLASS = "com.j256.simpleclassreader.jfr.JfrParseEventSink";
+
+	private static final ParseEventSink sink = findSink();
+
+	/**
+	 * Return true if the JFR events are available in this JVM.
+	 */
+	public static boolean isAvailable() {
+		return (sink != null);
+	}
+
+	/**
+	 * Start the parse of a class and return the event or null if it is not enabled.
+	 */
+	public static Object beginClassParse() {
+		if (sink == null) {
+			return null;
+		} else {
+			return sink.beginClassParse();
+		}
+	}
+
+	/**
+	 * Finish the parse of a class started by {@link #beginClassParse()}. The class-name is null if it could not be
+	 * read. Does nothing if the event is null.
+	 */
+	public static void endClassParse(Object event, String className, long byteSize, int errorCount) {
+		if (event != null) {
+			sink.endClassParse(event, className, byteSize, errorCount);
+		}
+	}
+
+	/**
+	 * Start the scan of the classes in a jar and return the event or null if it is not enabled.
+	 */
+	public static Object beginJarScan(String jarPath) {
+		if (sink == null) {
+			return null;
+		} else {
+			return sink.beginJarScan(jarPath);
+		}
+	}
+
+	/**
+	 * Finish the scan of a jar started by {@link #beginJarScan(String)} with the number of class entries and their
+	 * bytes. Does nothing if the event is null.
+	 */
+	public static void endJarScan(Object event, int entryCount, long byteCount) {
+		if (event != null) {
+			sink.endJarScan(event, entryCount, byteCount);
+		}
+	}
+
+	/**
+	 * Record a hit or miss in the cache with the name.
+	 */
+	public static void cacheAccess(String cacheName, boolean hit) {
+		if (sink != null) {
+			sink.cacheAccess(cacheName, hit);
+		}
+	}
+
+	private static ParseEventSink findSink() {
+		try {
+			// NOTE: the class is only in the Java 11 part of the multi-release jar
+			return (ParseEventSink) Class.forName(JFR_SINK_CLASS).getDeclaredConstructor().newInstance();
+		} catch (Exception e) {
+			return null;
+		} catch (LinkageError le) {
+			// the jdk.jfr module is not available
+			return null;
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package com.j256.simpleclassreader.jmx;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.j256.simpleclassreader.ClassInfoCache;
+import com.j256.simpleclassreader.ClassReaderErrorType;
+import com.j256.simpleclassreader.ClassReaderOptions;
+import com.j256.simpleclassreader.ParseCache;
+import com.j256.simpleclassreader.ParseMetrics;
+import com.j256.simpleclassreader.graph.DependencyGraphBuilder;
+
+/**
+ * JMX bean which publishes the live statistics of a long running process that is reading classes so it can be watched
+ * with the usual JMX tools. The parse statistics come from the {@link ParseMetrics} which should be set on the
+ * {@link ClassReaderOptions} used to read the classes. The caches and the builder that is scanning the jars are
+ * optional.
+ * 
+ * <pre>
+ * ParseMetrics metrics = new ParseMetrics();
+ * options.setParseMetrics(metrics);
+ * ClassReaderStats stats = new ClassReaderStats(metrics);
+ * stats.setParseCache(parseCache);
+ * stats.register(&quot;indexer&quot;);
+ * </pre>
+ * 
+ * @author graywatson
+ */
+public class ClassReaderStats implements ClassReaderStatsMXBean {
+
+	public static final String OBJECT_NAME_PREFIX = "com.j256.simpleclassreader:type=ClassReaderStats,name=";
+
+	private static final double P99_PERCENT = 99;
+
+	private final ParseMetrics metrics;
+	private volatile ParseCache parseCache;
+	private volatile ClassInfoCache classInfoCache;
+	private volatile DependencyGraphBuilder graphBuilder;
+	private ObjectName registeredName;
+
+	public ClassReaderStats(ParseMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Set the parse-cache whose size and hit rate are published.
+	 */
+	public void setParseCache(ParseCache parseCache) {
+		this.parseCache = parseCache;
+	}
+
+	/**
+	 * Set the class-info cache whose size and hit rate are published.
+	 */
+	public void setClassInfoCache(ClassInfoCache classInfoCache) {
+		this.classInfoCache = classInfoCache;
+	}
+
+	/**
+	 * Set the builder whose pending jars are published as the scan queue depth.
+	 */
+	public void setDependencyGraphBuilder(DependencyGraphBuilder graphBuilder) {
+		this.graphBuilder = graphBuilder;
+	}
+
+	/**
+	 * Register the bean with the platform MBean server with the name at the end of {@link #OBJECT_NAME_PREFIX} and
+	 * return its object-name.
+	 */
+	public synchronized ObjectName register(String name) throws JMException {
+		if (registeredName != null) {
+			throw new IllegalStateException("stats are already registered as " + registeredName);
+		}
+		ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		registeredName = objectName;
+		return objectName;
+	}
+
+	/**
+	 * Unregister the bean from the platform MBean server if it was registered.
+	 */
+	public synchronized void unregister() throws JMException {
+		if (registeredName == null) {
+			return;
+		}
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		if (server.isRegistered(registeredName)) {
+			server.unregisterMBean(registeredName);
+		}
+		registeredName = null;
+	}
+
+	@Override
+	public long getClassesParsed() {
+		return metrics.getClassCount();
+	}
+
+	@Override
+	public long getBytesRead() {
+		return metrics.getClassBytes();
+	}
+
+	@Override
+	public long getParseErrorCount() {
+		return metrics.getErrorCount();
+	}
+
+	@Override
+	public Map<String, Long> getParseErrorCounts() {
+		Map<String, Long> counts = new TreeMap<>();
+		for (ClassReaderErrorType type : ClassReaderErrorType.values()) {
+			long count = metrics.getErrorCount(type);
+			if (count > 0) {
+				counts.put(type.name(), count);
+			}
+		}
+		return counts;
+	}
+
+	@Override
+	public long getAverageParseNanos() {
+		return metrics.getAverageClassNanos();
+	}
+
+	@Override
+	public long getP99ParseNanos() {
+		return metrics.getClassNanosPercentile(P99_PERCENT);
+	}
+
+	@Override
+	public int getParseCacheSize() {
+		ParseCache cache = parseCache;
+		if (cache == null) {
+			return 0;
+		} else {
+			return cache.size();
+		}
+	}
+
+	@Override
+	public double getParseCacheHitRate() {
+		ParseCache cache = parseCache;
+		if (cache == null) {
+			return 0;
+		} else {
+			return cache.getHitRate();
+		}
+	}
+
+	@Override
+	public int getClassInfoCacheSize() {
+		ClassInfoCache cache = classInfoCache;
+		if (cache == null) {
+			return 0;
+		} else {
+			return cache.size();
+		}
+	}
+
+	@Override
+	public double getClassInfoCacheHitRate() {
+		ClassInfoCache cache = classInfoCache;
+		if (cache == null) {
+			return 0;
+		} else {
+			return cache.getHitRate();
+		}
+	}
+
+	@Override
+	public int getScanQueueDepth() {
+		DependencyGraphBuilder builder = graphBuilder;
+		if (builder == null) {
+			return 0;
+		} else {
+			return builder.getPendingJarCount();
+		}
+	}
+
+	@Override
+	public void resetParseStats() {
+		metrics.reset();
+	}
+}
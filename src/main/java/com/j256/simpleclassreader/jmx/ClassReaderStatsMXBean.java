@@ -0,0 +1,72 @@
+package com.j256.simpleclassreader.jmx;
+
+import java.util.Map;
+
+/**
+ * JMX interface of the {@link ClassReaderStats}. The attributes that depend on a cache or builder that was not set on
+ * the stats return 0.
+ * 
+ * @author graywatson
+ */
+public interface ClassReaderStatsMXBean {
+
+	/**
+	 * Return the number of classes that have been read.
+	 */
+	public long getClassesParsed();
+
+	/**
+	 * Return the number of class bytes that have been read.
+	 */
+	public long getBytesRead();
+
+	/**
+	 * Return the number of parse errors of all types.
+	 */
+	public long getParseErrorCount();
+
+	/**
+	 * Return the number of parse errors of each type that has had any.
+	 */
+	public Map<String, Long> getParseErrorCounts();
+
+	/**
+	 * Return the average nanoseconds to read a class.
+	 */
+	public long getAverageParseNanos();
+
+	/**
+	 * Return the nanoseconds that 99% of the classes were read within.
+	 */
+	public long getP99ParseNanos();
+
+	/**
+	 * Return the number of classes in the parse-cache.
+	 */
+	public int getParseCacheSize();
+
+	/**
+	 * Return the fraction of the requests to the parse-cache that were hits.
+	 */
+	public double getParseCacheHitRate();
+
+	/**
+	 * Return the number of classes in the class-info cache.
+	 */
+	public int getClassInfoCacheSize();
+
+	/**
+	 * Return the fraction of the requests to the class-info cache that were hits.
+	 */
+	public double getClassInfoCacheHitRate();
+
+	/**
+	 * Return the number of jars that are waiting to be scanned or are being scanned.
+	 */
+	public int getScanQueueDepth();
+
+	/**
+	 * Set the parse counters back to 0. The cache counters are not changed.
+	 */
+	public void resetParseStats();
+}
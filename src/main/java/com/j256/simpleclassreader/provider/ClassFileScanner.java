@@ -0,0 +1,201 @@
+package com.j256.simpleclassreader.provider;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.ClassReaderOptions;
+import com.j256.simpleclassreader.Utils;
+import com.j256.simpleclassreader.jfr.ParseEvents;
+
+/**
+ * Reads the classes from a jar file or a class directory one at a time. Nothing is read ahead so a class is only parsed
+ * when {@link #next()} is called and the memory used does not depend on the number of classes. Entries under META-INF
+ * and module-info classes are skipped as are files that are not valid or are truncated classes.
+ *
+ * NOTE: This is not thread-safe.
+ *
+ * @author graywatson
+ */
+public abstract class ClassFileScanner implements Closeable {
+
+	private static final String CLASS_SUFFIX = ".class";
+	private static final String META_INF_PREFIX = "META-INF/";
+	private static final String MODULE_INFO_SUFFIX = "module-info.class";
+
+	final ClassReaderOptions options;
+	int skippedCount;
+
+	private ClassFileScanner(ClassReaderOptions options) {
+		this.options = options;
+	}
+
+	/**
+	 * Return a scanner of the classes in the jar file. The jar is kept open until {@link #close()} is called.
+	 */
+	public static ClassFileScanner forJar(File jarFile, ClassReaderOptions options) throws IOException {
+		return new JarScanner(jarFile, options);
+	}
+
+	/**
+	 * Return a scanner of the classes in the directory and its sub-directories such as target/classes.
+	 */
+	public static ClassFileScanner forDirectory(File dir, ClassReaderOptions options) {
+		return new DirectoryScanner(dir, options);
+	}
+
+	/**
+	 * Read and return the next class or null if there are no more classes.
+	 */
+	public abstract ClassInfo next() throws IOException;
+
+	/**
+	 * Return the number of class files that have been skipped because they were not valid or were truncated.
+	 */
+	public int getSkippedCount() {
+		return skippedCount;
+	}
+
+	private static boolean isClassPath(String path) {
+		return path.endsWith(CLASS_SUFFIX) && !path.startsWith(META_INF_PREFIX) && !path.endsWith(MODULE_INFO_SUFFIX);
+	}
+
+	/**
+	 * Scans the entries of a jar in the order they are in the jar.
+	 */
+	private static class JarScanner extends ClassFileScanner {
+
+		private final ZipFile zipFile;
+		private final Enumeration<? extends ZipEntry> entries;
+		private final Object event;
+		private int entryCount;
+		private long byteCount;
+
+		public JarScanner(File jarFile, ClassReaderOptions options) throws IOException {
+			super(options);
+			this.zipFile = new ZipFile(jarFile);
+			this.entries = zipFile.entries();
+			this.event = ParseEvents.beginJarScan(jarFile.getPath());
+		}
+
+		@Override
+		public ClassInfo next() throws IOException {
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				if (entry.isDirectory() || !isClassPath(entry.getName())) {
+					continue;
+				}
+				byte[] bytes;
+				try (InputStream input = zipFile.getInputStream(entry);) {
+					bytes = Utils.readAllBytes(input);
+				}
+				entryCount++;
+				byteCount += bytes.length;
+				ClassInfo classInfo;
+				try {
+					classInfo = ClassReader.readClass(bytes, options);
+				} catch (EOFException eofe) {
+					// NOTE: a truncated class is skipped like an invalid one instead of ending the scan
+					classInfo = null;
+				}
+				if (classInfo != null) {
+					return classInfo;
+				}
+				skippedCount++;
+			}
+			return null;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				zipFile.close();
+			} finally {
+				ParseEvents.endJarScan(event, entryCount, byteCount);
+			}
+		}
+	}
+
+	/**
+	 * Scans the files of a directory tree depth first in name order. Only the listing of the directories that have not
+	 * been finished are held in memory.
+	 */
+	private static class DirectoryScanner extends ClassFileScanner {
+
+		private final Deque<DirListing> listings = new ArrayDeque<>();
+
+		public DirectoryScanner(File dir, ClassReaderOptions options) {
+			super(options);
+			pushDir(dir, "");
+		}
+
+		@Override
+		public ClassInfo next() throws IOException {
+			while (!listings.isEmpty()) {
+				DirListing listing = listings.peek();
+				if (listing.index >= listing.files.length) {
+					listings.pop();
+					continue;
+				}
+				File file = listing.files[listing.index++];
+				String path = listing.prefix + file.getName();
+				if (file.isDirectory()) {
+					pushDir(file, path + "/");
+					continue;
+				}
+				if (!file.isFile() || !isClassPath(path)) {
+					continue;
+				}
+				ClassInfo classInfo;
+				try {
+					classInfo = ClassReader.readClass(file, options);
+				} catch (EOFException eofe) {
+					classInfo = null;
+				}
+				if (classInfo != null) {
+					return classInfo;
+				}
+				skippedCount++;
+			}
+			return null;
+		}
+
+		@Override
+		public void close() {
+			listings.clear();
+		}
+
+		private void pushDir(File dir, String prefix) {
+			File[] files = dir.listFiles();
+			if (files != null) {
+				Arrays.sort(files);
+				listings.push(new DirListing(files, prefix));
+			}
+		}
+	}
+
+	/**
+	 * Files of a directory and the index of the next one to look at.
+	 */
+	private static class DirListing {
+
+		final File[] files;
+		final String prefix;
+		int index;
+
+		public DirListing(File[] files, String prefix) {
+			this.files = files;
+			this.prefix = prefix;
+		}
+	}
+}
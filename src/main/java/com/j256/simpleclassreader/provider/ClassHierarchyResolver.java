@@ -0,0 +1,249 @@
+package com.j256.simpleclassreader.provider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.FieldInfo;
+import com.j256.simpleclassreader.MethodInfo;
+
+/**
+ * Resolves a class's super-class and interfaces through a {@link ClassInfoProvider} and builds the tables of the
+ * methods and fields that it declares and inherits. Each class is resolved once and remembered so shared super-types
+ * such as java.lang.Object or framework base classes are only read and resolved the first time they are seen.
+ *
+ * The resolver can be used by a number of threads at the same time. If threads ask for the same class, only one of
+ * them reads and resolves it and the others wait for its result. No lock is held while the provider is reading so the
+ * provider must be thread-safe.
+ *
+ * @author graywatson
+ */
+public class ClassHierarchyResolver {
+
+	private static final String STATIC_INITIALIZER_NAME = "<clinit>";
+
+	private final ClassInfoProvider provider;
+	/** resolved and resolving classes by name, null results are classes that the provider could not find */
+	private final ConcurrentHashMap<String, ResolveTask> resolvedClasses = new ConcurrentHashMap<>();
+	/** the resolve that each thread is waiting for which is used to find cycles in corrupted hierarchies */
+	private final Map<Thread, ResolveTask> waiting = new HashMap<>();
+
+	public ClassHierarchyResolver(ClassInfoProvider provider) {
+		this.provider = provider;
+	}
+
+	/**
+	 * Resolve the class with the name, such as "java.lang.String", or return null if it could not be found.
+	 */
+	public ResolvedClass resolve(String className) throws IOException {
+		ResolveTask task = resolvedClasses.get(className);
+		if (task == null) {
+			ResolveTask newTask = new ResolveTask(new ClassResolve(className));
+			task = resolvedClasses.putIfAbsent(className, newTask);
+			if (task == null) {
+				task = newTask;
+				try {
+					task.run();
+				} finally {
+					// don't remember failures so the class is read again next time
+					if (task.failed()) {
+						resolvedClasses.remove(className, task);
+					}
+				}
+			}
+		}
+		if (task.isDone()) {
+			return taskResult(task, className);
+		}
+		if (!startWaiting(task)) {
+			// the class is a super-type of itself in a corrupted hierarchy
+			return null;
+		}
+		try {
+			return taskResult(task, className);
+		} finally {
+			synchronized (waiting) {
+				waiting.remove(Thread.currentThread());
+			}
+		}
+	}
+
+	/**
+	 * Return the number of classes that have been resolved or looked for.
+	 */
+	public int getResolvedCount() {
+		return resolvedClasses.size();
+	}
+
+	private ResolvedClass taskResult(ResolveTask task, String className) throws IOException {
+		try {
+			return task.get();
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new IOException("interrupted waiting for class to be resolved: " + className, ie);
+		} catch (ExecutionException ee) {
+			Throwable cause = ee.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else {
+				throw new IOException("problems resolving class: " + className, cause);
+			}
+		}
+	}
+
+	/**
+	 * Record that the current thread is going to wait for the task unless the task's thread is, maybe through other
+	 * threads, waiting for us. That is only possible if a class is its own super-type. Returns false if we would wait
+	 * for ourselves.
+	 */
+	private boolean startWaiting(ResolveTask task) {
+		Thread current = Thread.currentThread();
+		synchronized (waiting) {
+			for (ResolveTask waitFor = task; waitFor != null && !waitFor.isDone();
+					waitFor = waiting.get(waitFor.thread)) {
+				if (waitFor.thread == current) {
+					return false;
+				}
+			}
+			waiting.put(current, task);
+			return true;
+		}
+	}
+
+	private ResolvedClass resolve(ClassInfo classInfo) throws IOException {
+		List<String> unresolvedTypes = new ArrayList<>();
+		ResolvedClass superClass = null;
+		if (classInfo.getSuperClassName() != null) {
+			superClass = resolveSuperType(classInfo.getSuperClassName(), unresolvedTypes);
+		}
+		List<ResolvedClass> interfaceList = new ArrayList<>();
+		for (String interfaceName : classInfo.getInterfaces()) {
+			ResolvedClass resolved = resolveSuperType(interfaceName, unresolvedTypes);
+			if (resolved != null) {
+				interfaceList.add(resolved);
+			}
+		}
+
+		// the members of this class win, then the super-class chain, then the interfaces
+		Map<String, MethodInfo> methodMap = new LinkedHashMap<>();
+		for (MethodInfo method : classInfo.getMethods()) {
+			// NOTE: we skip the methods whose descriptors could not be parsed since they can't be looked up
+			if (!STATIC_INITIALIZER_NAME.equals(method.getName()) && method.getMethodDescriptor() != null) {
+				methodMap.put(methodKey(method), method);
+			}
+		}
+		Map<String, FieldInfo> fieldMap = new LinkedHashMap<>();
+		for (FieldInfo field : classInfo.getFields()) {
+			fieldMap.put(field.getName(), field);
+		}
+		if (superClass != null) {
+			addInherited(superClass, false, methodMap, fieldMap);
+		}
+		for (ResolvedClass resolved : interfaceList) {
+			addInherited(resolved, true, methodMap, fieldMap);
+		}
+
+		ResolvedClass[] interfaces = interfaceList.toArray(new ResolvedClass[interfaceList.size()]);
+		return new ResolvedClass(classInfo, superClass, interfaces, methodMap, fieldMap, unresolvedTypes);
+	}
+
+	private ResolvedClass resolveSuperType(String className, List<String> unresolvedTypes) throws IOException {
+		ResolvedClass resolved = resolve(className);
+		if (resolved == null) {
+			unresolvedTypes.add(className);
+		} else {
+			for (String name : resolved.getUnresolvedTypes()) {
+				if (!unresolvedTypes.contains(name)) {
+					unresolvedTypes.add(name);
+				}
+			}
+		}
+		return resolved;
+	}
+
+	/**
+	 * Add the members from the super-type's tables that are inherited and not already overridden or hidden.
+	 */
+	private void addInherited(ResolvedClass superType, boolean isInterface, Map<String, MethodInfo> methodMap,
+			Map<String, FieldInfo> fieldMap) {
+		for (MethodInfo method : superType.getAllMethods()) {
+			// private methods are not inherited and neither are static methods of interfaces
+			if (method.isPrivate() || (isInterface && method.isStatic())) {
+				continue;
+			}
+			String key = methodKey(method);
+			if (!methodMap.containsKey(key)) {
+				methodMap.put(key, method);
+			}
+		}
+		for (FieldInfo field : superType.getAllFields()) {
+			if (!field.isPrivate() && !fieldMap.containsKey(field.getName())) {
+				fieldMap.put(field.getName(), field);
+			}
+		}
+	}
+
+	private static String methodKey(MethodInfo method) {
+		return methodKey(method.getName(), method.getMethodDescriptor().getDescriptorStr());
+	}
+
+	/**
+	 * Return the key of the method in the member tables. The descriptor starts with a '(' which can't be in the name.
+	 */
+	static String methodKey(String name, String descriptorStr) {
+		return name + descriptorStr;
+	}
+
+	/**
+	 * Resolve of a class which remembers the thread that created and runs it.
+	 */
+	private static class ResolveTask extends FutureTask<ResolvedClass> {
+
+		final Thread thread = Thread.currentThread();
+		private volatile boolean failed;
+
+		public ResolveTask(Callable<ResolvedClass> callable) {
+			super(callable);
+		}
+
+		@Override
+		protected void setException(Throwable throwable) {
+			failed = true;
+			super.setException(throwable);
+		}
+
+		public boolean failed() {
+			return failed;
+		}
+	}
+
+	/**
+	 * Read the class from the provider and resolve it.
+	 */
+	private class ClassResolve implements Callable<ResolvedClass> {
+
+		private final String className;
+
+		public ClassResolve(String className) {
+			this.className = className;
+		}
+
+		@Override
+		public ResolvedClass call() throws IOException {
+			ClassInfo classInfo = provider.getClassInfo(className);
+			if (classInfo == null) {
+				return null;
+			} else {
+				return resolve(classInfo);
+			}
+		}
+	}
+}
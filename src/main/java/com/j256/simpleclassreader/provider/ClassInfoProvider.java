@@ -0,0 +1,19 @@
+package com.j256.simpleclassreader.provider;
+
+import java.io.IOException;
+
+import com.j256.simpleclassreader.ClassInfo;
+
+/**
+ * Finds and reads classes by name.
+ *
+ * @author graywatson
+ */
+public interface ClassInfoProvider {
+
+	/**
+	 * Return the class with the name, such as "java.lang.String", or null if the provider does not have it or it is
+	 * not a valid class.
+	 */
+	public ClassInfo getClassInfo(String className) throws IOException;
+}
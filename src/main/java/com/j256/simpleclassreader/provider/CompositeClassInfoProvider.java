@@ -0,0 +1,31 @@
+package com.j256.simpleclassreader.provider;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.j256.simpleclassreader.ClassInfo;
+
+/**
+ * Provider which asks a list of providers in order, like a classpath, and returns the first class found.
+ *
+ * @author graywatson
+ */
+public class CompositeClassInfoProvider implements ClassInfoProvider {
+
+	private final ClassInfoProvider[] providers;
+
+	public CompositeClassInfoProvider(List<? extends ClassInfoProvider> providers) {
+		this.providers = providers.toArray(new ClassInfoProvider[providers.size()]);
+	}
+
+	@Override
+	public ClassInfo getClassInfo(String className) throws IOException {
+		for (ClassInfoProvider provider : providers) {
+			ClassInfo classInfo = provider.getClassInfo(className);
+			if (classInfo != null) {
+				return classInfo;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,43 @@
+package com.j256.simpleclassreader.provider;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.ClassReaderOptions;
+
+/**
+ * Provider which reads the classes from a class directory such as target/classes.
+ *
+ * @author graywatson
+ */
+public class DirectoryClassInfoProvider implements ClassInfoProvider {
+
+	private final File dir;
+	private final ClassReaderOptions options;
+
+	public DirectoryClassInfoProvider(File dir) {
+		this(dir, new ClassReaderOptions());
+	}
+
+	public DirectoryClassInfoProvider(File dir, ClassReaderOptions options) {
+		this.dir = dir;
+		this.options = options;
+	}
+
+	@Override
+	public ClassInfo getClassInfo(String className) throws IOException {
+		File file = new File(dir, ProviderUtils.classNameToPath(className));
+		if (file.isFile()) {
+			return ClassReader.readClass(file, options);
+		} else {
+			return null;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "directory " + dir;
+	}
+}
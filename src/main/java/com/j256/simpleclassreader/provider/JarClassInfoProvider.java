@@ -0,0 +1,58 @@
+package com.j256.simpleclassreader.provider;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.ClassReaderOptions;
+import com.j256.simpleclassreader.Utils;
+
+/**
+ * Provider which reads the classes from a jar file. The jar is kept open until {@link #close()} is called.
+ *
+ * @author graywatson
+ */
+public class JarClassInfoProvider implements ClassInfoProvider, Closeable {
+
+	private final File jarFile;
+	private final ZipFile zipFile;
+	private final ClassReaderOptions options;
+
+	public JarClassInfoProvider(File jarFile) throws IOException {
+		this(jarFile, new ClassReaderOptions());
+	}
+
+	public JarClassInfoProvider(File jarFile, ClassReaderOptions options) throws IOException {
+		this.jarFile = jarFile;
+		this.zipFile = new ZipFile(jarFile);
+		this.options = options;
+	}
+
+	@Override
+	public ClassInfo getClassInfo(String className) throws IOException {
+		ZipEntry entry = zipFile.getEntry(ProviderUtils.classNameToPath(className));
+		if (entry == null) {
+			return null;
+		}
+		byte[] bytes;
+		try (InputStream input = zipFile.getInputStream(entry);) {
+			bytes = Utils.readAllBytes(input);
+		}
+		return ClassReader.readClass(bytes, options);
+	}
+
+	@Override
+	public void close() throws IOException {
+		zipFile.close();
+	}
+
+	@Override
+	public String toString() {
+		return "jar " + jarFile;
+	}
+}
@@ -0,0 +1,70 @@
+package com.j256.simpleclassreader.provider;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.ProviderNotFoundException;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.ClassReaderOptions;
+
+/**
+ * Provider which reads the JDK classes from the jrt: file-system of the runtime image of the running JVM. This
+ * requires Java 9 or later.
+ *
+ * @author graywatson
+ */
+public class JrtClassInfoProvider implements ClassInfoProvider {
+
+	private final FileSystem fileSystem;
+	private final ClassReaderOptions options;
+
+	/**
+	 * @throws IOException
+	 *             If the jrt: file-system is not available because we are running on Java 8 or before.
+	 */
+	public JrtClassInfoProvider() throws IOException {
+		this(new ClassReaderOptions());
+	}
+
+	public JrtClassInfoProvider(ClassReaderOptions options) throws IOException {
+		try {
+			this.fileSystem = FileSystems.getFileSystem(URI.create("jrt:/"));
+		} catch (FileSystemNotFoundException | ProviderNotFoundException e) {
+			throw new IOException("jrt: file-system is not available", e);
+		}
+		this.options = options;
+	}
+
+	@Override
+	public ClassInfo getClassInfo(String className) throws IOException {
+		int index = className.lastIndexOf('.');
+		String packageName = (index < 0 ? "" : className.substring(0, index));
+		// the packages directory has a link for each module that has classes in the package
+		Path packageDir = fileSystem.getPath("/packages", packageName);
+		if (!Files.isDirectory(packageDir)) {
+			return null;
+		}
+		String classPath = ProviderUtils.classNameToPath(className);
+		try (DirectoryStream<Path> modules = Files.newDirectoryStream(packageDir);) {
+			for (Path module : modules) {
+				Path path = fileSystem.getPath("/modules", module.getFileName().toString(), classPath);
+				if (Files.isRegularFile(path)) {
+					return ClassReader.readClass(Files.readAllBytes(path), options);
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return "jrt";
+	}
+}
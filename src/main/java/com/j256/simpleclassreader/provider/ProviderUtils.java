@@ -0,0 +1,16 @@
+package com.j256.simpleclassreader.provider;
+
+/**
+ * Methods shared by the providers.
+ *
+ * @author graywatson
+ */
+class ProviderUtils {
+
+	/**
+	 * Convert from a class-name such as "java.lang.String" to its class file path "java/lang/String.class".
+	 */
+	static String classNameToPath(String className) {
+		return className.replace('.', '/') + ".class";
+	}
+}
@@ -0,0 +1,106 @@
+package com.j256.simpleclassreader.provider;
+
+import java.util.List;
+import java.util.Map;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.FieldInfo;
+import com.j256.simpleclassreader.MethodInfo;
+
+/**
+ * Class along with its resolved super-types and the tables of the members it declares and inherits. Created by
+ * {@link ClassHierarchyResolver}.
+ *
+ * @author graywatson
+ */
+public class ResolvedClass {
+
+	private final ClassInfo classInfo;
+	private final ResolvedClass superClass;
+	private final ResolvedClass[] interfaces;
+	private final MethodInfo[] allMethods;
+	private final FieldInfo[] allFields;
+	/** methods by name plus descriptor string */
+	private final Map<String, MethodInfo> methodMap;
+	/** fields by name */
+	private final Map<String, FieldInfo> fieldMap;
+	private final String[] unresolvedTypes;
+
+	ResolvedClass(ClassInfo classInfo, ResolvedClass superClass, ResolvedClass[] interfaces,
+			Map<String, MethodInfo> methodMap, Map<String, FieldInfo> fieldMap, List<String> unresolvedTypes) {
+		this.classInfo = classInfo;
+		this.superClass = superClass;
+		this.interfaces = interfaces;
+		this.allMethods = methodMap.values().toArray(new MethodInfo[methodMap.size()]);
+		this.allFields = fieldMap.values().toArray(new FieldInfo[fieldMap.size()]);
+		this.methodMap = methodMap;
+		this.fieldMap = fieldMap;
+		this.unresolvedTypes = unresolvedTypes.toArray(new String[unresolvedTypes.size()]);
+	}
+
+	/**
+	 * Return the class itself.
+	 */
+	public ClassInfo getClassInfo() {
+		return classInfo;
+	}
+
+	/**
+	 * Return the resolved super-class or null if none or it could not be found.
+	 */
+	public ResolvedClass getSuperClass() {
+		return superClass;
+	}
+
+	/**
+	 * Return the resolved interfaces that the class directly implements which could be found.
+	 */
+	public ResolvedClass[] getInterfaces() {
+		return interfaces;
+	}
+
+	/**
+	 * Return the methods that the class declares or inherits, not including constructors, static initializers, and
+	 * methods whose descriptors could not be parsed. A method that is overridden only appears once from the class
+	 * closest to this one.
+	 */
+	public MethodInfo[] getAllMethods() {
+		return allMethods;
+	}
+
+	/**
+	 * Return the fields that the class declares or inherits. A field that is hidden by a field of the same name only
+	 * appears once from the class closest to this one.
+	 */
+	public FieldInfo[] getAllFields() {
+		return allFields;
+	}
+
+	/**
+	 * Find the declared or inherited method with the name and descriptor string, such as "(Ljava/lang/String;)V", or
+	 * null if none.
+	 */
+	public MethodInfo findMethod(String name, String descriptorStr) {
+		return methodMap.get(ClassHierarchyResolver.methodKey(name, descriptorStr));
+	}
+
+	/**
+	 * Find the declared or inherited field with the name or null if none.
+	 */
+	public FieldInfo findField(String name) {
+		return fieldMap.get(name);
+	}
+
+	/**
+	 * Return the names of the super-types, here or further up the hierarchy, that could not be found by the provider.
+	 * If not empty then the member tables are missing the members of those types.
+	 */
+	public String[] getUnresolvedTypes() {
+		return unresolvedTypes;
+	}
+
+	@Override
+	public String toString() {
+		return "resolved " + classInfo.getClassName();
+	}
+}
@@ -0,0 +1,64 @@
+package com.j256.simpleclassreader.store;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The data of a store which is split into chunks of the same power-of-2 size so that it can grow without copying what
+ * has been written and past the 2GB limit of a single {@link ByteBuffer}. The records are addressed by an int
+ * reference which is the number of the 4 byte word from the start of the data: the high bits are the chunk and the low
+ * bits the word in the chunk. The records are word aligned and never span chunks.
+ *
+ * NOTE: only the last chunk may be smaller than the chunk size.
+ *
+ * @author graywatson
+ */
+class ChunkedBuffer {
+
+	private final ByteBuffer[] chunks;
+	/** number of bits of the reference that are the word in the chunk */
+	private final int wordBits;
+	private final int wordMask;
+
+	ChunkedBuffer(ByteBuffer[] chunks, int chunkShift) {
+		this.chunks = chunks;
+		this.wordBits = chunkShift - 2;
+		this.wordMask = (1 << wordBits) - 1;
+	}
+
+	/**
+	 * Return the reference of the word at the position in the chunk. The position must be word aligned.
+	 */
+	static int toRef(int chunkNum, int position, int chunkShift) {
+		return (chunkNum << (chunkShift - 2)) | (position >> 2);
+	}
+
+	/**
+	 * Return the largest number of chunks whose references plus 1 still fit in a positive int.
+	 */
+	static int maxChunks(int chunkShift) {
+		return Integer.MAX_VALUE >> (chunkShift - 2);
+	}
+
+	/**
+	 * Return the int at the offset in bytes from the record at the reference.
+	 */
+	int getInt(int ref, int offset) {
+		return chunks[ref >>> wordBits].getInt(((ref & wordMask) << 2) + offset);
+	}
+
+	/**
+	 * Return the byte at the offset in bytes from the record at the reference.
+	 */
+	byte get(int ref, int offset) {
+		return chunks[ref >>> wordBits].get(((ref & wordMask) << 2) + offset);
+	}
+
+	/**
+	 * Copy the bytes at the offset from the record at the reference into the array.
+	 */
+	void get(int ref, int offset, byte[] bytes) {
+		ByteBuffer dup = chunks[ref >>> wordBits].duplicate();
+		dup.position(((ref & wordMask) << 2) + offset);
+		dup.get(bytes);
+	}
+}
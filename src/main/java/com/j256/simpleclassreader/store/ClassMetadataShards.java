@@ -0,0 +1,199 @@
+package com.j256.simpleclassreader.store;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.Utils;
+import com.j256.simpleclassreader.jfr.ParseEvents;
+
+/**
+ * Builds and caches one immutable class metadata shard per jar or class directory. Shards are written to a cache
+ * directory in the {@link MappedClassMetadata} format and are named by the hash of the content of the jar or directory
+ * so when one jar of a classpath changes, only that jar is read with {@link ClassReader} again. The shards are then
+ * combined into a classpath view with {@link MergedClassMetadata}.
+ *
+ * @author graywatson
+ */
+public class ClassMetadataShards {
+
+	private static final String CLASS_SUFFIX = ".class";
+	private static final String SHARD_SUFFIX = ".scm";
+	private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+	private final File cacheDir;
+
+	/**
+	 * Create the shards in the cache directory which is created if necessary.
+	 */
+	public ClassMetadataShards(File cacheDir) throws IOException {
+		this.cacheDir = cacheDir;
+		if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+			throw new IOException("could not create shard cache directory: " + cacheDir);
+		}
+	}
+
+	/**
+	 * Load the shard of the jar or class directory from the cache, reading the classes and writing the shard if it is
+	 * not there.
+	 */
+	public MappedClassMetadata loadShard(File jarOrDir) throws IOException {
+		File shardFile = new File(cacheDir, contentHash(jarOrDir) + SHARD_SUFFIX);
+		if (!shardFile.exists()) {
+			ClassMetadataStore store = new ClassMetadataStore();
+			if (jarOrDir.isDirectory()) {
+				addDirClasses(store, jarOrDir);
+			} else {
+				addJarClasses(store, jarOrDir);
+			}
+			// write to a temporary file and move it into place so readers never see a partial shard
+			File tmpFile = File.createTempFile(shardFile.getName(), ".tmp", cacheDir);
+			try {
+				store.writeTo(tmpFile);
+				Files.move(tmpFile.toPath(), shardFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				tmpFile.delete();
+			}
+		}
+		return MappedClassMetadata.open(shardFile);
+	}
+
+	/**
+	 * Load the shards of the jars and class directories and merge them into one classpath view.
+	 */
+	public MergedClassMetadata loadClasspath(List<File> classpath) throws IOException {
+		List<MappedClassMetadata> shards = new ArrayList<>(classpath.size());
+		for (File jarOrDir : classpath) {
+			shards.add(loadShard(jarOrDir));
+		}
+		return new MergedClassMetadata(shards);
+	}
+
+	/**
+	 * Return the directory that the shards are stored in.
+	 */
+	public File getCacheDir() {
+		return cacheDir;
+	}
+
+	/**
+	 * Return the hex hash of the bytes of the jar or of the names and bytes of the class files in the directory. The
+	 * file version is part of the hash so the shards are rebuilt when the format changes.
+	 */
+	private static String contentHash(File jarOrDir) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException nsae) {
+			throw new IOException("SHA-256 digest is not available", nsae);
+		}
+		digest.update(ByteBuffer.allocate(4).putInt(ClassMetadataStore.FILE_VERSION).array());
+		if (jarOrDir.isDirectory()) {
+			List<String> paths = new ArrayList<>();
+			findClassFiles(jarOrDir, "", paths);
+			for (String path : paths) {
+				digest.update(path.getBytes(StandardCharsets.UTF_8));
+				digest.update(Files.readAllBytes(new File(jarOrDir, path).toPath()));
+			}
+		} else {
+			byte[] buf = new byte[8192];
+			try (InputStream input = new FileInputStream(jarOrDir);) {
+				while (true) {
+					int num = input.read(buf);
+					if (num < 0) {
+						break;
+					}
+					digest.update(buf, 0, num);
+				}
+			}
+		}
+		byte[] hash = digest.digest();
+		char[] hex = new char[hash.length * 2];
+		for (int i = 0; i < hash.length; i++) {
+			hex[i * 2] = HEX_CHARS[(hash[i] >> 4) & 0xF];
+			hex[i * 2 + 1] = HEX_CHARS[hash[i] & 0xF];
+		}
+		return new String(hex);
+	}
+
+	private static void addJarClasses(ClassMetadataStore store, File jarFile) throws IOException {
+		Object event = ParseEvents.beginJarScan(jarFile.getPath());
+		int entryCount = 0;
+		long byteCount = 0;
+		try (ZipFile zipFile = new ZipFile(jarFile);) {
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				if (entry.isDirectory() || !entry.getName().endsWith(CLASS_SUFFIX)) {
+					continue;
+				}
+				byte[] bytes;
+				try (InputStream input = zipFile.getInputStream(entry);) {
+					bytes = Utils.readAllBytes(input);
+				}
+				addClass(store, bytes);
+				entryCount++;
+				byteCount += bytes.length;
+			}
+		} finally {
+			ParseEvents.endJarScan(event, entryCount, byteCount);
+		}
+	}
+
+	private static void addDirClasses(ClassMetadataStore store, File dir) throws IOException {
+		List<String> paths = new ArrayList<>();
+		findClassFiles(dir, "", paths);
+		for (String path : paths) {
+			addClass(store, Files.readAllBytes(new File(dir, path).toPath()));
+		}
+	}
+
+	private static void addClass(ClassMetadataStore store, byte[] bytes) {
+		ClassInfo classInfo;
+		try {
+			classInfo = ClassReader.readClass(bytes);
+		} catch (IOException ioe) {
+			// NOTE: a truncated class file throws but we skip it like the other invalid classes
+			return;
+		}
+		// NOTE: we skip the files that are not valid classes
+		if (classInfo != null && classInfo.getClassName() != null) {
+			store.add(classInfo);
+		}
+	}
+
+	/**
+	 * Find the class files under the directory and add their paths, relative to the top directory, in sorted order.
+	 */
+	private static void findClassFiles(File dir, String prefix, List<String> paths) throws IOException {
+		String[] names = dir.list();
+		if (names == null) {
+			throw new IOException("could not list directory: " + dir);
+		}
+		Arrays.sort(names);
+		for (String name : names) {
+			File file = new File(dir, name);
+			if (file.isDirectory()) {
+				findClassFiles(file, prefix + name + "/", paths);
+			} else if (name.endsWith(CLASS_SUFFIX)) {
+				paths.add(prefix + name);
+			}
+		}
+	}
+}
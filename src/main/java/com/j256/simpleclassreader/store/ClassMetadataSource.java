@@ -0,0 +1,27 @@
+package com.j256.simpleclassreader.store;
+
+/**
+ * Source of stored class metadata that can be looked up by class-id or by class-name.
+ *
+ * @author graywatson
+ */
+public interface ClassMetadataSource {
+
+	/**
+	 * Return the number of classes in the source. The class-ids go from 0 to count - 1.
+	 */
+	public int getClassCount();
+
+	/**
+	 * Return a view of the class with the class-id.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the class-id is not valid.
+	 */
+	public StoredClass getStoredClass(int classId);
+
+	/**
+	 * Find the class with the name, such as "java.lang.String", or null if not in the source.
+	 */
+	public StoredClass findClass(String className);
+}
@@ -0,0 +1,402 @@
+package com.j256.simpleclassreader.store;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.FieldInfo;
+import com.j256.simpleclassreader.MethodInfo;
+import com.j256.simpleclassreader.attribute.AnnotationInfo;
+
+/**
+ * Store of the metadata from a large number of classes which is written into off-heap direct {@link ByteBuffer} chunks
+ * instead of being held as {@link ClassInfo} object graphs. Each class is a record that is addressed by an int
+ * reference into the chunks and is read through the {@link StoredClass}, {@link StoredField}, and {@link StoredMethod}
+ * views which decode from the chunks on each call. The garbage collector only sees the large chunks and a few int
+ * arrays instead of millions of small objects. The store grows by adding chunks so what has been written is never
+ * copied and it can hold up to 8GB.
+ *
+ * The store holds the header, interface, field, method, and runtime annotation type information of the classes but not
+ * the code or the annotation values. Strings are de-duplicated as they are written by comparing against the bytes
+ * already in the chunks.
+ *
+ * @author graywatson
+ */
+public class ClassMetadataStore implements ClassMetadataSource {
+
+	private static final int DEFAULT_INITIAL_CAPACITY = 1024 * 1024;
+	/** 4MB chunks which are larger than the biggest possible class record */
+	static final int DEFAULT_CHUNK_SHIFT = 22;
+
+	/*
+	 * File layout, all ints unless noted: magic, version, class-count, name-table-size, chunk-shift, data-size as a
+	 * long, class-addresses[class-count], name-table[name-table-size], data bytes[data-size]. The data is the chunks
+	 * one after the other with all but the last padded to the chunk size so the byte offset of a reference is 4 times
+	 * the reference.
+	 */
+	static final int FILE_MAGIC = 0x53434D53;
+	static final int FILE_VERSION = 2;
+	static final int FILE_HEADER_SIZE = 28;
+
+	/** reference which indicates a missing string or annotation list */
+	static final int NULL_REF = -1;
+	/** bit in the flags field of the records when the class or member is marked with the Deprecated attribute */
+	static final int FLAG_DEPRECATED = 1;
+
+	/*
+	 * Class record layout, all ints:
+	 *
+	 * access-flags, major-version << 16 | minor-version, name-ref, super-name-ref, annotations-ref, flags,
+	 * interface-count, field-count, method-count, interface-name-refs[interface-count],
+	 * fields[field-count], methods[method-count]
+	 */
+	static final int CLASS_ACCESS_FLAGS_OFFSET = 0;
+	static final int CLASS_VERSION_OFFSET = 4;
+	static final int CLASS_NAME_OFFSET = 8;
+	static final int CLASS_SUPER_NAME_OFFSET = 12;
+	static final int CLASS_ANNOTATIONS_OFFSET = 16;
+	static final int CLASS_FLAGS_OFFSET = 20;
+	static final int CLASS_INTERFACE_COUNT_OFFSET = 24;
+	static final int CLASS_FIELD_COUNT_OFFSET = 28;
+	static final int CLASS_METHOD_COUNT_OFFSET = 32;
+	static final int CLASS_HEADER_SIZE = 36;
+
+	/*
+	 * Member (field and method) entry layout, all ints: access-flags, name-ref, descriptor-ref, annotations-ref, flags
+	 */
+	static final int MEMBER_ACCESS_FLAGS_OFFSET = 0;
+	static final int MEMBER_NAME_OFFSET = 4;
+	static final int MEMBER_DESCRIPTOR_OFFSET = 8;
+	static final int MEMBER_ANNOTATIONS_OFFSET = 12;
+	static final int MEMBER_FLAGS_OFFSET = 16;
+	static final int MEMBER_SIZE = 20;
+	private static final int MEMBER_INTS = MEMBER_SIZE / 4;
+
+	private final int chunkShift;
+	private final int chunkSize;
+	private ByteBuffer[] chunks = new ByteBuffer[16];
+	private int chunkCount;
+	/** the last chunk which is being written */
+	private ByteBuffer current;
+	/** view of the chunks which is replaced when a chunk is added or grown */
+	private ChunkedBuffer data;
+	/** open addressing hash table of string-ref + 1 by string hash, 0 is empty */
+	private int[] stringTable = new int[4096];
+	/** hash-code of the string in the same slot of the string table so we rarely have to compare the bytes */
+	private int[] stringHashes = new int[4096];
+	private int stringCount;
+	/** address of each of the class records by class-id */
+	private int[] classAddresses = new int[1024];
+	private int classCount;
+	/** open addressing hash table of class-id + 1 by class-name hash, 0 is empty */
+	private int[] nameTable = new int[2048];
+
+	public ClassMetadataStore() {
+		this(DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Create a store with the initial capacity in bytes. The first chunk is grown up to the chunk size and then more
+	 * chunks are added as needed.
+	 */
+	public ClassMetadataStore(int initialCapacity) {
+		this(initialCapacity, DEFAULT_CHUNK_SHIFT);
+	}
+
+	/**
+	 * Create a store whose chunks are 2 to the chunk-shift bytes. Used by the tests to make a lot of small chunks.
+	 */
+	ClassMetadataStore(int initialCapacity, int chunkShift) {
+		if (initialCapacity <= 0) {
+			throw new IllegalArgumentException("initial capacity should be positive: " + initialCapacity);
+		}
+		this.chunkShift = chunkShift;
+		this.chunkSize = 1 << chunkShift;
+		addChunk(ByteBuffer.allocateDirect(Math.min((initialCapacity + 3) & ~3, chunkSize)));
+	}
+
+	/**
+	 * Write the metadata of the class into the store and return its class-id.
+	 */
+	public synchronized int add(ClassInfo classInfo) {
+		// write the strings and annotation lists before the record so the record is contiguous
+		int nameRef = writeString(classInfo.getClassName());
+		int superNameRef = writeString(classInfo.getSuperClassName());
+		int annotationsRef = writeAnnotations(classInfo.getRuntimeAnnotations());
+		String[] interfaces = classInfo.getInterfaces();
+		int[] interfaceRefs = new int[interfaces.length];
+		for (int i = 0; i < interfaces.length; i++) {
+			interfaceRefs[i] = writeString(interfaces[i]);
+		}
+		FieldInfo[] fields = classInfo.getFields();
+		int[] fieldEntries = new int[fields.length * MEMBER_INTS];
+		for (int i = 0; i < fields.length; i++) {
+			FieldInfo field = fields[i];
+			String descriptorStr = null;
+			if (field.getDataDescriptor() != null) {
+				descriptorStr = field.getDataDescriptor().getDescriptorStr();
+			}
+			fillMember(fieldEntries, i, field.getAccessFlagsValue(), field.getName(), descriptorStr,
+					field.getRuntimeAnnotations(), field.isDeprecated());
+		}
+		MethodInfo[] constructors = classInfo.getConstructors();
+		MethodInfo[] methods = classInfo.getMethods();
+		int methodCount = constructors.length + methods.length;
+		int[] methodEntries = new int[methodCount * MEMBER_INTS];
+		for (int i = 0; i < methodCount; i++) {
+			MethodInfo method = (i < constructors.length ? constructors[i] : methods[i - constructors.length]);
+			String descriptorStr = null;
+			if (method.getMethodDescriptor() != null) {
+				descriptorStr = method.getMethodDescriptor().getDescriptorStr();
+			}
+			fillMember(methodEntries, i, method.getAccessFlagsValue(), method.getName(), descriptorStr,
+					method.getRuntimeAnnotations(), method.isDeprecated());
+		}
+
+		int size = CLASS_HEADER_SIZE + interfaceRefs.length * 4 + (fields.length + methodCount) * MEMBER_SIZE;
+		int address = reserve(size);
+		current.putInt(classInfo.getAccessFlagsValue());
+		current.putInt((classInfo.getMajorVersion() << 16) | classInfo.getMinorVersion());
+		current.putInt(nameRef);
+		current.putInt(superNameRef);
+		current.putInt(annotationsRef);
+		current.putInt(classInfo.isDeprecated() ? FLAG_DEPRECATED : 0);
+		current.putInt(interfaceRefs.length);
+		current.putInt(fields.length);
+		current.putInt(methodCount);
+		for (int ref : interfaceRefs) {
+			current.putInt(ref);
+		}
+		for (int value : fieldEntries) {
+			current.putInt(value);
+		}
+		for (int value : methodEntries) {
+			current.putInt(value);
+		}
+
+		if (classCount == classAddresses.length) {
+			classAddresses = Arrays.copyOf(classAddresses, classAddresses.length * 2);
+		}
+		// keep the name table at most half full
+		if ((classCount + 1) * 2 > nameTable.length) {
+			rehash(nameTable.length * 2);
+		}
+		int classId = classCount++;
+		classAddresses[classId] = address;
+		insertName(nameTable, classInfo.getClassName(), classId);
+		return classId;
+	}
+
+	@Override
+	public synchronized int getClassCount() {
+		return classCount;
+	}
+
+	/**
+	 * Return a view of the class with the class-id returned by {@link #add(ClassInfo)}.
+	 */
+	@Override
+	public synchronized StoredClass getStoredClass(int classId) {
+		if (classId < 0 || classId >= classCount) {
+			throw new IllegalArgumentException("invalid class-id: " + classId);
+		}
+		return new StoredClass(data, classAddresses[classId]);
+	}
+
+	@Override
+	public synchronized StoredClass findClass(String className) {
+		int classId =
+				StoreUtils.findClassId(data, IntBuffer.wrap(classAddresses), IntBuffer.wrap(nameTable), className);
+		if (classId < 0) {
+			return null;
+		} else {
+			return new StoredClass(data, classAddresses[classId]);
+		}
+	}
+
+	/**
+	 * Return the number of bytes that have been written to the store including the unused ends of the full chunks.
+	 */
+	public synchronized long getSizeBytes() {
+		return (long) (chunkCount - 1) * chunkSize + current.position();
+	}
+
+	/**
+	 * Write the store to a file which can be opened with {@link MappedClassMetadata#open(File)} and queried in place.
+	 * The class-ids in the file are the same as in the store.
+	 */
+	public synchronized void writeTo(File file) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE + (classCount + nameTable.length) * 4);
+		header.putInt(FILE_MAGIC);
+		header.putInt(FILE_VERSION);
+		header.putInt(classCount);
+		header.putInt(nameTable.length);
+		header.putInt(chunkShift);
+		header.putLong(getSizeBytes());
+		header.asIntBuffer().put(classAddresses, 0, classCount).put(nameTable);
+		header.clear();
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel();) {
+			channel.truncate(0);
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			for (int i = 0; i < chunkCount; i++) {
+				ByteBuffer chunk = chunks[i].duplicate();
+				// all but the last chunk are written in full, the unused end is zeros
+				if (i == chunkCount - 1) {
+					chunk.flip();
+				} else {
+					chunk.clear();
+				}
+				while (chunk.hasRemaining()) {
+					channel.write(chunk);
+				}
+			}
+		}
+	}
+
+	private void rehash(int newSize) {
+		int[] newTable = new int[newSize];
+		for (int classId = 0; classId < classCount; classId++) {
+			int nameRef = data.getInt(classAddresses[classId], CLASS_NAME_OFFSET);
+			insertName(newTable, StoreUtils.readString(data, nameRef), classId);
+		}
+		nameTable = newTable;
+	}
+
+	private static void insertName(int[] table, String className, int classId) {
+		if (className == null) {
+			return;
+		}
+		int mask = table.length - 1;
+		int slot = StoreUtils.spread(className.hashCode()) & mask;
+		while (table[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = classId + 1;
+	}
+
+	private void fillMember(int[] entries, int memberNum, int accessFlags, String name, String descriptorStr,
+			AnnotationInfo[] annotations, boolean deprecated) {
+		int index = memberNum * MEMBER_INTS;
+		entries[index++] = accessFlags;
+		entries[index++] = writeString(name);
+		entries[index++] = writeString(descriptorStr);
+		entries[index++] = writeAnnotations(annotations);
+		entries[index] = (deprecated ? FLAG_DEPRECATED : 0);
+	}
+
+	/**
+	 * Write a string as a length and UTF-8 bytes unless we have already written it and return its reference.
+	 */
+	private int writeString(String str) {
+		if (str == null) {
+			return NULL_REF;
+		}
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		int hash = str.hashCode();
+		int mask = stringTable.length - 1;
+		int slot = StoreUtils.spread(hash) & mask;
+		for (; stringTable[slot] != 0; slot = (slot + 1) & mask) {
+			int ref = stringTable[slot] - 1;
+			if (stringHashes[slot] == hash && StoreUtils.stringEquals(data, ref, bytes)) {
+				return ref;
+			}
+		}
+		int ref = reserve(4 + bytes.length);
+		current.putInt(bytes.length);
+		current.put(bytes);
+		// keep the records word aligned
+		current.position((current.position() + 3) & ~3);
+		stringTable[slot] = ref + 1;
+		stringHashes[slot] = hash;
+		stringCount++;
+		// keep the string table at most half full
+		if (stringCount * 2 > stringTable.length) {
+			rehashStrings(stringTable.length * 2);
+		}
+		return ref;
+	}
+
+	private void rehashStrings(int newSize) {
+		int[] newTable = new int[newSize];
+		int[] newHashes = new int[newSize];
+		int mask = newSize - 1;
+		for (int i = 0; i < stringTable.length; i++) {
+			if (stringTable[i] != 0) {
+				int slot = StoreUtils.spread(stringHashes[i]) & mask;
+				while (newTable[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				newTable[slot] = stringTable[i];
+				newHashes[slot] = stringHashes[i];
+			}
+		}
+		stringTable = newTable;
+		stringHashes = newHashes;
+	}
+
+	/**
+	 * Write the list of annotation types as a count and string references and return its reference.
+	 */
+	private int writeAnnotations(AnnotationInfo[] annotations) {
+		if (annotations == null || annotations.length == 0) {
+			return NULL_REF;
+		}
+		int[] typeRefs = new int[annotations.length];
+		for (int i = 0; i < annotations.length; i++) {
+			typeRefs[i] = writeString(annotations[i].getType());
+		}
+		int address = reserve(4 + typeRefs.length * 4);
+		current.putInt(typeRefs.length);
+		for (int ref : typeRefs) {
+			current.putInt(ref);
+		}
+		return address;
+	}
+
+	/**
+	 * Make sure that there is room for size bytes in the current chunk, growing the first chunk or adding another if
+	 * necessary, and return the reference where they should be written. The room is rounded up to a whole word.
+	 */
+	private int reserve(int size) {
+		int wordsSize = (size + 3) & ~3;
+		if (current.remaining() < wordsSize) {
+			if (wordsSize > chunkSize) {
+				throw new IllegalStateException(
+						"class metadata record of " + size + " bytes is larger than the chunk size " + chunkSize);
+			}
+			if (current.capacity() < chunkSize) {
+				// only the first chunk is smaller than the chunk size and it is copied as it grows
+				long newCapacity = Math.max((long) current.capacity() * 2, current.position() + wordsSize);
+				ByteBuffer newChunk = ByteBuffer.allocateDirect((int) Math.min(newCapacity, chunkSize));
+				current.flip();
+				newChunk.put(current);
+				chunkCount--;
+				addChunk(newChunk);
+			}
+			if (current.remaining() < wordsSize) {
+				if (chunkCount >= ChunkedBuffer.maxChunks(chunkShift)) {
+					throw new IllegalStateException("class metadata store is full at " + getSizeBytes() + " bytes");
+				}
+				addChunk(ByteBuffer.allocateDirect(chunkSize));
+			}
+		}
+		return ChunkedBuffer.toRef(chunkCount - 1, current.position(), chunkShift);
+	}
+
+	private void addChunk(ByteBuffer chunk) {
+		if (chunkCount == chunks.length) {
+			chunks = Arrays.copyOf(chunks, chunks.length * 2);
+		}
+		chunks[chunkCount++] = chunk;
+		current = chunk;
+		data = new ChunkedBuffer(Arrays.copyOf(chunks, chunkCount), chunkShift);
+	}
+}
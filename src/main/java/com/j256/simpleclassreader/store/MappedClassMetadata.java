@@ -0,0 +1,127 @@
+package com.j256.simpleclassreader.store;
+
+import static com.j256.simpleclassreader.store.ClassMetadataStore.FILE_HEADER_SIZE;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.FILE_MAGIC;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.FILE_VERSION;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * Class metadata that was written by {@link ClassMetadataStore#writeTo(File)} and is memory-mapped read-only and
+ * queried in place. Opening only reads the header and maps the data chunks so there is no deserialization, and only
+ * the pages touched by the queries are read from disk. Since the mapping is read-only, a number of JVMs on the same
+ * host that open the same file share the pages through the operating system page cache.
+ *
+ * NOTE: the file must not be changed while it is mapped. Write a new file and rename it over the old one instead. The
+ * mapping is released when this object is garbage collected.
+ *
+ * @author graywatson
+ */
+public class MappedClassMetadata implements ClassMetadataSource {
+
+	private final File file;
+	private final ChunkedBuffer data;
+	private final IntBuffer classAddresses;
+	private final IntBuffer nameTable;
+
+	private MappedClassMetadata(File file, ChunkedBuffer data, IntBuffer classAddresses, IntBuffer nameTable) {
+		this.file = file;
+		this.data = data;
+		this.classAddresses = classAddresses;
+		this.nameTable = nameTable;
+	}
+
+	/**
+	 * Map the file read-only.
+	 * 
+	 * @throws IOException
+	 *             If the file could not be mapped or is not a class metadata file.
+	 */
+	public static MappedClassMetadata open(File file) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel();) {
+			long fileSize = channel.size();
+			if (fileSize < FILE_HEADER_SIZE) {
+				throw new IOException("not a class metadata file: " + file);
+			}
+			MappedByteBuffer header = channel.map(MapMode.READ_ONLY, 0, FILE_HEADER_SIZE);
+			if (header.getInt(0) != FILE_MAGIC) {
+				throw new IOException("not a class metadata file: " + file);
+			}
+			int version = header.getInt(4);
+			if (version != FILE_VERSION) {
+				throw new IOException("unknown class metadata file version " + version + ": " + file);
+			}
+			int classCount = header.getInt(8);
+			int tableSize = header.getInt(12);
+			int chunkShift = header.getInt(16);
+			long dataSize = header.getLong(20);
+			long tablesEnd = FILE_HEADER_SIZE + ((long) classCount + tableSize) * 4;
+			if (classCount < 0 || tableSize <= 0 || Integer.bitCount(tableSize) != 1 || chunkShift < 3
+					|| chunkShift > 30 || dataSize < 0 || tablesEnd > Integer.MAX_VALUE
+					|| tablesEnd + dataSize != fileSize) {
+				throw new IOException("class metadata file is corrupted: " + file);
+			}
+
+			ByteBuffer tables = channel.map(MapMode.READ_ONLY, FILE_HEADER_SIZE, tablesEnd - FILE_HEADER_SIZE);
+			IntBuffer classAddresses = slice(tables, 0, classCount * 4).asIntBuffer();
+			IntBuffer nameTable = slice(tables, classCount * 4, tableSize * 4).asIntBuffer();
+			// map the data in the same chunks as the store so the references work the same way
+			long chunkSize = 1L << chunkShift;
+			ByteBuffer[] chunks = new ByteBuffer[(int) ((dataSize + chunkSize - 1) / chunkSize)];
+			for (int i = 0; i < chunks.length; i++) {
+				long offset = i * chunkSize;
+				chunks[i] = channel.map(MapMode.READ_ONLY, tablesEnd + offset, Math.min(chunkSize, dataSize - offset));
+			}
+			return new MappedClassMetadata(file, new ChunkedBuffer(chunks, chunkShift), classAddresses, nameTable);
+		}
+	}
+
+	@Override
+	public int getClassCount() {
+		return classAddresses.limit();
+	}
+
+	@Override
+	public StoredClass getStoredClass(int classId) {
+		if (classId < 0 || classId >= classAddresses.limit()) {
+			throw new IllegalArgumentException("invalid class-id: " + classId);
+		}
+		return new StoredClass(data, classAddresses.get(classId));
+	}
+
+	@Override
+	public StoredClass findClass(String className) {
+		int classId = StoreUtils.findClassId(data, classAddresses, nameTable, className);
+		if (classId < 0) {
+			return null;
+		} else {
+			return new StoredClass(data, classAddresses.get(classId));
+		}
+	}
+
+	/**
+	 * Return the file that is mapped.
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	@Override
+	public String toString() {
+		return "mapped " + file;
+	}
+
+	private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+		ByteBuffer dup = buffer.duplicate();
+		dup.position(offset);
+		dup.limit(offset + length);
+		return dup.slice();
+	}
+}
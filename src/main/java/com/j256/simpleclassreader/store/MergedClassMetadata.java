@@ -0,0 +1,71 @@
+package com.j256.simpleclassreader.store;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classpath view over a number of class metadata sources, such as the shards from {@link ClassMetadataShards}, which
+ * are searched in order so the first class with a name wins like on a classpath. The class-ids of the sources are
+ * numbered one after the other so the second source's class-ids start at the class-count of the first.
+ *
+ * @author graywatson
+ */
+public class MergedClassMetadata implements ClassMetadataSource {
+
+	private final ClassMetadataSource[] sources;
+	/** class-id of the first class of each of the sources */
+	private final int[] startClassIds;
+	private final int classCount;
+
+	public MergedClassMetadata(List<? extends ClassMetadataSource> sources) {
+		this.sources = sources.toArray(new ClassMetadataSource[sources.size()]);
+		this.startClassIds = new int[this.sources.length];
+		int count = 0;
+		for (int i = 0; i < this.sources.length; i++) {
+			startClassIds[i] = count;
+			count += this.sources[i].getClassCount();
+		}
+		this.classCount = count;
+	}
+
+	@Override
+	public int getClassCount() {
+		return classCount;
+	}
+
+	@Override
+	public StoredClass getStoredClass(int classId) {
+		if (classId < 0 || classId >= classCount) {
+			throw new IllegalArgumentException("invalid class-id: " + classId);
+		}
+		int sourceNum = Arrays.binarySearch(startClassIds, classId);
+		if (sourceNum < 0) {
+			// not the start of a source so it is in the one before the insertion point
+			sourceNum = -sourceNum - 2;
+		} else {
+			// skip over sources with no classes which share the start class-id
+			while (sourceNum + 1 < startClassIds.length && startClassIds[sourceNum + 1] == classId) {
+				sourceNum++;
+			}
+		}
+		return sources[sourceNum].getStoredClass(classId - startClassIds[sourceNum]);
+	}
+
+	@Override
+	public StoredClass findClass(String className) {
+		for (ClassMetadataSource source : sources) {
+			StoredClass storedClass = source.findClass(className);
+			if (storedClass != null) {
+				return storedClass;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return the number of sources that are merged.
+	 */
+	public int getSourceCount() {
+		return sources.length;
+	}
+}
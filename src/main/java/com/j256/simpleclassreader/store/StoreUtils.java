@@ -0,0 +1,96 @@
+package com.j256.simpleclassreader.store;
+
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Methods which read the strings and lists out of the store buffers.
+ *
+ * @author graywatson
+ */
+class StoreUtils {
+
+	private static final String[] EMPTY_STRINGS = new String[0];
+
+	/**
+	 * Read the string at the reference or null if it is {@link ClassMetadataStore#NULL_REF}.
+	 */
+	static String readString(ChunkedBuffer buffer, int ref) {
+		if (ref == ClassMetadataStore.NULL_REF) {
+			return null;
+		}
+		byte[] bytes = new byte[buffer.getInt(ref, 0)];
+		buffer.get(ref, 4, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Return true if the string at the reference has the same UTF-8 bytes as the argument without building a string.
+	 */
+	static boolean stringEquals(ChunkedBuffer buffer, int ref, byte[] bytes) {
+		if (ref == ClassMetadataStore.NULL_REF || buffer.getInt(ref, 0) != bytes.length) {
+			return false;
+		}
+		for (int i = 0; i < bytes.length; i++) {
+			if (buffer.get(ref, 4 + i) != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Read the list of annotation types at the reference or null if none.
+	 */
+	static String[] readAnnotationTypes(ChunkedBuffer buffer, int ref) {
+		if (ref == ClassMetadataStore.NULL_REF) {
+			return null;
+		}
+		int count = buffer.getInt(ref, 0);
+		String[] types = new String[count];
+		for (int i = 0; i < count; i++) {
+			types[i] = readString(buffer, buffer.getInt(ref, 4 + i * 4));
+		}
+		return types;
+	}
+
+	/**
+	 * Read count string references starting at the offset in bytes from the record at the reference.
+	 */
+	static String[] readStrings(ChunkedBuffer buffer, int ref, int offset, int count) {
+		if (count == 0) {
+			return EMPTY_STRINGS;
+		}
+		String[] strings = new String[count];
+		for (int i = 0; i < count; i++) {
+			strings[i] = readString(buffer, buffer.getInt(ref, offset + i * 4));
+		}
+		return strings;
+	}
+
+	/**
+	 * Find the class-id of the class with the name in the open addressing name table or -1 if not found. The table
+	 * holds class-id + 1 in the slot of the class-name hash with 0 meaning empty.
+	 */
+	static int findClassId(ChunkedBuffer buffer, IntBuffer classAddresses, IntBuffer nameTable, String className) {
+		byte[] nameBytes = className.getBytes(StandardCharsets.UTF_8);
+		int mask = nameTable.limit() - 1;
+		for (int slot = spread(className.hashCode()) & mask;; slot = (slot + 1) & mask) {
+			int entry = nameTable.get(slot);
+			if (entry == 0) {
+				return -1;
+			}
+			int address = classAddresses.get(entry - 1);
+			if (stringEquals(buffer, buffer.getInt(address, ClassMetadataStore.CLASS_NAME_OFFSET), nameBytes)) {
+				return entry - 1;
+			}
+		}
+	}
+
+	/**
+	 * Spread the high bits of the hash-code into the low ones which are used to find the table slot.
+	 */
+	static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,191 @@
+package com.j256.simpleclassreader.store;
+
+import static com.j256.simpleclassreader.store.ClassMetadataStore.CLASS_ACCESS_FLAGS_OFFSET;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.CLASS_ANNOTATIONS_OFFSET;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.CLASS_FIELD_COUNT_OFFSET;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.CLASS_FLAGS_OFFSET;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.CLASS_HEADER_SIZE;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.CLASS_INTERFACE_COUNT_OFFSET;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.CLASS_METHOD_COUNT_OFFSET;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.CLASS_NAME_OFFSET;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.CLASS_SUPER_NAME_OFFSET;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.CLASS_VERSION_OFFSET;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.FLAG_DEPRECATED;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.MEMBER_SIZE;
+
+import com.j256.simpleclassreader.AccessFlag;
+import com.j256.simpleclassreader.ClassInfo;
+
+/**
+ * View of a class record in a {@link ClassMetadataStore} with getters that mimic {@link ClassInfo}. Each call decodes
+ * from the store buffer.
+ *
+ * @author graywatson
+ */
+public class StoredClass {
+
+	private final ChunkedBuffer buffer;
+	private final int address;
+
+	StoredClass(ChunkedBuffer buffer, int address) {
+		this.buffer = buffer;
+		this.address = address;
+	}
+
+	/**
+	 * Return the address of the class record in the store which is the number of the 4 byte word of the record.
+	 */
+	public int getAddress() {
+		return address;
+	}
+
+	public int getMajorVersion() {
+		return buffer.getInt(address, CLASS_VERSION_OFFSET) >>> 16;
+	}
+
+	public int getMinorVersion() {
+		return buffer.getInt(address, CLASS_VERSION_OFFSET) & 0xFFFF;
+	}
+
+	/**
+	 * Get the acccess-flags value for the class.
+	 */
+	public int getAccessFlagsValue() {
+		return buffer.getInt(address, CLASS_ACCESS_FLAGS_OFFSET);
+	}
+
+	/**
+	 * Get the access-flags as an array of enums.
+	 */
+	public AccessFlag[] getAccessFlags() {
+		return AccessFlag.extractFlags(getAccessFlagsValue(), true, false, false);
+	}
+
+	/**
+	 * Is an interface, not a class.
+	 */
+	public boolean isInterface() {
+		return AccessFlag.INTERFACE.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Declared abstract; must not be instantiated.
+	 */
+	public boolean isAbstract() {
+		return AccessFlag.ABSTRACT.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Declared as an annotation type.
+	 */
+	public boolean isAnnotation() {
+		return AccessFlag.ANNOTATION.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Declared as an enum type.
+	 */
+	public boolean isEnum() {
+		return AccessFlag.ENUM.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Name of the class.
+	 */
+	public String getClassName() {
+		return StoreUtils.readString(buffer, buffer.getInt(address, CLASS_NAME_OFFSET));
+	}
+
+	/**
+	 * Name of the super class which may be java.lang.Object.
+	 */
+	public String getSuperClassName() {
+		return StoreUtils.readString(buffer, buffer.getInt(address, CLASS_SUPER_NAME_OFFSET));
+	}
+
+	/**
+	 * Return the interfaces that the class extends or a blank array if none.
+	 */
+	public String[] getInterfaces() {
+		return StoreUtils.readStrings(buffer, address, CLASS_HEADER_SIZE, getInterfaceCount());
+	}
+
+	/**
+	 * Return the number of fields in the class.
+	 */
+	public int getFieldCount() {
+		return buffer.getInt(address, CLASS_FIELD_COUNT_OFFSET);
+	}
+
+	/**
+	 * Return a view of field number fieldNum.
+	 */
+	public StoredField getField(int fieldNum) {
+		if (fieldNum < 0 || fieldNum >= getFieldCount()) {
+			throw new IllegalArgumentException("invalid field number: " + fieldNum);
+		}
+		return new StoredField(buffer, memberAddress(fieldNum));
+	}
+
+	/**
+	 * Return the number of methods, including the constructors, in the class.
+	 */
+	public int getMethodCount() {
+		return buffer.getInt(address, CLASS_METHOD_COUNT_OFFSET);
+	}
+
+	/**
+	 * Return a view of method number methodNum. The constructors are first.
+	 */
+	public StoredMethod getMethod(int methodNum) {
+		if (methodNum < 0 || methodNum >= getMethodCount()) {
+			throw new IllegalArgumentException("invalid method number: " + methodNum);
+		}
+		return new StoredMethod(buffer, memberAddress(getFieldCount() + methodNum));
+	}
+
+	/**
+	 * Find the method with the name and descriptor string, such as "(Ljava/lang/String;)V", or null if none.
+	 */
+	public StoredMethod findMethod(String name, String descriptorStr) {
+		int count = getMethodCount();
+		for (int i = 0; i < count; i++) {
+			StoredMethod method = getMethod(i);
+			if (name.equals(method.getName()) && descriptorStr.equals(method.getDescriptorStr())) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return the types of the runtime annotations on the class or null if none.
+	 */
+	public String[] getRuntimeAnnotationTypes() {
+		return StoreUtils.readAnnotationTypes(buffer, buffer.getInt(address, CLASS_ANNOTATIONS_OFFSET));
+	}
+
+	/**
+	 * Is the class marked with the Deprecated attribute.
+	 */
+	public boolean isDeprecated() {
+		return ((buffer.getInt(address, CLASS_FLAGS_OFFSET) & FLAG_DEPRECATED) != 0);
+	}
+
+	@Override
+	public String toString() {
+		return "stored " + getClassName();
+	}
+
+	private int getInterfaceCount() {
+		return buffer.getInt(address, CLASS_INTERFACE_COUNT_OFFSET);
+	}
+
+	/**
+	 * Return the address of member number memberNum where the fields are first and then the methods. The entries are
+	 * whole words so the address is the word after the header and interfaces plus the entries before it.
+	 */
+	private int memberAddress(int memberNum) {
+		return address + (CLASS_HEADER_SIZE + getInterfaceCount() * 4 + memberNum * MEMBER_SIZE) / 4;
+	}
+}
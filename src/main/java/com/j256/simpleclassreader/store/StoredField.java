@@ -0,0 +1,55 @@
+package com.j256.simpleclassreader.store;
+
+import com.j256.simpleclassreader.AccessFlag;
+import com.j256.simpleclassreader.DataDescriptor;
+import com.j256.simpleclassreader.FieldInfo;
+
+/**
+ * View of a field entry in a {@link ClassMetadataStore} with getters that mimic {@link FieldInfo}.
+ *
+ * @author graywatson
+ */
+public class StoredField extends StoredMember {
+
+	StoredField(ChunkedBuffer buffer, int address) {
+		super(buffer, address);
+	}
+
+	/**
+	 * Get the access-flags as an array of enums.
+	 */
+	public AccessFlag[] getAccessFlags() {
+		return AccessFlag.extractFlags(getAccessFlagsValue(), false, true, false);
+	}
+
+	/**
+	 * Returns true if declared volatile; cannot be cached.
+	 */
+	public boolean isVolatile() {
+		return AccessFlag.VOLATILE.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Returns true if declared transient; not written or read by a persistent object manager.
+	 */
+	public boolean isTransient() {
+		return AccessFlag.TRANSIENT.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Returns the data-type of the field or null if it couldn't be parsed.
+	 */
+	public DataDescriptor getDataDescriptor() {
+		String descriptorStr = getDescriptorStr();
+		if (descriptorStr == null) {
+			return null;
+		} else {
+			return DataDescriptor.fromString(descriptorStr);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "field " + getName();
+	}
+}
@@ -0,0 +1,103 @@
+package com.j256.simpleclassreader.store;
+
+import static com.j256.simpleclassreader.store.ClassMetadataStore.FLAG_DEPRECATED;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.MEMBER_ACCESS_FLAGS_OFFSET;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.MEMBER_ANNOTATIONS_OFFSET;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.MEMBER_DESCRIPTOR_OFFSET;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.MEMBER_FLAGS_OFFSET;
+import static com.j256.simpleclassreader.store.ClassMetadataStore.MEMBER_NAME_OFFSET;
+
+import com.j256.simpleclassreader.AccessFlag;
+
+/**
+ * Base class for the views of the field and method entries of a class record.
+ *
+ * @author graywatson
+ */
+public abstract class StoredMember {
+
+	protected final ChunkedBuffer buffer;
+	protected final int address;
+
+	protected StoredMember(ChunkedBuffer buffer, int address) {
+		this.buffer = buffer;
+		this.address = address;
+	}
+
+	/**
+	 * Return the name of the member.
+	 */
+	public String getName() {
+		return StoreUtils.readString(buffer, buffer.getInt(address, MEMBER_NAME_OFFSET));
+	}
+
+	/**
+	 * Return the raw descriptor string of the member.
+	 */
+	public String getDescriptorStr() {
+		return StoreUtils.readString(buffer, buffer.getInt(address, MEMBER_DESCRIPTOR_OFFSET));
+	}
+
+	/**
+	 * Returns the raw access-flags value.
+	 */
+	public int getAccessFlagsValue() {
+		return buffer.getInt(address, MEMBER_ACCESS_FLAGS_OFFSET);
+	}
+
+	/**
+	 * Returns true if declared public; may be accessed from outside its package
+	 */
+	public boolean isPublic() {
+		return AccessFlag.PUBLIC.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Returns true if declared private.
+	 */
+	public boolean isPrivate() {
+		return AccessFlag.PRIVATE.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Returns true if declared protected; may be accessed within subclasses.
+	 */
+	public boolean isProtected() {
+		return AccessFlag.PROTECTED.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Returns true if declared static.
+	 */
+	public boolean isStatic() {
+		return AccessFlag.STATIC.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Returns true if declared final.
+	 */
+	public boolean isFinal() {
+		return AccessFlag.FINAL.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Returns true if declared synthetic; not present in the source code.
+	 */
+	public boolean isSynthetic() {
+		return AccessFlag.SYNTHETIC.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Return the types of the runtime annotations on the member or null if none.
+	 */
+	public String[] getRuntimeAnnotationTypes() {
+		return StoreUtils.readAnnotationTypes(buffer, buffer.getInt(address, MEMBER_ANNOTATIONS_OFFSET));
+	}
+
+	/**
+	 * Is the member marked with the Deprecated attribute.
+	 */
+	public boolean isDeprecated() {
+		return ((buffer.getInt(address, MEMBER_FLAGS_OFFSET) & FLAG_DEPRECATED) != 0);
+	}
+}
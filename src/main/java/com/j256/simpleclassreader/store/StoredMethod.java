@@ -0,0 +1,71 @@
+package com.j256.simpleclassreader.store;
+
+import com.j256.simpleclassreader.AccessFlag;
+import com.j256.simpleclassreader.MethodDescriptor;
+import com.j256.simpleclassreader.MethodInfo;
+
+/**
+ * View of a method entry in a {@link ClassMetadataStore} with getters that mimic {@link MethodInfo}.
+ *
+ * @author graywatson
+ */
+public class StoredMethod extends StoredMember {
+
+	private static final String CONSTRUCTOR_METHOD_NAME = "<init>";
+
+	StoredMethod(ChunkedBuffer buffer, int address) {
+		super(buffer, address);
+	}
+
+	/**
+	 * Get the access-flags as an array of enums.
+	 */
+	public AccessFlag[] getAccessFlags() {
+		return AccessFlag.extractFlags(getAccessFlagsValue(), false, false, true);
+	}
+
+	/**
+	 * Returns true if declared abstract; no implementation is provided.
+	 */
+	public boolean isAbstract() {
+		return AccessFlag.ABSTRACT.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Returns true if declared native; implemented in a language other than the Java programming language.
+	 */
+	public boolean isNative() {
+		return AccessFlag.NATIVE.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Returns true if declared with variable number of arguments.
+	 */
+	public boolean isVarargs() {
+		return AccessFlag.VARARGS.isEnabled(getAccessFlagsValue());
+	}
+
+	/**
+	 * Returns true if this method has the constructor name of "<init>"
+	 */
+	public boolean isConstructor() {
+		return CONSTRUCTOR_METHOD_NAME.equals(getName());
+	}
+
+	/**
+	 * Returns the details about the parameters and return type or null if it couldn't be parsed.
+	 */
+	public MethodDescriptor getMethodDescriptor() {
+		String descriptorStr = getDescriptorStr();
+		if (descriptorStr == null) {
+			return null;
+		} else {
+			return MethodDescriptor.fromString(descriptorStr);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "method " + getName();
+	}
+}
@@ -0,0 +1,28 @@
+package com.j256.simpleclassreader.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a lookup in one of the caches.
+ * 
+ * @author graywatson
+ */
+@Name("com.j256.simpleclassreader.CacheAccess")
+@Label("Cache Access")
+@Category({ "Simple Class Reader" })
+@Description("Hit or miss in a class cache")
+@StackTrace(false)
+class CacheAccessEvent extends Event {
+
+	@Label("Cache Name")
+	String cacheName;
+
+	@Label("Hit")
+	@Description("True if the class was found in the cache")
+	boolean hit;
+}
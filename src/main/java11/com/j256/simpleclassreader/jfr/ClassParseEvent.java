@@ -0,0 +1,31 @@
+package com.j256.simpleclassreader.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the reading of a class.
+ * 
+ * @author graywatson
+ */
+@Name("com.j256.simpleclassreader.ClassParse")
+@Label("Class Parse")
+@Category({ "Simple Class Reader" })
+@Description("Reading of the metadata of a class from its bytes")
+class ClassParseEvent extends Event {
+
+	@Label("Class Name")
+	String className;
+
+	@Label("Byte Size")
+	@DataAmount(DataAmount.BYTES)
+	long byteSize;
+
+	@Label("Error Count")
+	@Description("Number of parse errors in the class")
+	int errorCount;
+}
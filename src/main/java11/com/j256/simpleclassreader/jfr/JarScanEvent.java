@@ -0,0 +1,44 @@
+package com.j256.simpleclassreader.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Frequency;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the scanning of the classes in a jar.
+ * 
+ * @author graywatson
+ */
+@Name("com.j256.simpleclassreader.JarScan")
+@Label("Jar Scan")
+@Category({ "Simple Class Reader" })
+@Description("Reading of the classes in a jar")
+class JarScanEvent extends Event {
+
+	@Label("Jar Path")
+	String jarPath;
+
+	@Label("Entry Count")
+	@Description("Number of class entries that were read")
+	int entryCount;
+
+	@Label("Byte Count")
+	@DataAmount(DataAmount.BYTES)
+	long byteCount;
+
+	@Label("Entries Per Second")
+	@Frequency
+	double entriesPerSecond;
+
+	@Label("Bytes Per Second")
+	@DataAmount(DataAmount.BYTES)
+	@Frequency
+	double bytesPerSecond;
+
+	/** not recorded, used to work out the throughput */
+	transient long startNanos;
+}
@@ -0,0 +1,76 @@
+package com.j256.simpleclassreader.jfr;
+
+/**
+ * Sends the parse events to the Java Flight Recorder. This is loaded by {@link ParseEvents} by name because it is only
+ * in the Java 11 part of the multi-release jar.
+ * 
+ * @author graywatson
+ */
+class JfrParseEventSink implements ParseEventSink {
+
+	private static final double NANOS_PER_SECOND = 1000000000.0;
+
+	JfrParseEventSink() {
+		// package-private so that the class is not part of the public api of the multi-release jar
+	}
+
+	@Override
+	public Object beginClassParse() {
+		ClassParseEvent event = new ClassParseEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public void endClassParse(Object event, String className, long byteSize, int errorCount) {
+		ClassParseEvent parseEvent = (ClassParseEvent) event;
+		parseEvent.end();
+		if (parseEvent.shouldCommit()) {
+			parseEvent.className = className;
+			parseEvent.byteSize = byteSize;
+			parseEvent.errorCount = errorCount;
+			parseEvent.commit();
+		}
+	}
+
+	@Override
+	public Object beginJarScan(String jarPath) {
+		JarScanEvent event = new JarScanEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.jarPath = jarPath;
+		event.startNanos = System.nanoTime();
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public void endJarScan(Object event, int entryCount, long byteCount) {
+		JarScanEvent scanEvent = (JarScanEvent) event;
+		scanEvent.end();
+		if (scanEvent.shouldCommit()) {
+			scanEvent.entryCount = entryCount;
+			scanEvent.byteCount = byteCount;
+			long nanos = System.nanoTime() - scanEvent.startNanos;
+			if (nanos > 0) {
+				scanEvent.entriesPerSecond = entryCount * NANOS_PER_SECOND / nanos;
+				scanEvent.bytesPerSecond = byteCount * NANOS_PER_SECOND / nanos;
+			}
+			scanEvent.commit();
+		}
+	}
+
+	@Override
+	public void cacheAccess(String cacheName, boolean hit) {
+		CacheAccessEvent event = new CacheAccessEvent();
+		if (event.isEnabled()) {
+			event.cacheName = cacheName;
+			event.hit = hit;
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Fails if reading the classes of a fixed corpus allocates more bytes than the budget in allocation-budget.properties.
+ * The bytes allocated by the thread are measured with the com.sun.management.ThreadMXBean which not all JVMs have in
+ * which case the tests are skipped. If a change makes the reader allocate less then the budget should be lowered.
+ */
+public class AllocationBudgetTest {
+
+	private static final String BUDGET_RESOURCE = "/allocation-budget.properties";
+	private static final int WARMUP_PASSES = 10;
+	private static final int MEASURE_PASSES = 5;
+
+	private static com.sun.management.ThreadMXBean threadBean;
+	private static List<byte[]> corpus;
+	private static long corpusBytes;
+	private static Properties budget;
+
+	@BeforeClass
+	public static void beforeClass() throws IOException {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		threadBean = (com.sun.management.ThreadMXBean) bean;
+		Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		corpus = buildCorpus();
+		corpusBytes = 0;
+		for (byte[] bytes : corpus) {
+			corpusBytes += bytes.length;
+		}
+		budget = new Properties();
+		try (InputStream input = AllocationBudgetTest.class.getResourceAsStream(BUDGET_RESOURCE);) {
+			assertNotNull("could not find " + BUDGET_RESOURCE, input);
+			budget.load(input);
+		}
+	}
+
+	@Test
+	public void testEagerAttributes() throws IOException {
+		checkBudget("eager", new ClassReaderOptions());
+	}
+
+	@Test
+	public void testLazyAttributes() throws IOException {
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setLazyAttributes(true);
+		checkBudget("lazy", options);
+	}
+
+	private void checkBudget(String prefix, ClassReaderOptions options) throws IOException {
+		for (int i = 0; i < WARMUP_PASSES; i++) {
+			readCorpus(options);
+		}
+		// the smallest pass is the one least disturbed by anything else the thread did
+		long minBytes = Long.MAX_VALUE;
+		for (int i = 0; i < MEASURE_PASSES; i++) {
+			minBytes = Math.min(minBytes, readCorpus(options));
+		}
+
+		long bytesPerClass = minBytes / corpus.size();
+		long bytesPerKb = minBytes * 1024 / corpusBytes;
+		long budgetPerClass = Long.parseLong(budget.getProperty(prefix + ".bytesPerClass"));
+		long budgetPerKb = Long.parseLong(budget.getProperty(prefix + ".bytesPerKb"));
+		assertTrue(prefix + " bytes per class " + bytesPerClass + " is over the budget of " + budgetPerClass,
+				bytesPerClass <= budgetPerClass);
+		assertTrue(prefix + " bytes per KB " + bytesPerKb + " is over the budget of " + budgetPerKb,
+				bytesPerKb <= budgetPerKb);
+	}
+
+	/**
+	 * Read all of the classes and return the number of bytes that the thread allocated.
+	 */
+	private long readCorpus(ClassReaderOptions options) throws IOException {
+		long threadId = Thread.currentThread().getId();
+		long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+		for (byte[] bytes : corpus) {
+			assertNotNull(ClassReader.readClass(bytes, options));
+		}
+		return threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+	}
+
+	/**
+	 * Generated classes from a fixed seed so the corpus is the same on every JDK and does not change with the code.
+	 */
+	private static List<byte[]> buildCorpus() throws IOException {
+		List<byte[]> classes = new ArrayList<>();
+		for (int seed = 0; seed < 20; seed++) {
+			// typical classes
+			SyntheticClassGenerator generator = new SyntheticClassGenerator();
+			generator.setSeed(seed);
+			generator.setConstantPoolSize(300 + seed * 20);
+			generator.setFieldCount(5 + seed);
+			generator.setMethodCount(10 + seed);
+			generator.setCodeLength(50 + seed * 10);
+			generator.setLocalVariableCount(3);
+			generator.setAnnotationArrayWidth(3);
+			generator.setAnnotationArrayDepth(2);
+			classes.add(generator.generate());
+		}
+		// and a few large ones
+		SyntheticClassGenerator generator = new SyntheticClassGenerator();
+		generator.setConstantPoolSize(10000);
+		classes.add(generator.generate());
+		generator = new SyntheticClassGenerator();
+		generator.setMethodCount(500);
+		generator.setCodeLength(100);
+		generator.setLocalVariableCount(10);
+		classes.add(generator.generate());
+		generator = new SyntheticClassGenerator();
+		generator.setCodeLength(20000);
+		classes.add(generator.generate());
+		return classes;
+	}
+}
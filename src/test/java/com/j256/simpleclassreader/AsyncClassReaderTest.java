@@ -0,0 +1,129 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncClassReaderTest {
+
+	private ExecutorService executor;
+
+	@Before
+	public void before() {
+		executor = Executors.newFixedThreadPool(2);
+	}
+
+	@After
+	public void after() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testReadClass() throws Exception {
+		String path = TestUtils.classToPath(AsyncClassReaderTest.class);
+		ClassInfo info = ClassReader.readClassAsync(Paths.get(path), executor).get(10, TimeUnit.SECONDS);
+		assertNotNull(info);
+		assertEquals(AsyncClassReaderTest.class.getName(), info.getClassName());
+		assertEquals(ClassReader.readClass(new File(path)).getMethods().length, info.getMethods().length);
+	}
+
+	@Test
+	public void testMissingFile() throws Exception {
+		CompletableFuture<ClassInfo> future =
+				ClassReader.readClassAsync(Paths.get("target/does-not-exist.class"), executor);
+		try {
+			future.get(10, TimeUnit.SECONDS);
+			fail("should have thrown");
+		} catch (ExecutionException ee) {
+			assertTrue(ee.getCause() instanceof NoSuchFileException);
+		}
+	}
+
+	@Test
+	public void testReadClasses() throws Exception {
+		Class<?>[] classes = new Class<?>[] { AsyncClassReaderTest.class, ParseLimitsTest.class, TestUtils.class,
+				SyntheticClassGenerator.class, ClassReaderTest.class };
+		List<Path> paths = new ArrayList<>();
+		Set<String> expectedNames = new HashSet<>();
+		for (Class<?> clazz : classes) {
+			paths.add(Paths.get(TestUtils.classToPath(clazz)));
+			expectedNames.add(clazz.getName());
+		}
+		paths.add(Paths.get("target/does-not-exist.class"));
+
+		List<CompletableFuture<ClassReadResult>> futures = ClassReader.readClassesAsync(paths, executor);
+		assertEquals(paths.size(), futures.size());
+		Set<String> names = new HashSet<>();
+		Set<Path> resultPaths = new HashSet<>();
+		int failCount = 0;
+		for (CompletableFuture<ClassReadResult> future : futures) {
+			ClassReadResult result = future.get(10, TimeUnit.SECONDS);
+			resultPaths.add(result.getPath());
+			if (result.getError() == null) {
+				assertEquals(Paths.get(TestUtils.classToPath(classForName(result.getClassInfo()))), result.getPath());
+				names.add(result.getClassInfo().getClassName());
+			} else {
+				assertNull(result.getClassInfo());
+				assertTrue(result.getError() instanceof NoSuchFileException);
+				assertEquals(Paths.get("target/does-not-exist.class"), result.getPath());
+				failCount++;
+			}
+		}
+		assertEquals(expectedNames, names);
+		assertEquals(new HashSet<>(paths), resultPaths);
+		assertEquals(1, failCount);
+	}
+
+	@Test
+	public void testManyMissingFiles() throws Exception {
+		// the reads of missing files fail right away which used to start the next read recursively
+		List<Path> paths = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			paths.add(Paths.get("target/does-not-exist-" + i + ".class"));
+		}
+		for (CompletableFuture<ClassReadResult> future : ClassReader.readClassesAsync(paths, executor)) {
+			assertTrue(future.get(10, TimeUnit.SECONDS).getError() instanceof NoSuchFileException);
+		}
+	}
+
+	@Test
+	public void testReadMoreClassesThanBatch() throws Exception {
+		List<Path> paths = new ArrayList<>();
+		for (int i = 0; i < AsyncClassReader.MAX_BATCH_READS * 3; i++) {
+			paths.add(Paths.get(TestUtils.classToPath(AsyncClassReaderTest.class)));
+		}
+		for (CompletableFuture<ClassReadResult> future : ClassReader.readClassesAsync(paths, executor)) {
+			assertEquals(AsyncClassReaderTest.class.getName(),
+					future.get(10, TimeUnit.SECONDS).getClassInfo().getClassName());
+		}
+	}
+
+	private static Class<?> classForName(ClassInfo classInfo) throws ClassNotFoundException {
+		return Class.forName(classInfo.getClassName());
+	}
+
+	@Test
+	public void testReadNoClasses() {
+		assertTrue(ClassReader.readClassesAsync(new ArrayList<Path>(), executor).isEmpty());
+	}
+}
@@ -0,0 +1,119 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.attribute.AttributeType;
+import com.j256.simpleclassreader.attribute.CodeAttribute;
+
+public class AttributeInfoTest {
+
+	@Test
+	public void testLazy() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(LazyTest.class)).toPath());
+		ClassInfo eager = ClassReader.readClass(bytes);
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setLazyAttributes(true);
+		ClassInfo lazy = ClassReader.readClass(bytes, options);
+
+		assertEquals(eager.getClassName(), lazy.getClassName());
+		assertEquals(eager.getMethods().length, lazy.getMethods().length);
+		assertEquals(eager.getInnerClasses().length, lazy.getInnerClasses().length);
+		for (int i = 0; i < eager.getMethods().length; i++) {
+			MethodInfo eagerMethod = eager.getMethods()[i];
+			MethodInfo lazyMethod = lazy.getMethods()[i];
+			assertEquals(eagerMethod.getName(), lazyMethod.getName());
+			assertArrayEquals(eagerMethod.getCode(), lazyMethod.getCode());
+			assertArrayEquals(eagerMethod.getExceptions(), lazyMethod.getExceptions());
+			assertEquals(eagerMethod.isDeprecated(), lazyMethod.isDeprecated());
+			CodeAttribute eagerCode =
+					(CodeAttribute) AttributeInfo.findValue(eagerMethod.getAttributes(), AttributeType.CODE);
+			CodeAttribute lazyCode =
+					(CodeAttribute) AttributeInfo.findValue(lazyMethod.getAttributes(), AttributeType.CODE);
+			assertNotNull(lazyCode);
+			assertEquals(eagerCode.getLineNumberLocations().length, lazyCode.getLineNumberLocations().length);
+			assertEquals(eagerCode.getMaxStack(), lazyCode.getMaxStack());
+		}
+		assertEquals(eager.getParseErrors().size(), lazy.getParseErrors().size());
+	}
+
+	@Test
+	public void testLazyDecodedOnce() throws IOException {
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setLazyAttributes(true);
+		ClassInfo info;
+		try (InputStream fis = new FileInputStream(TestUtils.classToPath(LazyTest.class));) {
+			info = ClassReader.readClass(fis, options);
+		}
+		for (AttributeInfo attribute : info.getMethods()[0].getAttributes()) {
+			assertSame(attribute.getValue(), attribute.getValue());
+		}
+	}
+
+	@Test
+	public void testFind() throws IOException {
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(LazyTest.class)));
+		for (MethodInfo method : info.getMethods()) {
+			AttributeInfo code = AttributeInfo.find(method.getAttributes(), AttributeType.CODE);
+			assertSame(code, method.getAttribute(AttributeType.CODE));
+			assertSame(code.getValue(), AttributeInfo.findValue(method.getAttributes(), AttributeType.CODE));
+		}
+		assertNull(AttributeInfo.find(AttributeInfo.EMPTY_ARRAY, AttributeType.CODE));
+	}
+
+	@Test
+	public void testLazyErrorsCopied() throws IOException {
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setLazyAttributes(true);
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(LazyTest.class)), options);
+		List<ClassReaderError> errors = info.getParseErrors();
+		int numErrors = errors.size();
+		for (MethodInfo method : info.getMethods()) {
+			for (AttributeInfo attribute : method.getAttributes()) {
+				attribute.getValue();
+			}
+		}
+		// the decodes do not change a list that was already returned
+		assertEquals(numErrors, errors.size());
+		assertTrue(info.getParseErrors().size() >= numErrors);
+	}
+
+	@Test
+	public void testLazyFile() throws IOException {
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setLazyAttributes(true);
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(LazyTest.class)), options);
+		boolean found = false;
+		for (MethodInfo method : info.getMethods()) {
+			if ("lazyMethod".equals(method.getName())) {
+				assertArrayEquals(new String[] { IOException.class.getName() }, method.getExceptions());
+				found = true;
+			}
+		}
+		assertTrue(found);
+	}
+
+	@SuppressWarnings("unused")
+	private static class LazyTest {
+		public int lazyMethod(int value) throws IOException {
+			return value * 2;
+		}
+
+		public static class Inner {
+			// empty
+		}
+	}
+}
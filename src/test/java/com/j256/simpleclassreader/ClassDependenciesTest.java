@@ -0,0 +1,155 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class ClassDependenciesTest {
+
+	@Test
+	public void testExtract() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(DepsTest.class)).toPath());
+		ClassDependencies deps = ClassDependencies.extract(bytes);
+		assertEquals(DepsTest.class.getName(), deps.getClassName());
+
+		// super-class and interfaces
+		assertTrue(deps.contains(Object.class.getName()));
+		assertTrue(deps.contains(Runnable.class.getName()));
+		// field descriptor and generic signature
+		assertTrue(deps.contains(Map.class.getName()));
+		assertTrue(deps.contains(BigDecimal.class.getName()));
+		// method descriptor and array
+		assertTrue(deps.contains(Thread.class.getName()));
+		// generic method signature
+		assertTrue(deps.contains(List.class.getName()));
+		assertTrue(deps.contains(Number.class.getName()));
+		// member-ref owner
+		assertTrue(deps.contains(AtomicLong.class.getName()));
+		// annotation type and enum value
+		assertTrue(deps.contains(DepsAnnotation.class.getName()));
+		assertTrue(deps.contains(TimeUnit.class.getName()));
+		// class itself, primitives, and type variables are not included
+		assertFalse(deps.contains(DepsTest.class.getName()));
+		assertFalse(deps.contains("T"));
+		assertFalse(deps.contains("int"));
+
+		String[] names = deps.getClassNames();
+		String[] sorted = names.clone();
+		Arrays.sort(sorted);
+		assertArrayEquals(sorted, names);
+		for (int i = 1; i < names.length; i++) {
+			assertFalse(names[i].equals(names[i - 1]));
+			assertFalse(names[i].contains("/"));
+		}
+	}
+
+	@Test
+	public void testOffset() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(DepsTest.class)).toPath());
+		byte[] padded = new byte[bytes.length + 10];
+		System.arraycopy(bytes, 0, padded, 5, bytes.length);
+		assertArrayEquals(ClassDependencies.extract(bytes).getClassNames(),
+				ClassDependencies.extract(padded, 5, bytes.length).getClassNames());
+	}
+
+	@Test
+	public void testInvalid() throws IOException {
+		assertNull(ClassDependencies.extract(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 }));
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(DepsTest.class)).toPath());
+		try {
+			ClassDependencies.extract(bytes, 0, bytes.length / 2);
+			fail("should have thrown");
+		} catch (EOFException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testConstantPoolPastLength() {
+		// the pool says it has an entry but the tag byte is past the length we were given
+		byte[] bytes = new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 52, 0, 2, 0 };
+		try {
+			ClassDependencies.extract(bytes, 0, bytes.length - 1);
+			fail("should have thrown");
+		} catch (EOFException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testModifiedUtf8() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(DepsTest.class)).toPath());
+		// rename the Runnable class entry to one with a nul which modified UTF-8 stores as 2 bytes
+		byte[] name = "java/lang/Runnable".getBytes(StandardCharsets.UTF_8);
+		int offset = findUtf8(bytes, name);
+		assertTrue(offset > 0);
+		bytes[offset + 13] = (byte) 0xC0;
+		bytes[offset + 14] = (byte) 0x80;
+		ClassDependencies deps = ClassDependencies.extract(bytes);
+		assertTrue(deps.contains("java.lang.Run\u0000ble"));
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	private static @interface DepsAnnotation {
+		TimeUnit value();
+	}
+
+	@DepsAnnotation(TimeUnit.SECONDS)
+	private static class DepsTest<T> implements Runnable {
+		@SuppressWarnings("unused")
+		private Map<String, BigDecimal> values;
+		private final AtomicLong counter = new AtomicLong();
+
+		@Override
+		public void run() {
+			counter.incrementAndGet();
+		}
+
+		@SuppressWarnings("unused")
+		public int count(Thread[] threads, T value) {
+			return threads.length;
+		}
+
+		@SuppressWarnings("unused")
+		public <N extends Number> List<N> numbers() {
+			return null;
+		}
+	}
+
+	private static int findUtf8(byte[] bytes, byte[] name) {
+		outer: for (int i = 0; i < bytes.length - name.length - 3; i++) {
+			if (bytes[i] != 1 || Utils.readUnsignedShort(bytes, i + 1) != name.length) {
+				continue;
+			}
+			for (int j = 0; j < name.length; j++) {
+				if (bytes[i + 3 + j] != name[j]) {
+					continue outer;
+				}
+			}
+			return i + 3;
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,141 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.attribute.AttributeType;
+
+public class ClassIndexTest {
+
+	@Test
+	public void testStuff() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(IndexTest.class)).toPath());
+		ClassInfo info = ClassReader.readClass(bytes);
+		ClassIndex index = ClassIndex.read(bytes);
+		assertNotNull(index);
+		assertEquals(info.getClassName(), index.getClassName());
+		assertEquals(info.getSuperClassName(), index.getSuperClassName());
+		assertArrayEquals(info.getInterfaces(), index.getInterfaces());
+		assertEquals(info.getMajorVersion(), index.getMajorVersion());
+		assertEquals(info.getMinorVersion(), index.getMinorVersion());
+		assertEquals(info.getAccessFlagsValue(), index.getAccessFlagsValue());
+		assertEquals(info.getFields().length, index.getFieldCount());
+		assertEquals(info.getMethods().length + info.getConstructors().length, index.getMethodCount());
+		assertEquals(info.getAttributes().length, index.getAttributeCount());
+
+		MethodInfo method = index.findMethod("add", "(II)I");
+		assertNotNull(method);
+		assertEquals("add", method.getName());
+		assertNotNull(method.getCode());
+		assertSame(method, index.findMethod("add", "(II)I"));
+		assertNull(index.findMethod("add", "()V"));
+
+		List<MethodInfo> methods = index.findMethods("add");
+		assertEquals(2, methods.size());
+		assertTrue(index.findMethods("unknown").isEmpty());
+
+		FieldInfo field = index.findField("total");
+		assertNotNull(field);
+		assertEquals(Long.TYPE, field.getDataDescriptor().getDataClass());
+		assertNull(index.findField("unknown"));
+
+		boolean foundSource = false;
+		for (int i = 0; i < index.getAttributeCount(); i++) {
+			if (index.readAttribute(i).getType() == AttributeType.SOURCE_FILE) {
+				foundSource = true;
+			}
+		}
+		assertTrue(foundSource);
+		assertEquals(0, index.getParseErrors().size());
+	}
+
+	@Test
+	public void testInvalid() throws IOException {
+		assertNull(ClassIndex.read(new byte[] { 1, 2, 3, 4 }));
+	}
+
+	@Test
+	public void testLimitsAndMetrics() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(IndexTest.class)).toPath());
+		ClassReaderOptions options = new ClassReaderOptions();
+		ParseMetrics metrics = new ParseMetrics();
+		options.setParseMetrics(metrics);
+		assertNotNull(ClassIndex.read(bytes, 0, bytes.length, options));
+		assertEquals(1, metrics.getClassCount());
+		assertTrue(metrics.getPhaseBytes(ParsePhase.CONSTANT_POOL) > 0);
+
+		ParseLimits limits = new ParseLimits();
+		limits.setMaxAllocationBytes(10);
+		options.setParseLimits(limits);
+		assertNull(ClassIndex.read(bytes, 0, bytes.length, options));
+		assertEquals(1, metrics.getErrorCount(ClassReaderErrorType.ALLOCATION_LIMIT_EXCEEDED));
+	}
+
+	@Test
+	public void testFailedMethodCached() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(IndexTest.class)).toPath());
+		ConstantPool constantPool = ClassIndex.read(bytes).getConstantPool();
+		int nameIndex = findUtf8(constantPool, "add");
+		int descriptorIndex = findUtf8(constantPool, "(II)I");
+		// find the public method entry of add(int, int) and point its name at the 0 entry which is invalid
+		boolean patched = false;
+		for (int i = 2; i + 4 <= bytes.length; i++) {
+			if (Utils.readUnsignedShort(bytes, i - 2) == 0x0001 && Utils.readUnsignedShort(bytes, i) == nameIndex
+					&& Utils.readUnsignedShort(bytes, i + 2) == descriptorIndex) {
+				bytes[i] = 0;
+				bytes[i + 1] = 0;
+				patched = true;
+				break;
+			}
+		}
+		assertTrue(patched);
+
+		ClassIndex index = ClassIndex.read(bytes);
+		int badMethod = -1;
+		for (int i = 0; i < index.getMethodCount(); i++) {
+			if (index.getMethodName(i) == null) {
+				badMethod = i;
+			}
+		}
+		assertTrue(badMethod >= 0);
+		assertNull(index.readMethod(badMethod));
+		assertNull(index.readMethod(badMethod));
+		assertEquals(1, index.getParseErrors().size());
+		assertEquals(ClassReaderErrorType.METHOD_NAME_INDEX_INVALID, index.getParseErrors().get(0).getType());
+	}
+
+	private static int findUtf8(ConstantPool constantPool, String name) {
+		for (int i = 1; i < constantPool.getNumEntries(); i++) {
+			if (name.equals(constantPool.findName(i))) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("could not find " + name);
+	}
+
+	@SuppressWarnings("unused")
+	private static class IndexTest {
+
+		private long total;
+
+		public int add(int first, int second) {
+			return first + second;
+		}
+
+		public long add(long value) {
+			total += value;
+			return total;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class ClassInfoCacheTest {
+
+	@Test
+	public void testStuff() throws IOException {
+		File file = new File(TestUtils.classToPath(ClassInfoCacheTest.class));
+		ClassInfoCache cache = new ClassInfoCache(1024 * 1024);
+		ClassInfo info = cache.get(file);
+		assertNotNull(info);
+		assertEquals(ClassInfoCacheTest.class.getName(), info.getClassName());
+		assertSame(info, cache.get(file));
+		assertEquals(1, cache.size());
+		assertEquals(info.getEstimatedSizeBytes(), cache.getSizeBytes());
+		// the objects take more memory than the class file
+		assertTrue(cache.getSizeBytes() > file.length());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getLoadCount());
+		assertEquals(0.5, cache.getHitRate(), 0.0);
+
+		cache.invalidate(file);
+		assertEquals(0, cache.size());
+		assertNotSame(info, cache.get(file));
+		cache.clear();
+		assertEquals(0, cache.getSizeBytes());
+	}
+
+	@Test
+	public void testChangedFile() throws IOException {
+		File file = File.createTempFile(getClass().getSimpleName(), ".class");
+		try {
+			Files.write(file.toPath(), Files.readAllBytes(new File(TestUtils.classToPath(TestUtils.class)).toPath()));
+			ClassInfoCache cache = new ClassInfoCache(1024 * 1024);
+			assertEquals(TestUtils.class.getName(), cache.get(file).getClassName());
+			Files.write(file.toPath(),
+					Files.readAllBytes(new File(TestUtils.classToPath(ClassInfoCacheTest.class)).toPath()));
+			assertEquals(ClassInfoCacheTest.class.getName(), cache.get(file).getClassName());
+			assertEquals(2, cache.getLoadCount());
+			assertEquals(1, cache.size());
+
+			Files.write(file.toPath(), new byte[] { 1, 2, 3, 4 });
+			assertNull(cache.get(file));
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testEviction() throws IOException {
+		File file1 = new File(TestUtils.classToPath(ClassInfoCacheTest.class));
+		File file2 = new File(TestUtils.classToPath(TestUtils.class));
+		File file3 = new File(TestUtils.classToPath(ParseCacheTest.class));
+		ClassInfoCache cache = new ClassInfoCache(ClassReader.readClass(file1).getEstimatedSizeBytes()
+				+ ClassReader.readClass(file2).getEstimatedSizeBytes());
+		cache.get(file1);
+		cache.get(file2);
+		// use the first so the second is the least recently used
+		cache.get(file1);
+		cache.get(file3);
+		assertTrue(cache.getEvictionCount() >= 1);
+		long loadCount = cache.getLoadCount();
+		cache.get(file2);
+		assertEquals(loadCount + 1, cache.getLoadCount());
+	}
+
+	@Test
+	public void testConcurrent() throws Exception {
+		final File file = new File(TestUtils.classToPath(ClassInfoCacheTest.class));
+		final ClassInfoCache cache = new ClassInfoCache(1024 * 1024);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<ClassInfo>> futures = new ArrayList<>();
+			for (int i = 0; i < 32; i++) {
+				futures.add(executor.submit(new Callable<ClassInfo>() {
+					@Override
+					public ClassInfo call() throws IOException {
+						return cache.get(file);
+					}
+				}));
+			}
+			ClassInfo info = futures.get(0).get();
+			for (Future<ClassInfo> future : futures) {
+				assertSame(info, future.get());
+			}
+			assertEquals(1, cache.getLoadCount());
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
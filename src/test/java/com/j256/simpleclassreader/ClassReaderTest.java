@@ -4,8 +4,11 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -15,6 +18,7 @@ import java.lang.reflect.Method;
 
 import org.junit.Test;
 
+import com.j256.simpleclassreader.attribute.AttributeType;
 import com.j256.simpleclassreader.attribute.InnerClassesAttribute.InnerClassInfo;
 
 public class ClassReaderTest {
@@ -148,6 +152,24 @@ public class ClassReaderTest {
 		}
 	}
 
+	@Test
+	public void testLookups() throws IOException {
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(TestClass.class)));
+		assertNotNull(info);
+		MethodInfo method = info.findMethod("changeBar", "(Ljava/lang/String;F)F");
+		assertNotNull(method);
+		assertEquals("changeBar", method.getName());
+		assertSame(method, info.findMethod("changeBar", "(Ljava/lang/String;F)F"));
+		assertNull(info.findMethod("changeBar", "()V"));
+		assertNotNull(info.findMethod("<init>", "(F)V"));
+		assertEquals(1, info.findMethods("run").size());
+		assertTrue(info.findMethods("unknown").isEmpty());
+		assertEquals("zip", info.findField("zip").getName());
+		assertNull(info.findField("unknown"));
+		assertNotNull(info.getAttribute(AttributeType.INNER_CLASSES));
+		assertNull(info.getAttribute(AttributeType.DEPRECATED));
+	}
+
 	@SuppressWarnings("unused")
 	private static class TestClass implements Runnable {
 
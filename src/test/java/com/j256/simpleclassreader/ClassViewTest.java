@@ -0,0 +1,122 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.ClassView.FieldView;
+import com.j256.simpleclassreader.ClassView.MethodView;
+
+public class ClassViewTest {
+
+	@Test
+	public void testStuff() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(ViewTest.class)).toPath());
+		ClassInfo info = ClassReader.readClass(bytes);
+		ClassView view = ClassView.read(bytes);
+		assertNotNull(view);
+		assertEquals(info.getClassName(), view.getClassName());
+		assertEquals(info.getSuperClassName(), view.getSuperClassName());
+		assertArrayEquals(info.getInterfaces(), view.getInterfaces());
+		assertEquals(info.getMajorVersion(), view.getMajorVersion());
+		assertEquals(info.getMinorVersion(), view.getMinorVersion());
+		assertEquals(info.getJdkVersionString(), view.getJdkVersionString());
+		assertArrayEquals(info.getAccessFlags(), view.getAccessFlags());
+		assertEquals(info.isFinal(), view.isFinal());
+		assertEquals(info.isInterface(), view.isInterface());
+		assertEquals(info.isAbstract(), view.isAbstract());
+		assertEquals(info.isDeprecated(), view.isDeprecated());
+		assertEquals(info.getAttributes().length, view.getAttributes().length);
+		assertEquals(info.getInnerClasses().length, view.getInnerClasses().length);
+		assertEquals(1, view.getRuntimeAnnotations().length);
+		assertEquals(bytes.length, view.getClassLength());
+
+		FieldView[] fields = view.getFields();
+		assertEquals(info.getFields().length, fields.length);
+		for (int i = 0; i < fields.length; i++) {
+			FieldInfo field = info.getFields()[i];
+			assertEquals(field.getName(), fields[i].getName());
+			assertEquals(field.getAccessFlagsValue(), fields[i].getAccessFlagsValue());
+			assertArrayEquals(field.getAccessFlags(), fields[i].getAccessFlags());
+			assertEquals(field.getDataDescriptor().getDataClassName(),
+					fields[i].getDataDescriptor().getDataClassName());
+			assertEquals(field.isStatic(), fields[i].isStatic());
+			assertEquals(field.isVolatile(), fields[i].isVolatile());
+		}
+		assertEquals("field " + fields[0].getName(), fields[0].toString());
+
+		MethodView[] methods = view.getMethods();
+		assertEquals(info.getMethods().length, methods.length);
+		assertEquals(info.getConstructors().length, view.getConstructors().length);
+		assertEquals(info.getMethods().length + info.getConstructors().length, view.getMethodCount());
+		for (int i = 0; i < methods.length; i++) {
+			MethodInfo method = info.getMethods()[i];
+			assertEquals(method.getName(), methods[i].getName());
+			assertEquals(method.getMethodDescriptor().getDescriptorStr(), methods[i].getDescriptorStr());
+			assertArrayEquals(method.getAccessFlags(), methods[i].getAccessFlags());
+			assertArrayEquals(method.getCode(), methods[i].getCode());
+			assertArrayEquals(method.getExceptions(), methods[i].getExceptions());
+			assertEquals(method.isDeprecated(), methods[i].isDeprecated());
+			assertEquals(method.getParameterDataDescriptors().length, methods[i].getParameterDataDescriptors().length);
+			assertEquals(method.getReturnDescriptor().getDataClassName(),
+					methods[i].getReturnDescriptor().getDataClassName());
+			assertEquals(method.getAttributes().length, methods[i].getAttributes().length);
+			assertFalse(methods[i].isConstructor());
+		}
+		assertTrue(view.getConstructors()[0].isConstructor());
+	}
+
+	@Test
+	public void testConstantValue() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(ViewTest.class)).toPath());
+		ClassView view = ClassView.read(bytes);
+		boolean found = false;
+		for (FieldView field : view.getFields()) {
+			if ("CONSTANT".equals(field.getName())) {
+				assertNotNull(field.getConstantValue());
+				found = true;
+			} else {
+				assertNull(field.getConstantValue());
+			}
+		}
+		assertTrue(found);
+	}
+
+	@Test
+	public void testInvalid() throws IOException {
+		assertNull(ClassView.read(new byte[] { 1, 2, 3, 4 }));
+	}
+
+	@Deprecated
+	@SuppressWarnings("unused")
+	private static class ViewTest implements Runnable {
+
+		public static final long CONSTANT = 1234567890123L;
+		private volatile int count;
+		protected String name;
+
+		@Deprecated
+		public int increment(int amount) throws IOException {
+			count += amount;
+			return count;
+		}
+
+		@Override
+		public void run() {
+			name = "run";
+		}
+
+		private static class Inner {
+			// empty
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.ConstantPool.ConstantPoolType;
+import com.j256.simpleclassreader.bytecode.InstructionCursor;
+import com.j256.simpleclassreader.bytecode.Opcodes;
+
+public class ConstantPoolTest {
+
+	@Test
+	public void testMemberRefs() throws IOException {
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(RefTest.class)));
+		ConstantPool constantPool = info.getConstantPool();
+		assertNotNull(constantPool);
+
+		MemberRef lengthRef = null;
+		MemberRef countRef = null;
+		InstructionCursor cursor = new InstructionCursor(info.findMethod("count", "(Ljava/lang/String;)I").getCode());
+		while (cursor.next()) {
+			if (cursor.getOpcode() == Opcodes.INVOKEVIRTUAL) {
+				lengthRef = constantPool.findMemberRef(cursor.getConstantPoolIndex());
+			} else if (cursor.getOpcode() == Opcodes.PUTFIELD) {
+				countRef = constantPool.findMemberRef(cursor.getConstantPoolIndex());
+			}
+		}
+		assertNotNull(lengthRef);
+		assertEquals(String.class.getName(), lengthRef.getOwnerClassName());
+		assertEquals("length", lengthRef.getName());
+		assertEquals("()I", lengthRef.getDescriptorStr());
+		assertEquals(ConstantPoolType.METHOD_REF, lengthRef.getType());
+		assertTrue(lengthRef.isMethod());
+		assertEquals(Integer.TYPE, lengthRef.getMethodDescriptor().getReturnDescriptor().getDataClass());
+		assertNull(lengthRef.getDataDescriptor());
+		// resolved once
+		assertSame(lengthRef, constantPool.findMemberRef(lengthRef.getIndex()));
+
+		assertNotNull(countRef);
+		assertEquals(RefTest.class.getName(), countRef.getOwnerClassName());
+		assertEquals("total", countRef.getName());
+		assertTrue(countRef.isField());
+		assertFalse(countRef.isMethod());
+		assertEquals(Integer.TYPE, countRef.getDataDescriptor().getDataClass());
+
+		List<MemberRef> refs = constantPool.getMemberRefs();
+		assertTrue(refs.contains(lengthRef));
+		assertTrue(refs.contains(countRef));
+		assertNull(constantPool.findMemberRef(0));
+		assertNull(constantPool.findMemberRef(constantPool.getNumEntries()));
+	}
+
+	@Test
+	public void testMemberRefsFromOffsets() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(RefTest.class)).toPath());
+		ClassInfo info = ClassReader.readClass(bytes);
+		ClassView view = ClassView.read(bytes);
+		assertNotNull(view);
+		List<MemberRef> refs = info.getConstantPool().getMemberRefs();
+		List<MemberRef> viewRefs = view.getConstantPool().getMemberRefs();
+		assertEquals(refs.size(), viewRefs.size());
+		for (int i = 0; i < refs.size(); i++) {
+			assertEquals(refs.get(i).toString(), viewRefs.get(i).toString());
+		}
+	}
+
+	@Test
+	public void testInvokeDynamicRef() throws IOException {
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(DynamicRefTest.class)));
+		ConstantPool constantPool = info.getConstantPool();
+		MemberRef dynamicRef = null;
+		MethodInfo method = info.findMethod("supplier", "()Ljava/lang/Runnable;");
+		InstructionCursor cursor = new InstructionCursor(method.getCode());
+		while (cursor.next()) {
+			if (cursor.getOpcode() == Opcodes.INVOKEDYNAMIC) {
+				dynamicRef = constantPool.findMemberRef(cursor.getConstantPoolIndex());
+			}
+		}
+		assertNotNull(dynamicRef);
+		assertEquals(ConstantPoolType.INVOKE_DYNAMIC, dynamicRef.getType());
+		assertTrue(dynamicRef.isInvokeDynamic());
+		assertFalse(dynamicRef.isMethod());
+		assertNull(dynamicRef.getOwnerClassName());
+		assertEquals("run", dynamicRef.getName());
+		assertEquals("()Ljava/lang/Runnable;", dynamicRef.getDescriptorStr());
+		DataDescriptor returnDescriptor = dynamicRef.getMethodDescriptor().getReturnDescriptor();
+		assertEquals(Runnable.class.getName(), returnDescriptor.getDataClassName());
+		assertEquals("run()Ljava/lang/Runnable;", dynamicRef.toString());
+	}
+
+	private static class RefTest {
+		private int total;
+
+		@SuppressWarnings("unused")
+		public int count(String str) {
+			total = str.length();
+			return total;
+		}
+	}
+
+	private static class DynamicRefTest {
+		@SuppressWarnings("unused")
+		public Runnable supplier() {
+			// the lambda is compiled to an invokedynamic
+			return () -> System.gc();
+		}
+	}
+}
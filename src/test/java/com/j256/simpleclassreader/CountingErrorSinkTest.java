@@ -0,0 +1,51 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class CountingErrorSinkTest {
+
+	@Test
+	public void testCounts() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(getClass())).toPath());
+		ClassInfo withErrors = ClassReader.readClass(bytes);
+		// the test classes have attributes that we don't know about
+		assertTrue(withErrors.getParseErrors().size() > 0);
+
+		CountingErrorSink sink = new CountingErrorSink();
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setErrorSink(sink);
+		ClassInfo info = ClassReader.readClass(bytes, options);
+		// the errors went to the sink instead
+		assertSame(Collections.emptyList(), info.getParseErrors());
+		assertEquals(withErrors.getParseErrors().size(), sink.getTotalCount());
+		for (ClassReaderErrorType type : ClassReaderErrorType.values()) {
+			int count = 0;
+			for (ClassReaderError error : withErrors.getParseErrors()) {
+				if (error.getType() == type) {
+					count++;
+				}
+			}
+			assertEquals(count, sink.getCount(type));
+		}
+
+		ClassReader.readClass(bytes, options);
+		assertEquals(withErrors.getParseErrors().size() * 2, sink.getTotalCount());
+		sink.reset();
+		assertEquals(0, sink.getTotalCount());
+	}
+
+	@Test
+	public void testNoErrorsNoList() throws IOException {
+		ClassInfo info = ClassReader.readClass(new SyntheticClassGenerator().generate());
+		assertSame(Collections.emptyList(), info.getParseErrors());
+	}
+}
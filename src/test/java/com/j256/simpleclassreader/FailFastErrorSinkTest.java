@@ -0,0 +1,26 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+public class FailFastErrorSinkTest {
+
+	@Test
+	public void testFailFast() throws IOException {
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setErrorSink(new FailFastErrorSink());
+		// a valid class has no errors so reads fine
+		assertNotNull(ClassReader.readClass(new SyntheticClassGenerator().generate(), options));
+		try {
+			ClassReader.readClass(new byte[] { 1, 2, 3, 4 }, options);
+			fail("should have thrown");
+		} catch (ParseErrorException pee) {
+			assertEquals(ClassReaderErrorType.MAGIC_INVALID, pee.getError().getType());
+		}
+	}
+}
@@ -7,6 +7,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -67,6 +68,16 @@ public class FieldInfoTest {
 		}
 	}
 
+	@Test
+	public void testGetAttribute() throws IOException {
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(TestClass.class)));
+		FieldInfo field = info.findField("zip");
+		assertNotNull(field);
+		assertNotNull(field.getAttribute(AttributeType.DEPRECATED));
+		assertNull(field.getAttribute(AttributeType.CONSTANT_VALUE));
+		assertNull(info.findField("bar").getAttribute(AttributeType.DEPRECATED));
+	}
+
 	@SuppressWarnings("unused")
 	private static class TestClass {
 
@@ -0,0 +1,48 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testPercentile() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.getPercentile(99));
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+		assertEquals(1000, histogram.getCount());
+		assertWithin(500000, histogram.getPercentile(50));
+		assertWithin(990000, histogram.getPercentile(99));
+		assertWithin(1000000, histogram.getPercentile(100));
+		assertWithin(1000, histogram.getPercentile(0));
+
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+	}
+
+	@Test
+	public void testSmallAndLarge() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(-1);
+		histogram.record(3);
+		assertEquals(0, histogram.getPercentile(50));
+		assertEquals(3, histogram.getPercentile(100));
+		histogram.record(Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPercent() {
+		new LatencyHistogram().getPercentile(101);
+	}
+
+	private void assertWithin(long expected, long value) {
+		// the top of the bucket is at or above the value but less than 12.5% more
+		assertTrue(value + " should be at least " + expected, value >= expected);
+		assertTrue(value + " should be within 12.5% of " + expected, value <= expected + expected / 8);
+	}
+}
@@ -5,8 +5,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -16,6 +18,7 @@ import java.lang.reflect.Method;
 import org.junit.Test;
 
 import com.j256.simpleclassreader.attribute.AnnotationInfo;
+import com.j256.simpleclassreader.attribute.AttributeType;
 
 public class MethodInfoTest {
 
@@ -104,6 +107,18 @@ public class MethodInfoTest {
 		}
 	}
 
+	@Test
+	public void testGetAttribute() throws IOException {
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(TestClass.class)));
+		MethodInfo method = info.findMethod("changeBar", "(Ljava/lang/String;F)F");
+		assertNotNull(method);
+		AttributeInfo code = method.getAttribute(AttributeType.CODE);
+		assertNotNull(code);
+		assertSame(code, method.getAttribute(AttributeType.CODE));
+		assertNotNull(method.getAttribute(AttributeType.EXCEPTIONS));
+		assertNull(method.getAttribute(AttributeType.CONSTANT_VALUE));
+	}
+
 	@SuppressWarnings("unused")
 	private static class TestClass implements Runnable {
 
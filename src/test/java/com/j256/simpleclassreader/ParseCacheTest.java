@@ -0,0 +1,90 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class ParseCacheTest {
+
+	@Test
+	public void testStuff() throws IOException {
+		File file = new File(TestUtils.classToPath(ParseCacheTest.class));
+		byte[] bytes = Files.readAllBytes(file.toPath());
+		ParseCache cache = new ParseCache();
+		ClassInfo info = cache.readClass(bytes);
+		assertNotNull(info);
+		assertEquals(ParseCacheTest.class.getName(), info.getClassName());
+		assertEquals(1, cache.size());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		// same bytes from a different source give the same instance
+		assertSame(info, cache.readClass(file));
+		byte[] copy = new byte[bytes.length + 10];
+		System.arraycopy(bytes, 0, copy, 10, bytes.length);
+		assertSame(info, cache.readClass(copy, 10, bytes.length));
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.size());
+
+		ClassInfo other = cache.readClass(new File(TestUtils.classToPath(TestUtils.class)));
+		assertNotSame(info, other);
+		assertEquals(2, cache.size());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertNotSame(info, cache.readClass(bytes));
+	}
+
+	@Test
+	public void testLazy() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(ParseCacheTest.class)).toPath());
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setLazyAttributes(true);
+		ParseCache cache = new ParseCache(options);
+		ClassInfo info = cache.readClass(bytes);
+		// the cache has its own copy so changing the bytes does not affect the lazy attributes
+		byte[] source = bytes.clone();
+		Arrays.fill(bytes, (byte) 0);
+		assertNotNull(info.getMethods()[0].getCode());
+		assertEquals(0, info.getParseErrors().size());
+		assertSame(info, cache.readClass(source));
+	}
+
+	@Test
+	public void testEviction() throws IOException {
+		byte[] first = Files.readAllBytes(new File(TestUtils.classToPath(ParseCacheTest.class)).toPath());
+		byte[] second = Files.readAllBytes(new File(TestUtils.classToPath(TestUtils.class)).toPath());
+		byte[] third = Files.readAllBytes(new File(TestUtils.classToPath(ClassReaderTest.class)).toPath());
+		ParseCache cache = new ParseCache(2, new ClassReaderOptions());
+		ClassInfo firstInfo = cache.readClass(first);
+		cache.readClass(second);
+		// use the first so the second is the least recently used
+		assertSame(firstInfo, cache.readClass(first));
+		cache.readClass(third);
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+		assertSame(firstInfo, cache.readClass(first));
+		assertEquals(2, cache.getHitCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadMaxEntries() {
+		new ParseCache(0, new ClassReaderOptions());
+	}
+
+	@Test
+	public void testInvalid() throws IOException {
+		ParseCache cache = new ParseCache();
+		assertNull(cache.readClass(new byte[] { 1, 2, 3, 4 }));
+		assertEquals(0, cache.size());
+	}
+}
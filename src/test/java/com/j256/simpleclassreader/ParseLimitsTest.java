@@ -0,0 +1,129 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.attribute.AttributeType;
+
+public class ParseLimitsTest {
+
+	@Test
+	public void testNoLimits() throws IOException {
+		SyntheticClassGenerator generator = new SyntheticClassGenerator();
+		generator.setCodeLength(10000);
+		generator.setAnnotationArrayWidth(2);
+		generator.setAnnotationArrayDepth(4);
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setParseLimits(new ParseLimits());
+		ClassInfo info = ClassReader.readClass(generator.generate(), options);
+		assertNotNull(info);
+		assertTrue(info.getParseErrors().isEmpty());
+	}
+
+	@Test
+	public void testAllocation() throws IOException {
+		SyntheticClassGenerator generator = new SyntheticClassGenerator();
+		generator.setCodeLength(60000);
+		byte[] bytes = generator.generate();
+		ParseLimits limits = new ParseLimits();
+		limits.setMaxAllocationBytes(50000);
+		assertLimit(bytes, limits, ClassReaderErrorType.ALLOCATION_LIMIT_EXCEEDED);
+		limits.setMaxAllocationBytes(1000000);
+		assertLimit(bytes, limits, null);
+	}
+
+	@Test
+	public void testLazyAllocation() throws IOException {
+		SyntheticClassGenerator generator = new SyntheticClassGenerator();
+		generator.setMethodCount(1);
+		generator.setCodeLength(60000);
+		ParseLimits limits = new ParseLimits();
+		limits.setMaxAllocationBytes(50000);
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setParseLimits(limits);
+		options.setLazyAttributes(true);
+		// the code is not read until it is asked for
+		ClassInfo info = ClassReader.readClass(generator.generate(), options);
+		assertNotNull(info);
+		MethodInfo method = info.getMethods()[0];
+		assertNull(AttributeInfo.findValue(method.getAttributes(), AttributeType.CODE));
+		assertEquals(1, info.getParseErrors().size());
+		assertEquals(ClassReaderErrorType.ALLOCATION_LIMIT_EXCEEDED, info.getParseErrors().get(0).getType());
+	}
+
+	@Test
+	public void testMembers() throws IOException {
+		SyntheticClassGenerator generator = new SyntheticClassGenerator();
+		generator.setFieldCount(10);
+		generator.setMethodCount(10);
+		byte[] bytes = generator.generate();
+		ParseLimits limits = new ParseLimits();
+		limits.setMaxMembers(15);
+		assertLimit(bytes, limits, ClassReaderErrorType.MEMBER_LIMIT_EXCEEDED);
+		limits.setMaxMembers(20);
+		assertLimit(bytes, limits, null);
+	}
+
+	@Test
+	public void testAnnotationDepth() throws IOException {
+		SyntheticClassGenerator generator = new SyntheticClassGenerator();
+		generator.setAnnotationArrayWidth(1);
+		generator.setAnnotationArrayDepth(4);
+		byte[] bytes = generator.generate();
+		ParseLimits limits = new ParseLimits();
+		limits.setMaxAnnotationDepth(3);
+		assertLimit(bytes, limits, ClassReaderErrorType.ANNOTATION_DEPTH_LIMIT_EXCEEDED);
+		limits.setMaxAnnotationDepth(4);
+		assertLimit(bytes, limits, null);
+	}
+
+	@Test
+	public void testTime() throws IOException {
+		SyntheticClassGenerator generator = new SyntheticClassGenerator();
+		generator.setMethodCount(100);
+		byte[] bytes = generator.generate();
+		ParseLimits limits = new ParseLimits();
+		limits.setMaxParseTime(1, TimeUnit.NANOSECONDS);
+		assertLimit(bytes, limits, ClassReaderErrorType.PARSE_TIME_LIMIT_EXCEEDED);
+		limits.setMaxParseTime(1, TimeUnit.MINUTES);
+		assertLimit(bytes, limits, null);
+	}
+
+	@Test
+	public void testStream() throws IOException {
+		SyntheticClassGenerator generator = new SyntheticClassGenerator();
+		generator.setFieldCount(10);
+		ParseLimits limits = new ParseLimits();
+		limits.setMaxMembers(5);
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setParseLimits(limits);
+		CountingErrorSink sink = new CountingErrorSink();
+		options.setErrorSink(sink);
+		assertNull(ClassReader.readClass(new ByteArrayInputStream(generator.generate()), options));
+		assertEquals(1, sink.getCount(ClassReaderErrorType.MEMBER_LIMIT_EXCEEDED));
+	}
+
+	private void assertLimit(byte[] bytes, ParseLimits limits, ClassReaderErrorType expectedType) throws IOException {
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setParseLimits(limits);
+		CountingErrorSink sink = new CountingErrorSink();
+		options.setErrorSink(sink);
+		ClassInfo info = ClassReader.readClass(bytes, options);
+		if (expectedType == null) {
+			assertNotNull(info);
+			assertEquals(0, sink.getTotalCount());
+		} else {
+			assertNull(info);
+			assertEquals(1, sink.getTotalCount());
+			assertEquals(1, sink.getCount(expectedType));
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.ConstantPool.ConstantPoolType;
+import com.j256.simpleclassreader.ParseMetrics.ClassTiming;
+import com.j256.simpleclassreader.attribute.AttributeType;
+
+public class ParseMetricsTest {
+
+	@Test
+	public void testBytes() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(getClass())).toPath());
+		ParseMetrics metrics = new ParseMetrics();
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setParseMetrics(metrics);
+		ClassInfo info = ClassReader.readClass(bytes, options);
+		assertNotNull(info);
+
+		assertEquals(1, metrics.getClassCount());
+		assertEquals(bytes.length, metrics.getClassBytes());
+		assertTrue(metrics.getClassNanos() > 0);
+		long phaseBytes = 0;
+		for (ParsePhase phase : ParsePhase.values()) {
+			phaseBytes += metrics.getPhaseBytes(phase);
+		}
+		assertEquals(bytes.length, phaseBytes);
+		assertTrue(metrics.getPhaseBytes(ParsePhase.CONSTANT_POOL) > 0);
+
+		assertEquals(info.getMethods().length + info.getConstructors().length,
+				metrics.getAttributeCount(AttributeType.CODE));
+		assertTrue(metrics.getAttributeBytes(AttributeType.CODE) > 0);
+		assertEquals(1, metrics.getAttributeCount(AttributeType.SOURCE_FILE));
+		// name index, length, and the source file index
+		assertEquals(8, metrics.getAttributeBytes(AttributeType.SOURCE_FILE));
+		assertTrue(metrics.getConstantPoolCount(ConstantPoolType.UTF8) > 0);
+		assertTrue(metrics.getConstantPoolCount(ConstantPoolType.METHOD_REF) > 0);
+
+		List<ClassTiming> slowest = metrics.getSlowestClasses();
+		assertEquals(1, slowest.size());
+		assertEquals(getClass().getName(), slowest.get(0).getClassName());
+		assertEquals(bytes.length, slowest.get(0).getBytes());
+	}
+
+	@Test
+	public void testStream() throws IOException {
+		File file = new File(TestUtils.classToPath(getClass()));
+		ParseMetrics metrics = new ParseMetrics();
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setParseMetrics(metrics);
+		try (InputStream input = new FileInputStream(file);) {
+			assertNotNull(ClassReader.readClass(input, options));
+		}
+		assertEquals(file.length(), metrics.getClassBytes());
+		long phaseBytes = 0;
+		for (ParsePhase phase : ParsePhase.values()) {
+			phaseBytes += metrics.getPhaseBytes(phase);
+		}
+		assertEquals(file.length(), phaseBytes);
+	}
+
+	@Test
+	public void testLazy() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(getClass())).toPath());
+		ParseMetrics eagerMetrics = new ParseMetrics();
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setParseMetrics(eagerMetrics);
+		ClassReader.readClass(bytes, options);
+
+		ParseMetrics lazyMetrics = new ParseMetrics();
+		options.setParseMetrics(lazyMetrics);
+		options.setLazyAttributes(true);
+		ClassInfo info = ClassReader.readClass(bytes, options);
+		// the attributes inside of the code are not read until it is decoded
+		assertEquals(0, lazyMetrics.getAttributeCount(AttributeType.LINE_NUMBER_TABLE));
+		assertEquals(eagerMetrics.getAttributeCount(AttributeType.CODE),
+				lazyMetrics.getAttributeCount(AttributeType.CODE));
+		assertEquals(eagerMetrics.getAttributeBytes(AttributeType.CODE),
+				lazyMetrics.getAttributeBytes(AttributeType.CODE));
+		long nanos = lazyMetrics.getAttributeNanos(AttributeType.CODE);
+		for (MethodInfo method : info.getMethods()) {
+			method.getCode();
+		}
+		assertTrue(lazyMetrics.getAttributeNanos(AttributeType.CODE) > nanos);
+		assertTrue(lazyMetrics.getAttributeCount(AttributeType.LINE_NUMBER_TABLE) > 0);
+	}
+
+	@Test
+	public void testSlowest() throws IOException {
+		ParseMetrics metrics = new ParseMetrics(2);
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setParseMetrics(metrics);
+		Class<?>[] classes =
+				new Class<?>[] { getClass(), AttributeInfoTest.class, ClassReaderTest.class, ConstantPoolTest.class };
+		for (Class<?> clazz : classes) {
+			try (InputStream input = new FileInputStream(TestUtils.classToPath(clazz));) {
+				assertNotNull(ClassReader.readClass(input, options));
+			}
+		}
+		assertEquals(classes.length, metrics.getClassCount());
+		List<ClassTiming> slowest = metrics.getSlowestClasses();
+		assertEquals(2, slowest.size());
+		assertTrue(slowest.get(0).getNanos() >= slowest.get(1).getNanos());
+
+		metrics.reset();
+		assertEquals(0, metrics.getClassCount());
+		assertEquals(0, metrics.getConstantPoolCount(ConstantPoolType.UTF8));
+		assertEquals(0, metrics.getSlowestClasses().size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidNumSlowest() {
+		new ParseMetrics(-1);
+	}
+}
@@ -0,0 +1,45 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Test;
+
+public class SamplingErrorSinkTest {
+
+	@Test
+	public void testSamples() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(getClass())).toPath());
+		SamplingErrorSink sink = new SamplingErrorSink(1);
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setErrorSink(sink);
+		for (int i = 0; i < 3; i++) {
+			ClassReader.readClass(bytes, options);
+		}
+		assertTrue(sink.getTotalCount() >= 3);
+		for (ClassReaderErrorType type : ClassReaderErrorType.values()) {
+			List<ClassReaderError> samples = sink.getSamples(type);
+			if (sink.getCount(type) == 0) {
+				assertEquals(0, samples.size());
+			} else {
+				assertEquals(1, samples.size());
+				assertEquals(type, samples.get(0).getType());
+				assertEquals(getClass().getName(), samples.get(0).getClassName());
+			}
+		}
+
+		sink.reset();
+		assertEquals(0, sink.getTotalCount());
+		assertEquals(0, sink.getSamples(ClassReaderErrorType.ATTRIBUTE_NAME_UNKNOWN).size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidSamplesPerType() {
+		new SamplingErrorSink(-1);
+	}
+}
@@ -0,0 +1,395 @@
+package com.j256.simpleclassreader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates valid class files with a configurable shape so the reader can be stressed along each dimension: the size
+ * of the constant-pool, the number of fields and methods, the length of the method code, the number of local-variables,
+ * and the width and depth of nested annotation arrays. The same seed and settings always generate the same bytes.
+ *
+ * NOTE: the code of the methods is a random mix of simple instructions that leave the stack empty and then a return.
+ * It is valid but it does not do anything useful.
+ *
+ * @author graywatson
+ */
+public class SyntheticClassGenerator {
+
+	/** largest number of constant-pool entries including the unused 0 entry */
+	public static final int MAX_CONSTANT_POOL_SIZE = 65535;
+	/** largest length of the code of a method */
+	public static final int MAX_CODE_LENGTH = 65535;
+
+	private static final int CLASS_MAGIC = 0xCAFEBABE;
+	private static final int JAVA_8_MAJOR_VERSION = 52;
+	private static final int ACCESS_PUBLIC = 0x0001;
+	private static final int ACCESS_STATIC = 0x0008;
+	private static final int ACCESS_SUPER = 0x0020;
+
+	private static final int TAG_UTF8 = 1;
+	private static final int TAG_INTEGER = 3;
+	private static final int TAG_LONG = 5;
+	private static final int TAG_CLASS = 7;
+
+	private static final int OPCODE_NOP = 0x00;
+	private static final int OPCODE_ICONST_0 = 0x03;
+	private static final int OPCODE_BIPUSH = 0x10;
+	private static final int OPCODE_SIPUSH = 0x11;
+	private static final int OPCODE_LDC_W = 0x13;
+	private static final int OPCODE_ILOAD = 0x15;
+	private static final int OPCODE_POP = 0x57;
+	private static final int OPCODE_RETURN = 0xB1;
+
+	private long seed;
+	private String className = "synthetic.Generated";
+	private int constantPoolSize;
+	private int fieldCount;
+	private int methodCount = 1;
+	private int codeLength = 1;
+	private int localVariableCount;
+	private int annotationArrayWidth;
+	private int annotationArrayDepth;
+
+	/**
+	 * Set the seed of the random numbers used for the names, values, and instructions. Default is 0.
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Set the name of the class such as "synthetic.Generated" which is the default.
+	 */
+	public void setClassName(String className) {
+		this.className = className;
+	}
+
+	/**
+	 * Set the number of constant-pool entries, including the unused 0 entry, up to {@link #MAX_CONSTANT_POOL_SIZE}.
+	 * The entries needed by the class are padded out with random strings, integers, and longs. If the class needs more
+	 * entries than this then the constant-pool is larger. Default is 0 which adds no padding.
+	 */
+	public void setConstantPoolSize(int constantPoolSize) {
+		if (constantPoolSize < 0 || constantPoolSize > MAX_CONSTANT_POOL_SIZE) {
+			throw new IllegalArgumentException("invalid constant-pool size: " + constantPoolSize);
+		}
+		this.constantPoolSize = constantPoolSize;
+	}
+
+	/**
+	 * Set the number of int fields. Default is 0.
+	 */
+	public void setFieldCount(int fieldCount) {
+		this.fieldCount = fieldCount;
+	}
+
+	/**
+	 * Set the number of static methods. Default is 1.
+	 */
+	public void setMethodCount(int methodCount) {
+		this.methodCount = methodCount;
+	}
+
+	/**
+	 * Set the length of the code of each method, including the final return, up to {@link #MAX_CODE_LENGTH}. Default
+	 * is 1 which is just the return.
+	 */
+	public void setCodeLength(int codeLength) {
+		if (codeLength < 1 || codeLength > MAX_CODE_LENGTH) {
+			throw new IllegalArgumentException("invalid code length: " + codeLength);
+		}
+		this.codeLength = codeLength;
+	}
+
+	/**
+	 * Set the number of entries in the local-variable-table of each method. Default is 0 which writes no table.
+	 */
+	public void setLocalVariableCount(int localVariableCount) {
+		this.localVariableCount = localVariableCount;
+	}
+
+	/**
+	 * Set the number of values in each of the nested arrays of the class annotation. Default is 0 which writes no
+	 * annotation.
+	 */
+	public void setAnnotationArrayWidth(int annotationArrayWidth) {
+		this.annotationArrayWidth = annotationArrayWidth;
+	}
+
+	/**
+	 * Set the number of levels of nested arrays in the class annotation. The annotation has width ^ depth int values so
+	 * keep that reasonable. Default is 0 which writes no annotation.
+	 */
+	public void setAnnotationArrayDepth(int annotationArrayDepth) {
+		this.annotationArrayDepth = annotationArrayDepth;
+	}
+
+	/**
+	 * Generate the class bytes.
+	 */
+	public byte[] generate() throws IOException {
+		Random random = new Random(seed);
+		ConstantPoolWriter pool = new ConstantPoolWriter();
+		int thisClassIndex = pool.classEntry(className.replace('.', '/'));
+		int superClassIndex = pool.classEntry("java/lang/Object");
+		int intDescIndex = pool.utf8("I");
+		int voidMethodDescIndex = pool.utf8("()V");
+		int codeIndex = pool.utf8("Code");
+		int localVariableTableIndex = pool.utf8("LocalVariableTable");
+		int constantIndex = pool.integer(random.nextInt());
+
+		// the bodies are built first so that all of the constant-pool entries are known before it is written
+		ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+		DataOutputStream body = new DataOutputStream(bodyBytes);
+		body.writeShort(ACCESS_PUBLIC | ACCESS_SUPER);
+		body.writeShort(thisClassIndex);
+		body.writeShort(superClassIndex);
+		// interfaces
+		body.writeShort(0);
+
+		body.writeShort(fieldCount);
+		for (int i = 0; i < fieldCount; i++) {
+			body.writeShort(ACCESS_PUBLIC);
+			body.writeShort(pool.utf8("f" + i));
+			body.writeShort(intDescIndex);
+			// attributes
+			body.writeShort(0);
+		}
+
+		int[] localNameIndexes = new int[localVariableCount];
+		for (int i = 0; i < localVariableCount; i++) {
+			localNameIndexes[i] = pool.utf8("v" + i);
+		}
+		body.writeShort(methodCount);
+		for (int i = 0; i < methodCount; i++) {
+			body.writeShort(ACCESS_PUBLIC | ACCESS_STATIC);
+			body.writeShort(pool.utf8("m" + i));
+			body.writeShort(voidMethodDescIndex);
+			// just the code attribute
+			body.writeShort(1);
+			writeCode(body, random, codeIndex, localVariableTableIndex, intDescIndex, localNameIndexes, constantIndex);
+		}
+
+		if (annotationArrayWidth > 0 && annotationArrayDepth > 0) {
+			body.writeShort(1);
+			writeAnnotations(body, pool, constantIndex);
+		} else {
+			body.writeShort(0);
+		}
+
+		pool.pad(random, constantPoolSize);
+		ByteArrayOutputStream classBytes = new ByteArrayOutputStream(bodyBytes.size() + pool.bytes.size() + 10);
+		DataOutputStream output = new DataOutputStream(classBytes);
+		output.writeInt(CLASS_MAGIC);
+		// minor version
+		output.writeShort(0);
+		output.writeShort(JAVA_8_MAJOR_VERSION);
+		output.writeShort(pool.size());
+		pool.bytes.writeTo(output);
+		bodyBytes.writeTo(output);
+		output.flush();
+		return classBytes.toByteArray();
+	}
+
+	/**
+	 * Generate the class bytes and write them to the file.
+	 */
+	public void writeTo(File file) throws IOException {
+		byte[] bytes = generate();
+		try (FileOutputStream output = new FileOutputStream(file);) {
+			output.write(bytes);
+		}
+	}
+
+	private void writeCode(DataOutputStream output, Random random, int codeIndex, int localVariableTableIndex,
+			int intDescIndex, int[] localNameIndexes, int constantIndex) throws IOException {
+		int maxLocals = localNameIndexes.length;
+		byte[] code = generateCode(random, maxLocals, constantIndex);
+
+		ByteArrayOutputStream attributeBytes = new ByteArrayOutputStream();
+		DataOutputStream attribute = new DataOutputStream(attributeBytes);
+		// max-stack
+		attribute.writeShort(1);
+		attribute.writeShort(maxLocals);
+		attribute.writeInt(code.length);
+		attribute.write(code);
+		// exception table
+		attribute.writeShort(0);
+		if (localNameIndexes.length == 0) {
+			attribute.writeShort(0);
+		} else {
+			attribute.writeShort(1);
+			attribute.writeShort(localVariableTableIndex);
+			attribute.writeInt(2 + localNameIndexes.length * 10);
+			attribute.writeShort(localNameIndexes.length);
+			for (int i = 0; i < localNameIndexes.length; i++) {
+				// start-pc and length cover all of the code
+				attribute.writeShort(0);
+				attribute.writeShort(code.length);
+				attribute.writeShort(localNameIndexes[i]);
+				attribute.writeShort(intDescIndex);
+				attribute.writeShort(i);
+			}
+		}
+
+		output.writeShort(codeIndex);
+		output.writeInt(attributeBytes.size());
+		attributeBytes.writeTo(output);
+	}
+
+	/**
+	 * Generate code of the length which is a random mix of instructions that push a value and pop it and ends in a
+	 * return.
+	 */
+	private byte[] generateCode(Random random, int maxLocals, int constantIndex) {
+		byte[] code = new byte[codeLength];
+		int pc = 0;
+		int end = codeLength - 1;
+		while (pc < end) {
+			int left = end - pc;
+			int choice = random.nextInt(5);
+			if (choice == 0 && left >= 4) {
+				code[pc++] = (byte) OPCODE_LDC_W;
+				code[pc++] = (byte) (constantIndex >> 8);
+				code[pc++] = (byte) constantIndex;
+				code[pc++] = (byte) OPCODE_POP;
+			} else if (choice == 1 && left >= 4) {
+				int value = random.nextInt(Short.MAX_VALUE);
+				code[pc++] = (byte) OPCODE_SIPUSH;
+				code[pc++] = (byte) (value >> 8);
+				code[pc++] = (byte) value;
+				code[pc++] = (byte) OPCODE_POP;
+			} else if (choice == 2 && left >= 3) {
+				code[pc++] = (byte) OPCODE_BIPUSH;
+				code[pc++] = (byte) random.nextInt(Byte.MAX_VALUE);
+				code[pc++] = (byte) OPCODE_POP;
+			} else if (choice == 3 && left >= 3 && maxLocals > 0) {
+				// NOTE: the locals are never stored but the verifier is not run on these classes
+				code[pc++] = (byte) OPCODE_ILOAD;
+				code[pc++] = (byte) random.nextInt(Math.min(maxLocals, 256));
+				code[pc++] = (byte) OPCODE_POP;
+			} else if (left >= 2) {
+				code[pc++] = (byte) (OPCODE_ICONST_0 + random.nextInt(6));
+				code[pc++] = (byte) OPCODE_POP;
+			} else {
+				code[pc++] = (byte) OPCODE_NOP;
+			}
+		}
+		code[end] = (byte) OPCODE_RETURN;
+		return code;
+	}
+
+	private void writeAnnotations(DataOutputStream output, ConstantPoolWriter pool, int constantIndex)
+			throws IOException {
+		ByteArrayOutputStream attributeBytes = new ByteArrayOutputStream();
+		DataOutputStream attribute = new DataOutputStream(attributeBytes);
+		// one annotation with one value
+		attribute.writeShort(1);
+		attribute.writeShort(pool.utf8("Lsynthetic/Nested;"));
+		attribute.writeShort(1);
+		attribute.writeShort(pool.utf8("value"));
+		writeArray(attribute, annotationArrayDepth, constantIndex);
+
+		output.writeShort(pool.utf8("RuntimeVisibleAnnotations"));
+		output.writeInt(attributeBytes.size());
+		attributeBytes.writeTo(output);
+	}
+
+	private void writeArray(DataOutputStream output, int depth, int constantIndex) throws IOException {
+		output.writeByte('[');
+		output.writeShort(annotationArrayWidth);
+		for (int i = 0; i < annotationArrayWidth; i++) {
+			if (depth > 1) {
+				writeArray(output, depth - 1, constantIndex);
+			} else {
+				output.writeByte('I');
+				output.writeShort(constantIndex);
+			}
+		}
+	}
+
+	/**
+	 * Builds up the constant-pool entries and de-duplicates the strings.
+	 */
+	private static class ConstantPoolWriter {
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		private final DataOutputStream output = new DataOutputStream(bytes);
+		private final Map<String, Integer> utf8Indexes = new HashMap<>();
+		private final Map<String, Integer> classIndexes = new HashMap<>();
+		private int nextIndex = 1;
+
+		public int utf8(String str) throws IOException {
+			Integer index = utf8Indexes.get(str);
+			if (index == null) {
+				checkSpace(1);
+				output.writeByte(TAG_UTF8);
+				output.writeUTF(str);
+				index = nextIndex++;
+				utf8Indexes.put(str, index);
+			}
+			return index;
+		}
+
+		public int classEntry(String path) throws IOException {
+			Integer index = classIndexes.get(path);
+			if (index == null) {
+				int nameIndex = utf8(path);
+				checkSpace(1);
+				output.writeByte(TAG_CLASS);
+				output.writeShort(nameIndex);
+				index = nextIndex++;
+				classIndexes.put(path, index);
+			}
+			return index;
+		}
+
+		public int integer(int value) throws IOException {
+			checkSpace(1);
+			output.writeByte(TAG_INTEGER);
+			output.writeInt(value);
+			return nextIndex++;
+		}
+
+		/**
+		 * Add random entries until the constant-pool has the size.
+		 */
+		public void pad(Random random, int poolSize) throws IOException {
+			while (nextIndex < poolSize) {
+				int choice = random.nextInt(3);
+				if (choice == 0 && nextIndex + 2 <= poolSize) {
+					// longs take up two entries
+					output.writeByte(TAG_LONG);
+					output.writeLong(random.nextLong());
+					nextIndex += 2;
+				} else if (choice == 1) {
+					output.writeByte(TAG_INTEGER);
+					output.writeInt(random.nextInt());
+					nextIndex++;
+				} else {
+					// the counter makes sure that the string is not a duplicate
+					utf8("pad" + nextIndex + "_" + Long.toString(random.nextLong(), 36));
+				}
+			}
+		}
+
+		/**
+		 * Return the number of entries including the unused 0 entry.
+		 */
+		public int size() {
+			return nextIndex;
+		}
+
+		private void checkSpace(int num) {
+			if (nextIndex + num > MAX_CONSTANT_POOL_SIZE) {
+				throw new IllegalStateException("too many constant-pool entries: " + (nextIndex + num));
+			}
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package com.j256.simpleclassreader;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.attribute.AnnotationFieldValue;
+import com.j256.simpleclassreader.attribute.AnnotationInfo;
+import com.j256.simpleclassreader.attribute.AttributeType;
+import com.j256.simpleclassreader.attribute.CodeAttribute;
+import com.j256.simpleclassreader.bytecode.InstructionCursor;
+
+public class SyntheticClassGeneratorTest {
+
+	@Test
+	public void testDefault() throws IOException {
+		ClassInfo info = ClassReader.readClass(new SyntheticClassGenerator().generate());
+		assertNotNull(info);
+		assertEquals("synthetic.Generated", info.getClassName());
+		assertEquals(Object.class.getName(), info.getSuperClassName());
+		assertEquals(1, info.getMethods().length);
+		assertEquals(0, info.getFields().length);
+		assertNull(info.getRuntimeAnnotations());
+		assertTrue(info.getParseErrors().isEmpty());
+	}
+
+	@Test
+	public void testSeed() throws IOException {
+		SyntheticClassGenerator generator = new SyntheticClassGenerator();
+		generator.setConstantPoolSize(1000);
+		generator.setCodeLength(1000);
+		generator.setSeed(1);
+		byte[] first = generator.generate();
+		assertArrayEquals(first, generator.generate());
+		generator.setSeed(2);
+		assertFalse(Arrays.equals(first, generator.generate()));
+	}
+
+	@Test
+	public void testConstantPool() throws IOException {
+		SyntheticClassGenerator generator = new SyntheticClassGenerator();
+		generator.setConstantPoolSize(SyntheticClassGenerator.MAX_CONSTANT_POOL_SIZE);
+		ClassInfo info = ClassReader.readClass(generator.generate());
+		assertEquals(SyntheticClassGenerator.MAX_CONSTANT_POOL_SIZE, info.getConstantPool().getNumEntries());
+		assertTrue(info.getParseErrors().isEmpty());
+	}
+
+	@Test
+	public void testMembers() throws IOException {
+		SyntheticClassGenerator generator = new SyntheticClassGenerator();
+		generator.setFieldCount(2000);
+		generator.setMethodCount(3000);
+		ClassInfo info = ClassReader.readClass(generator.generate());
+		assertEquals(2000, info.getFields().length);
+		assertEquals(3000, info.getMethods().length);
+		assertNotNull(info.findMethod("m2999", "()V"));
+		assertNotNull(info.findField("f1999"));
+	}
+
+	@Test
+	public void testCode() throws IOException {
+		SyntheticClassGenerator generator = new SyntheticClassGenerator();
+		generator.setCodeLength(SyntheticClassGenerator.MAX_CODE_LENGTH);
+		generator.setLocalVariableCount(5000);
+		ClassInfo info = ClassReader.readClass(generator.generate());
+		MethodInfo method = info.getMethods()[0];
+		assertEquals(SyntheticClassGenerator.MAX_CODE_LENGTH, method.getCode().length);
+		CodeAttribute code = (CodeAttribute) method.getAttribute(AttributeType.CODE).getValue();
+		assertEquals(5000, code.getLocalVariables().length);
+		assertEquals("v4999", code.getLocalVariables()[4999].getName());
+
+		// the code should be valid instructions all of the way to the return
+		InstructionCursor cursor = new InstructionCursor(code);
+		int lastPc = -1;
+		while (cursor.next()) {
+			lastPc = cursor.getPc();
+		}
+		assertFalse(cursor.isInvalid());
+		assertEquals(SyntheticClassGenerator.MAX_CODE_LENGTH - 1, lastPc);
+	}
+
+	@Test
+	public void testAnnotations() throws IOException {
+		SyntheticClassGenerator generator = new SyntheticClassGenerator();
+		generator.setAnnotationArrayWidth(3);
+		generator.setAnnotationArrayDepth(4);
+		ClassInfo info = ClassReader.readClass(generator.generate());
+		AnnotationInfo[] annotations = info.getRuntimeAnnotations();
+		assertEquals(1, annotations.length);
+		AnnotationFieldValue value = annotations[0].getValues()[0];
+		int depth = 0;
+		while (value.getArrayValues() != null) {
+			assertEquals(3, value.getArrayValues().length);
+			value = value.getArrayValues()[2];
+			depth++;
+		}
+		assertEquals(4, depth);
+		assertNotNull(value.getConstIntegerValue());
+	}
+}
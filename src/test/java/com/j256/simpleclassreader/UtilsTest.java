@@ -8,6 +8,7 @@ import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Random;
 
@@ -35,6 +36,38 @@ public class UtilsTest {
 		assertEquals("", Utils.classPathToPackage(""));
 	}
 
+	@Test
+	public void testHash64() {
+		assertEquals(0xEF46DB3751D8E999L, Utils.hash64(new byte[0], 0, 0));
+		byte[] bytes = "abc".getBytes(StandardCharsets.US_ASCII);
+		assertEquals(0x44BC2CF5AD770999L, Utils.hash64(bytes, 0, bytes.length));
+		bytes = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.US_ASCII);
+		assertEquals(0x0B242D361FDA71BCL, Utils.hash64(bytes, 0, bytes.length));
+		// offset into a larger array
+		byte[] padded = new byte[bytes.length + 10];
+		System.arraycopy(bytes, 0, padded, 5, bytes.length);
+		assertEquals(Utils.hash64(bytes, 0, bytes.length), Utils.hash64(padded, 5, bytes.length));
+	}
+
+	@Test
+	public void testReadModifiedUtf8() {
+		byte[] bytes = new byte[] { 'a', (byte) 0xC0, (byte) 0x80, (byte) 0xC3, (byte) 0xA9, (byte) 0xED, (byte) 0xA0,
+				(byte) 0xB5, (byte) 0xED, (byte) 0xB0, (byte) 0x80, 'z' };
+		assertEquals("a\u0000\u00E9\uD835\uDC00z", Utils.readModifiedUtf8(bytes, 0, bytes.length));
+		assertEquals("\u00E9", Utils.readModifiedUtf8(bytes, 3, 2));
+		// truncated and stray continuation bytes are replaced
+		assertEquals("a\uFFFD", Utils.readModifiedUtf8(bytes, 0, 2));
+		assertEquals("\uFFFD\uFFFD", Utils.readModifiedUtf8(bytes, 9, 2));
+	}
+
+	@Test
+	public void testReadFromBytes() {
+		byte[] bytes = new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 1, 2 };
+		assertEquals(0xCAFE, Utils.readUnsignedShort(bytes, 0));
+		assertEquals(0x0102, Utils.readUnsignedShort(bytes, 4));
+		assertEquals(0xCAFEBABE, Utils.readInt(bytes, 0));
+	}
+
 	private void testReadLength(int length) throws IOException {
 		byte[] input = new byte[length];
 		new Random().nextBytes(input);
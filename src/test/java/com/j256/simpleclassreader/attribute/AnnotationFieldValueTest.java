@@ -2,8 +2,17 @@ package com.j256.simpleclassreader.attribute;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 import org.junit.Test;
 
+import com.j256.simpleclassreader.ClassReaderOptions;
+import com.j256.simpleclassreader.ConstantPool;
+import com.j256.simpleclassreader.ParseContext;
 import com.j256.simpleclassreader.attribute.AnnotationFieldValue.AnnotationValueType;
 
 public class AnnotationFieldValueTest {
@@ -15,4 +24,33 @@ public class AnnotationFieldValueTest {
 		AnnotationValueType tag = AnnotationValueType.STRING;
 		assertEquals(tag, AnnotationValueType.fromChar(tag.getTagChar()));
 	}
+
+	@Test
+	public void testReadOutsideOfPackage() throws IOException {
+		ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+		DataOutputStream poolOutput = new DataOutputStream(poolBytes);
+		poolOutput.writeShort(3);
+		// UTF8 tag
+		poolOutput.writeByte(1);
+		poolOutput.writeUTF("value");
+		// integer tag
+		poolOutput.writeByte(3);
+		poolOutput.writeInt(42);
+		ConstantPool constantPool =
+				ConstantPool.read(new DataInputStream(new ByteArrayInputStream(poolBytes.toByteArray())));
+
+		// name index, int type, and value index
+		byte[] bytes = new byte[] { 0, 1, 'I', 0, 2 };
+		ParseContext context = ParseContext.forBytes(new ClassReaderOptions(), bytes, 0, bytes.length);
+		AnnotationFieldValue value =
+				AnnotationFieldValue.read(context.getDataInputStream(), constantPool, context, true);
+		assertEquals("value", value.getFieldName());
+		assertEquals(42, (int) value.getConstIntegerValue());
+		assertTrue(context.getParseErrors().isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testForBytesBadRange() {
+		ParseContext.forBytes(new ClassReaderOptions(), new byte[4], 2, 3);
+	}
 }
@@ -0,0 +1,211 @@
+package com.j256.simpleclassreader.bytecode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.TestUtils;
+import com.j256.simpleclassreader.attribute.AttributeType;
+import com.j256.simpleclassreader.attribute.CodeAttribute;
+
+public class InstructionCursorTest {
+
+	@Test
+	public void testStuff() {
+		byte[] code = new byte[] { //
+				(byte) Opcodes.ALOAD_1, //
+				(byte) Opcodes.BIPUSH, -5, //
+				(byte) Opcodes.SIPUSH, 0x12, 0x34, //
+				(byte) Opcodes.IINC, 3, -1, //
+				(byte) Opcodes.WIDE, (byte) Opcodes.ILOAD, 0x01, 0x02, //
+				(byte) Opcodes.WIDE, (byte) Opcodes.IINC, 0x01, 0x00, (byte) 0xFF, (byte) 0xFE, //
+				(byte) Opcodes.INVOKEVIRTUAL, 0x00, 0x07, //
+				(byte) Opcodes.GOTO, (byte) 0xFF, (byte) 0xFB, //
+				(byte) Opcodes.RETURN, //
+		};
+		InstructionCursor cursor = new InstructionCursor(code);
+		assertTrue(cursor.next());
+		assertEquals(Opcodes.ALOAD_1, cursor.getOpcode());
+		assertEquals("aload_1", cursor.getOpcodeName());
+		assertEquals(1, cursor.getLocalIndex());
+		assertEquals(-1, cursor.getConstantPoolIndex());
+
+		assertTrue(cursor.next());
+		assertEquals(1, cursor.getPc());
+		assertEquals(-5, cursor.getValue());
+		assertTrue(cursor.next());
+		assertEquals(0x1234, cursor.getValue());
+
+		assertTrue(cursor.next());
+		assertEquals(Opcodes.IINC, cursor.getOpcode());
+		assertEquals(3, cursor.getLocalIndex());
+		assertEquals(-1, cursor.getIncrement());
+
+		assertTrue(cursor.next());
+		assertEquals(Opcodes.ILOAD, cursor.getOpcode());
+		assertTrue(cursor.isWide());
+		assertEquals(0x0102, cursor.getLocalIndex());
+		assertEquals(4, cursor.getLength());
+
+		assertTrue(cursor.next());
+		assertEquals(Opcodes.IINC, cursor.getOpcode());
+		assertTrue(cursor.isWide());
+		assertEquals(0x0100, cursor.getLocalIndex());
+		assertEquals(-2, cursor.getIncrement());
+		assertEquals(6, cursor.getLength());
+
+		assertTrue(cursor.next());
+		assertEquals(Opcodes.INVOKEVIRTUAL, cursor.getOpcode());
+		assertFalse(cursor.isWide());
+		assertEquals(7, cursor.getConstantPoolIndex());
+
+		assertTrue(cursor.next());
+		assertTrue(cursor.isBranch());
+		assertEquals(-5, cursor.getBranchOffset());
+		assertEquals(cursor.getPc() - 5, cursor.getBranchTarget());
+
+		assertTrue(cursor.next());
+		assertEquals(Opcodes.RETURN, cursor.getOpcode());
+		assertFalse(cursor.next());
+		assertFalse(cursor.isInvalid());
+
+		cursor.reset();
+		assertTrue(cursor.next());
+		assertEquals(0, cursor.getPc());
+	}
+
+	@Test
+	public void testSwitches() {
+		byte[] code = new byte[] { //
+				(byte) Opcodes.ILOAD_0, //
+				(byte) Opcodes.TABLESWITCH, 0, 0, // padding to pc 4
+				0, 0, 0, 40, // default
+				0, 0, 0, 1, // low
+				0, 0, 0, 2, // high
+				0, 0, 0, 30, // case 1
+				0, 0, 0, 35, // case 2
+				(byte) Opcodes.LOOKUPSWITCH, 0, 0, 0, // padding to pc 28
+				0, 0, 0, 50, // default
+				0, 0, 0, 1, // npairs
+				0, 0, 0, 100, 0, 0, 0, 20, // match 100
+				(byte) Opcodes.RETURN, //
+		};
+		InstructionCursor cursor = new InstructionCursor(code);
+		assertTrue(cursor.next());
+		assertTrue(cursor.next());
+		assertTrue(cursor.isSwitch());
+		assertEquals(1, cursor.getPc());
+		assertEquals(23, cursor.getLength());
+		assertEquals(40, cursor.getSwitchDefaultOffset());
+		assertEquals(2, cursor.getSwitchCaseCount());
+		assertEquals(1, cursor.getSwitchCaseMatch(0));
+		assertEquals(2, cursor.getSwitchCaseMatch(1));
+		assertEquals(30, cursor.getSwitchCaseOffset(0));
+		assertEquals(35, cursor.getSwitchCaseOffset(1));
+
+		assertTrue(cursor.next());
+		assertEquals(Opcodes.LOOKUPSWITCH, cursor.getOpcode());
+		assertEquals(24, cursor.getPc());
+		assertEquals(50, cursor.getSwitchDefaultOffset());
+		assertEquals(1, cursor.getSwitchCaseCount());
+		assertEquals(100, cursor.getSwitchCaseMatch(0));
+		assertEquals(20, cursor.getSwitchCaseOffset(0));
+
+		assertTrue(cursor.next());
+		assertEquals(Opcodes.RETURN, cursor.getOpcode());
+		assertFalse(cursor.next());
+	}
+
+	@Test
+	public void testEmptyLookupSwitchAtEnd() {
+		byte[] code = new byte[] { //
+				(byte) Opcodes.ILOAD_0, //
+				(byte) Opcodes.LOOKUPSWITCH, 0, 0, // padding to pc 4
+				0, 0, 0, 0, // default
+				0, 0, 0, 0, // npairs
+		};
+		InstructionCursor cursor = new InstructionCursor(code);
+		assertTrue(cursor.next());
+		assertTrue(cursor.next());
+		assertEquals(Opcodes.LOOKUPSWITCH, cursor.getOpcode());
+		assertEquals(11, cursor.getLength());
+		assertEquals(0, cursor.getSwitchCaseCount());
+		assertFalse(cursor.next());
+		assertFalse(cursor.isInvalid());
+
+		// but a tableswitch needs the low and high as well
+		code[1] = (byte) Opcodes.TABLESWITCH;
+		cursor = new InstructionCursor(code);
+		assertTrue(cursor.next());
+		assertFalse(cursor.next());
+		assertTrue(cursor.isInvalid());
+	}
+
+	@Test
+	public void testInvalid() {
+		InstructionCursor cursor = new InstructionCursor(new byte[] { (byte) Opcodes.NOP, (byte) 0xCB });
+		assertTrue(cursor.next());
+		assertFalse(cursor.next());
+		assertTrue(cursor.isInvalid());
+		assertEquals(1, cursor.getPc());
+		assertFalse(cursor.next());
+
+		// truncated operand
+		cursor = new InstructionCursor(new byte[] { (byte) Opcodes.SIPUSH, 1 });
+		assertFalse(cursor.next());
+		assertTrue(cursor.isInvalid());
+
+		// wide of an opcode that cannot be widened
+		cursor = new InstructionCursor(new byte[] { (byte) Opcodes.WIDE, (byte) Opcodes.NOP, 0, 0 });
+		assertFalse(cursor.next());
+		assertTrue(cursor.isInvalid());
+	}
+
+	@Test
+	public void testRealCode() throws IOException {
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(CodeTest.class)));
+		CodeAttribute codeAttribute = (CodeAttribute) info.findMethod("describe", "(I)Ljava/lang/String;")
+				.getAttribute(AttributeType.CODE)
+				.getValue();
+		InstructionCursor cursor = new InstructionCursor(codeAttribute);
+		int count = 0;
+		boolean foundSwitch = false;
+		int lastPc = -1;
+		while (cursor.next()) {
+			assertTrue(cursor.getPc() > lastPc);
+			lastPc = cursor.getPc();
+			if (cursor.isSwitch()) {
+				foundSwitch = true;
+				assertEquals(3, cursor.getSwitchCaseCount());
+			}
+			count++;
+		}
+		assertFalse(cursor.isInvalid());
+		assertTrue(foundSwitch);
+		assertTrue(count > 5);
+		assertEquals(codeAttribute.getCode().length, lastPc + cursor.getLength());
+	}
+
+	private static class CodeTest {
+		@SuppressWarnings("unused")
+		public String describe(int value) {
+			switch (value) {
+				case 1:
+					return "one";
+				case 2:
+					return "two";
+				case 3:
+					return "three";
+				default:
+					return "many";
+			}
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package com.j256.simpleclassreader.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.TestUtils;
+import com.j256.simpleclassreader.bytecode.Opcodes;
+
+public class CallGraphBuilderTest {
+
+	private static final String AREA_DESC = "()I";
+
+	@Test
+	public void testCalls() throws IOException {
+		CallGraphBuilder builder = new CallGraphBuilder();
+		for (ClassInfo classInfo : readClasses()) {
+			builder.addClass(classInfo);
+		}
+		assertEquals(4, builder.getClassCount());
+		CallGraph graph = builder.build(false);
+
+		int totalId = graph.findMethodId(Caller.class.getName(), "total", "(L" + path(Shape.class) + ";)I");
+		int shapeAreaId = graph.findMethodId(Shape.class.getName(), "area", AREA_DESC);
+		int cubeAreaId = graph.findMethodId(Cube.class.getName(), "area", AREA_DESC);
+		int helperId = graph.findMethodId(Caller.class.getName(), "helper", "(I)I");
+		assertTrue(totalId >= 0);
+		assertTrue(shapeAreaId >= 0);
+		assertTrue(helperId >= 0);
+
+		int[] callees = graph.getCallees(totalId);
+		assertTrue(contains(callees, shapeAreaId));
+		assertTrue(contains(callees, helperId));
+		// only called through the hierarchy
+		assertFalse(contains(callees, cubeAreaId));
+		int[] callers = graph.getCallers(helperId);
+		assertEquals(1, callers.length);
+		assertEquals(totalId, callers[0]);
+
+		boolean foundVirtual = false;
+		for (int edge = graph.getCallerEdgeStart(totalId); edge < graph.getCallerEdgeEnd(totalId); edge++) {
+			assertEquals(totalId, graph.getCaller(edge));
+			assertFalse(graph.isHierarchyEdge(edge));
+			if (graph.getCallee(edge) == shapeAreaId) {
+				assertEquals(Opcodes.INVOKEVIRTUAL, graph.getOpcode(edge));
+				foundVirtual = true;
+			} else if (graph.getCallee(edge) == helperId) {
+				assertEquals(Opcodes.INVOKESTATIC, graph.getOpcode(edge));
+			}
+		}
+		assertTrue(foundVirtual);
+
+		// constructors call their super constructors
+		int squareInitId = graph.findMethodId(Square.class.getName(), "<init>", "()V");
+		int[] initCallees = graph.getCallees(squareInitId);
+		assertEquals(1, initCallees.length);
+		// the private nested class may be constructed through a synthetic constructor
+		assertTrue(graph.getMethodKey(initCallees[0]).startsWith(Shape.class.getName() + ".<init>("));
+
+		// the lambda is an invokedynamic call-site without an owner
+		int dynamicId = graph.findMethodId(null, "run", "()Ljava/lang/Runnable;");
+		assertTrue(dynamicId >= 0);
+		assertTrue(contains(graph.getCallers(dynamicId),
+				graph.findMethodId(Caller.class.getName(), "task", "()Ljava/lang/Runnable;")));
+	}
+
+	@Test
+	public void testClassHierarchyAnalysis() throws IOException {
+		CallGraphBuilder builder = new CallGraphBuilder();
+		builder.addClasses(readClasses(), 2);
+		CallGraph graph = builder.build(true);
+
+		int totalId = graph.findMethodId(Caller.class.getName(), "total", "(L" + path(Shape.class) + ";)I");
+		int squareAreaId = graph.findMethodId(Square.class.getName(), "area", AREA_DESC);
+		int cubeAreaId = graph.findMethodId(Cube.class.getName(), "area", AREA_DESC);
+		assertTrue(squareAreaId >= 0);
+		assertTrue(cubeAreaId >= 0);
+		int[] callees = graph.getCallees(totalId);
+		assertTrue(contains(callees, squareAreaId));
+		assertTrue(contains(callees, cubeAreaId));
+		for (int edge = graph.getCallerEdgeStart(totalId); edge < graph.getCallerEdgeEnd(totalId); edge++) {
+			if (graph.getCallee(edge) == cubeAreaId) {
+				assertTrue(graph.isHierarchyEdge(edge));
+				assertEquals(Opcodes.INVOKEVIRTUAL, graph.getOpcode(edge));
+			}
+		}
+
+		// a change to the cube's area affects the total and then the caller of the total
+		int[] affected = graph.getTransitiveCallers(cubeAreaId);
+		assertTrue(contains(affected, totalId));
+		assertTrue(contains(affected, graph.findMethodId(Caller.class.getName(), "sum", "()I")));
+	}
+
+	@Test
+	public void testInvalidDescriptor() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(Shape.class)).toPath());
+		// break the area descriptor in the constant-pool by changing its opening parenthesis
+		byte[] utf8 = new byte[] { 1, 0, 3, '(', ')', 'I' };
+		boolean found = false;
+		for (int i = 0; i + utf8.length <= bytes.length; i++) {
+			if (Arrays.equals(utf8, Arrays.copyOfRange(bytes, i, i + utf8.length))) {
+				bytes[i + 3] = 'X';
+				found = true;
+			}
+		}
+		assertTrue(found);
+		ClassInfo classInfo = ClassReader.readClass(bytes);
+		CallGraphBuilder builder = new CallGraphBuilder();
+		builder.addClass(classInfo);
+		assertEquals(1, builder.getClassCount());
+		assertEquals(-1, builder.build(true).findMethodId(Shape.class.getName(), "area", "X)I"));
+	}
+
+	private static List<ClassInfo> readClasses() throws IOException {
+		List<ClassInfo> classInfos = new ArrayList<>();
+		for (Class<?> clazz : new Class<?>[] { Shape.class, Square.class, Cube.class, Caller.class }) {
+			classInfos.add(ClassReader.readClass(new File(TestUtils.classToPath(clazz))));
+		}
+		return classInfos;
+	}
+
+	private static String path(Class<?> clazz) {
+		return clazz.getName().replace('.', '/');
+	}
+
+	private static boolean contains(int[] ids, int id) {
+		for (int value : ids) {
+			if (value == id) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static abstract class Shape {
+		public abstract int area();
+	}
+
+	private static class Square extends Shape {
+		@Override
+		public int area() {
+			return 4;
+		}
+	}
+
+	private static class Cube extends Square {
+		@Override
+		public int area() {
+			return super.area() * 6;
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static class Caller {
+		public int sum() {
+			return total(new Cube());
+		}
+
+		public int total(Shape shape) {
+			return helper(shape.area());
+		}
+
+		public Runnable task() {
+			// the lambda is compiled to an invokedynamic
+			return () -> System.gc();
+		}
+
+		private static int helper(int value) {
+			return value + 1;
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.j256.simpleclassreader.graph;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.bytecode.Opcodes;
+
+public class CallGraphTest {
+
+	@Test
+	public void testEdges() {
+		CallGraph graph = buildGraph();
+		assertEquals(4, graph.getMethodCount());
+		assertEquals(5, graph.getEdgeCount());
+		assertEquals("a.A.a()V", graph.getMethodKey(0));
+		assertEquals(1, graph.findMethodId("a.B", "b", "()V"));
+		assertEquals(-1, graph.findMethodId("a.Z", "z", "()V"));
+		assertEquals("run()Ljava/lang/Runnable;", CallGraph.methodKey(null, "run", "()Ljava/lang/Runnable;"));
+
+		// the two edges from a to b are a direct and a hierarchy edge but b is only returned once
+		assertArrayEquals(new int[] { 1, 2 }, graph.getCallees(0));
+		assertArrayEquals(new int[] { 0 }, graph.getCallers(1));
+		assertArrayEquals(new int[] { 0, 1 }, graph.getCallers(2));
+		assertArrayEquals(new int[0], graph.getCallees(3));
+		assertEquals(0, graph.getCallerEdgeStart(0));
+		assertEquals(3, graph.getCallerEdgeEnd(0));
+		assertEquals(Opcodes.INVOKESTATIC, graph.getOpcode(2));
+		assertTrue(graph.isHierarchyEdge(1));
+		assertFalse(graph.isHierarchyEdge(0));
+	}
+
+	@Test
+	public void testTransitiveCallers() {
+		CallGraph graph = buildGraph();
+		assertArrayEquals(new int[] { 0, 1, 2 }, graph.getTransitiveCallers(2));
+		assertArrayEquals(new int[] { 0, 1, 2 }, graph.getTransitiveCallers(0));
+		assertArrayEquals(new int[0], graph.getTransitiveCallers(3));
+	}
+
+	/**
+	 * a -> b (virtual and hierarchy), a -> c, b -> c, c -> a
+	 */
+	private CallGraph buildGraph() {
+		BitSet hierarchyEdges = new BitSet();
+		hierarchyEdges.set(1);
+		return new CallGraph(new String[] { "a.A.a()V", "a.B.b()V", "a.C.c()V", "a.D.d()V" },
+				new int[] { 0, 0, 0, 1, 2 }, new int[] { 1, 1, 2, 2, 0 },
+				new byte[] { (byte) Opcodes.INVOKEVIRTUAL, (byte) Opcodes.INVOKEVIRTUAL, (byte) Opcodes.INVOKESTATIC,
+						(byte) Opcodes.INVOKESTATIC, (byte) Opcodes.INVOKESTATIC },
+				hierarchyEdges);
+	}
+}
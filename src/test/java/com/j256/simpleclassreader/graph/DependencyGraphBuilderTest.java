@@ -0,0 +1,158 @@
+package com.j256.simpleclassreader.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.TestUtils;
+
+public class DependencyGraphBuilderTest {
+
+	@Test
+	public void testClassGraph() throws IOException {
+		DependencyGraphBuilder builder = new DependencyGraphBuilder();
+		assertTrue(builder.addClass(null, classBytes(First.class)));
+		assertTrue(builder.addClass(null, classBytes(Second.class)));
+		assertFalse(builder.addClass(null, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 }));
+		assertEquals(2, builder.getClassCount());
+
+		DependencyGraph graph = builder.build(GraphLevel.CLASS);
+		int firstId = graph.findNodeId(First.class.getName());
+		int secondId = graph.findNodeId(Second.class.getName());
+		int atomicId = graph.findNodeId(AtomicLong.class.getName());
+		assertTrue(graph.hasEdge(firstId, secondId));
+		assertTrue(graph.hasEdge(secondId, firstId));
+		assertTrue(graph.hasEdge(secondId, atomicId));
+		// classes that were not added have no dependencies
+		assertEquals(0, graph.getDependencyCount(atomicId));
+
+		List<int[]> cycles = graph.findCycles();
+		assertEquals(1, cycles.size());
+		int[] expected = new int[] { firstId, secondId };
+		Arrays.sort(expected);
+		assertTrue(Arrays.equals(expected, cycles.get(0)));
+	}
+
+	@Test
+	public void testPackageGraph() throws IOException {
+		DependencyGraphBuilder builder = new DependencyGraphBuilder();
+		builder.addClass(null, classBytes(First.class));
+		builder.addClass(null, classBytes(Second.class));
+		DependencyGraph graph = builder.build(GraphLevel.PACKAGE);
+		int packageId = graph.findNodeId(First.class.getPackage().getName());
+		assertTrue(graph.hasEdge(packageId, graph.findNodeId(AtomicLong.class.getPackage().getName())));
+		// edges inside of the package are dropped
+		assertFalse(graph.hasEdge(packageId, packageId));
+		assertTrue(graph.findCycles().isEmpty());
+	}
+
+	@Test
+	public void testJars() throws IOException {
+		File firstJar = writeJar(First.class);
+		File secondJar = writeJar(Second.class);
+		try {
+			DependencyGraphBuilder builder = new DependencyGraphBuilder();
+			builder.addJars(Arrays.asList(firstJar, secondJar), 2);
+			assertEquals(2, builder.getClassCount());
+			assertEquals(0, builder.getPendingJarCount());
+
+			DependencyGraph graph = builder.build(GraphLevel.CONTAINER);
+			// classes outside of the jars are not nodes
+			assertEquals(2, graph.getNodeCount());
+			assertEquals(2, graph.getEdgeCount());
+			assertTrue(graph.hasEdge(graph.findNodeId(firstJar.getName()), graph.findNodeId(secondJar.getName())));
+			assertEquals(1, graph.findCycles().size());
+		} finally {
+			firstJar.delete();
+			secondJar.delete();
+		}
+	}
+
+	@Test
+	public void testJarFailure() throws IOException {
+		File firstJar = writeJar(First.class);
+		File secondJar = writeJar(Second.class);
+		try {
+			DependencyGraphBuilder builder = new DependencyGraphBuilder();
+			try {
+				builder.addJars(Arrays.asList(new File("target/does-not-exist.jar"), firstJar, secondJar), 2);
+				fail("should have thrown");
+			} catch (IOException ioe) {
+				// expected
+			}
+			// the jars in progress have finished when the add returns
+			assertEquals(0, builder.getPendingJarCount());
+			assertTrue(builder.getClassCount() <= 2);
+		} finally {
+			firstJar.delete();
+			secondJar.delete();
+		}
+	}
+
+	@Test
+	public void testJarBadEntries() throws IOException {
+		File jarFile = File.createTempFile(getClass().getSimpleName(), ".jar");
+		try {
+			byte[] secondBytes = classBytes(Second.class);
+			try (JarOutputStream output = new JarOutputStream(new FileOutputStream(jarFile));) {
+				output.putNextEntry(new ZipEntry("Invalid.class"));
+				output.write(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 });
+				output.closeEntry();
+				output.putNextEntry(new ZipEntry("Truncated.class"));
+				output.write(secondBytes, 0, secondBytes.length / 2);
+				output.closeEntry();
+				output.putNextEntry(new ZipEntry(First.class.getName().replace('.', '/') + ".class"));
+				output.write(classBytes(First.class));
+				output.closeEntry();
+			}
+			DependencyGraphBuilder builder = new DependencyGraphBuilder();
+			builder.addJar(jarFile);
+			// the bad entries are skipped and the entries after them are still added
+			assertEquals(1, builder.getClassCount());
+			DependencyGraph graph = builder.build(GraphLevel.CLASS);
+			int firstId = graph.findNodeId(First.class.getName());
+			assertTrue(graph.hasEdge(firstId, graph.findNodeId(Second.class.getName())));
+		} finally {
+			jarFile.delete();
+		}
+	}
+
+	private File writeJar(Class<?> clazz) throws IOException {
+		File jarFile = File.createTempFile(getClass().getSimpleName(), ".jar");
+		try (JarOutputStream output = new JarOutputStream(new FileOutputStream(jarFile));) {
+			output.putNextEntry(new ZipEntry(clazz.getName().replace('.', '/') + ".class"));
+			output.write(classBytes(clazz));
+			output.closeEntry();
+		}
+		return jarFile;
+	}
+
+	private static byte[] classBytes(Class<?> clazz) throws IOException {
+		return Files.readAllBytes(new File(TestUtils.classToPath(clazz)).toPath());
+	}
+
+	private static class First {
+		@SuppressWarnings("unused")
+		private Second second;
+	}
+
+	private static class Second {
+		@SuppressWarnings("unused")
+		private First first;
+		@SuppressWarnings("unused")
+		private final AtomicLong counter = new AtomicLong();
+	}
+}
@@ -0,0 +1,78 @@
+package com.j256.simpleclassreader.graph;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class DependencyGraphTest {
+
+	@Test
+	public void testEdges() {
+		DependencyGraph graph = buildGraph();
+		assertEquals(6, graph.getNodeCount());
+		assertEquals(7, graph.getEdgeCount());
+		assertEquals(GraphLevel.PACKAGE, graph.getLevel());
+		assertEquals(1, graph.findNodeId("b"));
+		assertEquals(-1, graph.findNodeId("z"));
+		assertEquals("b", graph.getNodeName(1));
+		assertEquals(2, graph.getDependencyCount(0));
+		assertEquals(2, graph.getDependency(0, 1));
+		assertArrayEquals(new int[] { 1, 2 }, graph.getDependencies(0));
+		assertTrue(graph.hasEdge(0, 2));
+		assertFalse(graph.hasEdge(2, 0));
+		assertArrayEquals(new int[] { 5 }, graph.getDependencies(5));
+	}
+
+	@Test
+	public void testReachable() {
+		DependencyGraph graph = buildGraph();
+		assertTrue(graph.isReachable(0, 4));
+		assertFalse(graph.isReachable(4, 0));
+		assertFalse(graph.isReachable(0, 5));
+		// 3 and 4 are in a cycle so 3 can reach itself but 0 cannot
+		assertArrayEquals(new int[] { 1, 2, 3, 4 }, graph.getReachable(0));
+		assertArrayEquals(new int[] { 3, 4 }, graph.getReachable(3));
+		assertArrayEquals(new int[] { 5 }, graph.getReachable(5));
+	}
+
+	@Test
+	public void testCycles() {
+		DependencyGraph graph = buildGraph();
+		List<int[]> cycles = graph.findCycles();
+		assertEquals(2, cycles.size());
+		assertArrayEquals(new int[] { 3, 4 }, cycles.get(0));
+		assertArrayEquals(new int[] { 5 }, cycles.get(1));
+	}
+
+	@Test
+	public void testDeepCycle() {
+		// long chain which would overflow the stack if the search recursed
+		int numNodes = 100000;
+		String[] names = new String[numNodes];
+		int[] edgeStarts = new int[numNodes + 1];
+		int[] edgeTargets = new int[numNodes];
+		for (int i = 0; i < numNodes; i++) {
+			names[i] = String.format("n%06d", i);
+			edgeStarts[i + 1] = i + 1;
+			edgeTargets[i] = (i + 1) % numNodes;
+		}
+		DependencyGraph graph = new DependencyGraph(GraphLevel.CLASS, names, edgeStarts, edgeTargets);
+		List<int[]> cycles = graph.findCycles();
+		assertEquals(1, cycles.size());
+		assertEquals(numNodes, cycles.get(0).length);
+		assertTrue(graph.isReachable(numNodes - 1, 0));
+	}
+
+	/**
+	 * a -> b, c; b -> c; c -> d; d -> e; e -> d; f -> f
+	 */
+	private DependencyGraph buildGraph() {
+		return new DependencyGraph(GraphLevel.PACKAGE, new String[] { "a", "b", "c", "d", "e", "f" },
+				new int[] { 0, 2, 3, 4, 5, 6, 7 }, new int[] { 1, 2, 2, 3, 4, 3, 5 });
+	}
+}
@@ -0,0 +1,18 @@
+package com.j256.simpleclassreader.jfr;
+
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class ParseEventsTest {
+
+	@Test
+	public void testNotRecording() {
+		// with no recording the events are not enabled so nothing is filled in
+		assertNull(ParseEvents.beginClassParse());
+		assertNull(ParseEvents.beginJarScan("foo.jar"));
+		ParseEvents.endClassParse(null, "foo", 1, 0);
+		ParseEvents.endJarScan(null, 1, 1);
+		ParseEvents.cacheAccess("foo", true);
+	}
+}
@@ -0,0 +1,95 @@
+package com.j256.simpleclassreader.jmx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReaderErrorType;
+import com.j256.simpleclassreader.ClassReaderOptions;
+import com.j256.simpleclassreader.ParseCache;
+import com.j256.simpleclassreader.ParseMetrics;
+import com.j256.simpleclassreader.TestUtils;
+
+public class ClassReaderStatsTest {
+
+	@Test
+	public void testStats() throws IOException {
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(getClass())).toPath());
+		ParseMetrics metrics = new ParseMetrics();
+		ClassReaderOptions options = new ClassReaderOptions();
+		options.setParseMetrics(metrics);
+		ParseCache cache = new ParseCache(options);
+		ClassReaderStats stats = new ClassReaderStats(metrics);
+		assertEquals(0, stats.getParseCacheSize());
+		assertEquals(0, stats.getScanQueueDepth());
+		stats.setParseCache(cache);
+
+		ClassInfo info = cache.readClass(bytes);
+		cache.readClass(bytes);
+		assertEquals(1, stats.getClassesParsed());
+		assertEquals(bytes.length, stats.getBytesRead());
+		assertTrue(stats.getAverageParseNanos() > 0);
+		assertTrue(stats.getP99ParseNanos() >= stats.getAverageParseNanos());
+		assertEquals(1, stats.getParseCacheSize());
+		assertEquals(0.5, stats.getParseCacheHitRate(), 0.0);
+
+		assertEquals(info.getParseErrors().size(), stats.getParseErrorCount());
+		long total = 0;
+		for (Map.Entry<String, Long> entry : stats.getParseErrorCounts().entrySet()) {
+			assertEquals(entry.getValue().longValue(),
+					metrics.getErrorCount(ClassReaderErrorType.valueOf(entry.getKey())));
+			total += entry.getValue();
+		}
+		assertEquals(stats.getParseErrorCount(), total);
+
+		stats.resetParseStats();
+		assertEquals(0, stats.getClassesParsed());
+		assertEquals(0, stats.getP99ParseNanos());
+		assertTrue(stats.getParseErrorCounts().isEmpty());
+		assertEquals(1, stats.getParseCacheSize());
+	}
+
+	@Test
+	public void testRegister() throws JMException {
+		ParseMetrics metrics = new ParseMetrics();
+		ClassReaderStats stats = new ClassReaderStats(metrics);
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = stats.register("test");
+		try {
+			assertTrue(server.isRegistered(objectName));
+			assertEquals(0L, server.getAttribute(objectName, "ClassesParsed"));
+			assertTrue(server.getAttribute(objectName, "ParseErrorCounts") instanceof TabularData);
+			server.invoke(objectName, "resetParseStats", null, null);
+		} finally {
+			stats.unregister();
+		}
+		assertFalse(server.isRegistered(objectName));
+		// does nothing the second time
+		stats.unregister();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testRegisterTwice() throws JMException {
+		ClassReaderStats stats = new ClassReaderStats(new ParseMetrics());
+		stats.register("twice");
+		try {
+			stats.register("twice");
+		} finally {
+			stats.unregister();
+		}
+	}
+}
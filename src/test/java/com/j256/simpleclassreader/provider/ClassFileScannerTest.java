@@ -0,0 +1,101 @@
+package com.j256.simpleclassreader.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReaderOptions;
+
+public class ClassFileScannerTest {
+
+	@Test
+	public void testDirectory() throws IOException {
+		Set<String> names = new HashSet<>();
+		try (ClassFileScanner scanner =
+				ClassFileScanner.forDirectory(new File("target/test-classes"), new ClassReaderOptions());) {
+			ClassInfo info;
+			while ((info = scanner.next()) != null) {
+				names.add(info.getClassName());
+			}
+			assertNull(scanner.next());
+		}
+		assertTrue(names.contains(ClassFileScannerTest.class.getName()));
+		assertTrue(names.contains(ClassInfoProviderTest.class.getName()));
+	}
+
+	@Test
+	public void testDirectoryTruncated() throws IOException {
+		File dir = new File("target/" + getClass().getSimpleName());
+		File subDir = new File(dir, "sub");
+		subDir.mkdirs();
+		String path = ProviderUtils.classNameToPath(ClassFileScannerTest.class.getName());
+		byte[] classBytes = Files.readAllBytes(new File("target/test-classes", path).toPath());
+		File truncated = new File(dir, "Truncated.class");
+		File valid = new File(subDir, "Valid.class");
+		try {
+			Files.write(truncated.toPath(), Arrays.copyOf(classBytes, classBytes.length / 2));
+			Files.write(valid.toPath(), classBytes);
+			try (ClassFileScanner scanner = ClassFileScanner.forDirectory(dir, new ClassReaderOptions());) {
+				// the truncated file is first in name order but does not end the scan
+				assertEquals(ClassFileScannerTest.class.getName(), scanner.next().getClassName());
+				assertNull(scanner.next());
+				assertEquals(1, scanner.getSkippedCount());
+			}
+		} finally {
+			truncated.delete();
+			valid.delete();
+			subDir.delete();
+			dir.delete();
+		}
+	}
+
+	@Test
+	public void testMissingDirectory() throws IOException {
+		try (ClassFileScanner scanner =
+				ClassFileScanner.forDirectory(new File("target/does-not-exist"), new ClassReaderOptions());) {
+			assertNull(scanner.next());
+		}
+	}
+
+	@Test
+	public void testJar() throws IOException {
+		File jarFile = File.createTempFile(getClass().getSimpleName(), ".jar");
+		try {
+			String path = ProviderUtils.classNameToPath(ClassFileScannerTest.class.getName());
+			try (ZipOutputStream zipOutput = new ZipOutputStream(new FileOutputStream(jarFile));) {
+				zipOutput.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+				zipOutput.closeEntry();
+				zipOutput.putNextEntry(new ZipEntry("not-a-class.class"));
+				zipOutput.write(new byte[] { 1, 2, 3, 4 });
+				zipOutput.closeEntry();
+				byte[] classBytes = Files.readAllBytes(new File("target/test-classes", path).toPath());
+				zipOutput.putNextEntry(new ZipEntry("truncated.class"));
+				zipOutput.write(classBytes, 0, classBytes.length / 2);
+				zipOutput.closeEntry();
+				zipOutput.putNextEntry(new ZipEntry(path));
+				zipOutput.write(classBytes);
+				zipOutput.closeEntry();
+			}
+			try (ClassFileScanner scanner = ClassFileScanner.forJar(jarFile, new ClassReaderOptions());) {
+				assertEquals(ClassFileScannerTest.class.getName(), scanner.next().getClassName());
+				assertNull(scanner.next());
+				assertEquals(2, scanner.getSkippedCount());
+			}
+		} finally {
+			jarFile.delete();
+		}
+	}
+}
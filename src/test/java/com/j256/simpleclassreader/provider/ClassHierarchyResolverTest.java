@@ -0,0 +1,261 @@
+package com.j256.simpleclassreader.provider;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.MethodInfo;
+import com.j256.simpleclassreader.TestUtils;
+
+public class ClassHierarchyResolverTest {
+
+	@Test
+	public void testStuff() throws IOException {
+		ClassHierarchyResolver resolver =
+				new ClassHierarchyResolver(new DirectoryClassInfoProvider(new File("target/test-classes")));
+		ResolvedClass resolved = resolver.resolve(Child.class.getName());
+		assertNotNull(resolved);
+		assertEquals(Child.class.getName(), resolved.getClassInfo().getClassName());
+		assertEquals(Base.class.getName(), resolved.getSuperClass().getClassInfo().getClassName());
+		assertEquals(1, resolved.getInterfaces().length);
+		// java.lang.Object is not in the test-classes directory
+		assertArrayEquals(new String[] { Object.class.getName() }, resolved.getUnresolvedTypes());
+
+		MethodInfo method = resolved.findMethod("overridden", "()V");
+		assertNotNull(method);
+		// the child's version wins
+		assertSame(resolved.getClassInfo().getMethods()[findMethodIndex(resolved, "overridden")], method);
+		assertNotNull(resolved.findMethod("inherited", "()I"));
+		assertNotNull(resolved.findMethod("fromInterface", "()Ljava/lang/String;"));
+		assertNull(resolved.findMethod("hidden", "()V"));
+		assertNull(resolved.findMethod("unknown", "()V"));
+		assertNotNull(resolved.findField("baseField"));
+		assertNull(resolved.findField("privateField"));
+		assertEquals(3, countMethods(resolved, "overridden", "inherited", "fromInterface"));
+
+		// the super-class is remembered
+		assertSame(resolved.getSuperClass(), resolver.resolve(Base.class.getName()));
+		assertNull(resolver.resolve("unknown"));
+	}
+
+	@Test
+	public void testJrt() throws IOException {
+		JrtClassInfoProvider jrtProvider = ClassInfoProviderTest.jrtProviderOrSkip();
+		ClassInfoProvider provider = new CompositeClassInfoProvider(
+				Arrays.asList(new DirectoryClassInfoProvider(new File("target/test-classes")), jrtProvider));
+		ClassHierarchyResolver resolver = new ClassHierarchyResolver(provider);
+		ResolvedClass resolved = resolver.resolve(Child.class.getName());
+		assertEquals(0, resolved.getUnresolvedTypes().length);
+		assertNotNull(resolved.findMethod("hashCode", "()I"));
+		assertNotNull(resolved.findMethod("toString", "()Ljava/lang/String;"));
+		int resolvedCount = resolver.getResolvedCount();
+		assertNotNull(resolver.resolve(Base.class.getName()).findMethod("hashCode", "()I"));
+		assertEquals(resolvedCount, resolver.getResolvedCount());
+		assertTrue(resolver.resolve(Object.class.getName()).getAllMethods().length > 5);
+	}
+
+	@Test
+	public void testConcurrent() throws Exception {
+		final ClassInfoProvider dirProvider = new DirectoryClassInfoProvider(new File("target/test-classes"));
+		final CountDownLatch baseReading = new CountDownLatch(1);
+		final CountDownLatch baseLatch = new CountDownLatch(1);
+		final Map<String, AtomicInteger> readCounts = new ConcurrentHashMap<>();
+		ClassInfoProvider provider = new ClassInfoProvider() {
+			@Override
+			public ClassInfo getClassInfo(String className) throws IOException {
+				readCounts.putIfAbsent(className, new AtomicInteger());
+				readCounts.get(className).incrementAndGet();
+				if (className.equals(Base.class.getName())) {
+					baseReading.countDown();
+					try {
+						baseLatch.await();
+					} catch (InterruptedException ie) {
+						Thread.currentThread().interrupt();
+						throw new IOException(ie);
+					}
+				}
+				return dirProvider.getClassInfo(className);
+			}
+		};
+		final ClassHierarchyResolver resolver = new ClassHierarchyResolver(provider);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<ResolvedClass>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				futures.add(executor.submit(new Resolve(resolver, Child.class.getName())));
+			}
+			// the threads are all stuck behind the read of the base class but that doesn't block other classes
+			assertTrue(baseReading.await(10, TimeUnit.SECONDS));
+			assertNotNull(resolver.resolve(Named.class.getName()));
+			baseLatch.countDown();
+			for (Future<ResolvedClass> future : futures) {
+				assertNotNull(future.get(10, TimeUnit.SECONDS).findMethod("inherited", "()I"));
+			}
+			assertEquals(1, readCounts.get(Child.class.getName()).get());
+			assertEquals(1, readCounts.get(Base.class.getName()).get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testCycle() throws Exception {
+		final ClassInfoProvider dirProvider = new DirectoryClassInfoProvider(new File("target/test-classes"));
+		final CyclicBarrier barrier = new CyclicBarrier(2);
+		final AtomicInteger readCount = new AtomicInteger();
+		// a corrupted hierarchy where child extends base which extends child
+		ClassInfoProvider provider = new ClassInfoProvider() {
+			@Override
+			public ClassInfo getClassInfo(String className) throws IOException {
+				// make sure that both threads are resolving before either goes up the hierarchy
+				if (readCount.getAndIncrement() < 2) {
+					try {
+						barrier.await(10, TimeUnit.SECONDS);
+					} catch (Exception e) {
+						throw new IOException(e);
+					}
+				}
+				if (className.equals(Base.class.getName())) {
+					return dirProvider.getClassInfo(GrandChild.class.getName());
+				} else {
+					return dirProvider.getClassInfo(className);
+				}
+			}
+		};
+		ClassHierarchyResolver resolver = new ClassHierarchyResolver(provider);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<ResolvedClass> childFuture = executor.submit(new Resolve(resolver, Child.class.getName()));
+			Future<ResolvedClass> baseFuture = executor.submit(new Resolve(resolver, Base.class.getName()));
+			// one of the threads sees the cycle instead of waiting forever for the other
+			assertNotNull(childFuture.get(10, TimeUnit.SECONDS));
+			assertNotNull(baseFuture.get(10, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testInvalidDescriptor() throws IOException {
+		final byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(Base.class)).toPath());
+		// break the inherited descriptor in the constant-pool by changing its opening parenthesis
+		byte[] utf8 = new byte[] { 1, 0, 3, '(', ')', 'I' };
+		boolean found = false;
+		for (int i = 0; i + utf8.length <= bytes.length; i++) {
+			if (Arrays.equals(utf8, Arrays.copyOfRange(bytes, i, i + utf8.length))) {
+				bytes[i + 3] = 'X';
+				found = true;
+			}
+		}
+		assertTrue(found);
+		final ClassInfoProvider dirProvider = new DirectoryClassInfoProvider(new File("target/test-classes"));
+		ClassInfoProvider provider = new ClassInfoProvider() {
+			@Override
+			public ClassInfo getClassInfo(String className) throws IOException {
+				if (className.equals(Base.class.getName())) {
+					return ClassReader.readClass(bytes);
+				} else {
+					return dirProvider.getClassInfo(className);
+				}
+			}
+		};
+		ResolvedClass resolved = new ClassHierarchyResolver(provider).resolve(Child.class.getName());
+		assertNull(resolved.findMethod("inherited", "()I"));
+		assertEquals(0, countMethods(resolved, "inherited"));
+		assertNotNull(resolved.findMethod("overridden", "()V"));
+	}
+
+	private int findMethodIndex(ResolvedClass resolved, String name) {
+		MethodInfo[] methods = resolved.getClassInfo().getMethods();
+		for (int i = 0; i < methods.length; i++) {
+			if (name.equals(methods[i].getName())) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private int countMethods(ResolvedClass resolved, String... names) {
+		int count = 0;
+		for (MethodInfo method : resolved.getAllMethods()) {
+			if (Arrays.asList(names).contains(method.getName())) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@SuppressWarnings("unused")
+	private static class Base {
+		protected int baseField;
+		private int privateField;
+
+		public void overridden() {
+		}
+
+		public int inherited() {
+			return 0;
+		}
+
+		private void hidden() {
+		}
+	}
+
+	private static interface Named {
+		String fromInterface();
+	}
+
+	private static class Child extends Base implements Named {
+		@Override
+		public void overridden() {
+		}
+
+		@Override
+		public String fromInterface() {
+			return null;
+		}
+	}
+
+	private static class GrandChild extends Child {
+	}
+
+	private static class Resolve implements Callable<ResolvedClass> {
+
+		private final ClassHierarchyResolver resolver;
+		private final String className;
+
+		public Resolve(ClassHierarchyResolver resolver, String className) {
+			this.resolver = resolver;
+			this.className = className;
+		}
+
+		@Override
+		public ResolvedClass call() throws IOException {
+			return resolver.resolve(className);
+		}
+	}
+}
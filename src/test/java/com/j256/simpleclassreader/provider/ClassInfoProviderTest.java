@@ -0,0 +1,82 @@
+package com.j256.simpleclassreader.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.j256.simpleclassreader.ClassInfo;
+
+public class ClassInfoProviderTest {
+
+	@Test
+	public void testDirectory() throws IOException {
+		ClassInfoProvider provider = new DirectoryClassInfoProvider(new File("target/test-classes"));
+		ClassInfo info = provider.getClassInfo(ClassInfoProviderTest.class.getName());
+		assertNotNull(info);
+		assertEquals(ClassInfoProviderTest.class.getName(), info.getClassName());
+		assertNull(provider.getClassInfo("unknown.Class"));
+	}
+
+	@Test
+	public void testJar() throws IOException {
+		File jarFile = File.createTempFile(getClass().getSimpleName(), ".jar");
+		try {
+			String path = ProviderUtils.classNameToPath(ClassInfoProviderTest.class.getName());
+			try (ZipOutputStream zipOutput = new ZipOutputStream(new FileOutputStream(jarFile));) {
+				zipOutput.putNextEntry(new ZipEntry(path));
+				zipOutput.write(Files.readAllBytes(new File("target/test-classes", path).toPath()));
+				zipOutput.closeEntry();
+			}
+			try (JarClassInfoProvider provider = new JarClassInfoProvider(jarFile);) {
+				assertEquals(ClassInfoProviderTest.class.getName(),
+						provider.getClassInfo(ClassInfoProviderTest.class.getName()).getClassName());
+				assertNull(provider.getClassInfo("unknown.Class"));
+			}
+		} finally {
+			jarFile.delete();
+		}
+	}
+
+	@Test
+	public void testJrt() throws IOException {
+		ClassInfoProvider provider = jrtProviderOrSkip();
+		ClassInfo info = provider.getClassInfo(String.class.getName());
+		assertNotNull(info);
+		assertEquals(String.class.getName(), info.getClassName());
+		assertNotNull(provider.getClassInfo(Files.class.getName()));
+		assertNull(provider.getClassInfo("java.lang.Unknown"));
+		assertNull(provider.getClassInfo("unknown.Class"));
+	}
+
+	@Test
+	public void testComposite() throws IOException {
+		ClassInfoProvider provider =
+				new CompositeClassInfoProvider(Arrays.asList(new DirectoryClassInfoProvider(new File("unknown")),
+						new DirectoryClassInfoProvider(new File("target/test-classes"))));
+		assertNotNull(provider.getClassInfo(ClassInfoProviderTest.class.getName()));
+		assertNull(provider.getClassInfo("unknown.Class"));
+	}
+
+	/**
+	 * Return the jrt provider or skip the test if we are running on Java 8.
+	 */
+	static JrtClassInfoProvider jrtProviderOrSkip() {
+		try {
+			return new JrtClassInfoProvider();
+		} catch (IOException ioe) {
+			Assume.assumeNoException(ioe);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.j256.simpleclassreader.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.TestUtils;
+
+public class ClassMetadataShardsTest {
+
+	@Test
+	public void testStuff() throws IOException {
+		File tmpDir = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+		try {
+			File jarFile = new File(tmpDir, "test.jar");
+			writeJar(jarFile, ClassMetadataShardsTest.class, ClassMetadataStoreTest.class);
+			File classDir = new File(tmpDir, "classes");
+			writeClassDir(classDir, ClassMetadataShardsTest.class, MappedClassMetadataTest.class);
+			File cacheDir = new File(tmpDir, "cache");
+
+			ClassMetadataShards shards = new ClassMetadataShards(cacheDir);
+			MergedClassMetadata merged = shards.loadClasspath(Arrays.asList(jarFile, classDir));
+			assertEquals(2, merged.getSourceCount());
+			assertEquals(4, merged.getClassCount());
+			assertEquals(2, cacheDir.list().length);
+			assertNotNull(merged.findClass(ClassMetadataStoreTest.class.getName()));
+			assertNotNull(merged.findClass(MappedClassMetadataTest.class.getName()));
+			assertNull(merged.findClass("unknown"));
+			// the class is in both but the jar is first in the classpath
+			assertEquals(merged.getStoredClass(0).getAddress(),
+					merged.findClass(ClassMetadataShardsTest.class.getName()).getAddress());
+
+			// loading again uses the cached shards
+			MappedClassMetadata shard = shards.loadShard(jarFile);
+			assertEquals(2, shard.getClassCount());
+			assertEquals(2, cacheDir.list().length);
+
+			// changing the directory results in a new shard for only the directory
+			writeClassDir(classDir, ClassMetadataShardsTest.class);
+			new File(classDir, classFileName(MappedClassMetadataTest.class)).delete();
+			merged = shards.loadClasspath(Arrays.asList(jarFile, classDir));
+			assertEquals(3, merged.getClassCount());
+			assertEquals(3, cacheDir.list().length);
+		} finally {
+			deleteAll(tmpDir);
+		}
+	}
+
+	@Test
+	public void testTruncatedClass() throws IOException {
+		File tmpDir = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+		try {
+			File jarFile = new File(tmpDir, "test.jar");
+			byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(ClassMetadataStoreTest.class)).toPath());
+			try (ZipOutputStream zipOutput = new ZipOutputStream(new FileOutputStream(jarFile));) {
+				zipOutput.putNextEntry(new ZipEntry("Truncated.class"));
+				zipOutput.write(bytes, 0, bytes.length / 2);
+				zipOutput.closeEntry();
+				zipOutput.putNextEntry(new ZipEntry(classFileName(ClassMetadataStoreTest.class)));
+				zipOutput.write(bytes);
+				zipOutput.closeEntry();
+			}
+			MappedClassMetadata shard = new ClassMetadataShards(new File(tmpDir, "cache")).loadShard(jarFile);
+			// the truncated class is skipped and the rest of the jar is still read
+			assertEquals(1, shard.getClassCount());
+			assertNotNull(shard.findClass(ClassMetadataStoreTest.class.getName()));
+		} finally {
+			deleteAll(tmpDir);
+		}
+	}
+
+	private void writeJar(File jarFile, Class<?>... classes) throws IOException {
+		try (ZipOutputStream zipOutput = new ZipOutputStream(new FileOutputStream(jarFile));) {
+			for (Class<?> clazz : classes) {
+				zipOutput.putNextEntry(new ZipEntry(classFileName(clazz)));
+				zipOutput.write(Files.readAllBytes(new File(TestUtils.classToPath(clazz)).toPath()));
+				zipOutput.closeEntry();
+			}
+		}
+	}
+
+	private void writeClassDir(File classDir, Class<?>... classes) throws IOException {
+		for (Class<?> clazz : classes) {
+			File file = new File(classDir, classFileName(clazz));
+			file.getParentFile().mkdirs();
+			Files.write(file.toPath(), Files.readAllBytes(new File(TestUtils.classToPath(clazz)).toPath()));
+		}
+	}
+
+	private String classFileName(Class<?> clazz) {
+		return clazz.getName().replace('.', '/') + ".class";
+	}
+
+	private void deleteAll(File file) {
+		File[] files = file.listFiles();
+		if (files != null) {
+			for (File child : files) {
+				deleteAll(child);
+			}
+		}
+		file.delete();
+	}
+}
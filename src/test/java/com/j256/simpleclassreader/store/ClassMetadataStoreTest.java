@@ -0,0 +1,146 @@
+package com.j256.simpleclassreader.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.TestUtils;
+
+public class ClassMetadataStoreTest {
+
+	@Test
+	public void testStuff() throws IOException {
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(StoreTest.class)));
+		ClassMetadataStore store = new ClassMetadataStore();
+		int classId = store.add(info);
+		assertEquals(1, store.getClassCount());
+
+		StoredClass stored = store.getStoredClass(classId);
+		assertEquals(info.getClassName(), stored.getClassName());
+		assertEquals(info.getSuperClassName(), stored.getSuperClassName());
+		assertArrayEquals(info.getInterfaces(), stored.getInterfaces());
+		assertEquals(info.getMajorVersion(), stored.getMajorVersion());
+		assertEquals(info.getMinorVersion(), stored.getMinorVersion());
+		assertEquals(info.getAccessFlagsValue(), stored.getAccessFlagsValue());
+		assertTrue(stored.isDeprecated());
+		assertArrayEquals(new String[] { Deprecated.class.getName() }, stored.getRuntimeAnnotationTypes());
+
+		assertEquals(1, stored.getFieldCount());
+		StoredField field = stored.getField(0);
+		assertEquals("total", field.getName());
+		assertEquals(Long.TYPE, field.getDataDescriptor().getDataClass());
+		assertTrue(field.isPrivate());
+		assertNull(field.getRuntimeAnnotationTypes());
+
+		assertEquals(info.getConstructors().length + info.getMethods().length, stored.getMethodCount());
+		assertTrue(stored.getMethod(0).isConstructor());
+		StoredMethod method = stored.findMethod("add", "(II)I");
+		assertNotNull(method);
+		assertTrue(method.isPublic());
+		assertFalse(method.isConstructor());
+		assertEquals(Integer.TYPE, method.getMethodDescriptor().getReturnDescriptor().getDataClass());
+		assertNull(stored.findMethod("add", "()V"));
+
+		assertEquals(stored.getAddress(), store.findClass(info.getClassName()).getAddress());
+		assertNull(store.findClass("unknown"));
+	}
+
+	@Test
+	public void testGrow() throws IOException {
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(StoreTest.class)));
+		ClassInfo otherInfo = ClassReader.readClass(new File(TestUtils.classToPath(ClassMetadataStoreTest.class)));
+		// start small so the buffer and the name table have to grow
+		ClassMetadataStore store = new ClassMetadataStore(16);
+		for (int i = 0; i < 2000; i++) {
+			store.add(i % 2 == 0 ? info : otherInfo);
+		}
+		assertEquals(2000, store.getClassCount());
+		assertEquals(info.getClassName(), store.getStoredClass(1998).getClassName());
+		assertEquals(otherInfo.getClassName(), store.getStoredClass(1999).getClassName());
+		assertNotNull(store.findClass(otherInfo.getClassName()));
+		assertTrue(store.getSizeBytes() > 0);
+	}
+
+	@Test
+	public void testStringsShared() throws IOException {
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(StoreTest.class)));
+		ClassMetadataStore store = new ClassMetadataStore();
+		store.add(info);
+		long size = store.getSizeBytes();
+		store.add(info);
+		// the second time only the record and the annotation list are written since the strings are already there
+		int recordSize = ClassMetadataStore.CLASS_HEADER_SIZE + info.getInterfaces().length * 4
+				+ (info.getFields().length + info.getConstructors().length + info.getMethods().length)
+						* ClassMetadataStore.MEMBER_SIZE;
+		int annotationsSize = 4 + info.getRuntimeAnnotations().length * 4;
+		assertEquals(size + recordSize + annotationsSize, store.getSizeBytes());
+	}
+
+	@Test
+	public void testChunks() throws IOException {
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(StoreTest.class)));
+		ClassInfo otherInfo = ClassReader.readClass(new File(TestUtils.classToPath(ClassMetadataStoreTest.class)));
+		// 1k chunks so we use a lot of them
+		ClassMetadataStore store = new ClassMetadataStore(16, 10);
+		for (int i = 0; i < 1000; i++) {
+			store.add(i % 2 == 0 ? info : otherInfo);
+		}
+		assertTrue(store.getSizeBytes() > 100 * 1024);
+		for (int i = 0; i < 1000; i++) {
+			StoredClass stored = store.getStoredClass(i);
+			ClassInfo expected = (i % 2 == 0 ? info : otherInfo);
+			assertEquals(expected.getClassName(), stored.getClassName());
+			assertEquals(expected.getFields().length, stored.getFieldCount());
+			assertEquals(expected.getMethods()[0].getName(), stored.getMethod(1).getName());
+		}
+
+		File file = File.createTempFile(getClass().getSimpleName(), ".bin");
+		try {
+			store.writeTo(file);
+			assertEquals(ClassMetadataStore.FILE_HEADER_SIZE + 4 * (1000 + 2048) + store.getSizeBytes(),
+					file.length());
+			MappedClassMetadata mapped = MappedClassMetadata.open(file);
+			assertEquals(1000, mapped.getClassCount());
+			StoredClass stored = mapped.getStoredClass(999);
+			assertEquals(otherInfo.getClassName(), stored.getClassName());
+			assertNotNull(stored.findMethod("testChunks", "()V"));
+			assertEquals(store.getStoredClass(999).getAddress(), stored.getAddress());
+			assertNotNull(mapped.findClass(info.getClassName()));
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testRecordLargerThanChunk() throws IOException {
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(ClassMetadataStoreTest.class)));
+		new ClassMetadataStore(16, 6).add(info);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidClassId() {
+		new ClassMetadataStore().getStoredClass(0);
+	}
+
+	@Deprecated
+	@SuppressWarnings({ "unused", "serial" })
+	private static class StoreTest implements Serializable {
+
+		private long total;
+
+		public int add(int first, int second) {
+			return first + second;
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.j256.simpleclassreader.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.TestUtils;
+
+public class MappedClassMetadataTest {
+
+	@Test
+	public void testStuff() throws IOException {
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(MappedClassMetadataTest.class)));
+		ClassInfo otherInfo = ClassReader.readClass(new File(TestUtils.classToPath(ClassMetadataStoreTest.class)));
+		ClassMetadataStore store = new ClassMetadataStore();
+		int classId = store.add(info);
+		int otherClassId = store.add(otherInfo);
+
+		File file = File.createTempFile(getClass().getSimpleName(), ".bin");
+		try {
+			store.writeTo(file);
+			MappedClassMetadata mapped = MappedClassMetadata.open(file);
+			assertEquals(2, mapped.getClassCount());
+
+			StoredClass stored = mapped.getStoredClass(classId);
+			assertEquals(info.getClassName(), stored.getClassName());
+			assertEquals(info.getSuperClassName(), stored.getSuperClassName());
+			assertArrayEquals(info.getInterfaces(), stored.getInterfaces());
+			assertEquals(info.getAccessFlagsValue(), stored.getAccessFlagsValue());
+			assertNotNull(stored.findMethod("testStuff", "()V"));
+			assertArrayEquals(new String[] { Test.class.getName() },
+					stored.findMethod("testStuff", "()V").getRuntimeAnnotationTypes());
+
+			StoredClass other = mapped.findClass(otherInfo.getClassName());
+			assertNotNull(other);
+			assertEquals(store.getStoredClass(otherClassId).getAddress(), other.getAddress());
+			assertEquals(otherInfo.getClassName(), other.getClassName());
+			assertNull(mapped.findClass("unknown"));
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testNotMetadataFile() throws IOException {
+		File file = File.createTempFile(getClass().getSimpleName(), ".bin");
+		try {
+			Files.write(file.toPath(), new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19,
+					20 });
+			MappedClassMetadata.open(file);
+		} finally {
+			file.delete();
+		}
+	}
+}
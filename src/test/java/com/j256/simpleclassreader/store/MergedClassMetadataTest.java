@@ -0,0 +1,45 @@
+package com.j256.simpleclassreader.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.TestUtils;
+
+public class MergedClassMetadataTest {
+
+	@Test
+	public void testStuff() throws IOException {
+		ClassInfo info = ClassReader.readClass(new File(TestUtils.classToPath(MergedClassMetadataTest.class)));
+		ClassInfo otherInfo = ClassReader.readClass(new File(TestUtils.classToPath(ClassMetadataStoreTest.class)));
+		ClassMetadataStore first = new ClassMetadataStore();
+		first.add(info);
+		ClassMetadataStore empty = new ClassMetadataStore();
+		ClassMetadataStore second = new ClassMetadataStore();
+		second.add(otherInfo);
+		second.add(info);
+
+		MergedClassMetadata merged = new MergedClassMetadata(Arrays.asList(first, empty, second));
+		assertEquals(3, merged.getSourceCount());
+		assertEquals(3, merged.getClassCount());
+		assertEquals(info.getClassName(), merged.getStoredClass(0).getClassName());
+		assertEquals(otherInfo.getClassName(), merged.getStoredClass(1).getClassName());
+		assertEquals(info.getClassName(), merged.getStoredClass(2).getClassName());
+		// first one wins
+		assertEquals(first.getStoredClass(0).getAddress(), merged.findClass(info.getClassName()).getAddress());
+		assertEquals(otherInfo.getClassName(), merged.findClass(otherInfo.getClassName()).getClassName());
+		assertNull(merged.findClass("unknown"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidClassId() {
+		new MergedClassMetadata(Arrays.asList(new ClassMetadataStore())).getStoredClass(0);
+	}
+}
@@ -0,0 +1,104 @@
+package com.j256.simpleclassreader.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.j256.simpleclassreader.ClassInfo;
+import com.j256.simpleclassreader.ClassReader;
+import com.j256.simpleclassreader.ParseCache;
+import com.j256.simpleclassreader.TestUtils;
+import com.j256.simpleclassreader.graph.DependencyGraphBuilder;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class JfrParseEventSinkTest {
+
+	private static final String CLASS_PARSE = "com.j256.simpleclassreader.ClassParse";
+	private static final String JAR_SCAN = "com.j256.simpleclassreader.JarScan";
+	private static final String CACHE_ACCESS = "com.j256.simpleclassreader.CacheAccess";
+
+	@Test
+	public void testEvents() throws IOException {
+		Assume.assumeTrue(ParseEvents.isAvailable());
+		byte[] bytes = Files.readAllBytes(new File(TestUtils.classToPath(getClass())).toPath());
+		File jarFile = File.createTempFile(getClass().getSimpleName(), ".jar");
+		File recordingFile = File.createTempFile(getClass().getSimpleName(), ".jfr");
+		try {
+			try (JarOutputStream output = new JarOutputStream(new FileOutputStream(jarFile));) {
+				output.putNextEntry(new ZipEntry(getClass().getName().replace('.', '/') + ".class"));
+				output.write(bytes);
+				output.closeEntry();
+			}
+
+			try (Recording recording = new Recording();) {
+				recording.enable(CLASS_PARSE).withoutThreshold();
+				recording.enable(JAR_SCAN).withoutThreshold();
+				recording.enable(CACHE_ACCESS);
+				recording.start();
+
+				ClassReader.readClass(bytes);
+				ClassReader.readClass(new File(TestUtils.classToPath(getClass())));
+				ParseCache cache = new ParseCache();
+				cache.readClass(bytes);
+				cache.readClass(bytes);
+				new DependencyGraphBuilder().addJar(jarFile);
+
+				recording.stop();
+				recording.dump(recordingFile.toPath());
+			}
+
+			ClassInfo classInfo = ClassReader.readClass(bytes);
+			List<RecordedEvent> parseEvents = new ArrayList<>();
+			List<RecordedEvent> scanEvents = new ArrayList<>();
+			List<RecordedEvent> cacheEvents = new ArrayList<>();
+			for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile.toPath())) {
+				String name = event.getEventType().getName();
+				if (name.equals(CLASS_PARSE)) {
+					parseEvents.add(event);
+				} else if (name.equals(JAR_SCAN)) {
+					scanEvents.add(event);
+				} else if (name.equals(CACHE_ACCESS)) {
+					cacheEvents.add(event);
+				}
+			}
+
+			// bytes, file, and the miss in the cache
+			assertEquals(3, parseEvents.size());
+			for (RecordedEvent event : parseEvents) {
+				assertEquals(getClass().getName(), event.getString("className"));
+				assertEquals(bytes.length, event.getLong("byteSize"));
+				assertEquals(classInfo.getParseErrors().size(), event.getInt("errorCount"));
+			}
+
+			assertEquals(1, scanEvents.size());
+			RecordedEvent scanEvent = scanEvents.get(0);
+			assertEquals(jarFile.getPath(), scanEvent.getString("jarPath"));
+			assertEquals(1, scanEvent.getInt("entryCount"));
+			assertEquals(bytes.length, scanEvent.getLong("byteCount"));
+			assertTrue(scanEvent.getDouble("entriesPerSecond") > 0);
+
+			assertEquals(2, cacheEvents.size());
+			assertEquals("ParseCache", cacheEvents.get(0).getString("cacheName"));
+			assertFalse(cacheEvents.get(0).getBoolean("hit"));
+			assertTrue(cacheEvents.get(1).getBoolean("hit"));
+		} finally {
+			jarFile.delete();
+			recordingFile.delete();
+		}
+	}
+}